@@ -15,7 +15,10 @@
 \ir ddl/reg_appointment.sql
 \ir ddl/reg_appointment_consumed.sql
 \ir ddl/reg_available_slot.sql
+\ir ddl/reg_center_fingerprint.sql
+\ir ddl/cancel_notification_retry.sql
 \ir ddl/otp_transaction.sql
+\ir ddl/otp_notification_outbox.sql
 \ir ddl/applications.sql
 \ir ddl/fk.sql
 \ir ddl/batch-fk.sql
@@ -0,0 +1,28 @@
+-- This table saves the cancellation notifications the batch job failed to send, to be retried in later runs.
+
+CREATE TABLE prereg.cancel_notification_retry(
+	prereg_id character varying(36) NOT NULL,
+	appointment_date date NOT NULL,
+	slot_from_time time NOT NULL,
+	lang_code character varying(3) NOT NULL,
+	attempt_count smallint NOT NULL,
+	next_attempt_dtimes timestamp NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_cnretry_id PRIMARY KEY (prereg_id)
+);
+CREATE INDEX IF NOT EXISTS idx_cnretry_next_attempt ON prereg.cancel_notification_retry USING btree (next_attempt_dtimes);
+
+COMMENT ON TABLE prereg.cancel_notification_retry IS 'Cancellation notifications of the appointments cancelled by the batch job that could not be sent, retried by the later slot generation runs.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.prereg_id IS 'Pre-registration id of the cancelled appointment.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.appointment_date IS 'Date of the cancelled appointment.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.slot_from_time IS 'Start time of the cancelled appointment slot.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.lang_code IS 'Language code of the cancelled appointment, the notification is sent in.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.attempt_count IS 'Number of failed attempts to send the notification.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.next_attempt_dtimes IS 'Date and Timestamp from when the notification can be sent again.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.cr_by IS 'ID or name of the user who create / insert record.';
+COMMENT ON COLUMN prereg.cancel_notification_retry.cr_dtimes IS 'Date and Timestamp when the record is created/inserted';
+COMMENT ON COLUMN prereg.cancel_notification_retry.upd_by IS 'ID or name of the user who update the record with new values';
+COMMENT ON COLUMN prereg.cancel_notification_retry.upd_dtimes IS 'Date and Timestamp when any of the fields in the record is updated with new values.';
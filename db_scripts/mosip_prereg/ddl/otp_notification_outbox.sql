@@ -0,0 +1,32 @@
+-- This table saves the delivery of each OTP notification, sent asynchronously after the OTP transaction is saved.
+
+CREATE TABLE prereg.otp_notification_outbox(
+	id character varying(36) NOT NULL,
+	otp_txn_id character varying(36) NOT NULL,
+	channel_type character varying(16) NOT NULL,
+	lang_code character varying(3),
+	status_code character varying(36) NOT NULL,
+	attempt_count smallint NOT NULL,
+	last_error character varying(512),
+	expiry_dtimes timestamp NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_otpnob_id PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_otpnob_status ON prereg.otp_notification_outbox USING btree (status_code, expiry_dtimes);
+
+COMMENT ON TABLE prereg.otp_notification_outbox IS 'Delivery of the OTP notifications, queued when the OTP is generated and sent by the notification workers. Neither the OTP nor the recipient is stored.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.id IS 'Unique id (UUID) of the OTP notification.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.otp_txn_id IS 'Id of the OTP transaction the notification is sent for. Refers to prereg.otp_transaction.id';
+COMMENT ON COLUMN prereg.otp_notification_outbox.channel_type IS 'Channel the OTP is sent on, phone or email.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.lang_code IS 'Language code the notification is sent in.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.status_code IS 'Status of the delivery: PENDING, SENT or FAILED.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.attempt_count IS 'Number of attempts made to send the notification.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.last_error IS 'Error of the last failed attempt.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.expiry_dtimes IS 'Date and Time the OTP expires, the notification is not sent after it.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.cr_by IS 'ID or name of the user who create / insert record.';
+COMMENT ON COLUMN prereg.otp_notification_outbox.cr_dtimes IS 'Date and Timestamp when the record is created/inserted';
+COMMENT ON COLUMN prereg.otp_notification_outbox.upd_by IS 'ID or name of the user who update the record with new values';
+COMMENT ON COLUMN prereg.otp_notification_outbox.upd_dtimes IS 'Date and Timestamp when any of the fields in the record is updated with new values.';
@@ -17,6 +17,9 @@ CREATE TABLE prereg.otp_transaction(
 	del_dtimes timestamp,
 	CONSTRAINT pk_otpt_id PRIMARY KEY (id)
 );
+CREATE INDEX IF NOT EXISTS idx_otpt_refid_status_expiry ON prereg.otp_transaction USING btree (ref_id, status_code, expiry_dtimes);
+CREATE INDEX IF NOT EXISTS idx_otpt_expiry ON prereg.otp_transaction USING btree (expiry_dtimes);
+CREATE INDEX IF NOT EXISTS idx_otpt_used ON prereg.otp_transaction USING btree (id) WHERE status_code = 'used';
 
 COMMENT ON TABLE prereg.otp_transaction IS 'All OTP related data and validation details are maintained here for Pre Registration module.';
 COMMENT ON COLUMN prereg.otp_transaction.id IS 'OTP id is a unique identifier (UUID) used as an unique key to identify the OTP transaction';
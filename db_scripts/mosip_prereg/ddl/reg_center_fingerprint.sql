@@ -0,0 +1,23 @@
+-- This table saves the configuration the slots of each registration centre were last generated with.
+
+CREATE TABLE prereg.reg_center_fingerprint(
+	regcntr_id character varying(10) NOT NULL,
+	config_hash character varying(64) NOT NULL,
+	non_working_dates character varying NOT NULL,
+	generated_till_date date NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp,
+	CONSTRAINT pk_rcfp_id PRIMARY KEY (regcntr_id)
+);
+
+COMMENT ON TABLE prereg.reg_center_fingerprint IS 'Configuration the slots of a registration center were last generated with, used by the batch job to only add the new days for unchanged centers.';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.regcntr_id IS 'Id of the Registration Center. Refers to master.registration_center.id';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.config_hash IS 'Hash of the start, end and lunch times, per kiosk process time and number of kiosks of the registration center.';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.non_working_dates IS 'Comma separated holidays and week-off dates of the registration center in the generated range.';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.generated_till_date IS 'Slots of the registration center are generated up to this date, exclusive.';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.cr_by IS 'ID or name of the user who create / insert record.';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.cr_dtimes IS 'Date and Timestamp when the record is created/inserted';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.upd_by IS 'ID or name of the user who update the record with new values';
+COMMENT ON COLUMN prereg.reg_center_fingerprint.upd_dtimes IS 'Date and Timestamp when any of the fields in the record is updated with new values.';
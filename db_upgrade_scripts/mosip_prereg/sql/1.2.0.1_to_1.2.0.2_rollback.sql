@@ -0,0 +1,8 @@
+\c mosip_prereg
+
+DROP TABLE IF EXISTS prereg.reg_center_fingerprint;
+DROP TABLE IF EXISTS prereg.cancel_notification_retry;
+DROP TABLE IF EXISTS prereg.otp_notification_outbox;
+DROP INDEX IF EXISTS prereg.idx_otpt_refid_status_expiry;
+DROP INDEX IF EXISTS prereg.idx_otpt_expiry;
+DROP INDEX IF EXISTS prereg.idx_otpt_used;
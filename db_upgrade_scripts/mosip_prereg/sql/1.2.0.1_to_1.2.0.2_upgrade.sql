@@ -0,0 +1,55 @@
+\c mosip_prereg
+
+CREATE TABLE IF NOT EXISTS prereg.reg_center_fingerprint(
+	regcntr_id character varying(10) NOT NULL,
+	config_hash character varying(64) NOT NULL,
+	non_working_dates character varying NOT NULL,
+	generated_till_date date NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp without time zone NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp without time zone,
+	CONSTRAINT pk_rcfp_id PRIMARY KEY (regcntr_id)
+);
+
+GRANT SELECT,INSERT,UPDATE,DELETE,REFERENCES ON prereg.reg_center_fingerprint TO prereguser;
+
+CREATE TABLE IF NOT EXISTS prereg.cancel_notification_retry(
+	prereg_id character varying(36) NOT NULL,
+	appointment_date date NOT NULL,
+	slot_from_time time without time zone NOT NULL,
+	lang_code character varying(3) NOT NULL,
+	attempt_count smallint NOT NULL,
+	next_attempt_dtimes timestamp without time zone NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp without time zone NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp without time zone,
+	CONSTRAINT pk_cnretry_id PRIMARY KEY (prereg_id)
+);
+CREATE INDEX IF NOT EXISTS idx_cnretry_next_attempt ON prereg.cancel_notification_retry USING btree (next_attempt_dtimes);
+
+GRANT SELECT,INSERT,UPDATE,DELETE,REFERENCES ON prereg.cancel_notification_retry TO prereguser;
+
+CREATE TABLE IF NOT EXISTS prereg.otp_notification_outbox(
+	id character varying(36) NOT NULL,
+	otp_txn_id character varying(36) NOT NULL,
+	channel_type character varying(16) NOT NULL,
+	lang_code character varying(3),
+	status_code character varying(36) NOT NULL,
+	attempt_count smallint NOT NULL,
+	last_error character varying(512),
+	expiry_dtimes timestamp without time zone NOT NULL,
+	cr_by character varying(256) NOT NULL,
+	cr_dtimes timestamp without time zone NOT NULL,
+	upd_by character varying(256),
+	upd_dtimes timestamp without time zone,
+	CONSTRAINT pk_otpnob_id PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_otpnob_status ON prereg.otp_notification_outbox USING btree (status_code, expiry_dtimes);
+
+GRANT SELECT,INSERT,UPDATE,DELETE,REFERENCES ON prereg.otp_notification_outbox TO prereguser;
+
+CREATE INDEX IF NOT EXISTS idx_otpt_refid_status_expiry ON prereg.otp_transaction USING btree (ref_id, status_code, expiry_dtimes);
+CREATE INDEX IF NOT EXISTS idx_otpt_expiry ON prereg.otp_transaction USING btree (expiry_dtimes);
+CREATE INDEX IF NOT EXISTS idx_otpt_used ON prereg.otp_transaction USING btree (id) WHERE status_code = 'used';
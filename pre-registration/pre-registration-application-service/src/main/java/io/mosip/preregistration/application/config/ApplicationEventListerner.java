@@ -2,6 +2,7 @@ package io.mosip.preregistration.application.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 
@@ -10,6 +11,7 @@ import io.mosip.preregistration.application.service.DemographicService;
 import io.mosip.preregistration.application.service.DocumentService;
 import io.mosip.preregistration.application.service.LoginService;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.TemplateCache;
 
 @Configuration
 public class ApplicationEventListerner {
@@ -23,6 +25,9 @@ public class ApplicationEventListerner {
 	@Autowired
 	private DocumentService documentService;
 
+	@Autowired
+	private TemplateCache templateCache;
+
 	private Logger log = LoggerConfiguration.logConfig(ApplicationEventListerner.class);
 
 	@EventListener(ApplicationStartedEvent.class)
@@ -38,4 +43,14 @@ public class ApplicationEventListerner {
 				"In applicationStartedEvent method of ApplicationEventListerner documentService setup() method is called");
 	}
 
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void refreshScopeRefreshedEvent() {
+		log.info("sessionId", "idType", "id",
+				"In refreshScopeRefreshedEvent method of ApplicationEventListerner reloading the identity json");
+		demographicService.setup();
+		log.info("sessionId", "idType", "id",
+				"In refreshScopeRefreshedEvent method of ApplicationEventListerner dropping the cached templates");
+		templateCache.invalidateAll();
+	}
+
 }
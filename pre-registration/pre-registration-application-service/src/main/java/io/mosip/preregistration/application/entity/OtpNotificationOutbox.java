@@ -0,0 +1,59 @@
+package io.mosip.preregistration.application.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery of an OTP notification. Neither the OTP nor the recipient is kept.
+ *
+ * @since 1.2.0
+ */
+@NoArgsConstructor
+@Data
+@Table(name = "otp_notification_outbox", schema = "prereg")
+@Entity
+public class OtpNotificationOutbox {
+
+	@Id
+	private String id;
+
+	@Column(name = "otp_txn_id")
+	private String otpTxnId;
+
+	@Column(name = "channel_type")
+	private String channelType;
+
+	@Column(name = "lang_code")
+	private String langCode;
+
+	@Column(name = "status_code")
+	private String statusCode;
+
+	@Column(name = "attempt_count")
+	private Integer attemptCount;
+
+	@Column(name = "last_error")
+	private String lastError;
+
+	@Column(name = "expiry_dtimes")
+	private LocalDateTime expiryDtimes;
+
+	@Column(name = "cr_by")
+	private String crBy;
+
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDtimes;
+
+	@Column(name = "upd_by")
+	private String updBy;
+
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updDTimes;
+}
@@ -28,6 +28,9 @@ public interface ApplicationRepostiory extends BaseRepository<ApplicationEntity,
 
 	@Query("SELECT e FROM ApplicationEntity e WHERE e.applicationId = ?1")
 	public ApplicationEntity findByApplicationId(String applicationId);
+
+	@Query("SELECT e FROM ApplicationEntity e WHERE e.applicationId IN ?1")
+	public List<ApplicationEntity> findByApplicationIdIn(List<String> applicationIds);
 	
 	@Query("SELECT e FROM ApplicationEntity e  WHERE e.crBy= ?1 order by e.crDtime desc")
 	public List<ApplicationEntity> findByCreatedBy(String userId);
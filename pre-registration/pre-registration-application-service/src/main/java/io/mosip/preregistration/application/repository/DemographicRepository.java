@@ -11,6 +11,7 @@ import javax.transaction.Transactional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -55,6 +56,40 @@ public interface DemographicRepository extends BaseRepository<DemographicEntity,
 	public Page<DemographicEntity> findByCreatedByOrderByCreateDateTime(@Param("userId") String userId,
 			@Param("statusCode") String statusCode, Pageable pageable);
 
+	/**
+	 * @param userId
+	 *            pass userId
+	 * @param statusCode
+	 *            pass statusCode
+	 * @return list of preregistration data for the created user, with the
+	 *         documents fetched in the same query
+	 */
+	@Query("SELECT DISTINCT e FROM DemographicEntity e LEFT JOIN FETCH e.documentEntity WHERE e.createdBy=:userId and e.statusCode <>:statusCode order by e.createDateTime desc")
+	public List<DemographicEntity> findWithDocumentsByCreatedBy(@Param("userId") String userId,
+			@Param("statusCode") String statusCode);
+
+	/**
+	 * @param userId
+	 *            pass userId
+	 * @param statusCode
+	 *            pass statusCode
+	 * @param pageable
+	 *            pass pageable object
+	 * @return page of preregistration ids for the created user
+	 */
+	@Query(value = "SELECT e.preRegistrationId FROM DemographicEntity e WHERE e.createdBy=:userId and e.statusCode <>:statusCode order by e.createDateTime desc", countQuery = "SELECT count(e) FROM DemographicEntity e WHERE e.createdBy=:userId and e.statusCode <>:statusCode")
+	public Page<String> findPreRegistrationIdsByCreatedBy(@Param("userId") String userId,
+			@Param("statusCode") String statusCode, Pageable pageable);
+
+	/**
+	 * @param preRegIds
+	 *            pass preRegIds
+	 * @return preregistration data for the pre-ids, with the documents fetched
+	 *         in the same query
+	 */
+	@Query("SELECT DISTINCT e FROM DemographicEntity e LEFT JOIN FETCH e.documentEntity WHERE e.preRegistrationId IN :preRegIds")
+	public List<DemographicEntity> findWithDocumentsByPreRegistrationIdIn(@Param("preRegIds") List<String> preRegIds);
+
 	/**
 	 * @param preRegId
 	 *            pass preRegId
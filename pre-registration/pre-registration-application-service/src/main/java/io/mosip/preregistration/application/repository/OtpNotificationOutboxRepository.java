@@ -0,0 +1,48 @@
+package io.mosip.preregistration.application.repository;
+
+import java.time.LocalDateTime;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.mosip.kernel.core.dataaccess.spi.repository.BaseRepository;
+import io.mosip.preregistration.application.entity.OtpNotificationOutbox;
+
+/**
+ * This repository interface is used to define the JPA methods for the OTP
+ * notification outbox.
+ *
+ * @since 1.2.0
+ */
+@Repository
+@Transactional
+public interface OtpNotificationOutboxRepository extends BaseRepository<OtpNotificationOutbox, String> {
+
+	@Modifying
+	@Query("UPDATE OtpNotificationOutbox o SET o.statusCode = :statusCode, o.attemptCount = :attemptCount, "
+			+ "o.lastError = :lastError, o.updBy = :updBy, o.updDTimes = :updDTimes WHERE o.id = :id")
+	int updateDelivery(@Param("id") String id, @Param("statusCode") String statusCode,
+			@Param("attemptCount") Integer attemptCount, @Param("lastError") String lastError,
+			@Param("updBy") String updBy, @Param("updDTimes") LocalDateTime updDTimes);
+
+	/**
+	 * Fails the pending notifications of expired OTPs, left by a node stopped
+	 * before sending them.
+	 */
+	@Modifying
+	@Query("UPDATE OtpNotificationOutbox o SET o.statusCode = :failedStatusCode, o.lastError = :lastError, "
+			+ "o.updBy = :updBy, o.updDTimes = :currentTime WHERE o.statusCode = :pendingStatusCode "
+			+ "AND o.expiryDtimes < :currentTime")
+	int failExpiredPending(@Param("pendingStatusCode") String pendingStatusCode,
+			@Param("failedStatusCode") String failedStatusCode, @Param("lastError") String lastError,
+			@Param("updBy") String updBy, @Param("currentTime") LocalDateTime currentTime);
+
+	@Modifying
+	@Query("DELETE FROM OtpNotificationOutbox o WHERE o.statusCode <> :pendingStatusCode AND o.crDtimes < :before")
+	int deleteCompletedBefore(@Param("pendingStatusCode") String pendingStatusCode,
+			@Param("before") LocalDateTime before);
+}
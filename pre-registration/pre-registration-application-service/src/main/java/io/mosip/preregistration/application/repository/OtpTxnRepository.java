@@ -4,6 +4,9 @@ import io.mosip.preregistration.application.entity.OtpTransaction;
 
 import java.time.LocalDateTime;
 
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -33,4 +36,19 @@ public interface OtpTxnRepository extends BaseRepository<OtpTransaction, String>
 			+ "expiryDtimes > :currenttime")
 	int checkotpsent(@Param("refId") String userid, @Param("statusCode") String statusCode,
 			@Param("currenttime") LocalDateTime currenttime);
+
+	/**
+	 * Changes the status of the OTP transaction, only when it still has the
+	 * expected status.
+	 *
+	 * @return the number of transactions updated, 0 when the status was already
+	 *         changed
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE OtpTransaction SET statusCode = :newStatusCode, updBy = :updBy, updDTimes = :updDTimes "
+			+ "WHERE id = :id AND statusCode = :statusCode")
+	int updateStatusCode(@Param("id") String id, @Param("statusCode") String statusCode,
+			@Param("newStatusCode") String newStatusCode, @Param("updBy") String updBy,
+			@Param("updDTimes") LocalDateTime updDTimes);
 }
@@ -5,10 +5,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,7 +39,6 @@ import io.mosip.kernel.core.authmanager.authadapter.model.AuthUserDetails;
 import io.mosip.kernel.core.exception.BaseUncheckedException;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
-import io.mosip.kernel.core.idobjectvalidator.spi.IdObjectValidator;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.JsonUtils;
@@ -66,6 +67,7 @@ import io.mosip.preregistration.application.exception.RecordNotFoundException;
 import io.mosip.preregistration.application.exception.RecordNotFoundForPreIdsException;
 import io.mosip.preregistration.application.exception.util.DemographicExceptionCatcher;
 import io.mosip.preregistration.application.repository.DemographicRepository;
+import io.mosip.preregistration.application.service.util.CachedIdObjectValidator;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.BookingTypeCodes;
@@ -134,10 +136,10 @@ public class DemographicService implements DemographicServiceIntf {
 	private DemographicServiceUtil serviceUtil;
 
 	/**
-	 * Autowired reference for {@link #JsonValidatorImpl}
+	 * Autowired reference for {@link #CachedIdObjectValidator}
 	 */
 	@Autowired
-	private IdObjectValidator jsonValidator;
+	private CachedIdObjectValidator jsonValidator;
 
 	@Autowired
 	private DocumentServiceIntf documentServiceImpl;
@@ -238,6 +240,18 @@ public class DemographicService implements DemographicServiceIntf {
 
 	private String getIdentityJsonString = "";
 
+	/**
+	 * Parsed copy of the identity mapping json, replaced as a whole on every
+	 * {@link #setup()}
+	 */
+	private volatile DemographicIdentityRequestDTO identityJsonSnapshot;
+
+	/**
+	 * Identity attributes of the last id schema seen by
+	 * {@link #convertSchemaJsonToArray(String)}
+	 */
+	private volatile SchemaIdentityKeys schemaIdentityKeys;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
@@ -260,8 +274,13 @@ public class DemographicService implements DemographicServiceIntf {
 	public void setup() {
 		getIdentityJsonString = serviceUtil.getJson(preregistrationIdJson);
 		log.info("Fetched the identity json from config server" + getIdentityJsonString);
-		objectMapper = JsonMapper.builder().addModule(new AfterburnerModule()).build();
-		objectMapper.registerModule(new JavaTimeModule());
+		ObjectMapper mapper = JsonMapper.builder().addModule(new AfterburnerModule()).build();
+		mapper.registerModule(new JavaTimeModule());
+		objectMapper = mapper;
+		DemographicIdentityRequestDTO identityJson = parsePreregistrationIdentityJson(getIdentityJsonString);
+		if (identityJson != null) {
+			identityJsonSnapshot = identityJson;
+		}
 	}
 
 	/*
@@ -326,7 +345,7 @@ public class DemographicService implements DemographicServiceIntf {
 
 			log.info("Constructed Object {}", constructedObject);
 
-			jsonValidator.validateIdObject(idSchema.getSchemaJson(), constructedObject, requiredFields);
+			jsonValidator.validateIdObject(idSchema, constructedObject, requiredFields);
 
 			log.info("sessionId", "idType", "id",
 					"JSON validator end time : " + DateUtils.getUTCCurrentDateTimeString());
@@ -429,7 +448,7 @@ public class DemographicService implements DemographicServiceIntf {
 
 				log.debug("Constructed Object {}", constructedObject);
 
-				jsonValidator.validateIdObject(idSchema.getSchemaJson(), constructedObject, requiredFields);
+				jsonValidator.validateIdObject(idSchema, constructedObject, requiredFields);
 				log.info("sessionId", "idType", "id",
 						"JSON validator end time : " + DateUtils.getUTCCurrentDateTimeString());
 				DemographicEntity demographicEntity = demographicRepository.findBypreRegistrationId(preRegistrationId);
@@ -499,53 +518,55 @@ public class DemographicService implements DemographicServiceIntf {
 		try {
 			requestParamMap.put(DemographicRequestCodes.USER_ID.getCode(), userId);
 			if (validationUtil.requstParamValidator(requestParamMap)) {
-				log.info("sessionId", "idType", "id",
-						"get demographic details start time : " + DateUtils.getUTCCurrentDateTimeString());
-				List<DemographicEntity> demographicEntities = demographicRepository.findByCreatedBy(userId,
-						StatusCodes.CONSUMED.getCode());
-				log.info("sessionId", "idType", "id",
-						"get demographic details end time : " + DateUtils.getUTCCurrentDateTimeString());
-				if (!serviceUtil.isNull(demographicEntities)) {
+				if (serviceUtil.isNull(pageIdx)) {
 					/*
 					 * Fetch all the records for the user irrespective of page index and page size
 					 */
-					if (serviceUtil.isNull(pageIdx)) {
+					log.info("sessionId", "idType", "id",
+							"get demographic details start time : " + DateUtils.getUTCCurrentDateTimeString());
+					List<DemographicEntity> demographicEntities = demographicRepository
+							.findWithDocumentsByCreatedBy(userId, StatusCodes.CONSUMED.getCode());
+					log.info("sessionId", "idType", "id",
+							"get demographic details end time : " + DateUtils.getUTCCurrentDateTimeString());
+					if (serviceUtil.isNull(demographicEntities)) {
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+								DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+					}
+					prepareDemographicResponse(demographicMetadataDTO, demographicEntities);
+					demographicMetadataDTO.setNoOfRecords("0");
+					demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
+					demographicMetadataDTO.setPageIndex("0");
+					response.setResponse(demographicMetadataDTO);
+				} else {
+					/*
+					 * Fetch the pre-registration ids of the page for the user with respect to page
+					 * index and page size, the total count comes from the page's count query. The
+					 * applications of the page are then fetched with their documents in one query.
+					 */
+					log.info("sessionId", "idType", "id",
+							"pagination start time : " + DateUtils.getUTCCurrentDateTimeString());
+					Page<String> preRegistrationIdPage = demographicRepository.findPreRegistrationIdsByCreatedBy(
+							userId, StatusCodes.CONSUMED.getCode(), PageRequest.of(serviceUtil.parsePageIndex(pageIdx),
+									serviceUtil.parsePageSize(pageSize)));
+					log.info("sessionId", "idType", "id",
+							"pagination end time : " + DateUtils.getUTCCurrentDateTimeString());
+					if (serviceUtil.isNull(preRegistrationIdPage) || preRegistrationIdPage.getTotalElements() == 0) {
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+								DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+					}
+					if (!serviceUtil.isNull(preRegistrationIdPage.getContent())) {
+						List<DemographicEntity> demographicEntities = findWithDocumentsInPageOrder(
+								preRegistrationIdPage.getContent());
 						prepareDemographicResponse(demographicMetadataDTO, demographicEntities);
-						demographicMetadataDTO.setNoOfRecords("0");
-						demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
-						demographicMetadataDTO.setPageIndex("0");
+						demographicMetadataDTO.setNoOfRecords(Integer.toString(demographicEntities.size()));
+						demographicMetadataDTO
+								.setTotalRecords(Long.toString(preRegistrationIdPage.getTotalElements()));
+						demographicMetadataDTO.setPageIndex(pageIdx);
 						response.setResponse(demographicMetadataDTO);
 					} else {
-						/*
-						 * Fetch all the pageable records for the user with respect to page index and
-						 * page size
-						 */
-						log.info("sessionId", "idType", "id",
-								"pagination start time : " + DateUtils.getUTCCurrentDateTimeString());
-						@SuppressWarnings("static-access")
-						Page<DemographicEntity> demographicEntityPage = demographicRepository
-								.findByCreatedByOrderByCreateDateTime(userId, StatusCodes.CONSUMED.getCode(),
-										PageRequest.of(serviceUtil.parsePageIndex(pageIdx),
-												serviceUtil.parsePageSize(pageSize)));
-						log.info("sessionId", "idType", "id",
-								"pagination end time : " + DateUtils.getUTCCurrentDateTimeString());
-						if (!serviceUtil.isNull(demographicEntityPage)
-								&& !serviceUtil.isNull(demographicEntityPage.getContent())) {
-							prepareDemographicResponse(demographicMetadataDTO, demographicEntityPage.getContent());
-							demographicMetadataDTO
-									.setNoOfRecords(Integer.toString(demographicEntityPage.getContent().size()));
-							demographicMetadataDTO.setTotalRecords(Integer.toString(demographicEntities.size()));
-							demographicMetadataDTO.setPageIndex(pageIdx);
-							response.setResponse(demographicMetadataDTO);
-
-						} else {
-							throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_016.getCode(),
-									DemographicErrorMessages.PAGE_NOT_FOUND.getMessage());
-						}
+						throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_016.getCode(),
+								DemographicErrorMessages.PAGE_NOT_FOUND.getMessage());
 					}
-				} else {
-					throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
-							DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
 				}
 			}
 			isRetrieveSuccess = true;
@@ -570,6 +591,18 @@ public class DemographicService implements DemographicServiceIntf {
 		return response;
 	}
 
+	/**
+	 * Fetches the applications of a page with their documents in one query and
+	 * returns them in the order of the page.
+	 */
+	private List<DemographicEntity> findWithDocumentsInPageOrder(List<String> preRegistrationIds) {
+		Map<String, DemographicEntity> demographicEntities = new HashMap<>();
+		demographicRepository.findWithDocumentsByPreRegistrationIdIn(preRegistrationIds)
+				.forEach(entity -> demographicEntities.put(entity.getPreRegistrationId(), entity));
+		return preRegistrationIds.stream().map(demographicEntities::get).filter(Objects::nonNull)
+				.collect(Collectors.toList());
+	}
+
 	@SuppressWarnings({ "unchecked" })
 	private void prepareDemographicResponse(DemographicMetadataDTO demographicMetadataDTO,
 			List<DemographicEntity> demographicEntities)
@@ -578,11 +611,27 @@ public class DemographicService implements DemographicServiceIntf {
 		long start = System.currentTimeMillis();
 		log.info("sessionId", "idType", "id", "for loop start time : " + DateUtils.getUTCCurrentDateTimeString());
 		JSONParser jsonParser = new JSONParser();
-		for (DemographicEntity demographicEntity : demographicEntities) {
-			log.info("sessionId", "idType", "id", "decryption start time : " + DateUtils.getUTCCurrentDateTimeString());
-			byte[] decryptedString = cryptoUtil.decrypt(demographicEntity.getApplicantDetailJson(),
-					DateUtils.getUTCCurrentDateTime());
-			log.info("sessionId", "idType", "id", "decryption end time : " + DateUtils.getUTCCurrentDateTimeString());
+		DemographicIdentityRequestDTO identityJson = getPreregistrationIdentityJson();
+		String nameValue = identityJson.getIdentity().getName().getValue();
+		String poaValue = identityJson.getDocuments().getPoa().getValue();
+		String postalCodeValue = identityJson.getIdentity().getDob().getValue();
+		String[] nameKeys = nameValue.split(",");
+		log.info("sessionId", "idType", "id", "decryption start time : " + DateUtils.getUTCCurrentDateTimeString());
+		List<byte[]> decryptedList = cryptoUtil.decryptAll(demographicEntities.stream()
+				.map(DemographicEntity::getApplicantDetailJson).collect(Collectors.toList()),
+				DateUtils.getUTCCurrentDateTime());
+		log.info("sessionId", "idType", "id", "decryption end time : " + DateUtils.getUTCCurrentDateTimeString());
+		log.info("sessionId", "idType", "id",
+				"get booking details start time : " + DateUtils.getUTCCurrentDateTimeString());
+		Map<String, ApplicationEntity> applicationEntities = serviceUtil
+				.findApplicationsByIds(demographicEntities.stream().map(DemographicEntity::getPreRegistrationId)
+						.filter(preRegistrationId -> !serviceUtil.isNull(preRegistrationId))
+						.collect(Collectors.toList()));
+		log.info("sessionId", "idType", "id",
+				"get booking details end time : " + DateUtils.getUTCCurrentDateTimeString());
+		for (int index = 0; index < demographicEntities.size(); index++) {
+			DemographicEntity demographicEntity = demographicEntities.get(index);
+			byte[] decryptedString = decryptedList.get(index);
 			log.info("sessionId", "idType", "id",
 					"get document metadata start time : " + DateUtils.getUTCCurrentDateTimeString());
 			JSONObject documentJsonObject = getDocumentMetadata(demographicEntity,
@@ -592,10 +641,6 @@ public class DemographicService implements DemographicServiceIntf {
 
 			JSONObject jsonObj = (JSONObject) jsonParser.parse(new String(decryptedString));
 			JSONObject demographicMetadata = new JSONObject();
-			String nameValue = getPreregistrationIdentityJson().getIdentity().getName().getValue();
-			String poaValue = getPreregistrationIdentityJson().getDocuments().getPoa().getValue();
-			String postalCodeValue = getPreregistrationIdentityJson().getIdentity().getDob().getValue();
-			String[] nameKeys = nameValue.split(",");
 			for (int i = 0; i < nameKeys.length; i++) {
 				demographicMetadata.put(nameKeys[i], serviceUtil.getValueFromIdentity(decryptedString, nameKeys[i]));
 			}
@@ -608,11 +653,8 @@ public class DemographicService implements DemographicServiceIntf {
 			viewDto.setStatusCode(demographicEntity.getStatusCode());
 			viewDto.setDemographicMetadata(demographicMetadata);
 			viewDto.setDataCaptureLanguage(dataCaptureLang);
-			log.info("sessionId", "idType", "id",
-					"get booking details start time : " + DateUtils.getUTCCurrentDateTimeString());
-			BookingRegistrationDTO bookingRegistrationDTO = getAppointmentData(demographicEntity);
-			log.info("sessionId", "idType", "id",
-					"get booking details end time : " + DateUtils.getUTCCurrentDateTimeString());
+			BookingRegistrationDTO bookingRegistrationDTO = getAppointmentData(demographicEntity,
+					applicationEntities);
 			viewDto.setBookingMetadata(bookingRegistrationDTO);
 			viewList.add(viewDto);
 		}
@@ -622,11 +664,15 @@ public class DemographicService implements DemographicServiceIntf {
 		demographicMetadataDTO.setBasicDetails(viewList);
 	}
 
-	private BookingRegistrationDTO getAppointmentData(DemographicEntity demographicEntity) {
+	private BookingRegistrationDTO getAppointmentData(DemographicEntity demographicEntity,
+			Map<String, ApplicationEntity> applicationEntities) {
 
 		if (!serviceUtil.isNull(demographicEntity.getPreRegistrationId())) {
-			ApplicationEntity applicationEntity = serviceUtil
-					.findApplicationById(demographicEntity.getPreRegistrationId());
+			ApplicationEntity applicationEntity = applicationEntities.get(demographicEntity.getPreRegistrationId());
+			if (applicationEntity == null) {
+				throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+						DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+			}
 			log.info("In applicationEnity fetched {} in getAppointmentData method ", applicationEntity);
 			if (applicationEntity.getAppointmentDate() != null) {
 				BookingRegistrationDTO bookingRegistrationDTO = new BookingRegistrationDTO();
@@ -1135,9 +1181,17 @@ public class DemographicService implements DemographicServiceIntf {
 	}
 
 	public DemographicIdentityRequestDTO getPreregistrationIdentityJson() {
+		DemographicIdentityRequestDTO identityJson = identityJsonSnapshot;
+		if (identityJson == null) {
+			identityJson = parsePreregistrationIdentityJson(getIdentityJsonString);
+			identityJsonSnapshot = identityJson;
+		}
+		return identityJson;
+	}
 
+	private DemographicIdentityRequestDTO parsePreregistrationIdentityJson(String identityJsonString) {
 		try {
-			return objectMapper.readValue(getIdentityJsonString, DemographicIdentityRequestDTO.class);
+			return objectMapper.readValue(identityJsonString, DemographicIdentityRequestDTO.class);
 		} catch (IOException ex) {
 			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
 			log.error("sessionId", "idType", "id",
@@ -1173,6 +1227,10 @@ public class DemographicService implements DemographicServiceIntf {
 	}
 
 	private List<String> convertSchemaJsonToArray(String schemaJson) {
+		SchemaIdentityKeys cached = schemaIdentityKeys;
+		if (cached != null && cached.matches(schemaJson)) {
+			return cached.identityKeys;
+		}
 		List<String> idschemaAttributes = new ArrayList<String>();
 		try {
 			JsonNode node = objectMapper.readValue(schemaJson, JsonNode.class);
@@ -1190,8 +1248,28 @@ public class DemographicService implements DemographicServiceIntf {
 			throw new SystemFileIOException(DemographicErrorCodes.PRG_PAM_APP_018.getCode(),
 					DemographicErrorMessages.UBALE_TO_READ_IDENTITY_JSON.getMessage(), null);
 		}
+		List<String> identityKeys = Collections.unmodifiableList(idschemaAttributes);
+		schemaIdentityKeys = new SchemaIdentityKeys(schemaJson, identityKeys);
+		return identityKeys;
+	}
+
+	/**
+	 * Identity attribute names parsed from one id schema json
+	 */
+	private static final class SchemaIdentityKeys {
 
-		return idschemaAttributes;
+		private final String schemaJson;
+
+		private final List<String> identityKeys;
+
+		private SchemaIdentityKeys(String schemaJson, List<String> identityKeys) {
+			this.schemaJson = schemaJson;
+			this.identityKeys = identityKeys;
+		}
+
+		private boolean matches(String otherSchemaJson) {
+			return schemaJson == otherSchemaJson || schemaJson.equals(otherSchemaJson);
+		}
 	}
 	
 	public MainResponseDTO<ApplicationInfoMetadataDTO> getPregistrationInfo(String prid) {
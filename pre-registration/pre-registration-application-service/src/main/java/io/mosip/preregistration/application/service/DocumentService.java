@@ -3,6 +3,10 @@ package io.mosip.preregistration.application.service;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -12,8 +16,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.parser.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -149,6 +155,13 @@ public class DocumentService implements DocumentServiceIntf {
 	@Autowired
 	private ObjectStoreAdapter objectStore;
 
+	/**
+	 * Size up to which an encrypted document is held in memory before it is
+	 * spilled to a temporary file on its way to the object store
+	 */
+	@Value("${mosip.preregistration.document.upload.memory-threshold-bytes:262144}")
+	private int uploadMemoryThreshold;
+
 	/**
 	 * Autowired reference for {@link #DocumentServiceUtil}
 	 */
@@ -283,18 +296,33 @@ public class DocumentService implements DocumentServiceIntf {
 			documentEntity.setDocName(file.getOriginalFilename());
 			LocalDateTime encryptedTimestamp = DateUtils.getUTCCurrentDateTime();
 			documentEntity.setEncryptedDateTime(encryptedTimestamp);
-			byte[] encryptedDocument = cryptoUtil.encrypt(file.getBytes(), encryptedTimestamp);
-			documentEntity.setDocHash(HashUtill.hashUtill(encryptedDocument));
-			documentEntity = documnetDAO.saveDocument(documentEntity);
-			String key = documentEntity.getDocCatCode() + "_" + documentEntity.getDocumentId();
+			DeferredFileOutputStream encryptedDocument = new DeferredFileOutputStream(uploadMemoryThreshold,
+					"prereg-document-", ".enc", null);
+			try {
+				MessageDigest digest = HashUtill.newDigest();
+				try (InputStream plainDocument = file.getInputStream();
+						OutputStream hashedOutput = new DigestOutputStream(encryptedDocument, digest)) {
+					cryptoUtil.encrypt(plainDocument, encryptedTimestamp, hashedOutput);
+				}
+				documentEntity.setDocHash(HashUtill.hashUtill(digest));
+				documentEntity = documnetDAO.saveDocument(documentEntity);
+				String key = documentEntity.getDocCatCode() + "_" + documentEntity.getDocumentId();
 
-			boolean isStoreSuccess = objectStore.putObject(objectStoreAccountName,
-					documentEntity.getDemographicEntity().getPreRegistrationId(), null, null, key,
-					new ByteArrayInputStream(encryptedDocument));
+				boolean isStoreSuccess;
+				try (InputStream encryptedInput = encryptedDocument.isInMemory()
+						? new ByteArrayInputStream(encryptedDocument.getData())
+						: Files.newInputStream(encryptedDocument.getFile().toPath())) {
+					isStoreSuccess = objectStore.putObject(objectStoreAccountName,
+							documentEntity.getDemographicEntity().getPreRegistrationId(), null, null, key,
+							encryptedInput);
+				}
 
-			if (!isStoreSuccess) {
-				throw new FSServerException(DocumentErrorCodes.PRG_PAM_DOC_009.toString(),
-						DocumentErrorMessages.DOCUMENT_FAILED_TO_UPLOAD.getMessage());
+				if (!isStoreSuccess) {
+					throw new FSServerException(DocumentErrorCodes.PRG_PAM_DOC_009.toString(),
+							DocumentErrorMessages.DOCUMENT_FAILED_TO_UPLOAD.getMessage());
+				}
+			} finally {
+				FileUtils.deleteQuietly(encryptedDocument.getFile());
 			}
 			docResponseDto.setPreRegistrationId(documentEntity.getDemographicEntity().getPreRegistrationId());
 			docResponseDto.setDocId(String.valueOf(documentEntity.getDocumentId()));
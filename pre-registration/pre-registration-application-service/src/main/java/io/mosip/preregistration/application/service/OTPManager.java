@@ -23,6 +23,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
@@ -37,7 +39,10 @@ import io.mosip.preregistration.application.dto.RequestDTO;
 import io.mosip.preregistration.application.entity.OtpTransaction;
 import io.mosip.preregistration.application.exception.PreRegLoginException;
 import io.mosip.preregistration.application.repository.OtpTxnRepository;
-import io.mosip.preregistration.application.service.util.NotificationServiceUtil;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex.ActiveOtp;
+import io.mosip.preregistration.application.service.util.OtpNotificationQueue;
+import io.mosip.preregistration.application.service.util.OtpRateLimiter;
 import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import io.mosip.preregistration.core.config.LoggerConfiguration;;
 
@@ -55,6 +60,9 @@ public class OTPManager {
 	/** The Constant OTP_ALREADY_SENT. */
 	private static final String OTP_ALREADY_SENT = "OTP_ALREADY_SENT";
 
+	/** The Constant OTP_REQUEST_FLOODED. */
+	private static final String OTP_REQUEST_FLOODED = "OTP_REQUEST_FLOODED";
+
 	/** The Constant USER_BLOCKED. */
 	private static final String USER_BLOCKED = "USER_BLOCKED";
 
@@ -89,7 +97,16 @@ public class OTPManager {
 	private Logger logger = LoggerConfiguration.logConfig(OTPManager.class);
 
 	@Autowired
-	NotificationServiceUtil notification;
+	private OtpNotificationQueue otpNotificationQueue;
+
+	@Autowired
+	private OtpRateLimiter otpRateLimiter;
+
+	@Autowired
+	private ActiveOtpIndex activeOtpIndex;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
 
 	/**
 	 * Generate OTP with information of {@link MediaType } and OTP generation
@@ -109,7 +126,16 @@ public class OTPManager {
 
 		String refId = hash(userId);
 
-		if ((otpRepo.checkotpsent(refId, PreRegLoginConstant.ACTIVE_STATUS, DateUtils.getUTCCurrentDateTime()) > 0)) {
+		if (!otpRateLimiter.tryAcquireSend(refId)) {
+			logger.error(PreRegLoginConstant.SESSION_ID, this.getClass().getSimpleName(),
+					PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), OTP_REQUEST_FLOODED);
+			throw new PreRegLoginException(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(),
+					PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorMessage());
+		}
+		// an OTP indexed on an authoritative node is active, otherwise the table tells.
+		boolean otpSent = (activeOtpIndex.isAuthoritative() && Objects.nonNull(activeOtpIndex.get(refId)))
+				|| otpRepo.checkotpsent(refId, PreRegLoginConstant.ACTIVE_STATUS, DateUtils.getUTCCurrentDateTime()) > 0;
+		if (otpSent) {
 			logger.error(PreRegLoginConstant.SESSION_ID, this.getClass().getSimpleName(),
 					PreRegLoginErrorConstants.OTP_ALREADY_SENT.getErrorCode(), OTP_ALREADY_SENT);
 			throw new PreRegLoginException(PreRegLoginErrorConstants.OTP_ALREADY_SENT.getErrorCode(),
@@ -121,28 +147,6 @@ public class OTPManager {
 		String otpHash = digestAsPlainText(
 				(userId + environment.getProperty(PreRegLoginConstant.KEY_SPLITTER) + otp).getBytes());
 
-		if (otpRepo.existsByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS)) {
-			OtpTransaction otpTxn = otpRepo.findTopByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS);
-			otpTxn.setOtpHash(otpHash);
-			otpTxn.setUpdBy(environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID));
-			otpTxn.setUpdDTimes(DateUtils.getUTCCurrentDateTime());
-			otpTxn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime().plusSeconds(
-					environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Long.class)));
-			otpTxn.setStatusCode(PreRegLoginConstant.ACTIVE_STATUS);
-			otpRepo.save(otpTxn);
-		} else {
-			OtpTransaction txn = new OtpTransaction();
-			txn.setId(UUID.randomUUID().toString());
-			txn.setRefId(hash(userId));
-			txn.setOtpHash(otpHash);
-			txn.setCrBy(environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID));
-			txn.setCrDtimes(DateUtils.getUTCCurrentDateTime());
-			txn.setGeneratedDtimes(DateUtils.getUTCCurrentDateTime());
-			txn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime().plusSeconds(
-					environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Long.class)));
-			txn.setStatusCode(PreRegLoginConstant.ACTIVE_STATUS);
-			otpRepo.save(txn);
-		}
 		Map<String, Object> mp = new HashMap<>();
 
 		Integer validTime = environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Integer.class)
@@ -159,17 +163,45 @@ public class OTPManager {
 		mp.put("username", userId);
 		mp.put("time", timeFormatter.format(dateTime));
 
-		if (channelType.equalsIgnoreCase(PreRegLoginConstant.PHONE_NUMBER)) {
-			logger.info("sessionId", "idType", "id",
-					"In generateOTP method of otpmanager service invoking sms notification");
-			notification.invokeSmsNotification(mp, userId, requestDTO, language);
+		// the OTP and its outbox row are saved together, the notification is queued once they are committed.
+		OtpTransaction txn = new TransactionTemplate(transactionManager)
+				.execute(status -> saveOtpAndEnqueue(requestDTO, channelType, language, userId, otpHash, mp));
+		activeOtpIndex.put(refId, otpHash, txn.getId(), txn.getExpiryDtimes());
+		return true;
+	}
+
+	private OtpTransaction saveOtpAndEnqueue(MainRequestDTO<OtpRequestDTO> requestDTO, String channelType,
+			String language, String userId, String otpHash, Map<String, Object> mp) {
+		OtpTransaction txn = otpRepo.findTopByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS);
+		if (Objects.nonNull(txn)) {
+			txn.setOtpHash(otpHash);
+			txn.setUpdBy(environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID));
+			txn.setUpdDTimes(DateUtils.getUTCCurrentDateTime());
+			txn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime().plusSeconds(
+					environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Long.class)));
+			txn.setStatusCode(PreRegLoginConstant.ACTIVE_STATUS);
+			otpRepo.save(txn);
+		} else {
+			txn = new OtpTransaction();
+			txn.setId(UUID.randomUUID().toString());
+			txn.setRefId(hash(userId));
+			txn.setOtpHash(otpHash);
+			txn.setCrBy(environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID));
+			txn.setCrDtimes(DateUtils.getUTCCurrentDateTime());
+			txn.setGeneratedDtimes(DateUtils.getUTCCurrentDateTime());
+			txn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime().plusSeconds(
+					environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Long.class)));
+			txn.setStatusCode(PreRegLoginConstant.ACTIVE_STATUS);
+			otpRepo.save(txn);
 		}
-		if (channelType.equalsIgnoreCase(PreRegLoginConstant.EMAIL)) {
+		if (channelType.equalsIgnoreCase(PreRegLoginConstant.PHONE_NUMBER)
+				|| channelType.equalsIgnoreCase(PreRegLoginConstant.EMAIL)) {
 			logger.info("sessionId", "idType", "id",
-					"In generateOTP method of otpmanager service invoking email notification");
-			notification.invokeEmailNotification(mp, userId, requestDTO, language);
+					"In sendOtp method of otpmanager service queueing " + channelType + " notification");
+			otpNotificationQueue.enqueue(txn.getId(), channelType, userId, mp, requestDTO, language,
+					txn.getExpiryDtimes());
 		}
-		return true;
+		return txn;
 	}
 
 	private String generateOTP(MainRequestDTO<OtpRequestDTO> requestDTO) throws PreRegLoginException {
@@ -224,16 +256,41 @@ public class OTPManager {
 	 */
 	public boolean validateOtp(String otp, String userId) throws PreRegLoginException {
 		logger.info("sessionId", "idType", "id", "In validateOtp method of otpmanager service ");
+		// a missing user id is taken as "null", as in the OTP hash below.
+		String refId = hash(String.valueOf(userId));
+		if (!otpRateLimiter.tryAcquireValidate(refId)) {
+			logger.error(PreRegLoginConstant.SESSION_ID, this.getClass().getSimpleName(),
+					PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), OTP_REQUEST_FLOODED);
+			throw new PreRegLoginException(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(),
+					PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorMessage());
+		}
 		String otpHash;
 		otpHash = digestAsPlainText(
 				(userId + environment.getProperty(PreRegLoginConstant.KEY_SPLITTER) + otp).getBytes());
 
-		if (!otpRepo.existsByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS))
+		String txnId;
+		LocalDateTime expiryDtimes;
+		ActiveOtp activeOtp = activeOtpIndex.get(refId);
+		if (Objects.nonNull(activeOtp) && activeOtp.getOtpHash().equals(otpHash)) {
+			txnId = activeOtp.getTxnId();
+			expiryDtimes = activeOtp.getExpiryDtimes();
+		} else if (Objects.nonNull(activeOtp) && activeOtpIndex.isAuthoritative()) {
+			// the user's only active OTP is the indexed one.
+			return false;
+		} else {
+			OtpTransaction otpTxn = otpRepo.findTopByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS);
+			if (Objects.isNull(otpTxn))
+				return false;
+			txnId = otpTxn.getId();
+			expiryDtimes = otpTxn.getExpiryDtimes();
+		}
+		int updated = otpRepo.updateStatusCode(txnId, PreRegLoginConstant.ACTIVE_STATUS,
+				PreRegLoginConstant.USED_STATUS, environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID),
+				DateUtils.getUTCCurrentDateTime());
+		activeOtpIndex.remove(refId);
+		if (updated == 0)
 			return false;
-		OtpTransaction otpTxn = otpRepo.findTopByOtpHashAndStatusCode(otpHash, PreRegLoginConstant.ACTIVE_STATUS);
-		otpTxn.setStatusCode(PreRegLoginConstant.USED_STATUS);
-		otpRepo.save(otpTxn);
-		if (!(otpTxn.getExpiryDtimes().isAfter(DateUtils.getUTCCurrentDateTime()))) {
+		if (!(expiryDtimes.isAfter(DateUtils.getUTCCurrentDateTime()))) {
 			logger.error(PreRegLoginConstant.SESSION_ID, this.getClass().getSimpleName(),
 					PreRegLoginErrorConstants.EXPIRED_OTP.getErrorCode(), OTP_EXPIRED);
 			throw new PreRegLoginException(PreRegLoginErrorConstants.EXPIRED_OTP.getErrorCode(),
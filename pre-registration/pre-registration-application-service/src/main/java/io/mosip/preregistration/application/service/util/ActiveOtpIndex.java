@@ -0,0 +1,141 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * This class keeps the active OTPs sent from this node, keyed by the hashed
+ * user id, until they expire or are validated, so a validation of an OTP sent
+ * from this node does not look the OTP up in the otp_transaction table.
+ * <p>
+ * An entry only tells which transaction the OTP belongs to. The OTP is still
+ * marked as used in the table, which fails when the OTP was already validated
+ * on another node. A missing or different entry is not taken as a wrong OTP,
+ * as the user may have requested a new OTP from another node. At most
+ * ${preregistration.otp.active-index.max-entries} OTPs are kept, further OTPs
+ * are not indexed until the expired ones are removed.
+ * <p>
+ * With ${preregistration.otp.active-index.authoritative}, set when a single
+ * node or sticky routing sends and validates all the OTPs of a user, an entry
+ * is also trusted to tell that an OTP was already sent and that a different
+ * OTP is wrong, without querying the table. A missing entry is still looked
+ * up, as it is after a restart.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class ActiveOtpIndex {
+
+	@Value("${preregistration.otp.active-index.enabled:true}")
+	private boolean enabled;
+
+	@Value("${preregistration.otp.active-index.max-entries:100000}")
+	private int maxEntries;
+
+	@Value("${preregistration.otp.active-index.authoritative:false}")
+	private boolean authoritative;
+
+	private final Map<String, ActiveOtp> activeOtps = new ConcurrentHashMap<>();
+
+	/**
+	 * Indexes the OTP sent to the user.
+	 *
+	 * @param refId        the hashed user id
+	 * @param otpHash      the hash of the user id and the OTP
+	 * @param txnId        the id of the OTP transaction
+	 * @param expiryDtimes the expiry time of the OTP
+	 */
+	public void put(String refId, String otpHash, String txnId, LocalDateTime expiryDtimes) {
+		if (!enabled) {
+			return;
+		}
+		if (!activeOtps.containsKey(refId) && activeOtps.size() >= maxEntries) {
+			LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+			activeOtps.values().removeIf(activeOtp -> activeOtp.isExpired(now));
+			if (activeOtps.size() >= maxEntries) {
+				return;
+			}
+		}
+		activeOtps.put(refId, new ActiveOtp(otpHash, txnId, expiryDtimes));
+	}
+
+	/**
+	 * @param refId the hashed user id
+	 * @return the active OTP sent to the user from this node, or null when none
+	 *         is indexed or it has expired
+	 */
+	public ActiveOtp get(String refId) {
+		ActiveOtp activeOtp = activeOtps.get(refId);
+		if (Objects.nonNull(activeOtp) && activeOtp.isExpired(DateUtils.getUTCCurrentDateTime())) {
+			activeOtps.remove(refId, activeOtp);
+			return null;
+		}
+		return activeOtp;
+	}
+
+	/**
+	 * Removes the OTP of the user, once it is validated.
+	 *
+	 * @param refId the hashed user id
+	 */
+	public void remove(String refId) {
+		activeOtps.remove(refId);
+	}
+
+	/**
+	 * @return true when the OTPs of a user are only sent and validated on this
+	 *         node, so an indexed OTP is the user's only active OTP
+	 */
+	public boolean isAuthoritative() {
+		return enabled && authoritative;
+	}
+
+	/**
+	 * @return the number of OTPs indexed
+	 */
+	public int size() {
+		return activeOtps.size();
+	}
+
+	/**
+	 * An OTP sent to a user.
+	 */
+	public static class ActiveOtp {
+
+		private final String otpHash;
+
+		private final String txnId;
+
+		private final LocalDateTime expiryDtimes;
+
+		ActiveOtp(String otpHash, String txnId, LocalDateTime expiryDtimes) {
+			this.otpHash = otpHash;
+			this.txnId = txnId;
+			this.expiryDtimes = expiryDtimes;
+		}
+
+		public String getOtpHash() {
+			return otpHash;
+		}
+
+		public String getTxnId() {
+			return txnId;
+		}
+
+		public LocalDateTime getExpiryDtimes() {
+			return expiryDtimes;
+		}
+
+		boolean isExpired(LocalDateTime now) {
+			return !expiryDtimes.isAfter(now);
+		}
+	}
+
+}
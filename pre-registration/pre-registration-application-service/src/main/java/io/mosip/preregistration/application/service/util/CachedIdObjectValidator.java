@@ -0,0 +1,248 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+
+import io.mosip.kernel.core.idobjectvalidator.exception.IdObjectIOException;
+import io.mosip.kernel.core.idobjectvalidator.exception.IdObjectValidationFailedException;
+import io.mosip.kernel.core.idobjectvalidator.exception.InvalidIdSchemaException;
+import io.mosip.kernel.core.idobjectvalidator.spi.IdObjectValidator;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.idobjectvalidator.helper.IdObjectValidatorHelper;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * This class validates id objects against compiled id schemas that are kept in
+ * memory, keyed by the schema version and the set of required fields.
+ * <p>
+ * The kernel {@link IdObjectValidator} parses and compiles the schema string on
+ * every call. Here the compiled schema is reused, and the id object is valid
+ * when none of the messages of its report is one the kernel validator turns
+ * into an error. Otherwise the id object is handed to the kernel validator so
+ * that the error list and the exception thrown stay exactly the same.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class CachedIdObjectValidator {
+
+	private Logger log = LoggerConfiguration.logConfig(CachedIdObjectValidator.class);
+
+	private static final String INSTANCE = "instance";
+
+	private static final String SCHEMA = "schema";
+
+	private static final String POINTER = "pointer";
+
+	private static final String MISSING = "missing";
+
+	private static final String UNWANTED = "unwanted";
+
+	private static final String KEYWORD = "keyword";
+
+	/**
+	 * keywords whose failure the kernel validator reports whatever the instance
+	 */
+	private static final Set<String> ERROR_KEYWORDS = new HashSet<>(Arrays.asList("type", "validators"));
+
+	private static final String DEFINITIONS = "definitions";
+
+	@Value("${mosip.preregistration.idschema.validator.cache.max-entries:16}")
+	private int maxEntries;
+
+	@Autowired
+	private IdObjectValidator jsonValidator;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final ConcurrentMap<SchemaKey, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
+
+	/**
+	 * Validates the id object against the given id schema.
+	 *
+	 * @param idSchema       the id schema fetched from syncdata
+	 * @param idObject       the id object to validate
+	 * @param requiredFields the fields that must be present
+	 * @return true if the id object is valid
+	 * @throws IdObjectValidationFailedException if the id object is invalid
+	 * @throws IdObjectIOException               if the id object can not be read
+	 * @throws InvalidIdSchemaException          if the id schema is invalid
+	 */
+	public boolean validateIdObject(IdSchemaDto idSchema, Object idObject, List<String> requiredFields)
+			throws IdObjectValidationFailedException, IdObjectIOException, InvalidIdSchemaException {
+		CompiledSchema compiled = getCompiledSchema(idSchema, requiredFields);
+		if (compiled != null) {
+			try {
+				ProcessingReport report = compiled.jsonSchema.validate(mapper.valueToTree(idObject), true);
+				if (!compiled.hasErrors(report)) {
+					return true;
+				}
+			} catch (ProcessingException | IllegalArgumentException ex) {
+				log.debug("sessionId", "idType", "id",
+						"In validateIdObject method of CachedIdObjectValidator - " + ex.getMessage());
+			}
+		}
+		return jsonValidator.validateIdObject(idSchema.getSchemaJson(), idObject, requiredFields);
+	}
+
+	/**
+	 * Drops all compiled schemas.
+	 */
+	public void invalidate() {
+		compiledSchemas.clear();
+	}
+
+	private CompiledSchema getCompiledSchema(IdSchemaDto idSchema, List<String> requiredFields) {
+		SchemaKey key = new SchemaKey(idSchema.getId(), idSchema.getIdVersion(), requiredFields);
+		CompiledSchema compiled = compiledSchemas.get(key);
+		if (compiled != null && compiled.isCompiledFrom(idSchema.getSchemaJson())) {
+			return compiled;
+		}
+		compiled = compile(idSchema.getSchemaJson(), key.requiredFields);
+		if (compiled != null) {
+			if (compiledSchemas.size() >= maxEntries) {
+				compiledSchemas.keySet().removeIf(cached -> cached.idVersion != key.idVersion);
+				if (compiledSchemas.size() >= maxEntries) {
+					compiledSchemas.clear();
+				}
+			}
+			compiledSchemas.put(key, compiled);
+			log.info("sessionId", "idType", "id", "In getCompiledSchema method of CachedIdObjectValidator compiled schema version "
+					+ idSchema.getIdVersion() + " for required fields " + key.requiredFields);
+		}
+		return compiled;
+	}
+
+	private CompiledSchema compile(String schemaJson, Set<String> requiredFields) {
+		if (schemaJson == null) {
+			return null;
+		}
+		try {
+			JsonNode schemaNode = JsonLoader.fromString(schemaJson);
+			if (schemaNode.size() == 0 || !schemaNode.hasNonNull("$schema") || !schemaNode.hasNonNull("type")) {
+				return null;
+			}
+			return new CompiledSchema(schemaJson,
+					IdObjectValidatorHelper.getJSONSchemaFactory().getJsonSchema(schemaNode), requiredFields);
+		} catch (IOException | ProcessingException ex) {
+			log.error("sessionId", "idType", "id",
+					"In compile method of CachedIdObjectValidator - " + ex.getMessage());
+			return null;
+		}
+	}
+
+	private static final class SchemaKey {
+
+		private final String id;
+
+		private final double idVersion;
+
+		private final Set<String> requiredFields;
+
+		private SchemaKey(String id, double idVersion, List<String> requiredFields) {
+			this.id = id;
+			this.idVersion = idVersion;
+			this.requiredFields = requiredFields == null ? Collections.emptySet()
+					: Collections.unmodifiableSet(new TreeSet<>(requiredFields));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof SchemaKey)) {
+				return false;
+			}
+			SchemaKey other = (SchemaKey) obj;
+			return Double.compare(idVersion, other.idVersion) == 0 && Objects.equals(id, other.id)
+					&& requiredFields.equals(other.requiredFields);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(id, idVersion, requiredFields);
+		}
+	}
+
+	private static final class CompiledSchema {
+
+		private final String schemaJson;
+
+		private final JsonSchema jsonSchema;
+
+		private final boolean allFieldsRequired;
+
+		private final Set<String> requiredFieldNames;
+
+		private CompiledSchema(String schemaJson, JsonSchema jsonSchema, Set<String> requiredFields) {
+			this.schemaJson = schemaJson;
+			this.jsonSchema = jsonSchema;
+			this.allFieldsRequired = requiredFields.isEmpty();
+			Set<String> names = new HashSet<>();
+			// a required entry such as "dateOfBirth|age" is met by any one of its fields
+			requiredFields.forEach(field -> Collections.addAll(names, field.split("\\|")));
+			this.requiredFieldNames = names;
+		}
+
+		private boolean isCompiledFrom(String schemaJson) {
+			return this.schemaJson == schemaJson || this.schemaJson.equals(schemaJson);
+		}
+
+		/**
+		 * Applies the rule of the kernel's IdObjectSchemaValidator to the error
+		 * messages of the report: a message with an instance pointer is an error when
+		 * it names an unwanted field, misses a field under definitions, misses a
+		 * required field or fails the type or validators keyword. Any other message is
+		 * ignored by the kernel validator.
+		 */
+		private boolean hasErrors(ProcessingReport report) {
+			for (ProcessingMessage message : report) {
+				if (message.getLogLevel() != LogLevel.ERROR) {
+					continue;
+				}
+				JsonNode error = message.asJson();
+				if (!error.path(INSTANCE).hasNonNull(POINTER)) {
+					continue;
+				}
+				boolean onlyRequired = error.hasNonNull(MISSING) && !allFieldsRequired
+						&& !error.path(SCHEMA).path(POINTER).asText().contains(DEFINITIONS);
+				JsonNode fields = error.hasNonNull(UNWANTED) ? error.get(UNWANTED) : error.get(MISSING);
+				if (fields != null) {
+					for (JsonNode field : fields) {
+						if (!onlyRequired || requiredFieldNames.contains(field.asText())) {
+							return true;
+						}
+					}
+				}
+				if (ERROR_KEYWORDS.contains(error.path(KEYWORD).asText())) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
@@ -144,6 +144,12 @@ public class DemographicServiceUtil {
 
 	@Autowired
 	private ApplicationRepostiory applicationRepostiory;
+
+	@Autowired
+	private IdSchemaCache idSchemaCache;
+
+	@Autowired
+	private PridPool pridPool;
 	/**
 	 * Logger instance
 	 */
@@ -527,7 +533,16 @@ public class DemographicServiceUtil {
 		}
 	}
 
+	/**
+	 * This method returns a new pre-registration id, taken from {@link PridPool}
+	 * 
+	 * @return the pre-registration id
+	 */
 	public String generateId() {
+		return pridPool.take(this::fetchId);
+	}
+
+	private String fetchId() {
 		String prid = null;
 		try {
 			UriComponentsBuilder regbuilder = UriComponentsBuilder.fromHttpUrl(pridURl);
@@ -562,7 +577,16 @@ public class DemographicServiceUtil {
 
 	}
 
+	/**
+	 * This method returns the latest id schema, served from {@link IdSchemaCache}
+	 * 
+	 * @return the id schema
+	 */
 	public IdSchemaDto getSchema() {
+		return idSchemaCache.getSchema(this::fetchSchema);
+	}
+
+	private IdSchemaDto fetchSchema() {
 		IdSchemaDto response = null;
 		try {
 			UriComponentsBuilder regbuilder = UriComponentsBuilder.fromHttpUrl(idSchemaConfig);
@@ -716,6 +740,29 @@ public class DemographicServiceUtil {
 		return applicationEntity;
 	}
 
+	/**
+	 * This method fetches the applications entries for a list of application ids
+	 * in a single query.
+	 * 
+	 * @param applicationIds
+	 * @return map of application id to its applications entry
+	 */
+	public Map<String, ApplicationEntity> findApplicationsByIds(List<String> applicationIds) {
+		log.info("Fetching applications entries for {} applicationIDs", applicationIds.size());
+		Map<String, ApplicationEntity> applicationEntities = new HashMap<>();
+		if (applicationIds.isEmpty()) {
+			return applicationEntities;
+		}
+		try {
+			applicationRepostiory.findByApplicationIdIn(applicationIds)
+					.forEach(entity -> applicationEntities.put(entity.getApplicationId(), entity));
+		} catch (DataAccessException ex) {
+			throw new RecordNotFoundException(DemographicErrorCodes.PRG_PAM_APP_005.getCode(),
+					DemographicErrorMessages.NO_RECORD_FOUND_FOR_USER_ID.getMessage());
+		}
+		return applicationEntities;
+	}
+
 	public void deleteApplicationFromApplications(String applicationId) {
 		log.info("Deleting applications entry for applicationID: {}", applicationId);
 		try {
@@ -343,7 +343,9 @@ public class DocumentServiceUtil {
 	public boolean isVirusScanSuccess(MultipartFile file) {
 		try {
 			log.info("sessionId", "idType", "id", "In isVirusScanSuccess method of document service util");
-			return virusScan.scanDocument(file.getBytes());
+			try (InputStream document = file.getInputStream()) {
+				return virusScan.scanFile(document);
+			}
 		} catch (Exception e) {
 			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(e));
 			log.error("sessionId", "idType", "id", e.getMessage());
@@ -0,0 +1,208 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorCodes;
+import io.mosip.preregistration.application.errorcodes.DemographicErrorMessages;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.DaemonThreadFactory;
+import io.mosip.preregistration.core.exception.RestCallException;
+
+/**
+ * This class keeps the latest id schema fetched from syncdata in memory.
+ * <p>
+ * An entry older than ${mosip.preregistration.idschema.cache.refresh-after-seconds}
+ * is still served while a single background load refreshes it. An entry older
+ * than ${mosip.preregistration.idschema.cache.expire-after-seconds} makes the
+ * caller wait for the load, but if syncdata fails or does not answer within
+ * ${mosip.preregistration.idschema.cache.load-timeout-seconds} the last good
+ * schema is served instead. Concurrent callers always share one in-flight load.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class IdSchemaCache {
+
+	private Logger log = LoggerConfiguration.logConfig(IdSchemaCache.class);
+
+	private static final String METRIC_PREFIX = "preregistration.idschema.cache";
+
+	@Value("${mosip.preregistration.idschema.cache.refresh-after-seconds:300}")
+	private long refreshAfterSeconds;
+
+	@Value("${mosip.preregistration.idschema.cache.expire-after-seconds:3600}")
+	private long expireAfterSeconds;
+
+	@Value("${mosip.preregistration.idschema.cache.load-timeout-seconds:10}")
+	private long loadTimeoutSeconds;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final AtomicReference<CachedSchema> current = new AtomicReference<>();
+
+	private final AtomicReference<CompletableFuture<CachedSchema>> inFlight = new AtomicReference<>();
+
+	private ExecutorService loadExecutor;
+
+	private Counter hitCounter;
+
+	private Counter missCounter;
+
+	private Counter staleCounter;
+
+	private Timer refreshSuccessTimer;
+
+	private Timer refreshFailureTimer;
+
+	@PostConstruct
+	public void init() {
+		hitCounter = meterRegistry.counter(METRIC_PREFIX, "result", "hit");
+		missCounter = meterRegistry.counter(METRIC_PREFIX, "result", "miss");
+		staleCounter = meterRegistry.counter(METRIC_PREFIX, "result", "stale");
+		refreshSuccessTimer = meterRegistry.timer(METRIC_PREFIX + ".refresh", "result", "success");
+		refreshFailureTimer = meterRegistry.timer(METRIC_PREFIX + ".refresh", "result", "failure");
+		meterRegistry.gauge(METRIC_PREFIX + ".version", current, ref -> {
+			CachedSchema cached = ref.get();
+			return cached == null ? Double.NaN : cached.schema.getIdVersion();
+		});
+		loadExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("idschema-cache-loader"));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (loadExecutor != null) {
+			loadExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the cached id schema, loading it with the given loader when there is
+	 * no usable entry.
+	 *
+	 * @param loader fetches the id schema from syncdata
+	 * @return the id schema
+	 */
+	public IdSchemaDto getSchema(Supplier<IdSchemaDto> loader) {
+		CachedSchema cached = current.get();
+		long now = System.currentTimeMillis();
+		if (cached != null && !cached.isOlderThan(expireAfterSeconds, now)) {
+			hitCounter.increment();
+			if (cached.isOlderThan(refreshAfterSeconds, now)) {
+				load(loader);
+			}
+			return cached.schema;
+		}
+		missCounter.increment();
+		try {
+			return load(loader).get(loadTimeoutSeconds, TimeUnit.SECONDS).schema;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return fallback(cached, ex);
+		} catch (ExecutionException | TimeoutException ex) {
+			return fallback(cached, ex);
+		}
+	}
+
+	/**
+	 * Drops the cached entry so that the next call loads the schema again.
+	 */
+	public void invalidate() {
+		log.info("sessionId", "idType", "id", "In invalidate method of IdSchemaCache");
+		current.set(null);
+	}
+
+	private IdSchemaDto fallback(CachedSchema cached, Exception ex) {
+		Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+		if (cached != null) {
+			staleCounter.increment();
+			log.warn("sessionId", "idType", "id",
+					"In getSchema method of IdSchemaCache serving last loaded schema version "
+							+ cached.schema.getIdVersion() + " - " + cause.getMessage());
+			return cached.schema;
+		}
+		log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(cause));
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+		throw new RestCallException(DemographicErrorCodes.PRG_PAM_APP_020.getCode(),
+				DemographicErrorMessages.ID_SCHEMA_FETCH_FAILED.getMessage());
+	}
+
+	private CompletableFuture<CachedSchema> load(Supplier<IdSchemaDto> loader) {
+		while (true) {
+			CompletableFuture<CachedSchema> running = inFlight.get();
+			if (running != null) {
+				return running;
+			}
+			CompletableFuture<CachedSchema> future = new CompletableFuture<>();
+			if (inFlight.compareAndSet(null, future)) {
+				loadExecutor.execute(() -> doLoad(loader, future));
+				return future;
+			}
+		}
+	}
+
+	private void doLoad(Supplier<IdSchemaDto> loader, CompletableFuture<CachedSchema> future) {
+		long start = System.nanoTime();
+		CachedSchema loaded = null;
+		RuntimeException failure = null;
+		try {
+			loaded = new CachedSchema(loader.get(), System.currentTimeMillis());
+			CachedSchema previous = current.getAndSet(loaded);
+			if (previous == null || previous.schema.getIdVersion() != loaded.schema.getIdVersion()) {
+				log.info("sessionId", "idType", "id",
+						"In doLoad method of IdSchemaCache loaded schema version " + loaded.schema.getIdVersion());
+			}
+			refreshSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		} catch (RuntimeException ex) {
+			refreshFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.error("sessionId", "idType", "id", "In doLoad method of IdSchemaCache - " + ex.getMessage());
+			failure = ex;
+		}
+		// clear before completing so that callers woken by this load never rejoin it
+		inFlight.compareAndSet(future, null);
+		if (failure != null) {
+			future.completeExceptionally(failure);
+		} else {
+			future.complete(loaded);
+		}
+	}
+
+	private static final class CachedSchema {
+
+		private final IdSchemaDto schema;
+
+		private final long loadedAt;
+
+		private CachedSchema(IdSchemaDto schema, long loadedAt) {
+			this.schema = schema;
+			this.loadedAt = loadedAt;
+		}
+
+		private boolean isOlderThan(long seconds, long now) {
+			return now - loadedAt >= TimeUnit.SECONDS.toMillis(seconds);
+		}
+	}
+
+}
@@ -1,10 +1,6 @@
 package io.mosip.preregistration.application.service.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -18,7 +14,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -41,7 +36,6 @@ import org.springframework.web.util.UriComponentsBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.kernel.core.util.JsonUtils;
 import io.mosip.kernel.core.util.exception.JsonMappingException;
 import io.mosip.kernel.core.util.exception.JsonParseException;
@@ -60,6 +54,7 @@ import io.mosip.preregistration.core.common.dto.NotificationDTO;
 import io.mosip.preregistration.core.common.dto.ResponseWrapper;
 import io.mosip.preregistration.core.common.dto.SMSRequestDTO;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.TemplateCache;
 
 /**
  * The util class.
@@ -84,7 +79,7 @@ public class NotificationServiceUtil {
 	RestTemplate restTemplate;
 
 	@Autowired
-	TemplateManager templateManager;
+	private TemplateCache templateCache;
 
 	/** The Constant LANG_CODE. */
 
@@ -313,17 +308,8 @@ public class NotificationServiceUtil {
 		log.info("In applyTemplate of NotificationServiceUtil for templateName {} and values {}", templateName, mp);
 		Objects.requireNonNull(templateName);
 		Objects.requireNonNull(mp);
-		StringWriter writer = new StringWriter();
-		InputStream templateValue;
-		String fetchedTemplate = fetchTemplate(templateName, langCode);
-		templateValue = templateManager
-				.merge(new ByteArrayInputStream(fetchedTemplate.getBytes(StandardCharsets.UTF_8)), mp);
-		if (templateValue == null) {
-			throw new PreRegLoginException(PreRegLoginErrorConstants.MISSING_INPUT_PARAMETER.getErrorCode(),
-					String.format(PreRegLoginErrorConstants.MISSING_INPUT_PARAMETER.getErrorMessage(), "TEMPLATE"));
-		}
-		IOUtils.copy(templateValue, writer, StandardCharsets.UTF_8);
-		return writer.toString();
+		// parsed once per template and language, the master data is only called on a miss or a refresh.
+		return templateCache.merge(templateName, langCode, mp, () -> fetchTemplate(templateName, langCode));
 	}
 
 	/**
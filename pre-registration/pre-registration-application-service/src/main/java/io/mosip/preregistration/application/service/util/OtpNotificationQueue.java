@@ -0,0 +1,339 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.application.constant.PreRegLoginConstant;
+import io.mosip.preregistration.application.constant.PreRegLoginErrorConstants;
+import io.mosip.preregistration.application.dto.OtpRequestDTO;
+import io.mosip.preregistration.application.entity.OtpNotificationOutbox;
+import io.mosip.preregistration.application.exception.PreRegLoginException;
+import io.mosip.preregistration.application.repository.OtpNotificationOutboxRepository;
+import io.mosip.preregistration.core.common.dto.MainRequestDTO;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.DaemonThreadFactory;
+import io.mosip.preregistration.core.util.RatePacer;
+
+/**
+ * This class sends the OTP notifications outside of the send OTP request.
+ * <p>
+ * Each notification is recorded in the otp_notification_outbox table as
+ * PENDING, in the transaction saving the OTP, and handed to a bounded pool of
+ * ${preregistration.otp.delivery.workers} threads once that transaction
+ * commits. When ${preregistration.otp.delivery.queue-capacity} notifications
+ * are already waiting the OTP request is rejected as flooded, before anything
+ * is saved, so the request thread never sends a notification. The SMS and email
+ * notifications are each paced to a maximum number per second. A failed
+ * notification is retried with an exponential backoff up to
+ * ${preregistration.otp.delivery.max-attempts} attempts, while the OTP is not
+ * expired, and the outbox row is then marked SENT or FAILED.
+ * <p>
+ * The OTP and the recipient are kept in memory only and never written to the
+ * outbox, so the notifications pending on a stopped node are not sent again.
+ * A periodic sweep marks the pending rows of expired OTPs as FAILED and deletes
+ * the completed rows after ${preregistration.otp.delivery.retention-hours}.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class OtpNotificationQueue {
+
+	private Logger log = LoggerConfiguration.logConfig(OtpNotificationQueue.class);
+
+	private static final String METRIC_PREFIX = "preregistration.otp.delivery";
+
+	public static final String PENDING_STATUS = "PENDING";
+
+	public static final String SENT_STATUS = "SENT";
+
+	public static final String FAILED_STATUS = "FAILED";
+
+	private static final String OTP_EXPIRED_ERROR = "OTP expired before delivery";
+
+	private static final int LAST_ERROR_LENGTH = 512;
+
+	@Value("${preregistration.otp.delivery.workers:4}")
+	private int workers;
+
+	@Value("${preregistration.otp.delivery.queue-capacity:1000}")
+	private int queueCapacity;
+
+	/**
+	 * maximum number of SMS notifications sent per second, 0 for no limit
+	 */
+	@Value("${preregistration.otp.delivery.sms.rate-per-second:20}")
+	private int smsRatePerSecond;
+
+	/**
+	 * maximum number of email notifications sent per second, 0 for no limit
+	 */
+	@Value("${preregistration.otp.delivery.email.rate-per-second:20}")
+	private int emailRatePerSecond;
+
+	@Value("${preregistration.otp.delivery.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${preregistration.otp.delivery.retry-backoff-millis:2000}")
+	private long retryBackoffMillis;
+
+	@Value("${preregistration.otp.delivery.sweep-interval-seconds:300}")
+	private long sweepIntervalSeconds;
+
+	@Value("${preregistration.otp.delivery.retention-hours:24}")
+	private long retentionHours;
+
+	@Autowired
+	private NotificationServiceUtil notification;
+
+	@Autowired
+	private OtpNotificationOutboxRepository outboxRepo;
+
+	@Autowired
+	private Environment environment;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private ThreadPoolExecutor executor;
+
+	private ScheduledExecutorService scheduler;
+
+	private RatePacer smsPacer;
+
+	private RatePacer emailPacer;
+
+	private Counter sentCounter;
+
+	private Counter retriedCounter;
+
+	private Counter failedCounter;
+
+	private Counter rejectedCounter;
+
+	@PostConstruct
+	public void init() {
+		int threads = Math.max(workers, 1);
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), new DaemonThreadFactory("otp-delivery"));
+		executor.allowCoreThreadTimeOut(true);
+		scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("otp-delivery-scheduler"));
+		if (sweepIntervalSeconds > 0) {
+			scheduler.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds,
+					TimeUnit.SECONDS);
+		}
+		smsPacer = new RatePacer(smsRatePerSecond);
+		emailPacer = new RatePacer(emailRatePerSecond);
+		sentCounter = meterRegistry.counter(METRIC_PREFIX, "result", "sent");
+		retriedCounter = meterRegistry.counter(METRIC_PREFIX, "result", "retried");
+		failedCounter = meterRegistry.counter(METRIC_PREFIX, "result", "failed");
+		rejectedCounter = meterRegistry.counter(METRIC_PREFIX, "result", "rejected");
+		meterRegistry.gauge(METRIC_PREFIX + ".queue", executor, e -> e.getQueue().size());
+	}
+
+	@PreDestroy
+	public void destroy() {
+		scheduler.shutdownNow();
+		executor.shutdown();
+	}
+
+	/**
+	 * Records the OTP notification in the outbox and queues it for delivery, once
+	 * the current transaction, if any, commits.
+	 *
+	 * @param otpTxnId     the id of the OTP transaction
+	 * @param channelType  phone or email
+	 * @param userId       the phone number or email to send the OTP to
+	 * @param values       the values of the notification template, including the
+	 *                     OTP
+	 * @param requestDTO   the send OTP request
+	 * @param langCode     the language of the notification
+	 * @param expiryDtimes the expiry time of the OTP
+	 * @throws PreRegLoginException when the queue is full
+	 */
+	public void enqueue(String otpTxnId, String channelType, String userId, Map<String, Object> values,
+			MainRequestDTO<OtpRequestDTO> requestDTO, String langCode, LocalDateTime expiryDtimes) {
+		if (executor.getQueue().remainingCapacity() == 0) {
+			rejectedCounter.increment();
+			log.error("sessionId", "idType", "id", "In enqueue method of OtpNotificationQueue, queue is full");
+			throw new PreRegLoginException(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(),
+					PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorMessage());
+		}
+		OtpNotificationOutbox outbox = new OtpNotificationOutbox();
+		outbox.setId(UUID.randomUUID().toString());
+		outbox.setOtpTxnId(otpTxnId);
+		outbox.setChannelType(channelType);
+		outbox.setLangCode(langCode);
+		outbox.setStatusCode(PENDING_STATUS);
+		outbox.setAttemptCount(0);
+		outbox.setExpiryDtimes(expiryDtimes);
+		outbox.setCrBy(environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID));
+		outbox.setCrDtimes(DateUtils.getUTCCurrentDateTime());
+		outboxRepo.save(outbox);
+		Delivery delivery = new Delivery(outbox.getId(), channelType, userId, new HashMap<>(values), requestDTO,
+				langCode, expiryDtimes);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			submit(delivery);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				submit(delivery);
+			}
+		});
+	}
+
+	/**
+	 * @return the number of notifications waiting for a worker
+	 */
+	public int size() {
+		return executor.getQueue().size();
+	}
+
+	private void submit(Delivery delivery) {
+		try {
+			executor.execute(() -> deliver(delivery));
+		} catch (RejectedExecutionException ex) {
+			if (executor.isShutdown() || !delivery.expiryDtimes.isAfter(DateUtils.getUTCCurrentDateTime())) {
+				log.error("sessionId", "idType", "id",
+						"In submit method of OtpNotificationQueue, delivery " + delivery.outboxId + " rejected");
+				return;
+			}
+			// the queue filled up after the check in enqueue, the delivery waits for a place.
+			try {
+				scheduler.schedule(() -> submit(delivery), retryBackoffMillis, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				log.error("sessionId", "idType", "id",
+						"In submit method of OtpNotificationQueue, delivery " + delivery.outboxId + " rejected");
+			}
+		}
+	}
+
+	private void deliver(Delivery delivery) {
+		if (!delivery.expiryDtimes.isAfter(DateUtils.getUTCCurrentDateTime())) {
+			complete(delivery, FAILED_STATUS, OTP_EXPIRED_ERROR);
+			return;
+		}
+		delivery.attempts++;
+		try {
+			if (delivery.channelType.equalsIgnoreCase(PreRegLoginConstant.PHONE_NUMBER)) {
+				smsPacer.acquire();
+				notification.invokeSmsNotification(delivery.values, delivery.userId, delivery.requestDTO,
+						delivery.langCode);
+			} else {
+				emailPacer.acquire();
+				notification.invokeEmailNotification(delivery.values, delivery.userId, delivery.requestDTO,
+						delivery.langCode);
+			}
+			complete(delivery, SENT_STATUS, null);
+		} catch (Exception ex) {
+			log.error("sessionId", "idType", "id", "In deliver method of OtpNotificationQueue, attempt "
+					+ delivery.attempts + " of delivery " + delivery.outboxId + " failed - " + ex.getMessage());
+			retryOrFail(delivery, String.valueOf(ex.getMessage()));
+		}
+	}
+
+	private void retryOrFail(Delivery delivery, String error) {
+		long backoffMillis = retryBackoffMillis << Math.min(delivery.attempts - 1, 16);
+		if (delivery.attempts >= maxAttempts || !delivery.expiryDtimes
+				.isAfter(DateUtils.getUTCCurrentDateTime().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis)))) {
+			complete(delivery, FAILED_STATUS, error);
+			return;
+		}
+		updateOutbox(delivery, PENDING_STATUS, error);
+		retriedCounter.increment();
+		try {
+			scheduler.schedule(() -> submit(delivery), backoffMillis, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException ex) {
+			complete(delivery, FAILED_STATUS, error);
+		}
+	}
+
+	private void complete(Delivery delivery, String statusCode, String error) {
+		(SENT_STATUS.equals(statusCode) ? sentCounter : failedCounter).increment();
+		updateOutbox(delivery, statusCode, error);
+	}
+
+	private void updateOutbox(Delivery delivery, String statusCode, String error) {
+		String lastError = error != null && error.length() > LAST_ERROR_LENGTH ? error.substring(0, LAST_ERROR_LENGTH)
+				: error;
+		try {
+			outboxRepo.updateDelivery(delivery.outboxId, statusCode, delivery.attempts, lastError,
+					environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID),
+					DateUtils.getUTCCurrentDateTime());
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id", "In updateOutbox method of OtpNotificationQueue, delivery "
+					+ delivery.outboxId + " not updated to " + statusCode + " - " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Fails the pending notifications of expired OTPs and deletes the completed
+	 * notifications older than the retention.
+	 */
+	public void sweep() {
+		try {
+			LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+			int failed = outboxRepo.failExpiredPending(PENDING_STATUS, FAILED_STATUS, OTP_EXPIRED_ERROR,
+					environment.getProperty(PreRegLoginConstant.MOSIP_PRE_REG_CLIENTID), now);
+			int deleted = outboxRepo.deleteCompletedBefore(PENDING_STATUS, now.minusHours(retentionHours));
+			log.info("sessionId", "idType", "id", "In sweep method of OtpNotificationQueue failed " + failed
+					+ " expired and deleted " + deleted + " completed notifications");
+		} catch (RuntimeException ex) {
+			log.error("sessionId", "idType", "id", "In sweep method of OtpNotificationQueue - " + ex.getMessage());
+		}
+	}
+
+	private static class Delivery {
+
+		private final String outboxId;
+
+		private final String channelType;
+
+		private final String userId;
+
+		private final Map<String, Object> values;
+
+		private final MainRequestDTO<OtpRequestDTO> requestDTO;
+
+		private final String langCode;
+
+		private final LocalDateTime expiryDtimes;
+
+		private int attempts;
+
+		Delivery(String outboxId, String channelType, String userId, Map<String, Object> values,
+				MainRequestDTO<OtpRequestDTO> requestDTO, String langCode, LocalDateTime expiryDtimes) {
+			this.outboxId = outboxId;
+			this.channelType = channelType;
+			this.userId = userId;
+			this.values = values;
+			this.requestDTO = requestDTO;
+			this.langCode = langCode;
+			this.expiryDtimes = expiryDtimes;
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * This class limits the OTP requests and OTP validations of a user with a
+ * sliding window, keyed by the hashed user id, so the requests over the limit
+ * are rejected before the otp_transaction table is queried.
+ * <p>
+ * At most ${otp.request.flooding.max-count} OTPs are sent per
+ * ${otp.request.flooding.duration} minutes and at most
+ * ${preregistration.otp.validate.rate-limit.max-count} validations are made
+ * per ${preregistration.otp.validate.rate-limit.window-seconds}. The windows
+ * are kept on this node, for at most
+ * ${preregistration.otp.rate-limit.max-keys} users. When that many windows
+ * are kept and none is stale, the window of the user idle the longest is
+ * removed to make room for a new user. With
+ * ${preregistration.otp.rate-limit.shared} the windows are kept in the
+ * ${preregistration.otp.rate-limit.cache-name} cache of the cache manager
+ * instead, shared by the nodes when the cache provider is distributed. The
+ * shared windows are read and written without a lock across the nodes, so
+ * concurrent requests on different nodes may exceed the limit slightly.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class OtpRateLimiter {
+
+	private Logger log = LoggerConfiguration.logConfig(OtpRateLimiter.class);
+
+	private static final String METRIC_PREFIX = "preregistration.otp.rate-limit";
+
+	private static final String SEND = "send";
+
+	private static final String VALIDATE = "validate";
+
+	@Value("${otp.request.flooding.max-count:3}")
+	private int sendMaxCount;
+
+	@Value("${otp.request.flooding.duration:1}")
+	private long sendWindowMinutes;
+
+	@Value("${preregistration.otp.validate.rate-limit.max-count:10}")
+	private int validateMaxCount;
+
+	@Value("${preregistration.otp.validate.rate-limit.window-seconds:300}")
+	private long validateWindowSeconds;
+
+	@Value("${preregistration.otp.rate-limit.max-keys:100000}")
+	private int maxKeys;
+
+	@Value("${preregistration.otp.rate-limit.shared:false}")
+	private boolean shared;
+
+	@Value("${preregistration.otp.rate-limit.cache-name:otp-rate-limit}")
+	private String cacheName;
+
+	@Autowired(required = false)
+	private CacheManager cacheManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<String, long[]> windows = new ConcurrentHashMap<>();
+
+	private Cache sharedWindows;
+
+	private Counter sendLimitedCounter;
+
+	private Counter validateLimitedCounter;
+
+	private Counter evictedCounter;
+
+	@PostConstruct
+	public void init() {
+		if (shared) {
+			sharedWindows = Objects.nonNull(cacheManager) ? cacheManager.getCache(cacheName) : null;
+			if (Objects.isNull(sharedWindows)) {
+				log.warn("sessionId", "idType", "id",
+						"In init method of OtpRateLimiter cache " + cacheName + " not found, limiting on this node");
+			}
+		}
+		sendLimitedCounter = meterRegistry.counter(METRIC_PREFIX, "action", SEND);
+		validateLimitedCounter = meterRegistry.counter(METRIC_PREFIX, "action", VALIDATE);
+		evictedCounter = meterRegistry.counter(METRIC_PREFIX + ".evicted");
+	}
+
+	/**
+	 * Records an OTP request of the user.
+	 *
+	 * @param refId the hashed user id
+	 * @return false when the user has already requested the maximum number of OTPs
+	 *         in the window
+	 */
+	public boolean tryAcquireSend(String refId) {
+		boolean acquired = tryAcquire(SEND + ":" + refId, sendMaxCount, TimeUnit.MINUTES.toMillis(sendWindowMinutes));
+		if (!acquired) {
+			sendLimitedCounter.increment();
+		}
+		return acquired;
+	}
+
+	/**
+	 * Records an OTP validation of the user.
+	 *
+	 * @param refId the hashed user id
+	 * @return false when the user has already made the maximum number of
+	 *         validations in the window
+	 */
+	public boolean tryAcquireValidate(String refId) {
+		boolean acquired = tryAcquire(VALIDATE + ":" + refId, validateMaxCount,
+				TimeUnit.SECONDS.toMillis(validateWindowSeconds));
+		if (!acquired) {
+			validateLimitedCounter.increment();
+		}
+		return acquired;
+	}
+
+	/**
+	 * @return the number of windows kept on this node
+	 */
+	public int size() {
+		return windows.size();
+	}
+
+	private boolean tryAcquire(String key, int maxCount, long windowMillis) {
+		if (maxCount <= 0 || windowMillis <= 0) {
+			return true;
+		}
+		long now = System.currentTimeMillis();
+		if (Objects.nonNull(sharedWindows)) {
+			long[] hits = record(sharedWindows.get(key, long[].class), now, windowMillis, maxCount);
+			if (Objects.isNull(hits)) {
+				return false;
+			}
+			sharedWindows.put(key, hits);
+			return true;
+		}
+		if (!windows.containsKey(key) && windows.size() >= maxKeys) {
+			removeStale(now);
+			if (windows.size() >= maxKeys) {
+				evictOldest();
+			}
+		}
+		boolean[] acquired = new boolean[1];
+		windows.compute(key, (k, hits) -> {
+			long[] recorded = record(hits, now, windowMillis, maxCount);
+			acquired[0] = Objects.nonNull(recorded);
+			return acquired[0] ? recorded : hits;
+		});
+		return acquired[0];
+	}
+
+	/**
+	 * @return the hits of the window with the new hit, or null when the window is
+	 *         full
+	 */
+	private static long[] record(long[] hits, long now, long windowMillis, int maxCount) {
+		if (Objects.isNull(hits)) {
+			return new long[] { now };
+		}
+		int first = 0;
+		while (first < hits.length && hits[first] <= now - windowMillis) {
+			first++;
+		}
+		if (hits.length - first >= maxCount) {
+			return null;
+		}
+		long[] recorded = Arrays.copyOfRange(hits, first, hits.length + 1);
+		recorded[recorded.length - 1] = now;
+		return recorded;
+	}
+
+	private void removeStale(long now) {
+		long oldest = now - Math.max(TimeUnit.MINUTES.toMillis(sendWindowMinutes),
+				TimeUnit.SECONDS.toMillis(validateWindowSeconds));
+		windows.values().removeIf(hits -> hits[hits.length - 1] <= oldest);
+	}
+
+	private void evictOldest() {
+		String oldestKey = null;
+		long oldestHit = Long.MAX_VALUE;
+		for (Map.Entry<String, long[]> window : windows.entrySet()) {
+			long[] hits = window.getValue();
+			if (hits[hits.length - 1] < oldestHit) {
+				oldestHit = hits[hits.length - 1];
+				oldestKey = window.getKey();
+			}
+		}
+		if (Objects.nonNull(oldestKey) && Objects.nonNull(windows.remove(oldestKey))) {
+			evictedCounter.increment();
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+package io.mosip.preregistration.application.service.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.DaemonThreadFactory;
+
+/**
+ * This class keeps a reservoir of pre-registration ids fetched from the kernel
+ * prid generator.
+ * <p>
+ * Callers take an id from the pool without blocking. When the pool drops to
+ * ${mosip.preregistration.prid.pool.low-water-mark} a single background thread
+ * refills it up to ${mosip.preregistration.prid.pool.capacity}. Only when the
+ * pool is empty does the caller fetch an id directly. After a failed refill no
+ * new refill is started for ${mosip.preregistration.prid.pool.refill-backoff-seconds}.
+ * Ids left in the pool on shutdown are never used.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class PridPool {
+
+	private Logger log = LoggerConfiguration.logConfig(PridPool.class);
+
+	private static final String METRIC_PREFIX = "preregistration.prid.pool";
+
+	@Value("${mosip.preregistration.prid.pool.enabled:true}")
+	private boolean enabled;
+
+	@Value("${mosip.preregistration.prid.pool.capacity:50}")
+	private int capacity;
+
+	@Value("${mosip.preregistration.prid.pool.low-water-mark:10}")
+	private int lowWaterMark;
+
+	@Value("${mosip.preregistration.prid.pool.refill-backoff-seconds:30}")
+	private long refillBackoffSeconds;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private BlockingQueue<String> pool;
+
+	private final AtomicBoolean refilling = new AtomicBoolean();
+
+	private volatile long lastFailureAt;
+
+	private ExecutorService refillExecutor;
+
+	private Counter pooledCounter;
+
+	private Counter fallbackCounter;
+
+	private Timer refillSuccessTimer;
+
+	private Timer refillFailureTimer;
+
+	@PostConstruct
+	public void init() {
+		pool = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+		pooledCounter = meterRegistry.counter(METRIC_PREFIX + ".take", "result", "pooled");
+		fallbackCounter = meterRegistry.counter(METRIC_PREFIX + ".take", "result", "fallback");
+		refillSuccessTimer = meterRegistry.timer(METRIC_PREFIX + ".refill", "result", "success");
+		refillFailureTimer = meterRegistry.timer(METRIC_PREFIX + ".refill", "result", "failure");
+		meterRegistry.gauge(METRIC_PREFIX + ".depth", pool, BlockingQueue::size);
+		refillExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("prid-pool-refill"));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (refillExecutor != null) {
+			refillExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns a pre-registration id from the pool, or from the given generator
+	 * when the pool is empty or disabled.
+	 *
+	 * @param generator fetches a single id from the kernel prid generator
+	 * @return the pre-registration id
+	 */
+	public String take(Supplier<String> generator) {
+		if (!enabled) {
+			return generator.get();
+		}
+		String prid = pool.poll();
+		if (pool.size() <= lowWaterMark) {
+			refill(generator);
+		}
+		if (prid != null) {
+			pooledCounter.increment();
+			return prid;
+		}
+		fallbackCounter.increment();
+		return generator.get();
+	}
+
+	/**
+	 * @return the number of ids currently in the pool
+	 */
+	public int size() {
+		return pool.size();
+	}
+
+	private void refill(Supplier<String> generator) {
+		if (System.currentTimeMillis() - lastFailureAt < TimeUnit.SECONDS.toMillis(refillBackoffSeconds)
+				|| !refilling.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			refillExecutor.execute(() -> doRefill(generator));
+		} catch (RejectedExecutionException ex) {
+			refilling.set(false);
+		}
+	}
+
+	private void doRefill(Supplier<String> generator) {
+		long start = System.nanoTime();
+		int added = 0;
+		try {
+			while (pool.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+				if (!pool.offer(generator.get())) {
+					break;
+				}
+				added++;
+			}
+			refillSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.debug("sessionId", "idType", "id", "In doRefill method of PridPool added " + added + " ids");
+		} catch (RuntimeException ex) {
+			lastFailureAt = System.currentTimeMillis();
+			refillFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.error("sessionId", "idType", "id",
+					"In doRefill method of PridPool after " + added + " ids - " + ex.getMessage());
+		} finally {
+			refilling.set(false);
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+package io.mosip.preregistration.application.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.mosip.preregistration.core.util.CryptoUtil;
+import io.mosip.preregistration.core.util.HashUtill;
+
+/**
+ * Benchmark of the scan, encrypt, hash and store steps of a document upload,
+ * with the whole document held as byte arrays against the streaming pipeline
+ * used by DocumentService.createDoc.
+ * <p>
+ * Uploads run on 8 threads at once. The crypto manager is replaced by a
+ * transport that streams the request body away and answers with encrypted
+ * data of the right size without buffering either. The gc profiler's
+ * {@code gc.alloc.rate.norm} gives the bytes allocated per upload by the
+ * upload path alone. It is not the peak heap of an upload: the rest template
+ * used against the real crypto manager buffers the Base64 request body, which
+ * this transport does not.
+ * <p>
+ * Run it from the module directory with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.mosip.preregistration.application.benchmark.DocumentUploadBenchmark}
+ *
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgs = { "-Xmx1g" })
+public class DocumentUploadBenchmark {
+
+	private static final int MEMORY_THRESHOLD = 262144;
+
+	@Param({ "2097152", "8388608" })
+	private int documentSize;
+
+	private MultipartFile file;
+
+	private CryptoUtil cryptoUtil;
+
+	@Setup
+	public void setup() {
+		byte[] document = new byte[documentSize];
+		new Random(documentSize).nextBytes(document);
+		file = new MockMultipartFile("file", "Doc.pdf", "application/pdf", document) {
+			@Override
+			public byte[] getBytes() throws IOException {
+				// a multipart part kept by the servlet container is read into a new array
+				return super.getBytes().clone();
+			}
+		};
+		cryptoUtil = new CryptoUtil();
+		int dataLength = io.mosip.kernel.core.util.CryptoUtil.encodeToURLSafeBase64(new byte[documentSize + 256])
+				.length();
+		ReflectionTestUtils.setField(cryptoUtil, "restTemplate",
+				new RestTemplate((uri, httpMethod) -> new CryptoManagerRequest(uri, httpMethod, dataLength)));
+		cryptoUtil.cryptoResourceUrl = "http://localhost/v1/keymanager";
+		cryptoUtil.cryptoApplcationId = "PRE_REGISTRATION";
+		cryptoUtil.cryptoReferenceId = "INDIVIDUAL";
+	}
+
+	@Benchmark
+	public String bufferedUpload() throws IOException {
+		scan(new ByteArrayInputStream(file.getBytes()));
+		byte[] encryptedDocument = cryptoUtil.encrypt(file.getBytes(), LocalDateTime.now());
+		String hash = HashUtill.hashUtill(encryptedDocument);
+		store(new ByteArrayInputStream(encryptedDocument));
+		return hash;
+	}
+
+	@Benchmark
+	public String streamingUpload() throws IOException {
+		try (InputStream document = file.getInputStream()) {
+			scan(document);
+		}
+		DeferredFileOutputStream encryptedDocument = new DeferredFileOutputStream(MEMORY_THRESHOLD,
+				"prereg-document-", ".enc", null);
+		try {
+			MessageDigest digest = HashUtill.newDigest();
+			try (InputStream plainDocument = file.getInputStream();
+					OutputStream hashedOutput = new DigestOutputStream(encryptedDocument, digest)) {
+				cryptoUtil.encrypt(plainDocument, LocalDateTime.now(), hashedOutput);
+			}
+			String hash = HashUtill.hashUtill(digest);
+			try (InputStream encryptedInput = encryptedDocument.isInMemory()
+					? new ByteArrayInputStream(encryptedDocument.getData())
+					: Files.newInputStream(encryptedDocument.getFile().toPath())) {
+				store(encryptedInput);
+			}
+			return hash;
+		} finally {
+			FileUtils.deleteQuietly(encryptedDocument.getFile());
+		}
+	}
+
+	/**
+	 * Stands in for the virus scanner and the object store, both of which read
+	 * the stream to the end
+	 */
+	private static void store(InputStream input) throws IOException {
+		IOUtils.copy(input, NullOutputStream.NULL_OUTPUT_STREAM);
+	}
+
+	private static void scan(InputStream input) throws IOException {
+		IOUtils.copy(input, NullOutputStream.NULL_OUTPUT_STREAM);
+	}
+
+	/**
+	 * Discards the encrypt request and answers with {@code dataLength} characters
+	 * of URL safe Base64 data.
+	 */
+	private static class CryptoManagerRequest extends AbstractClientHttpRequest {
+
+		private final URI uri;
+
+		private final HttpMethod method;
+
+		private final int dataLength;
+
+		CryptoManagerRequest(URI uri, HttpMethod method, int dataLength) {
+			this.uri = uri;
+			this.method = method;
+			this.dataLength = dataLength;
+		}
+
+		@Override
+		public String getMethodValue() {
+			return method.name();
+		}
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+
+		@Override
+		protected OutputStream getBodyInternal(HttpHeaders headers) {
+			return NullOutputStream.NULL_OUTPUT_STREAM;
+		}
+
+		@Override
+		protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+			InputStream body = new SequenceInputStream(
+					new SequenceInputStream(utf8("{\"id\":null,\"response\":{\"data\":\""), new Base64Data(dataLength)),
+					utf8("\"},\"errors\":[]}"));
+			MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return response;
+		}
+
+		private static InputStream utf8(String text) {
+			return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+		}
+
+	}
+
+	private static class Base64Data extends InputStream {
+
+		private int remaining;
+
+		Base64Data(int length) {
+			this.remaining = length;
+		}
+
+		@Override
+		public int read() {
+			if (remaining == 0) {
+				return -1;
+			}
+			remaining--;
+			return 'A' + remaining % 26;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) {
+			if (remaining == 0) {
+				return -1;
+			}
+			int count = Math.min(length, remaining);
+			for (int index = 0; index < count; index++) {
+				buffer[offset + index] = (byte) read();
+			}
+			return count;
+		}
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(DocumentUploadBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+
+}
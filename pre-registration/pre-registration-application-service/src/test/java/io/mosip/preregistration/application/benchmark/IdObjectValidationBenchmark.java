@@ -0,0 +1,100 @@
+package io.mosip.preregistration.application.benchmark;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.idobjectvalidator.impl.IdObjectSchemaValidator;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.service.util.CachedIdObjectValidator;
+
+/**
+ * Benchmark of the id object validation done on every create and update of an
+ * application, with the kernel validator that compiles the schema per call
+ * against the {@link CachedIdObjectValidator}.
+ * <p>
+ * Run it from the module directory with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.mosip.preregistration.application.benchmark.IdObjectValidationBenchmark}
+ *
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdObjectValidationBenchmark {
+
+	private static final List<String> REQUIRED_FIELDS = Arrays.asList("IDSchemaVersion", "dateOfBirth|age", "gender",
+			"addressLine1", "region", "province", "city", "postalCode");
+
+	private IdObjectSchemaValidator kernelValidator;
+
+	private CachedIdObjectValidator cachedValidator;
+
+	private IdSchemaDto idSchema;
+
+	private JSONObject identity;
+
+	@Setup
+	public void setup() throws Exception {
+		idSchema = new IdSchemaDto();
+		idSchema.setId("1");
+		idSchema.setIdVersion(1.0);
+		idSchema.setSchemaJson(readResource("mosip-identity-json-schema.json"));
+
+		JSONObject request = (JSONObject) new JSONParser().parse(readResource("pre-registration.json"));
+		identity = (JSONObject) ((JSONObject) request.get("request")).get("demographicDetails");
+
+		kernelValidator = new IdObjectSchemaValidator();
+		ReflectionTestUtils.setField(kernelValidator, "mapper", new ObjectMapper());
+		cachedValidator = new CachedIdObjectValidator();
+		ReflectionTestUtils.setField(cachedValidator, "jsonValidator", kernelValidator);
+		ReflectionTestUtils.setField(cachedValidator, "maxEntries", 16);
+	}
+
+	@Benchmark
+	public boolean kernelValidator() throws Exception {
+		return kernelValidator.validateIdObject(idSchema.getSchemaJson(), identity, REQUIRED_FIELDS);
+	}
+
+	@Benchmark
+	public boolean cachedValidator() throws Exception {
+		return cachedValidator.validateIdObject(idSchema, identity, REQUIRED_FIELDS);
+	}
+
+	private static String readResource(String name) {
+		InputStream stream = IdObjectValidationBenchmark.class.getClassLoader().getResourceAsStream(name);
+		try (Scanner scanner = new Scanner(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+			return scanner.useDelimiter("\\A").next();
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(IdObjectValidationBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
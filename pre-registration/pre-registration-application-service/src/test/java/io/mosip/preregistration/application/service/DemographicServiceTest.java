@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -81,7 +82,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.kernel.core.authmanager.authadapter.model.AuthUserDetails;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.idgenerator.spi.PridGenerator;
-import io.mosip.kernel.core.idobjectvalidator.spi.IdObjectValidator;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.application.dto.ApplicantValidDocumentDto;
 import io.mosip.preregistration.application.dto.ApplicationInfoMetadataDTO;
@@ -98,6 +98,7 @@ import io.mosip.preregistration.application.exception.RecordFailedToUpdateExcept
 import io.mosip.preregistration.application.exception.RecordNotFoundException;
 import io.mosip.preregistration.application.exception.RecordNotFoundForPreIdsException;
 import io.mosip.preregistration.application.repository.DemographicRepository;
+import io.mosip.preregistration.application.service.util.CachedIdObjectValidator;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
 //import io.mosip.preregistration.booking.service.BookingServiceIntf;
 import io.mosip.preregistration.core.code.AuditLogVariables;
@@ -170,7 +171,7 @@ public class DemographicServiceTest {
 	 * Mocking the JsonValidatorImpl bean
 	 */
 	@Mock(name = "idObjectValidator")
-	private IdObjectValidator jsonValidator;
+	private CachedIdObjectValidator jsonValidator;
 
 	/**
 	 * Autowired reference for $link{DemographicServiceUtil}
@@ -468,6 +469,9 @@ public class DemographicServiceTest {
 		applicationEntity.setSlotFromTime(fDate);
 		applicationEntity.setSlotToTime(tDate);
 		Mockito.when(serviceUtil.findApplicationById(Mockito.any())).thenReturn(applicationEntity);
+		Map<String, ApplicationEntity> applicationEntities = new HashMap<>();
+		applicationEntities.put("98746563542672", applicationEntity);
+		Mockito.when(serviceUtil.findApplicationsByIds(Mockito.any())).thenReturn(applicationEntities);
 
 	}
 
@@ -492,7 +496,7 @@ public class DemographicServiceTest {
 				DemographicErrorCodes.PRG_PAM_APP_012.toString(),
 				DemographicErrorMessages.MISSING_REQUEST_PARAMETER.toString(), responseCreateDTO);
 		jsonObject = (JSONObject) parser.parse(new FileReader(fileCr));
-		Mockito.when(jsonValidator.validateIdObject("[gender,firstname]", jsonObject, new ArrayList<String>()))
+		Mockito.when(jsonValidator.validateIdObject(Mockito.any(), Mockito.eq(jsonObject), Mockito.eq(new ArrayList<String>())))
 				.thenReturn(true);
 
 		preRegistrationEntity.setCreateDateTime(null);
@@ -549,13 +553,14 @@ public class DemographicServiceTest {
 		// demographicMetadataDTO.setBasicDetails(viewList);
 		response.setResponse(demographicMetadataDTO);
 		response.setVersion("1.0");
-		Page<DemographicEntity> page = new PageImpl<>(userEntityDetails);
-		Mockito.when(cryptoUtil.decrypt(Mockito.any(), Mockito.any()))
-				.thenReturn(userEntityDetails.get(0).getApplicantDetailJson());
-		Mockito.when(demographicRepository.findByCreatedBy(userId, "Consumed")).thenReturn(userEntityDetails);
+		Page<String> page = new PageImpl<>(Arrays.asList(userEntityDetails.get(0).getPreRegistrationId()));
+		Mockito.when(cryptoUtil.decryptAll(Mockito.any(), Mockito.any()))
+				.thenReturn(Arrays.asList(userEntityDetails.get(0).getApplicantDetailJson()));
 		Mockito.when(
-				demographicRepository.findByCreatedByOrderByCreateDateTime(Mockito.any(), Mockito.any(), Mockito.any()))
+				demographicRepository.findPreRegistrationIdsByCreatedBy(Mockito.any(), Mockito.any(), Mockito.any()))
 				.thenReturn(page);
+		Mockito.when(demographicRepository.findWithDocumentsByPreRegistrationIdIn(
+				Arrays.asList(userEntityDetails.get(0).getPreRegistrationId()))).thenReturn(userEntityDetails);
 
 		MainResponseDTO<BookingRegistrationDTO> dto = new MainResponseDTO<>();
 		dto.setErrors(null);
@@ -576,7 +581,7 @@ public class DemographicServiceTest {
 	@Test(expected = SystemIllegalArgumentException.class)
 	public void getApplicationDetailsIndexTest() {
 		String userId = "12345";
-		Mockito.when(demographicRepository.findByCreatedBy(Mockito.anyString(), Mockito.anyString()))
+		Mockito.when(demographicRepository.findWithDocumentsByCreatedBy(Mockito.anyString(), Mockito.anyString()))
 				.thenReturn(userEntityDetails);
 		preRegistrationService.getAllApplicationDetails(userId, "abc");
 
@@ -1,12 +1,15 @@
 package io.mosip.preregistration.application.service;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.text.ParseException;
@@ -325,7 +328,10 @@ public class DocumentServiceTest {
 		InputStream sourceFile = new FileInputStream(file);
 
 		byte[] cephBytes = IOUtils.toByteArray(sourceFile);
-		Mockito.when(cryptoUtil.encrypt(Mockito.any(), Mockito.any())).thenReturn(cephBytes);
+		Mockito.doAnswer(invocation -> {
+			((OutputStream) invocation.getArgument(2)).write(cephBytes);
+			return null;
+		}).when(cryptoUtil).encrypt(Mockito.any(InputStream.class), Mockito.any(), Mockito.any(OutputStream.class));
 
 		Mockito.when(documnetDAO.saveDocument(Mockito.any())).thenReturn(documentEntity);
 
@@ -349,16 +355,25 @@ public class DocumentServiceTest {
 		InputStream sourceFile = new FileInputStream(file);
 
 		byte[] cephBytes = IOUtils.toByteArray(sourceFile);
-		Mockito.when(cryptoUtil.encrypt(Mockito.any(), Mockito.any())).thenReturn(cephBytes);
+		Mockito.doAnswer(invocation -> {
+			((OutputStream) invocation.getArgument(2)).write(cephBytes);
+			return null;
+		}).when(cryptoUtil).encrypt(Mockito.any(InputStream.class), Mockito.any(), Mockito.any(OutputStream.class));
 
 		Mockito.when(documnetDAO.saveDocument(Mockito.any())).thenReturn(documentEntity);
 
+		ByteArrayOutputStream storedBytes = new ByteArrayOutputStream();
 		Mockito.when(objectStore.putObject(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-				Mockito.any())).thenReturn(true);
+				Mockito.any())).thenAnswer(invocation -> {
+					IOUtils.copy((InputStream) invocation.getArgument(5), storedBytes);
+					return true;
+				});
 
 		DocumentResponseDTO responseDto = documentUploadService.createDoc(document, multipartFile, preRegistrationId);
 
 		assertEquals(docResp.getDocName(), responseDto.getDocName());
+		assertArrayEquals(cephBytes, storedBytes.toByteArray());
+		assertEquals(HashUtill.hashUtill(cephBytes), documentEntity.getDocHash());
 
 	}
 
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.xml.bind.DatatypeConverter;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,16 +29,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.client.RestTemplate;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.application.constant.PreRegLoginConstant;
+import io.mosip.preregistration.application.constant.PreRegLoginErrorConstants;
 import io.mosip.preregistration.application.dto.OtpRequestDTO;
 import io.mosip.preregistration.application.entity.OtpTransaction;
 import io.mosip.preregistration.application.exception.PreRegLoginException;
 import io.mosip.preregistration.application.repository.OtpTxnRepository;
-import io.mosip.preregistration.application.service.util.NotificationServiceUtil;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex.ActiveOtp;
+import io.mosip.preregistration.application.service.util.OtpNotificationQueue;
+import io.mosip.preregistration.application.service.util.OtpRateLimiter;
 import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import junit.framework.Assert;
 
@@ -52,6 +59,8 @@ public class OTPManagerTest {
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);	
 		ReflectionTestUtils.setField(otpManager, "sendOtpResourceUrl", "home");
+		Mockito.when(otpRateLimiter.tryAcquireSend(Mockito.any())).thenReturn(true);
+		Mockito.when(otpRateLimiter.tryAcquireValidate(Mockito.any())).thenReturn(true);
 		
 	}
 	
@@ -71,7 +80,16 @@ public class OTPManagerTest {
 	private String version;
 	
 	@Mock
-	NotificationServiceUtil notification;
+	OtpNotificationQueue otpNotificationQueue;
+
+	@Mock
+	OtpRateLimiter otpRateLimiter;
+
+	@Mock
+	ActiveOtpIndex activeOtpIndex;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
 
 	@Mock
 	@Qualifier("restTemplateConfig")
@@ -199,6 +217,8 @@ public class OTPManagerTest {
 		Mockito.when(environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Integer.class)).thenReturn(60);
 		Mockito.when(environment.getProperty("mosip.notification.timezone")).thenReturn("GMT+05:30");
 		assertTrue(otpManager.sendOtp(requestDTO,channelType,language));
+		Mockito.verify(otpNotificationQueue).enqueue(Mockito.any(), Mockito.eq("phone"), Mockito.eq(""), Mockito.anyMap(),
+				Mockito.eq(requestDTO), Mockito.any(), Mockito.any());
 	}
 	
 	@Test
@@ -217,8 +237,6 @@ public class OTPManagerTest {
 				"  \"status\":\"Success\"\r\n" + 
 				"  }\r\n" + 
 				"}",headers, HttpStatus.ACCEPTED);
-		Mockito.when(otpRepo.existsByOtpHashAndStatusCode(Mockito.any(), Mockito.any()))
-        .thenReturn(true);
 		OtpTransaction otpTxn = new OtpTransaction();
 		Mockito.when(otpRepo.findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any()))
         .thenReturn(otpTxn);
@@ -248,6 +266,8 @@ public class OTPManagerTest {
 		Mockito.when(environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Integer.class)).thenReturn(60);
 		Mockito.when(environment.getProperty("mosip.notification.timezone")).thenReturn("GMT+05:30");
 		assertTrue(otpManager.sendOtp(requestDTO,channelType,language));
+		Mockito.verify(otpNotificationQueue).enqueue(Mockito.any(), Mockito.eq("email"), Mockito.eq(""), Mockito.anyMap(),
+				Mockito.eq(requestDTO), Mockito.any(), Mockito.any());
 	}
 	
 	@Test
@@ -318,32 +338,168 @@ public class OTPManagerTest {
 		Mockito.when(environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Integer.class)).thenReturn(60);
 		Mockito.when(environment.getProperty("mosip.notification.timezone")).thenReturn("GMT+05:30");
 		assertTrue(otpManager.sendOtp(requestDTO,channelType,language));
+		Mockito.verify(otpNotificationQueue).enqueue(Mockito.any(), Mockito.eq("email"), Mockito.eq(""), Mockito.anyMap(),
+				Mockito.eq(requestDTO), Mockito.any(), Mockito.any());
 		}
 	
 	@Test
 	public void testvalidateOtpSuccess(){
 		assertFalse(otpManager.validateOtp(null,null));
+		assertFalse(otpManager.validateOtp(null,"user@mosip.io"));
 	}
 	
 	@Test(expected=PreRegLoginException.class)
 	public void testvalidateOtpPreRegLoginException(){
-		Mockito.when(otpRepo.existsByOtpHashAndStatusCode(Mockito.any(), Mockito.any())).thenReturn(true);
 		OtpTransaction otpTxn = new OtpTransaction();
 		otpTxn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime());
 		Mockito.when(otpRepo.findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any()))
         .thenReturn(otpTxn);
+		Mockito.when(otpRepo.updateStatusCode(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
 		otpManager.validateOtp(null,null);
 	}
+
+	@Test(expected=PreRegLoginException.class)
+	public void testvalidateOtpPreRegLoginExceptionForUser(){
+		OtpTransaction otpTxn = new OtpTransaction();
+		otpTxn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime());
+		Mockito.when(otpRepo.findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any()))
+        .thenReturn(otpTxn);
+		Mockito.when(otpRepo.updateStatusCode(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(1);
+		otpManager.validateOtp(null,"user@mosip.io");
+	}
 	
 	@Test
 	public void testvalidateOtpSuccess2(){
-		Mockito.when(otpRepo.existsByOtpHashAndStatusCode(Mockito.any(), Mockito.any())).thenReturn(true);
 		OtpTransaction otpTxn = new OtpTransaction();
 		LocalDateTime a = LocalDateTime.of(2028, 2, 13, 15, 56);    
 	    
 		otpTxn.setExpiryDtimes(a);
 		Mockito.when(otpRepo.findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any()))
         .thenReturn(otpTxn);
+		Mockito.when(otpRepo.updateStatusCode(Mockito.any(), Mockito.eq(PreRegLoginConstant.ACTIVE_STATUS),
+				Mockito.eq(PreRegLoginConstant.USED_STATUS), Mockito.any(), Mockito.any())).thenReturn(1);
 		assertTrue(otpManager.validateOtp(null,null));
+		assertTrue(otpManager.validateOtp(null,"user@mosip.io"));
+	}
+
+	@Test
+	public void testvalidateOtpAlreadyUsed() {
+		OtpTransaction otpTxn = new OtpTransaction();
+		otpTxn.setExpiryDtimes(DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		Mockito.when(otpRepo.findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any())).thenReturn(otpTxn);
+		assertFalse(otpManager.validateOtp("111111", "user@mosip.io"));
+	}
+
+	@Test
+	public void testvalidateOtpFromIndex() {
+		Mockito.when(environment.getProperty(PreRegLoginConstant.KEY_SPLITTER)).thenReturn("#KEY_SPLITTER#");
+		ActiveOtpIndex index = new ActiveOtpIndex();
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "maxEntries", 10);
+		String otpHash = DatatypeConverter.printHexBinary("user@mosip.io#KEY_SPLITTER#111111".getBytes()).toUpperCase();
+		index.put("refId", otpHash, "txn1", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		ActiveOtp activeOtp = index.get("refId");
+		Mockito.when(activeOtpIndex.get(Mockito.any())).thenReturn(activeOtp);
+		Mockito.when(otpRepo.updateStatusCode(Mockito.eq("txn1"), Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any())).thenReturn(1);
+		assertTrue(otpManager.validateOtp("111111", "user@mosip.io"));
+		Mockito.verify(otpRepo, Mockito.never()).findTopByOtpHashAndStatusCode(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testsendOtpFlooded() throws IOException {
+		MainRequestDTO<OtpRequestDTO> requestDTO = new MainRequestDTO<OtpRequestDTO>();
+		OtpRequestDTO request = new OtpRequestDTO();
+		request.setUserId("user@mosip.io");
+		requestDTO.setRequest(request);
+		Mockito.when(otpRateLimiter.tryAcquireSend(Mockito.any())).thenReturn(false);
+		try {
+			otpManager.sendOtp(requestDTO, "email", "eng");
+			Assert.fail();
+		} catch (PreRegLoginException e) {
+			Assert.assertEquals(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verifyZeroInteractions(otpRepo, restTemplate, otpNotificationQueue);
+	}
+
+	@Test
+	public void testvalidateOtpFlooded() {
+		Mockito.when(otpRateLimiter.tryAcquireValidate(Mockito.any())).thenReturn(false);
+		try {
+			otpManager.validateOtp("111111", "user@mosip.io");
+			Assert.fail();
+		} catch (PreRegLoginException e) {
+			Assert.assertEquals(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verifyZeroInteractions(otpRepo);
+	}
+
+	@Test
+	public void testsendOtpAlreadySentFromIndex() throws IOException {
+		MainRequestDTO<OtpRequestDTO> requestDTO = new MainRequestDTO<OtpRequestDTO>();
+		OtpRequestDTO request = new OtpRequestDTO();
+		request.setUserId("user@mosip.io");
+		requestDTO.setRequest(request);
+		ActiveOtpIndex index = new ActiveOtpIndex();
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "maxEntries", 10);
+		index.put("refId", "hash1", "txn1", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		Mockito.when(activeOtpIndex.isAuthoritative()).thenReturn(true);
+		Mockito.when(activeOtpIndex.get(Mockito.any())).thenReturn(index.get("refId"));
+		try {
+			otpManager.sendOtp(requestDTO, "email", "eng");
+			Assert.fail();
+		} catch (PreRegLoginException e) {
+			Assert.assertEquals(PreRegLoginErrorConstants.OTP_ALREADY_SENT.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verifyZeroInteractions(otpRepo, restTemplate, otpNotificationQueue);
+	}
+
+	@Test
+	public void testvalidateOtpWrongFromIndex() {
+		Mockito.when(environment.getProperty(PreRegLoginConstant.KEY_SPLITTER)).thenReturn("#KEY_SPLITTER#");
+		ActiveOtpIndex index = new ActiveOtpIndex();
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "maxEntries", 10);
+		String otpHash = DatatypeConverter.printHexBinary("user@mosip.io#KEY_SPLITTER#111111".getBytes()).toUpperCase();
+		index.put("refId", otpHash, "txn1", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		Mockito.when(activeOtpIndex.get(Mockito.any())).thenReturn(index.get("refId"));
+		Mockito.when(activeOtpIndex.isAuthoritative()).thenReturn(true);
+		assertFalse(otpManager.validateOtp("222222", "user@mosip.io"));
+		Mockito.verifyZeroInteractions(otpRepo);
+	}
+
+	@Test
+	public void testsendOtpQueueFull() throws IOException {
+		MainRequestDTO<OtpRequestDTO> requestDTO = new MainRequestDTO<OtpRequestDTO>();
+		OtpRequestDTO request = new OtpRequestDTO();
+		request.setUserId("user@mosip.io");
+		requestDTO.setRequest(request);
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("status", "USER_NOT_BLOCKED");
+		map.put("otp", "111111");
+		ResponseWrapper<Map<String, String>> responseMap = new ResponseWrapper<>();
+		responseMap.setResponse(map);
+		Mockito.when(restTemplate.exchange(ArgumentMatchers.anyString(), ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.any(), Mockito.eq(ResponseWrapper.class)))
+				.thenReturn(new ResponseEntity<>(responseMap, HttpStatus.ACCEPTED));
+		Mockito.when(environment.getProperty(Mockito.any())).thenReturn("https://dev.mosip.net/v1/otpmanager/otp/generate");
+		Mockito.when(environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Long.class)).thenReturn(1800L);
+		Mockito.when(environment.getProperty(PreRegLoginConstant.MOSIP_KERNEL_OTP_EXPIRY_TIME, Integer.class)).thenReturn(60);
+		Mockito.when(environment.getProperty("mosip.notification.timezone")).thenReturn("GMT+05:30");
+		Mockito.doThrow(new PreRegLoginException(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(),
+				PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorMessage())).when(otpNotificationQueue)
+				.enqueue(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyMap(), Mockito.any(), Mockito.any(),
+						Mockito.any());
+		try {
+			otpManager.sendOtp(requestDTO, "email", "eng");
+			Assert.fail();
+		} catch (PreRegLoginException e) {
+			Assert.assertEquals(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), e.getErrorCode());
+		}
+		Mockito.verify(transactionManager).rollback(Mockito.any());
+		Mockito.verify(activeOtpIndex, Mockito.never()).put(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 	}
 }
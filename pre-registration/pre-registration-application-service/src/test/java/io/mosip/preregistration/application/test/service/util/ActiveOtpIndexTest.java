@@ -0,0 +1,78 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex;
+import io.mosip.preregistration.application.service.util.ActiveOtpIndex.ActiveOtp;
+
+/**
+ * Test class to test the active OTP index
+ *
+ * @since 1.2.0
+ */
+public class ActiveOtpIndexTest {
+
+	private ActiveOtpIndex activeOtpIndex;
+
+	@Before
+	public void setup() {
+		activeOtpIndex = new ActiveOtpIndex();
+		ReflectionTestUtils.setField(activeOtpIndex, "enabled", true);
+		ReflectionTestUtils.setField(activeOtpIndex, "maxEntries", 2);
+	}
+
+	@Test
+	public void putGetRemoveTest() {
+		activeOtpIndex.put("user1", "hash1", "txn1", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		ActiveOtp activeOtp = activeOtpIndex.get("user1");
+		assertEquals("hash1", activeOtp.getOtpHash());
+		assertEquals("txn1", activeOtp.getTxnId());
+		activeOtpIndex.remove("user1");
+		assertNull(activeOtpIndex.get("user1"));
+	}
+
+	@Test
+	public void expiredOtpTest() {
+		activeOtpIndex.put("user1", "hash1", "txn1", DateUtils.getUTCCurrentDateTime().minusSeconds(1));
+		assertNull(activeOtpIndex.get("user1"));
+		assertEquals(0, activeOtpIndex.size());
+	}
+
+	@Test
+	public void maxEntriesTest() {
+		activeOtpIndex.put("user1", "hash1", "txn1", DateUtils.getUTCCurrentDateTime().minusSeconds(1));
+		activeOtpIndex.put("user2", "hash2", "txn2", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		activeOtpIndex.put("user3", "hash3", "txn3", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		activeOtpIndex.put("user4", "hash4", "txn4", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		assertEquals(2, activeOtpIndex.size());
+		assertEquals("txn3", activeOtpIndex.get("user3").getTxnId());
+		assertNull(activeOtpIndex.get("user4"));
+		activeOtpIndex.put("user2", "hash5", "txn5", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		assertEquals("txn5", activeOtpIndex.get("user2").getTxnId());
+	}
+
+	@Test
+	public void authoritativeTest() {
+		assertFalse(activeOtpIndex.isAuthoritative());
+		ReflectionTestUtils.setField(activeOtpIndex, "authoritative", true);
+		assertTrue(activeOtpIndex.isAuthoritative());
+		ReflectionTestUtils.setField(activeOtpIndex, "enabled", false);
+		assertFalse(activeOtpIndex.isAuthoritative());
+	}
+
+	@Test
+	public void disabledTest() {
+		ReflectionTestUtils.setField(activeOtpIndex, "enabled", false);
+		activeOtpIndex.put("user1", "hash1", "txn1", DateUtils.getUTCCurrentDateTime().plusMinutes(5));
+		assertNull(activeOtpIndex.get("user1"));
+	}
+
+}
@@ -0,0 +1,217 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.idobjectvalidator.constant.IdObjectValidatorErrorConstant;
+import io.mosip.kernel.core.idobjectvalidator.exception.IdObjectValidationFailedException;
+import io.mosip.kernel.core.idobjectvalidator.spi.IdObjectValidator;
+import io.mosip.kernel.idobjectvalidator.impl.IdObjectSchemaValidator;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.service.util.CachedIdObjectValidator;
+
+/**
+ * Test class to test the compiled id schema validator
+ *
+ * @since 1.2.0
+ */
+public class CachedIdObjectValidatorTest {
+
+	private static final String SCHEMA = "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"object\","
+			+ "\"properties\":{\"identity\":{\"type\":\"object\",\"required\":[\"fullName\",\"gender\",\"dateOfBirth\"],"
+			+ "\"properties\":{\"fullName\":{\"type\":\"string\"},\"gender\":{\"type\":\"string\"},"
+			+ "\"dateOfBirth\":{\"type\":\"string\"},\"age\":{\"type\":\"integer\"}}}}}";
+
+	private static final String STRICT_SCHEMA = "{\"$schema\":\"http://json-schema.org/draft-07/schema#\",\"type\":\"object\","
+			+ "\"definitions\":{\"simpleType\":{\"type\":\"array\",\"items\":{\"type\":\"object\","
+			+ "\"required\":[\"language\",\"value\"],\"properties\":{\"language\":{\"type\":\"string\"},"
+			+ "\"value\":{\"type\":\"string\"}}}}},\"properties\":{\"identity\":{\"type\":\"object\","
+			+ "\"additionalProperties\":false,\"required\":[\"fullName\",\"gender\",\"dateOfBirth\",\"phone\"],"
+			+ "\"properties\":{\"fullName\":{\"$ref\":\"#/definitions/simpleType\"},\"gender\":{\"type\":\"string\"},"
+			+ "\"dateOfBirth\":{\"type\":\"string\",\"pattern\":\"^[0-9]{4}/[0-9]{2}/[0-9]{2}$\"},"
+			+ "\"phone\":{\"type\":\"string\",\"maxLength\":10},\"age\":{\"type\":\"integer\"}}}}}";
+
+	private CachedIdObjectValidator cachedValidator;
+
+	private IdObjectValidator kernelValidator;
+
+	private IdSchemaDto idSchema;
+
+	@Before
+	public void setup() {
+		kernelValidator = Mockito.mock(IdObjectValidator.class);
+		cachedValidator = new CachedIdObjectValidator();
+		ReflectionTestUtils.setField(cachedValidator, "jsonValidator", kernelValidator);
+		ReflectionTestUtils.setField(cachedValidator, "maxEntries", 2);
+		idSchema = new IdSchemaDto();
+		idSchema.setId("1");
+		idSchema.setIdVersion(1.0);
+		idSchema.setSchemaJson(SCHEMA);
+	}
+
+	@Test
+	public void validateIdObjectSuccessTest() throws Exception {
+		List<String> requiredFields = Arrays.asList("fullName", "gender", "dateOfBirth|age");
+		assertTrue(cachedValidator.validateIdObject(idSchema, identity("fullName", "gender", "dateOfBirth"),
+				requiredFields));
+		assertTrue(cachedValidator.validateIdObject(idSchema, identity("fullName", "gender", "dateOfBirth"),
+				requiredFields));
+		Mockito.verifyZeroInteractions(kernelValidator);
+		assertEquals(1, compiledSchemas().size());
+	}
+
+	@Test
+	public void validateIdObjectMissingOptionalFieldTest() throws Exception {
+		assertTrue(cachedValidator.validateIdObject(idSchema, identity("fullName", "gender"),
+				Arrays.asList("fullName", "gender")));
+		Mockito.verifyZeroInteractions(kernelValidator);
+	}
+
+	@Test(expected = IdObjectValidationFailedException.class)
+	public void validateIdObjectMissingRequiredFieldTest() throws Exception {
+		List<String> requiredFields = Arrays.asList("fullName", "gender", "dateOfBirth|age");
+		JSONObject identity = identity("fullName", "gender");
+		Mockito.when(kernelValidator.validateIdObject(SCHEMA, identity, requiredFields))
+				.thenThrow(new IdObjectValidationFailedException(IdObjectValidatorErrorConstant.MISSING_INPUT_PARAMETER,
+						Collections.emptyList()));
+		cachedValidator.validateIdObject(idSchema, identity, requiredFields);
+	}
+
+	@Test
+	public void validateIdObjectKeyedByRequiredFieldsTest() throws Exception {
+		cachedValidator.validateIdObject(idSchema, identity("fullName", "gender", "dateOfBirth"),
+				Arrays.asList("fullName", "gender"));
+		cachedValidator.validateIdObject(idSchema, identity("fullName", "gender", "dateOfBirth"),
+				Arrays.asList("gender", "fullName"));
+		cachedValidator.validateIdObject(idSchema, identity("fullName", "gender", "dateOfBirth"),
+				Arrays.asList("fullName"));
+		assertEquals(2, compiledSchemas().size());
+
+		IdSchemaDto newSchema = new IdSchemaDto();
+		newSchema.setId("2");
+		newSchema.setIdVersion(2.0);
+		newSchema.setSchemaJson(SCHEMA);
+		cachedValidator.validateIdObject(newSchema, identity("fullName", "gender", "dateOfBirth"),
+				Arrays.asList("fullName"));
+		assertEquals(1, compiledSchemas().size());
+	}
+
+	@Test
+	public void validateIdObjectInvalidSchemaTest() throws Exception {
+		idSchema.setSchemaJson("{}");
+		JSONObject identity = identity("fullName");
+		Mockito.when(kernelValidator.validateIdObject("{}", identity, null)).thenReturn(true);
+		assertTrue(cachedValidator.validateIdObject(idSchema, identity, null));
+		Mockito.verify(kernelValidator).validateIdObject("{}", identity, null);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void agreesWithKernelValidatorTest() throws Exception {
+		IdObjectValidator schemaValidator = schemaValidator();
+		kernelValidator = Mockito.spy(schemaValidator());
+		ReflectionTestUtils.setField(cachedValidator, "jsonValidator", kernelValidator);
+		idSchema.setSchemaJson(STRICT_SCHEMA);
+		List<String> requiredFields = Arrays.asList("fullName", "gender", "dateOfBirth|age");
+
+		JSONObject missingOptional = strictIdentity();
+		identityOf(missingOptional).remove("phone");
+		JSONObject missingRequired = strictIdentity();
+		identityOf(missingRequired).remove("gender");
+		JSONObject patternMismatch = strictIdentity();
+		identityOf(patternMismatch).put("dateOfBirth", "01-01-1990");
+		JSONObject tooLong = strictIdentity();
+		identityOf(tooLong).put("phone", "98765432109876");
+		JSONObject typeMismatch = strictIdentity();
+		identityOf(typeMismatch).put("age", "thirty");
+		JSONObject unwanted = strictIdentity();
+		identityOf(unwanted).put("nickName", "value");
+		JSONObject missingInDefinitions = strictIdentity();
+		((JSONObject) ((JSONArray) identityOf(missingInDefinitions).get("fullName")).get(0)).remove("value");
+
+		// the kernel validator ignores the missing field outside the required set and
+		// the failed pattern and length, so the cached path must not call it for them
+		for (JSONObject accepted : Arrays.asList(strictIdentity(), missingOptional, patternMismatch, tooLong)) {
+			assertEquals(validate(schemaValidator, accepted, requiredFields), validate(null, accepted, requiredFields));
+			assertTrue(validate(null, accepted, requiredFields));
+		}
+		Mockito.verifyZeroInteractions(kernelValidator);
+
+		for (JSONObject rejected : Arrays.asList(missingRequired, typeMismatch, unwanted, missingInDefinitions)) {
+			assertEquals(validate(schemaValidator, rejected, requiredFields), validate(null, rejected, requiredFields));
+			assertFalse(validate(null, rejected, requiredFields));
+		}
+
+		// without required fields every missing field is an error
+		assertEquals(validate(schemaValidator, missingOptional, null), validate(null, missingOptional, null));
+		assertFalse(validate(null, missingOptional, null));
+	}
+
+	/**
+	 * Validates the id object with the kernel validator given, or with the cached
+	 * validator when it is null, and tells whether it is valid.
+	 */
+	private boolean validate(IdObjectValidator validator, JSONObject idObject, List<String> requiredFields)
+			throws Exception {
+		try {
+			return validator == null ? cachedValidator.validateIdObject(idSchema, idObject, requiredFields)
+					: validator.validateIdObject(STRICT_SCHEMA, idObject, requiredFields);
+		} catch (IdObjectValidationFailedException ex) {
+			return false;
+		}
+	}
+
+	private IdObjectValidator schemaValidator() {
+		IdObjectSchemaValidator schemaValidator = new IdObjectSchemaValidator();
+		ReflectionTestUtils.setField(schemaValidator, "mapper", new ObjectMapper());
+		return schemaValidator;
+	}
+
+	@SuppressWarnings("unchecked")
+	private JSONObject strictIdentity() {
+		JSONObject fullName = new JSONObject();
+		fullName.put("language", "eng");
+		fullName.put("value", "value");
+		JSONArray fullNames = new JSONArray();
+		fullNames.add(fullName);
+		JSONObject idObject = identity("gender", "phone");
+		identityOf(idObject).put("fullName", fullNames);
+		identityOf(idObject).put("dateOfBirth", "1990/01/01");
+		return idObject;
+	}
+
+	private JSONObject identityOf(JSONObject idObject) {
+		return (JSONObject) idObject.get("identity");
+	}
+
+	@SuppressWarnings("unchecked")
+	private JSONObject identity(String... fields) {
+		JSONObject identity = new JSONObject();
+		for (String field : fields) {
+			identity.put(field, "value");
+		}
+		JSONObject idObject = new JSONObject();
+		idObject.put("identity", identity);
+		return idObject;
+	}
+
+	private Map<?, ?> compiledSchemas() {
+		return (Map<?, ?>) ReflectionTestUtils.getField(cachedValidator, "compiledSchemas");
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import java.lang.reflect.Field;
+
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ReflectionUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sets up the components under test outside of the Spring context: each
+ * {@code @Value} field gets the default of its placeholder, the meter registry
+ * is the one of the test, and the given fields override the defaults.
+ *
+ * @since 1.2.0
+ */
+final class ComponentFixture {
+
+	private static final String PLACEHOLDER_PREFIX = "${";
+
+	private static final String PLACEHOLDER_SUFFIX = "}";
+
+	private static final String DEFAULT_SEPARATOR = ":";
+
+	private ComponentFixture() {
+	}
+
+	/**
+	 * @param component     the component, its init method is left to the test
+	 * @param meterRegistry the meter registry the component registers its meters
+	 *                      in
+	 * @param fieldValues   pairs of a field name and the value to set it to
+	 * @return the component
+	 */
+	static <T> T wire(T component, MeterRegistry meterRegistry, Object... fieldValues) {
+		SimpleTypeConverter converter = new SimpleTypeConverter();
+		ReflectionUtils.doWithFields(component.getClass(), field -> {
+			String defaultValue = defaultValue(field);
+			if (defaultValue != null) {
+				ReflectionUtils.makeAccessible(field);
+				ReflectionUtils.setField(field, component, converter.convertIfNecessary(defaultValue, field.getType()));
+			}
+		}, field -> field.isAnnotationPresent(Value.class));
+		ReflectionTestUtils.setField(component, "meterRegistry", meterRegistry);
+		for (int index = 0; index < fieldValues.length; index += 2) {
+			ReflectionTestUtils.setField(component, (String) fieldValues[index], fieldValues[index + 1]);
+		}
+		return component;
+	}
+
+	private static String defaultValue(Field field) {
+		String placeholder = field.getAnnotation(Value.class).value();
+		int separator = placeholder.indexOf(DEFAULT_SEPARATOR);
+		if (!placeholder.startsWith(PLACEHOLDER_PREFIX) || !placeholder.endsWith(PLACEHOLDER_SUFFIX) || separator < 0) {
+			return null;
+		}
+		String defaultValue = placeholder.substring(separator + 1, placeholder.length() - 1);
+		return defaultValue.contains(PLACEHOLDER_PREFIX) ? null : defaultValue;
+	}
+
+}
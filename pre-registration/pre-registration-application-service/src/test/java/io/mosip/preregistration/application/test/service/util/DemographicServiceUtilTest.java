@@ -18,11 +18,14 @@ import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.preregistration.application.exception.OperationNotAllowedException;
 import io.mosip.preregistration.application.repository.ApplicationRepostiory;
 import io.mosip.preregistration.application.service.AppointmentService;
 import io.mosip.preregistration.application.service.UISpecService;
 import io.mosip.preregistration.application.service.util.DemographicServiceUtil;
+import io.mosip.preregistration.application.service.util.IdSchemaCache;
+import io.mosip.preregistration.application.service.util.PridPool;
 import io.mosip.preregistration.core.code.StatusCodes;
 import io.mosip.preregistration.core.common.entity.DemographicEntity;
 import io.mosip.preregistration.core.util.AuditLogUtil;
@@ -41,7 +44,7 @@ import io.mosip.preregistration.demographic.exception.system.JsonParseException;
  */
 @RunWith(SpringRunner.class)
 @ImportAutoConfiguration(RefreshAutoConfiguration.class)
-@SpringBootTest(classes = DemographicServiceUtil.class)
+@SpringBootTest(classes = { DemographicServiceUtil.class, IdSchemaCache.class, PridPool.class, SimpleMeterRegistry.class })
 public class DemographicServiceUtilTest {
 
 	/**
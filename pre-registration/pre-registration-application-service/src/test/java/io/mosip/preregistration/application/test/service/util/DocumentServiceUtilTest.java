@@ -103,7 +103,8 @@ public class DocumentServiceUtilTest {
 
 	@Test(expected = VirusScannerException.class)
 	public void virusscannerFailureTest() throws Exception {
-		Mockito.when(virusScan.scanDocument(mockMultipartFile.getBytes())).thenThrow(java.io.IOException.class);
+		Mockito.when(virusScan.scanFile(Mockito.any(InputStream.class)))
+				.thenThrow(new VirusScannerException("KER-VIR-001", "scanner unavailable"));
 		serviceUtil.isVirusScanSuccess(mockMultipartFile);
 	}
 
@@ -0,0 +1,122 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.application.dto.IdSchemaDto;
+import io.mosip.preregistration.application.service.util.IdSchemaCache;
+import io.mosip.preregistration.core.exception.RestCallException;
+
+/**
+ * Test class to test the id schema cache
+ *
+ * @since 1.2.0
+ */
+public class IdSchemaCacheTest {
+
+	private IdSchemaCache idSchemaCache;
+
+	private MeterRegistry meterRegistry;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		idSchemaCache = ComponentFixture.wire(new IdSchemaCache(), meterRegistry, "loadTimeoutSeconds", 5L);
+		idSchemaCache.init();
+	}
+
+	@After
+	public void tearDown() {
+		idSchemaCache.destroy();
+	}
+
+	@Test
+	public void getSchemaHitTest() {
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<IdSchemaDto> loader = () -> schema(loads.incrementAndGet());
+		IdSchemaDto first = idSchemaCache.getSchema(loader);
+		IdSchemaDto second = idSchemaCache.getSchema(loader);
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(1.0, meterRegistry.counter("preregistration.idschema.cache", "result", "miss").count(), 0);
+		assertEquals(1.0, meterRegistry.counter("preregistration.idschema.cache", "result", "hit").count(), 0);
+	}
+
+	@Test
+	public void getSchemaSingleFlightTest() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<IdSchemaDto> loader = () -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return schema(loads.incrementAndGet());
+		};
+		ExecutorService callers = Executors.newFixedThreadPool(8);
+		List<Future<IdSchemaDto>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(callers.submit(() -> idSchemaCache.getSchema(loader)));
+		}
+		Thread.sleep(200);
+		release.countDown();
+		for (Future<IdSchemaDto> result : results) {
+			assertEquals(1.0, result.get().getIdVersion(), 0);
+		}
+		callers.shutdown();
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void getSchemaServesLastGoodSchemaTest() {
+		IdSchemaDto loaded = idSchemaCache.getSchema(() -> schema(1));
+		ReflectionTestUtils.setField(idSchemaCache, "expireAfterSeconds", 0L);
+		IdSchemaDto served = idSchemaCache.getSchema(() -> {
+			throw new RestCallException("PRG_PAM_APP_020", "Id schema fetch failed");
+		});
+		assertSame(loaded, served);
+		assertEquals(1.0, meterRegistry.counter("preregistration.idschema.cache", "result", "stale").count(), 0);
+	}
+
+	@Test(expected = RestCallException.class)
+	public void getSchemaFailureWithoutEntryTest() {
+		idSchemaCache.getSchema(() -> {
+			throw new RestCallException("PRG_PAM_APP_020", "Id schema fetch failed");
+		});
+	}
+
+	@Test
+	public void invalidateTest() {
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<IdSchemaDto> loader = () -> schema(loads.incrementAndGet());
+		idSchemaCache.getSchema(loader);
+		idSchemaCache.invalidate();
+		assertEquals(2.0, idSchemaCache.getSchema(loader).getIdVersion(), 0);
+	}
+
+	private IdSchemaDto schema(double version) {
+		IdSchemaDto idSchema = new IdSchemaDto();
+		idSchema.setIdVersion(version);
+		idSchema.setSchemaJson("{}");
+		return idSchema;
+	}
+
+}
@@ -0,0 +1,194 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.application.constant.PreRegLoginErrorConstants;
+import io.mosip.preregistration.application.dto.OtpRequestDTO;
+import io.mosip.preregistration.application.entity.OtpNotificationOutbox;
+import io.mosip.preregistration.application.exception.PreRegLoginException;
+import io.mosip.preregistration.application.repository.OtpNotificationOutboxRepository;
+import io.mosip.preregistration.application.service.util.NotificationServiceUtil;
+import io.mosip.preregistration.application.service.util.OtpNotificationQueue;
+import io.mosip.preregistration.core.common.dto.MainRequestDTO;
+
+/**
+ * Test class to test the OTP notification queue
+ *
+ * @since 1.2.0
+ */
+public class OtpNotificationQueueTest {
+
+	@InjectMocks
+	private OtpNotificationQueue otpNotificationQueue;
+
+	@Mock
+	private NotificationServiceUtil notification;
+
+	@Mock
+	private OtpNotificationOutboxRepository outboxRepo;
+
+	@Mock
+	private Environment environment;
+
+	private MeterRegistry meterRegistry;
+
+	private MainRequestDTO<OtpRequestDTO> requestDTO;
+
+	private Map<String, Object> values;
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		meterRegistry = new SimpleMeterRegistry();
+		ComponentFixture.wire(otpNotificationQueue, meterRegistry, "workers", 2, "queueCapacity", 10, "smsRatePerSecond", 0,
+				"emailRatePerSecond", 0, "retryBackoffMillis", 10L, "sweepIntervalSeconds", 0L);
+		otpNotificationQueue.init();
+		requestDTO = new MainRequestDTO<>();
+		values = new HashMap<>();
+		values.put("otp", "111111");
+	}
+
+	@After
+	public void tearDown() {
+		otpNotificationQueue.destroy();
+	}
+
+	@Test
+	public void enqueueSendsSmsTest() throws Exception {
+		otpNotificationQueue.enqueue("txn1", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+
+		ArgumentCaptor<OtpNotificationOutbox> outbox = ArgumentCaptor.forClass(OtpNotificationOutbox.class);
+		Mockito.verify(outboxRepo).save(outbox.capture());
+		assertEquals(OtpNotificationQueue.PENDING_STATUS, outbox.getValue().getStatusCode());
+		assertEquals("txn1", outbox.getValue().getOtpTxnId());
+		Mockito.verify(outboxRepo, Mockito.timeout(5000)).updateDelivery(Mockito.eq(outbox.getValue().getId()),
+				Mockito.eq(OtpNotificationQueue.SENT_STATUS), Mockito.eq(1), Mockito.isNull(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(notification).invokeSmsNotification(values, "9999999999", requestDTO, "eng");
+		Mockito.verify(notification, Mockito.never()).invokeEmailNotification(Mockito.anyMap(), Mockito.any(),
+				Mockito.any(), Mockito.any());
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.delivery", "result", "sent").count(), 0);
+	}
+
+	@Test
+	public void failedDeliveryRetriedTest() throws Exception {
+		Mockito.doThrow(new PreRegLoginException("PRG_PAM_LGN_001", "gateway down")).doNothing().when(notification)
+				.invokeEmailNotification(Mockito.anyMap(), Mockito.any(), Mockito.any(), Mockito.any());
+		otpNotificationQueue.enqueue("txn1", "email", "user@mosip.io", values, requestDTO, "eng", expiry(180));
+
+		Mockito.verify(outboxRepo, Mockito.timeout(5000)).updateDelivery(Mockito.any(),
+				Mockito.eq(OtpNotificationQueue.SENT_STATUS), Mockito.eq(2), Mockito.isNull(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(outboxRepo).updateDelivery(Mockito.any(), Mockito.eq(OtpNotificationQueue.PENDING_STATUS),
+				Mockito.eq(1), Mockito.contains("gateway down"), Mockito.any(), Mockito.any());
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.delivery", "result", "retried").count(), 0);
+	}
+
+	@Test
+	public void deliveryFailsAfterMaxAttemptsTest() throws Exception {
+		Mockito.doThrow(new PreRegLoginException("PRG_PAM_LGN_001", "gateway down")).when(notification)
+				.invokeSmsNotification(Mockito.anyMap(), Mockito.any(), Mockito.any(), Mockito.any());
+		otpNotificationQueue.enqueue("txn1", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+
+		Mockito.verify(outboxRepo, Mockito.timeout(5000)).updateDelivery(Mockito.any(),
+				Mockito.eq(OtpNotificationQueue.FAILED_STATUS), Mockito.eq(3), Mockito.contains("gateway down"),
+				Mockito.any(), Mockito.any());
+		Mockito.verify(notification, Mockito.times(3)).invokeSmsNotification(Mockito.anyMap(), Mockito.any(),
+				Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void expiredOtpNotSentTest() throws Exception {
+		otpNotificationQueue.enqueue("txn1", "phone", "9999999999", values, requestDTO, "eng", expiry(-1));
+
+		Mockito.verify(outboxRepo, Mockito.timeout(5000)).updateDelivery(Mockito.any(),
+				Mockito.eq(OtpNotificationQueue.FAILED_STATUS), Mockito.eq(0), Mockito.any(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(notification, Mockito.never()).invokeSmsNotification(Mockito.anyMap(), Mockito.any(),
+				Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void queueFullRejectedTest() throws Exception {
+		otpNotificationQueue.destroy();
+		ReflectionTestUtils.setField(otpNotificationQueue, "workers", 1);
+		ReflectionTestUtils.setField(otpNotificationQueue, "queueCapacity", 1);
+		otpNotificationQueue.init();
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.doAnswer(invocation -> {
+			sending.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(notification).invokeSmsNotification(Mockito.anyMap(), Mockito.any(), Mockito.any(), Mockito.any());
+		otpNotificationQueue.enqueue("txn1", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		otpNotificationQueue.enqueue("txn2", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+		try {
+			otpNotificationQueue.enqueue("txn3", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+			fail();
+		} catch (PreRegLoginException ex) {
+			assertEquals(PreRegLoginErrorConstants.OTP_REQUEST_FLOODED.getErrorCode(), ex.getErrorCode());
+		} finally {
+			release.countDown();
+		}
+		Mockito.verify(outboxRepo, Mockito.times(2)).save(Mockito.any());
+		Mockito.verify(notification, Mockito.timeout(5000).times(2)).invokeSmsNotification(Mockito.anyMap(),
+				Mockito.any(), Mockito.any(), Mockito.any());
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.delivery", "result", "rejected").count(), 0);
+	}
+
+	@Test
+	public void queuedAfterCommitTest() throws Exception {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			otpNotificationQueue.enqueue("txn1", "phone", "9999999999", values, requestDTO, "eng", expiry(180));
+			Mockito.verify(outboxRepo).save(Mockito.any());
+			assertEquals(0, otpNotificationQueue.size());
+			Mockito.verifyZeroInteractions(notification);
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		Mockito.verify(notification, Mockito.timeout(5000)).invokeSmsNotification(values, "9999999999", requestDTO,
+				"eng");
+	}
+
+	@Test
+	public void sweepTest() {
+		otpNotificationQueue.sweep();
+		Mockito.verify(outboxRepo).failExpiredPending(Mockito.eq(OtpNotificationQueue.PENDING_STATUS),
+				Mockito.eq(OtpNotificationQueue.FAILED_STATUS), Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(outboxRepo).deleteCompletedBefore(Mockito.eq(OtpNotificationQueue.PENDING_STATUS),
+				Mockito.any());
+	}
+
+	private LocalDateTime expiry(long seconds) {
+		return DateUtils.getUTCCurrentDateTime().plusSeconds(seconds);
+	}
+
+}
@@ -0,0 +1,111 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.application.service.util.OtpRateLimiter;
+
+/**
+ * Test class to test the OTP rate limiter
+ *
+ * @since 1.2.0
+ */
+public class OtpRateLimiterTest {
+
+	private OtpRateLimiter otpRateLimiter;
+
+	private MeterRegistry meterRegistry;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		otpRateLimiter = newOtpRateLimiter(false);
+	}
+
+	@Test
+	public void sendLimitedPerUserTest() {
+		for (int i = 0; i < 3; i++) {
+			assertTrue(otpRateLimiter.tryAcquireSend("user1"));
+		}
+		assertFalse(otpRateLimiter.tryAcquireSend("user1"));
+		assertTrue(otpRateLimiter.tryAcquireSend("user2"));
+		assertTrue(otpRateLimiter.tryAcquireValidate("user1"));
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.rate-limit", "action", "send").count(), 0);
+	}
+
+	@Test
+	public void windowSlidesTest() throws InterruptedException {
+		ReflectionTestUtils.setField(otpRateLimiter, "validateWindowSeconds", 1L);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(otpRateLimiter.tryAcquireValidate("user1"));
+		}
+		assertFalse(otpRateLimiter.tryAcquireValidate("user1"));
+		TimeUnit.MILLISECONDS.sleep(1100);
+		assertTrue(otpRateLimiter.tryAcquireValidate("user1"));
+	}
+
+	@Test
+	public void maxKeysTest() throws InterruptedException {
+		ReflectionTestUtils.setField(otpRateLimiter, "maxKeys", 2);
+		ReflectionTestUtils.setField(otpRateLimiter, "sendWindowMinutes", 0L);
+		ReflectionTestUtils.setField(otpRateLimiter, "validateWindowSeconds", 1L);
+		otpRateLimiter.tryAcquireValidate("user1");
+		TimeUnit.MILLISECONDS.sleep(5);
+		otpRateLimiter.tryAcquireValidate("user2");
+		for (int i = 0; i < 5; i++) {
+			assertTrue(otpRateLimiter.tryAcquireValidate("user3"));
+		}
+		assertFalse(otpRateLimiter.tryAcquireValidate("user3"));
+		assertTrue(otpRateLimiter.tryAcquireValidate("user2"));
+		assertEquals(2, otpRateLimiter.size());
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.rate-limit.evicted").count(), 0);
+		TimeUnit.MILLISECONDS.sleep(1100);
+		otpRateLimiter.tryAcquireValidate("user4");
+		assertEquals(1, otpRateLimiter.size());
+		assertEquals(1.0, meterRegistry.counter("preregistration.otp.rate-limit.evicted").count(), 0);
+	}
+
+	@Test
+	public void sharedWindowsTest() {
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+		OtpRateLimiter node1 = newOtpRateLimiter(true, cacheManager);
+		OtpRateLimiter node2 = newOtpRateLimiter(true, cacheManager);
+		assertTrue(node1.tryAcquireSend("user1"));
+		assertTrue(node2.tryAcquireSend("user1"));
+		assertTrue(node1.tryAcquireSend("user1"));
+		assertFalse(node2.tryAcquireSend("user1"));
+		assertEquals(0, node1.size());
+	}
+
+	@Test
+	public void sharedWithoutCacheManagerTest() {
+		otpRateLimiter = newOtpRateLimiter(true);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(otpRateLimiter.tryAcquireSend("user1"));
+		}
+		assertFalse(otpRateLimiter.tryAcquireSend("user1"));
+		assertEquals(1, otpRateLimiter.size());
+	}
+
+	private OtpRateLimiter newOtpRateLimiter(boolean shared) {
+		return newOtpRateLimiter(shared, null);
+	}
+
+	private OtpRateLimiter newOtpRateLimiter(boolean shared, ConcurrentMapCacheManager cacheManager) {
+		OtpRateLimiter limiter = ComponentFixture.wire(new OtpRateLimiter(), meterRegistry, "cacheManager", cacheManager,
+				"validateMaxCount", 5, "maxKeys", 100, "shared", shared);
+		limiter.init();
+		return limiter;
+	}
+
+}
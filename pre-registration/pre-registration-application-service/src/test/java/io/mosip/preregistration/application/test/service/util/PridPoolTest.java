@@ -0,0 +1,108 @@
+package io.mosip.preregistration.application.test.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.application.service.util.PridPool;
+import io.mosip.preregistration.core.exception.RestCallException;
+
+/**
+ * Test class to test the pre-registration id pool
+ *
+ * @since 1.2.0
+ */
+public class PridPoolTest {
+
+	private PridPool pridPool;
+
+	private MeterRegistry meterRegistry;
+
+	@Before
+	public void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		pridPool = ComponentFixture.wire(new PridPool(), meterRegistry, "capacity", 5, "lowWaterMark", 2);
+		pridPool.init();
+	}
+
+	@After
+	public void tearDown() {
+		pridPool.destroy();
+	}
+
+	@Test
+	public void takeFallsBackAndRefillsTest() throws Exception {
+		AtomicInteger generated = new AtomicInteger();
+		Supplier<String> generator = () -> String.valueOf(generated.incrementAndGet());
+		pridPool.take(generator);
+		awaitSize(5);
+		assertEquals(1.0, meterRegistry.counter("preregistration.prid.pool.take", "result", "fallback").count(), 0);
+
+		Set<String> prids = new HashSet<>();
+		for (int i = 0; i < 3; i++) {
+			prids.add(pridPool.take(generator));
+		}
+		assertEquals(3, prids.size());
+		assertEquals(3.0, meterRegistry.counter("preregistration.prid.pool.take", "result", "pooled").count(), 0);
+		awaitSize(5);
+		assertEquals(5.0, meterRegistry.get("preregistration.prid.pool.depth").gauge().value(), 0);
+	}
+
+	@Test
+	public void takeDisabledTest() {
+		ReflectionTestUtils.setField(pridPool, "enabled", false);
+		AtomicInteger generated = new AtomicInteger();
+		assertEquals("1", pridPool.take(() -> String.valueOf(generated.incrementAndGet())));
+		assertEquals(0, pridPool.size());
+		assertEquals(1, generated.get());
+	}
+
+	@Test
+	public void refillFailureBackoffTest() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<String> generator = () -> {
+			calls.incrementAndGet();
+			throw new RestCallException("PRG_PAM_APP_020", "PRID fetch failed");
+		};
+		assertFallbackFails(generator);
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		while (meterRegistry.timer("preregistration.prid.pool.refill", "result", "failure").count() == 0
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, calls.get());
+		assertFallbackFails(generator);
+		Thread.sleep(100);
+		assertEquals(3, calls.get());
+	}
+
+	private void assertFallbackFails(Supplier<String> generator) {
+		try {
+			pridPool.take(generator);
+			fail();
+		} catch (RestCallException ex) {
+			assertEquals("PRG_PAM_APP_020", ex.getErrorCode());
+		}
+	}
+
+	private void awaitSize(int size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		while (pridPool.size() < size && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(size, pridPool.size());
+	}
+
+}
@@ -48,6 +48,10 @@ public class PreRegBatchContants {
 
 	public static final String APPOINTMENT_MISMATCH_JOB = "AppointmentMismatchJob";
 
+	public static final String OTP_PURGE_JOB = "OtpPurgeJob";
+
+	public static final String OTP_USED_STATUS = "used";
+
 	public static final String ALL = "all";
 
 	public static final String PAGE_NO = "?pageNumber=";
@@ -0,0 +1,71 @@
+/*
+ * Copyright
+ *
+ */
+package io.mosip.preregistration.batchjob.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * The persistent class for the reg_center_fingerprint table, which holds the
+ * configuration a registration center's slots were last generated with.
+ *
+ * @since 1.2.0
+ */
+@Entity
+@Table(name = "reg_center_fingerprint", schema = "prereg")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class RegCenterFingerprintEntity implements Serializable {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** Registration center Id. */
+	@Id
+	@Column(name = "regcntr_id")
+	private String regcntrId;
+
+	/** Hash of the center timings, process time and kiosk count. */
+	@Column(name = "config_hash")
+	private String configHash;
+
+	/** Comma separated holidays and week-off dates from the generated range. */
+	@Column(name = "non_working_dates")
+	private String nonWorkingDates;
+
+	/** Slots are generated up to this date, exclusive. */
+	@Column(name = "generated_till_date")
+	private LocalDate generatedTillDate;
+
+	/** Created by. */
+	@Column(name = "cr_by")
+	private String crBy;
+
+	/** Created date time. */
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDate;
+
+	/** Updated by. */
+	@Column(name = "upd_by")
+	private String upBy;
+
+	/** Updated date time. */
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updDate;
+
+}
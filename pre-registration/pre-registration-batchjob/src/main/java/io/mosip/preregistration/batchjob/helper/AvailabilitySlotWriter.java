@@ -0,0 +1,347 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.ErrorCodes;
+import io.mosip.preregistration.batchjob.code.ErrorMessages;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.exception.TableNotAccessibleException;
+
+/**
+ * This class writes the changes slot generation makes to a center's slots in
+ * reg_available_slot as one diff, with JDBC batch statements instead of one
+ * JPA call per slot.
+ * <p>
+ * Each slot generation partition runs on its own thread, so the pending
+ * changes are kept per thread between {@link #begin(String)} and
+ * {@link #finish()}. A delete also drops the pending inserts it matches, so
+ * applying all deletes before all inserts gives the same rows as running the
+ * changes in the order they were made. {@link #flush()} applies the diff in a
+ * single transaction, inserting in batches of
+ * ${preregistration.slots.generate.batch-size} rows.
+ * <p>
+ * Like the JPA save it replaces, an insert of a slot whose start time is
+ * already taken updates that slot, e.g. the lunch slot when the lunch start
+ * time moves later.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class AvailabilitySlotWriter {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(AvailabilitySlotWriter.class);
+
+	private static final String METRIC_PREFIX = "preregistration.batch.slots";
+
+	private static final String PARTITION_TAG = "partition";
+
+	private static final String DELETE_DAY_SLOTS = "DELETE FROM prereg.reg_available_slot WHERE regcntr_id = ? AND availability_date = ?";
+
+	private static final String DELETE_SLOTS_BETWEEN = "DELETE FROM prereg.reg_available_slot WHERE regcntr_id = ? AND availability_date = ? "
+			+ "AND slot_from_time BETWEEN ? AND ?";
+
+	private static final String DELETE_SLOT = "DELETE FROM prereg.reg_available_slot WHERE regcntr_id = ? AND availability_date = ? "
+			+ "AND slot_from_time = ? AND slot_to_time = ?";
+
+	private static final String INSERT_SLOT = "INSERT INTO prereg.reg_available_slot (regcntr_id, availability_date, "
+			+ "slot_from_time, slot_to_time, available_kiosks, cr_by, cr_dtimes, is_deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+			+ "ON CONFLICT (regcntr_id, availability_date, slot_from_time) DO UPDATE SET slot_to_time = EXCLUDED.slot_to_time, "
+			+ "available_kiosks = EXCLUDED.available_kiosks, is_deleted = EXCLUDED.is_deleted, upd_by = EXCLUDED.cr_by, "
+			+ "upd_dtimes = EXCLUDED.cr_dtimes";
+
+	@Value("${preregistration.slots.generate.batch-size:500}")
+	private int batchSize;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate transactionTemplate;
+
+	private final ThreadLocal<PartitionBatch> partitionBatch = new ThreadLocal<>();
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	/**
+	 * Starts collecting slot changes of the given partition on the current thread.
+	 *
+	 * @param partName the partition name used in logs and metric tags
+	 */
+	public void begin(String partName) {
+		partitionBatch.set(new PartitionBatch(partName, Math.max(batchSize, 1)));
+	}
+
+	/**
+	 * Queues the slot for insert. Without a partition started on this thread the
+	 * slot is inserted at once.
+	 *
+	 * @param slot the slot to insert
+	 */
+	public void add(AvailibityEntity slot) {
+		PartitionBatch batch = partitionBatch.get();
+		if (batch == null) {
+			List<AvailibityEntity> slots = new ArrayList<>(1);
+			slots.add(slot);
+			apply(new ArrayList<>(), slots);
+			return;
+		}
+		batch.pendingInserts.add(slot);
+	}
+
+	/**
+	 * Queues the delete of all slots of the center on the date.
+	 */
+	public void deleteSlots(String regCenterId, LocalDate date) {
+		delete(new SlotDelete(DELETE_DAY_SLOTS, regCenterId, date, null, null));
+	}
+
+	/**
+	 * Queues the delete of the slots of the center on the date starting between
+	 * the given times, both inclusive.
+	 */
+	public void deleteSlotsBetweenHours(String regCenterId, LocalDate date, LocalTime fromTime, LocalTime toTime) {
+		delete(new SlotDelete(DELETE_SLOTS_BETWEEN, regCenterId, date, fromTime, toTime));
+	}
+
+	/**
+	 * Queues the delete of the slot of the center on the date with the given
+	 * start and end time.
+	 */
+	public void deleteSlotForStartTimeEndTime(String regCenterId, LocalDate date, LocalTime fromTime,
+			LocalTime toTime) {
+		delete(new SlotDelete(DELETE_SLOT, regCenterId, date, fromTime, toTime));
+	}
+
+	private void delete(SlotDelete slotDelete) {
+		PartitionBatch batch = partitionBatch.get();
+		if (batch == null) {
+			List<SlotDelete> deletes = new ArrayList<>(1);
+			deletes.add(slotDelete);
+			apply(deletes, new ArrayList<>());
+			return;
+		}
+		batch.pendingInserts.removeIf(slotDelete::matches);
+		batch.pendingDeletes.add(slotDelete);
+	}
+
+	/**
+	 * Applies the changes pending on the current thread in one transaction,
+	 * deletes first. The pending changes are cleared even when this fails.
+	 */
+	public void flush() {
+		PartitionBatch batch = partitionBatch.get();
+		if (batch == null || (batch.pendingInserts.isEmpty() && batch.pendingDeletes.isEmpty())) {
+			return;
+		}
+		List<SlotDelete> deletes = new ArrayList<>(batch.pendingDeletes);
+		List<AvailibityEntity> slots = new ArrayList<>(batch.pendingInserts);
+		batch.pendingDeletes.clear();
+		batch.pendingInserts.clear();
+		long start = System.nanoTime();
+		int deleted = apply(deletes, slots);
+		long elapsed = System.nanoTime() - start;
+		batch.rows += slots.size();
+		batch.deletedRows += deleted;
+		batch.batches += (slots.size() + batch.batchSize - 1) / batch.batchSize;
+		batch.writeNanos += elapsed;
+		meterRegistry.timer(METRIC_PREFIX + ".flush", PARTITION_TAG, batch.partName).record(elapsed,
+				TimeUnit.NANOSECONDS);
+		meterRegistry.summary(METRIC_PREFIX + ".batch.size", PARTITION_TAG, batch.partName).record(slots.size());
+		meterRegistry.counter(METRIC_PREFIX + ".rows", PARTITION_TAG, batch.partName).increment(slots.size());
+		meterRegistry.counter(METRIC_PREFIX + ".deleted", PARTITION_TAG, batch.partName).increment(deleted);
+	}
+
+	/**
+	 * Drops the changes pending on the current thread without applying them.
+	 */
+	public void discard() {
+		PartitionBatch batch = partitionBatch.get();
+		if (batch == null) {
+			return;
+		}
+		batch.pendingDeletes.clear();
+		batch.pendingInserts.clear();
+	}
+
+	/**
+	 * Applies the remaining changes, reports the partition totals and stops
+	 * collecting on the current thread.
+	 */
+	public void finish() {
+		PartitionBatch batch = partitionBatch.get();
+		if (batch == null) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			partitionBatch.remove();
+			long elapsed = System.nanoTime() - batch.startNanos;
+			meterRegistry.timer(METRIC_PREFIX + ".partition", PARTITION_TAG, batch.partName).record(elapsed,
+					TimeUnit.NANOSECONDS);
+			long rowsPerSec = elapsed == 0 ? 0 : batch.rows * TimeUnit.SECONDS.toNanos(1) / elapsed;
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, batch.partName,
+					"Slots inserted: " + batch.rows + ", deleted: " + batch.deletedRows + ", batches: " + batch.batches + ", write time(In millis): "
+							+ TimeUnit.NANOSECONDS.toMillis(batch.writeNanos) + ", run time(In millis): "
+							+ TimeUnit.NANOSECONDS.toMillis(elapsed) + ", rows/sec: " + rowsPerSec);
+		}
+	}
+
+	/**
+	 * Runs the deletes and then the inserts in one transaction and returns the
+	 * number of rows deleted.
+	 */
+	private int apply(List<SlotDelete> deletes, List<AvailibityEntity> slots) {
+		try {
+			return transactionTemplate.execute(status -> {
+				int deleted = 0;
+				for (SlotDelete slotDelete : deletes) {
+					deleted += jdbcTemplate.update(slotDelete.sql, slotDelete::setValues);
+				}
+				int batchSize = Math.max(this.batchSize, 1);
+				for (int from = 0; from < slots.size(); from += batchSize) {
+					insert(slots.subList(from, Math.min(from + batchSize, slots.size())));
+				}
+				return deleted;
+			});
+		} catch (DataAccessException e) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+					"Failed to delete " + deletes.size() + " slot ranges and insert " + slots.size() + " slots: "
+							+ e.getMessage());
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+	}
+
+	private void insert(List<AvailibityEntity> slots) {
+		jdbcTemplate.batchUpdate(INSERT_SLOT, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				AvailibityEntity slot = slots.get(i);
+				ps.setString(1, slot.getRegcntrId());
+				ps.setDate(2, Date.valueOf(slot.getRegDate()));
+				ps.setTime(3, Time.valueOf(slot.getFromTime()));
+				ps.setTime(4, Time.valueOf(slot.getToTime()));
+				ps.setInt(5, slot.getAvailableKiosks());
+				ps.setString(6, slot.getCrBy());
+				ps.setTimestamp(7, Timestamp.valueOf(slot.getCrDate()));
+				ps.setBoolean(8, slot.isDeleted());
+			}
+
+			@Override
+			public int getBatchSize() {
+				return slots.size();
+			}
+		});
+	}
+
+	/**
+	 * A delete of slots of one center and date, either all of them, those
+	 * starting between two times, or the one with the given start and end time.
+	 */
+	private static class SlotDelete {
+
+		private final String sql;
+
+		private final String regCenterId;
+
+		private final LocalDate date;
+
+		private final LocalTime fromTime;
+
+		private final LocalTime toTime;
+
+		SlotDelete(String sql, String regCenterId, LocalDate date, LocalTime fromTime, LocalTime toTime) {
+			this.sql = sql;
+			this.regCenterId = regCenterId;
+			this.date = date;
+			this.fromTime = fromTime;
+			this.toTime = toTime;
+		}
+
+		boolean matches(AvailibityEntity slot) {
+			if (!regCenterId.equals(slot.getRegcntrId()) || !date.equals(slot.getRegDate())) {
+				return false;
+			}
+			if (DELETE_SLOTS_BETWEEN.equals(sql)) {
+				return !slot.getFromTime().isBefore(fromTime) && !slot.getFromTime().isAfter(toTime);
+			}
+			if (DELETE_SLOT.equals(sql)) {
+				return fromTime.equals(slot.getFromTime()) && toTime.equals(slot.getToTime());
+			}
+			return true;
+		}
+
+		void setValues(PreparedStatement ps) throws SQLException {
+			ps.setString(1, regCenterId);
+			ps.setDate(2, Date.valueOf(date));
+			if (fromTime != null) {
+				ps.setTime(3, Time.valueOf(fromTime));
+				ps.setTime(4, Time.valueOf(toTime));
+			}
+		}
+
+	}
+
+	private static class PartitionBatch {
+
+		private final String partName;
+
+		private final int batchSize;
+
+		private final List<AvailibityEntity> pendingInserts;
+
+		private final List<SlotDelete> pendingDeletes = new ArrayList<>();
+
+		private final long startNanos = System.nanoTime();
+
+		private long rows;
+
+		private long deletedRows;
+
+		private long batches;
+
+		private long writeNanos;
+
+		PartitionBatch(String partName, int batchSize) {
+			this.partName = partName;
+			this.batchSize = batchSize;
+			this.pendingInserts = new ArrayList<>(batchSize);
+		}
+
+	}
+
+}
@@ -1,24 +1,53 @@
 package io.mosip.preregistration.batchjob.helper;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue.PendingNotification;
 import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
 import io.mosip.preregistration.core.common.entity.ApplicationEntity;
 import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.DaemonThreadFactory;
+import io.mosip.preregistration.core.util.RatePacer;
 
 /**
+ * Cancels the bookings affected by a change of a registration center and
+ * notifies the applicants.
+ * <p>
+ * The cancel and notify calls of the bookings run on a bounded pool of threads
+ * shared by all the partitions, paced to a maximum number of calls per second
+ * so the booking and notification services are not flooded. The cancellations
+ * of a batch of bookings are completed before returning, as the slots are
+ * deleted next, while the notifications continue in the background and are
+ * awaited through the {@link CancelNotifyTracker}. Failed notifications are
+ * queued in the {@link NotificationRetryQueue}.
+ *
  * @author Mahammed Taheer
  * @since 1.2.0
  *
  */
 @Component
 public class CancelAndNotifyHelper {
-    
-    /** 
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(CancelAndNotifyHelper.class);
+
+    /**
 	 * Autowired reference for {@link #batchServiceDAO}
 	 */
 	@Autowired
@@ -27,19 +56,163 @@ public class CancelAndNotifyHelper {
     @Autowired
 	private RestHelper restHelper;
 
-    public void cancelAndNotifyApplicant(RegistrationBookingEntity bookedSlot, String logIdentifier, Map<String, Boolean> cancelledTracker,
-						Map<String, Boolean> notifierTracker) {
+	@Autowired
+	private NotificationRetryQueue retryQueue;
+
+	@Value("${preregistration.batch.cancel-notify.concurrency:4}")
+	private int concurrency;
+
+	/**
+	 * cancel and notify calls waiting for a thread, further calls run on the
+	 * caller thread
+	 */
+	@Value("${preregistration.batch.cancel-notify.queue-capacity:200}")
+	private int queueCapacity;
+
+	/**
+	 * maximum number of cancel and notify calls started per second, 0 for no limit
+	 */
+	@Value("${preregistration.batch.cancel-notify.rate-per-second:10}")
+	private int ratePerSecond;
+
+	/**
+	 * seconds a run waits for its notifications before reporting, the ones still
+	 * being sent then complete in the background
+	 */
+	@Value("${preregistration.batch.cancel-notify.await-timeout-seconds:300}")
+	private long awaitTimeoutSeconds;
+
+	private ThreadPoolExecutor executor;
+
+	private RatePacer callPacer;
+
+	@PostConstruct
+	public void init() {
+		int threads = Math.max(concurrency, 1);
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), new DaemonThreadFactory("CancelNotify"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		callPacer = new RatePacer(ratePerSecond);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Cancels the booked applications of the given bookings concurrently and
+	 * sends their cancellation notifications in the background.
+	 *
+	 * @param bookedSlots   the bookings to cancel
+	 * @param logIdentifier identifier for debugging
+	 * @param tracker       the tracker of the run
+	 * @return the number of bookings cancelled
+	 */
+	public int cancelAndNotifyApplicants(List<RegistrationBookingEntity> bookedSlots, String logIdentifier,
+			CancelNotifyTracker tracker) {
+
+		List<CompletableFuture<Boolean>> cancellations = new ArrayList<>(bookedSlots.size());
+		for (RegistrationBookingEntity bookedSlot : bookedSlots) {
+			cancellations.add(CompletableFuture.supplyAsync(() -> cancelAndNotifyApplicant(bookedSlot, logIdentifier, tracker),
+					executor));
+		}
+		int cancelled = 0;
+		for (CompletableFuture<Boolean> cancellation : cancellations) {
+			if (cancellation.join()) {
+				cancelled++;
+			}
+		}
+		return cancelled;
+	}
+
+	public boolean cancelAndNotifyApplicant(RegistrationBookingEntity bookedSlot, String logIdentifier, CancelNotifyTracker tracker) {
 
 		String preRegId = bookedSlot.getPreregistrationId();
-		ApplicationEntity bookedApplication  = batchServiceDAO.getBookedApplicantEntityDetails(preRegId);
-		if (Objects.nonNull(bookedApplication)) {
+		try {
+			ApplicationEntity bookedApplication  = batchServiceDAO.getBookedApplicantEntityDetails(preRegId);
+			if (Objects.isNull(bookedApplication)) {
+				return false;
+			}
+			callPacer.acquire();
 			boolean cancelled = restHelper.cancelBookedApplication(preRegId, logIdentifier);
+			tracker.cancelled(preRegId, cancelled);
 			if (cancelled) {
-				boolean notified = restHelper.sendCancelledNotification(bookedSlot.getPreregistrationId(), bookedSlot.getRegDate().toString(), 
-							bookedSlot.getSlotFromTime().toString(), bookedSlot.getLangCode(), logIdentifier);
-				notifierTracker.put(bookedSlot.getPreregistrationId(), notified);
+				tracker.addPendingNotification(CompletableFuture.runAsync(() -> notifyApplicant(bookedSlot, logIdentifier, tracker),
+							executor));
 			}
-			cancelledTracker.put(bookedSlot.getPreregistrationId(), cancelled);
+			return cancelled;
+		} catch (RuntimeException exp) {
+			tracker.cancelled(preRegId, false);
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Errorred in cancelling booked application for pre reg id: " + preRegId, ExceptionUtils.getStackTrace(exp));
+			return false;
+		}
+	}
+
+	/**
+	 * Sends the notifications queued for a retry that are due, at most a batch of
+	 * them per call.
+	 *
+	 * @param logIdentifier identifier for debugging
+	 * @param tracker       the tracker of the run
+	 */
+	public void retryFailedNotifications(String logIdentifier, CancelNotifyTracker tracker) {
+		List<PendingNotification> pendingNotifications = retryQueue.claimDue();
+		if (pendingNotifications.isEmpty()) {
+			return;
+		}
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"Retrying cancellation notifications: " + pendingNotifications.size());
+		for (PendingNotification pending : pendingNotifications) {
+			tracker.addPendingNotification(CompletableFuture.runAsync(() -> {
+				callPacer.acquire();
+				boolean notified = restHelper.sendCancelledNotification(pending.getPreRegId(), pending.getAppointmentDate().toString(),
+							pending.getSlotFromTime().toString(), pending.getLangCode(), logIdentifier);
+				tracker.notified(pending.getPreRegId(), notified);
+				if (notified) {
+					retryQueue.sent(pending.getPreRegId());
+				} else {
+					retryQueue.attemptFailed(pending);
+				}
+			}, executor));
+		}
+	}
+
+	/**
+	 * Waits for the notifications of a run, at most the configured timeout.
+	 *
+	 * @param tracker       the tracker of the run
+	 * @param logIdentifier identifier for debugging
+	 * @return true when all the notifications were sent or queued for a retry
+	 */
+	public boolean awaitNotifications(CancelNotifyTracker tracker, String logIdentifier) {
+		if (tracker.awaitNotifications(TimeUnit.SECONDS.toMillis(awaitTimeoutSeconds))) {
+			return true;
+		}
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"Cancellation notifications still being sent after " + awaitTimeoutSeconds + " seconds: "
+						+ tracker.getPendingNotificationCount());
+		return false;
+	}
+
+	private void notifyApplicant(RegistrationBookingEntity bookedSlot, String logIdentifier, CancelNotifyTracker tracker) {
+		String preRegId = bookedSlot.getPreregistrationId();
+		boolean notified = false;
+		try {
+			callPacer.acquire();
+			notified = restHelper.sendCancelledNotification(preRegId, bookedSlot.getRegDate().toString(),
+						bookedSlot.getSlotFromTime().toString(), bookedSlot.getLangCode(), logIdentifier);
+		} catch (RuntimeException exp) {
+			LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Errorred in sending cancellation notification for pre reg id: " + preRegId, ExceptionUtils.getStackTrace(exp));
+		}
+		tracker.notified(preRegId, notified);
+		if (!notified) {
+			retryQueue.enqueue(preRegId, bookedSlot.getRegDate(), bookedSlot.getSlotFromTime(), bookedSlot.getLangCode());
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+						"Cancellation notification queued for retry for pre reg id: " + preRegId);
 		}
 	}
 }
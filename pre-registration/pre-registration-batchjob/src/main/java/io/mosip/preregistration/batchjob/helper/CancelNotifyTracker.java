@@ -0,0 +1,79 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Status of the cancellations and notifications of a slot generation run.
+ * Updated by the cancel and notify threads, so the trackers are concurrent
+ * maps, and keeps the notifications still being sent so the run can wait for
+ * them before reporting.
+ *
+ * @since 1.2.0
+ */
+public class CancelNotifyTracker {
+
+	private final Map<String, Boolean> cancelledTracker = new ConcurrentHashMap<>();
+
+	private final Map<String, Boolean> notifierTracker = new ConcurrentHashMap<>();
+
+	private final Queue<CompletableFuture<Void>> pendingNotifications = new ConcurrentLinkedQueue<>();
+
+	public void cancelled(String preRegId, boolean cancelled) {
+		cancelledTracker.put(preRegId, cancelled);
+	}
+
+	public void notified(String preRegId, boolean notified) {
+		notifierTracker.put(preRegId, notified);
+	}
+
+	void addPendingNotification(CompletableFuture<Void> notification) {
+		pendingNotifications.add(notification);
+	}
+
+	/**
+	 * Waits for the notifications submitted so far to be sent or queued for a
+	 * retry, at most the given time. The notifications not done by then are kept
+	 * pending.
+	 *
+	 * @param timeoutMillis the maximum time to wait
+	 * @return true when no notification is pending
+	 */
+	public boolean awaitNotifications(long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		CompletableFuture<Void> notification;
+		while ((notification = pendingNotifications.peek()) != null) {
+			try {
+				notification.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+			} catch (ExecutionException e) {
+				// failures are already tracked and queued for retry by the notification itself.
+			} catch (TimeoutException e) {
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			pendingNotifications.remove(notification);
+		}
+		return true;
+	}
+
+	public int getPendingNotificationCount() {
+		return pendingNotifications.size();
+	}
+
+	public Map<String, Boolean> getCancelledTracker() {
+		return cancelledTracker;
+	}
+
+	public Map<String, Boolean> getNotifierTracker() {
+		return notifierTracker;
+	}
+
+}
@@ -0,0 +1,124 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import reactor.core.publisher.Mono;
+
+/**
+ * Run scoped cache of the calendars fetched from master data for slot
+ * generation, shared by all the partitions of a run. A calendar is also fetched
+ * again once kept for ${preregistration.slots.generate.calendar-cache.ttl-minutes},
+ * so a long run picks up the calendar changes made while it runs.
+ * <p>
+ * The general holidays are the holidays of the center's holiday location, so
+ * they are kept by holiday location and year; the working days are kept by
+ * registration center and language. A fetch in progress is shared by the
+ * partitions asking for the same key, and a failed (empty) fetch is not kept
+ * so that the next center asking for it fetches it again.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class MasterDataCalendarCache {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(MasterDataCalendarCache.class);
+
+	/**
+	 * minutes a calendar is kept, 0 to fetch it for each center
+	 */
+	@Value("${preregistration.slots.generate.calendar-cache.ttl-minutes:60}")
+	private long ttlMinutes;
+
+	private final Map<String, CachedCalendar> holidaysCache = new ConcurrentHashMap<>();
+
+	private final Map<String, CachedCalendar> workingDaysCache = new ConcurrentHashMap<>();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final AtomicLong fetches = new AtomicLong();
+
+	/**
+	 * Returns the general holidays of the holiday location for the year, fetching
+	 * them when not cached yet.
+	 *
+	 * @param holidayLocationCode holiday location code of the center, the center
+	 *                            id when the center has none
+	 * @param year                the year
+	 * @param fetch               fetches the holidays, empty when they could not
+	 *                            be fetched
+	 * @return the holiday dates
+	 */
+	public Mono<List<String>> getHolidays(String holidayLocationCode, int year, Supplier<Mono<List<String>>> fetch) {
+		return cached(holidaysCache, holidayLocationCode + "_" + year, fetch);
+	}
+
+	/**
+	 * Returns the working day codes of the center for the language, fetching them
+	 * when not cached yet.
+	 *
+	 * @param regCenterId registration center id
+	 * @param langCode    language code of the center
+	 * @param fetch       fetches the working days, empty when they could not be
+	 *                    fetched
+	 * @return the working day codes
+	 */
+	public Mono<List<String>> getWorkingDays(String regCenterId, String langCode, Supplier<Mono<List<String>>> fetch) {
+		return cached(workingDaysCache, regCenterId + "_" + langCode, fetch);
+	}
+
+	/**
+	 * Clears the cache, called at the start of a run so that changes made to the
+	 * calendars in master data are picked up.
+	 */
+	public void clear() {
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+				"Clearing master data calendar cache, holidays: " + holidaysCache.size() + ", working days: "
+						+ workingDaysCache.size() + ", requests: " + requests.get() + ", fetches: " + fetches.get());
+		holidaysCache.clear();
+		workingDaysCache.clear();
+		requests.set(0);
+		fetches.set(0);
+	}
+
+	private Mono<List<String>> cached(Map<String, CachedCalendar> cache, String key,
+			Supplier<Mono<List<String>>> fetch) {
+		requests.incrementAndGet();
+		long now = System.nanoTime();
+		CachedCalendar cachedCalendar = cache.compute(key, (k, current) -> {
+			if (Objects.nonNull(current) && current.expiresAtNanos - now > 0) {
+				return current;
+			}
+			fetches.incrementAndGet();
+			return new CachedCalendar(fetch.get().cache(), now + TimeUnit.MINUTES.toNanos(ttlMinutes));
+		});
+		return cachedCalendar.calendar.switchIfEmpty(Mono.defer(() -> {
+			cache.remove(key, cachedCalendar);
+			return Mono.empty();
+		}));
+	}
+
+	private static class CachedCalendar {
+
+		private final Mono<List<String>> calendar;
+
+		private final long expiresAtNanos;
+
+		CachedCalendar(Mono<List<String>> calendar, long expiresAtNanos) {
+			this.calendar = calendar;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	}
+
+}
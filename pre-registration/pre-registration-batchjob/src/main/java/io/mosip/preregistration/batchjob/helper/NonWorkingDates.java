@@ -0,0 +1,74 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The holidays and week-off dates of a registration center in the slot
+ * generation range, kept as a bit per day of the range so that checking a date
+ * does not scan the holidays list.
+ *
+ * @since 1.2.0
+ */
+public class NonWorkingDates {
+
+	private final LocalDate fromDate;
+
+	private final int noOfDays;
+
+	private final BitSet days;
+
+	/**
+	 * @param fromDate     the first date of the range
+	 * @param noOfDays     the number of days in the range
+	 * @param holidaysList the holidays and week-off dates of the center in ISO
+	 *                     format, dates outside of the range are left out
+	 */
+	public NonWorkingDates(LocalDate fromDate, int noOfDays, Collection<String> holidaysList) {
+		this.fromDate = fromDate;
+		this.noOfDays = noOfDays;
+		this.days = new BitSet(noOfDays);
+		for (String holiday : holidaysList) {
+			try {
+				long day = ChronoUnit.DAYS.between(fromDate, LocalDate.parse(holiday.trim()));
+				if (day >= 0 && day < noOfDays) {
+					days.set((int) day);
+				}
+			} catch (DateTimeParseException e) {
+				// not a date in ISO format, never a date of the range.
+			}
+		}
+	}
+
+	public boolean contains(LocalDate date) {
+		long day = ChronoUnit.DAYS.between(fromDate, date);
+		return day >= 0 && day < noOfDays && days.get((int) day);
+	}
+
+	/**
+	 * @param from first date, inclusive
+	 * @param to   last date, exclusive
+	 * @return the non working dates between from and to, in order
+	 */
+	public Set<LocalDate> between(LocalDate from, LocalDate to) {
+		Set<LocalDate> dates = new TreeSet<>();
+		for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+			LocalDate date = fromDate.plusDays(day);
+			if (!date.isBefore(from) && date.isBefore(to)) {
+				dates.add(date);
+			}
+		}
+		return dates;
+	}
+
+	@Override
+	public String toString() {
+		return between(fromDate, fromDate.plusDays(noOfDays)).toString();
+	}
+
+}
@@ -0,0 +1,186 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * The cancellation notifications that could not be sent, kept in the
+ * cancel_notification_retry table until they are sent by a later run or run
+ * out of attempts.
+ * <p>
+ * The due notifications are claimed with FOR UPDATE SKIP LOCKED and their next
+ * attempt moved forward in the same statement, so concurrent partitions never
+ * send the same notification, and a notification claimed by a run that dies is
+ * retried once the backoff has passed.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class NotificationRetryQueue {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(NotificationRetryQueue.class);
+
+	private static final String ENQUEUE = "INSERT INTO prereg.cancel_notification_retry (prereg_id, appointment_date, "
+			+ "slot_from_time, lang_code, attempt_count, next_attempt_dtimes, cr_by, cr_dtimes) "
+			+ "VALUES (:preRegId, :appointmentDate, :slotFromTime, :langCode, 1, :nextAttemptDtimes, :updBy, :updDtimes) "
+			+ "ON CONFLICT (prereg_id) DO UPDATE SET appointment_date = EXCLUDED.appointment_date, "
+			+ "slot_from_time = EXCLUDED.slot_from_time, lang_code = EXCLUDED.lang_code, attempt_count = 1, "
+			+ "next_attempt_dtimes = EXCLUDED.next_attempt_dtimes, upd_by = :updBy, upd_dtimes = :updDtimes";
+
+	private static final String CLAIM_DUE = "UPDATE prereg.cancel_notification_retry SET next_attempt_dtimes = :leaseDtimes, "
+			+ "upd_by = :updBy, upd_dtimes = :updDtimes WHERE prereg_id IN (SELECT prereg_id FROM prereg.cancel_notification_retry "
+			+ "WHERE next_attempt_dtimes <= :updDtimes AND attempt_count < :maxAttempts AND appointment_date >= :currentDate "
+			+ "ORDER BY next_attempt_dtimes LIMIT :batchSize FOR UPDATE SKIP LOCKED) "
+			+ "RETURNING prereg_id, appointment_date, slot_from_time, lang_code, attempt_count";
+
+	private static final String DELETE = "DELETE FROM prereg.cancel_notification_retry WHERE prereg_id = :preRegId";
+
+	private static final String DELETE_EXPIRED = "DELETE FROM prereg.cancel_notification_retry WHERE appointment_date < :currentDate";
+
+	private static final String ATTEMPT_FAILED = "UPDATE prereg.cancel_notification_retry SET attempt_count = attempt_count + 1, "
+			+ "next_attempt_dtimes = :nextAttemptDtimes, upd_by = :updBy, upd_dtimes = :updDtimes WHERE prereg_id = :preRegId";
+
+	@Value("${mosip.batch.token.authmanager.appId}")
+	private String auditUserId;
+
+	/**
+	 * notifications failing this many times are no longer retried, the rows are
+	 * kept until the appointment date has passed
+	 */
+	@Value("${preregistration.batch.notification-retry.max-attempts:5}")
+	private int maxAttempts;
+
+	/**
+	 * wait before the first retry, doubled after each failed retry
+	 */
+	@Value("${preregistration.batch.notification-retry.backoff-minutes:15}")
+	private long backoffMinutes;
+
+	@Value("${preregistration.batch.notification-retry.batch-size:100}")
+	private int batchSize;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Queues the notification of a cancelled appointment for a retry.
+	 */
+	public void enqueue(String preRegId, LocalDate appointmentDate, LocalTime slotFromTime, String langCode) {
+		LocalDateTime now = DateUtils.parseDateToLocalDateTime(new java.util.Date());
+		jdbcTemplate.update(ENQUEUE, new MapSqlParameterSource("preRegId", preRegId)
+				.addValue("appointmentDate", java.sql.Date.valueOf(appointmentDate))
+				.addValue("slotFromTime", java.sql.Time.valueOf(slotFromTime))
+				.addValue("langCode", langCode)
+				.addValue("nextAttemptDtimes", Timestamp.valueOf(now.plusMinutes(backoffMinutes)))
+				.addValue("updBy", auditUserId)
+				.addValue("updDtimes", Timestamp.valueOf(now)));
+	}
+
+	/**
+	 * Claims the notifications due for a retry. Notifications of appointments
+	 * already passed are dropped first.
+	 *
+	 * @return the claimed notifications, at most the configured batch size
+	 */
+	public List<PendingNotification> claimDue() {
+		LocalDateTime now = DateUtils.parseDateToLocalDateTime(new java.util.Date());
+		MapSqlParameterSource params = new MapSqlParameterSource("currentDate", java.sql.Date.valueOf(now.toLocalDate()));
+		int expired = jdbcTemplate.update(DELETE_EXPIRED, params);
+		if (expired > 0) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+					"Dropped notifications to retry of past appointments: " + expired);
+		}
+		params.addValue("leaseDtimes", Timestamp.valueOf(now.plusMinutes(backoffMinutes)))
+				.addValue("updBy", auditUserId)
+				.addValue("updDtimes", Timestamp.valueOf(now))
+				.addValue("maxAttempts", maxAttempts)
+				.addValue("batchSize", batchSize);
+		return jdbcTemplate.query(CLAIM_DUE, params, (resultSet, rowNum) -> new PendingNotification(
+				resultSet.getString("prereg_id"), resultSet.getDate("appointment_date").toLocalDate(),
+				resultSet.getTime("slot_from_time").toLocalTime(), resultSet.getString("lang_code"),
+				resultSet.getInt("attempt_count")));
+	}
+
+	public void sent(String preRegId) {
+		jdbcTemplate.update(DELETE, new MapSqlParameterSource("preRegId", preRegId));
+	}
+
+	public void attemptFailed(PendingNotification notification) {
+		LocalDateTime now = DateUtils.parseDateToLocalDateTime(new java.util.Date());
+		long backoff = backoffMinutes << Math.min(notification.getAttemptCount(), 10);
+		jdbcTemplate.update(ATTEMPT_FAILED, new MapSqlParameterSource("preRegId", notification.getPreRegId())
+				.addValue("nextAttemptDtimes", Timestamp.valueOf(now.plusMinutes(backoff)))
+				.addValue("updBy", auditUserId)
+				.addValue("updDtimes", Timestamp.valueOf(now)));
+	}
+
+	/**
+	 * A cancellation notification queued for a retry.
+	 */
+	public static class PendingNotification {
+
+		private final String preRegId;
+
+		private final LocalDate appointmentDate;
+
+		private final LocalTime slotFromTime;
+
+		private final String langCode;
+
+		private final int attemptCount;
+
+		PendingNotification(String preRegId, LocalDate appointmentDate, LocalTime slotFromTime, String langCode,
+				int attemptCount) {
+			this.preRegId = preRegId;
+			this.appointmentDate = appointmentDate;
+			this.slotFromTime = slotFromTime;
+			this.langCode = langCode;
+			this.attemptCount = attemptCount;
+		}
+
+		public String getPreRegId() {
+			return preRegId;
+		}
+
+		public LocalDate getAppointmentDate() {
+			return appointmentDate;
+		}
+
+		public LocalTime getSlotFromTime() {
+			return slotFromTime;
+		}
+
+		public String getLangCode() {
+			return langCode;
+		}
+
+		public int getAttemptCount() {
+			return attemptCount;
+		}
+	}
+
+}
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Component;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
-import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
 /**
@@ -28,11 +27,8 @@ public class PreRegBatchDBHelper {
     @Value("${mosip.batch.token.authmanager.userName}")
 	private String auditUsername;
 
-    /**
-	 * Autowired reference for {@link #batchServiceDAO}
-	 */
-	@Autowired
-	private BatchJpaRepositoryImpl batchServiceDAO;
+    @Autowired
+	private AvailabilitySlotWriter slotWriter;
 
     public void saveAvailability(String regCenterId, String contactPerson, 
             Short noOfKiosks, LocalDate date, LocalTime slotStartTime, LocalTime slotEndTime) {
@@ -52,6 +48,6 @@ public class PreRegBatchDBHelper {
 			avaEntity.setCrBy(contactPerson);
 		}
 		avaEntity.setAvailableKiosks(slotStartTime.equals(slotEndTime) ? 0 : noOfKiosks);
-		batchServiceDAO.saveAvailability(avaEntity);
+		slotWriter.add(avaEntity);
 	}
 }
@@ -0,0 +1,157 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.entity.RegCenterFingerprintEntity;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.HashUtill;
+
+/**
+ * This class keeps a fingerprint of the configuration each registration
+ * center's slots were generated with, so that unchanged centers only need the
+ * days newly entering the generation range.
+ * <p>
+ * The fingerprint is a hash of the center start, end and lunch times, the per
+ * kiosk process time and the number of kiosks, together with the holidays and
+ * week-off dates (from the working days) in the generated range. A center is
+ * unchanged when the hash matches and its non-working dates in the part of the
+ * range already generated are the same as before.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class RegCenterFingerprintHelper {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(RegCenterFingerprintHelper.class);
+
+	private static final String DATE_SEPARATOR = ",";
+
+	@Value("${preregistration.slots.generate.incremental.enabled:true}")
+	private boolean incrementalEnabled;
+
+	@Value("${mosip.batch.token.authmanager.userName}")
+	private String auditUsername;
+
+	@Autowired
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	/**
+	 * Returns the first date slots of the center have to be generated from. That
+	 * is the date after the range already generated when the center is
+	 * unchanged, otherwise slotGenStartDate for a full recalculation.
+	 *
+	 * @param regCenter        the registration center
+	 * @param nonWorkingDates  the holidays and week-off dates of the center
+	 * @param slotGenStartDate the first date of the generation range
+	 * @param slotGenEndDate   the end of the generation range, exclusive
+	 * @param logIdentifier    identifier for debugging
+	 * @return the date to generate slots from
+	 */
+	public LocalDate getSlotGenerationStartDate(RegistrationCenterDto regCenter, NonWorkingDates nonWorkingDates,
+			LocalDate slotGenStartDate, LocalDate slotGenEndDate, String logIdentifier) {
+		if (!incrementalEnabled) {
+			return slotGenStartDate;
+		}
+		RegCenterFingerprintEntity fingerprint = batchServiceDAO.findRegCenterFingerprint(regCenter.getId());
+		if (Objects.isNull(fingerprint)) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"No fingerprint found, full recalculation of slots.");
+			return slotGenStartDate;
+		}
+		LocalDate generatedTillDate = fingerprint.getGeneratedTillDate();
+		if (!generatedTillDate.isAfter(slotGenStartDate) || generatedTillDate.isAfter(slotGenEndDate)) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"Slots generated till " + generatedTillDate + " outside of range, full recalculation of slots.");
+			return slotGenStartDate;
+		}
+		if (!configHash(regCenter).equals(fingerprint.getConfigHash())) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"Center configuration changed, full recalculation of slots.");
+			return slotGenStartDate;
+		}
+		Set<LocalDate> storedDates = storedNonWorkingDates(
+				Arrays.asList(fingerprint.getNonWorkingDates().split(DATE_SEPARATOR)), slotGenStartDate,
+				generatedTillDate);
+		if (!storedDates.equals(nonWorkingDates.between(slotGenStartDate, generatedTillDate))) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+					"Center holidays changed, full recalculation of slots.");
+			return slotGenStartDate;
+		}
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier,
+				"Center unchanged, generating slots from: " + generatedTillDate);
+		return generatedTillDate;
+	}
+
+	/**
+	 * Saves the fingerprint of the center after its slots were generated up to
+	 * slotGenEndDate.
+	 *
+	 * @param regCenter        the registration center
+	 * @param nonWorkingDates  the holidays and week-off dates of the center
+	 * @param slotGenStartDate the first date of the generation range
+	 * @param slotGenEndDate   the end of the generation range, exclusive
+	 */
+	public void saveFingerprint(RegistrationCenterDto regCenter, NonWorkingDates nonWorkingDates,
+			LocalDate slotGenStartDate, LocalDate slotGenEndDate) {
+		if (!incrementalEnabled) {
+			return;
+		}
+		RegCenterFingerprintEntity fingerprint = batchServiceDAO.findRegCenterFingerprint(regCenter.getId());
+		if (Objects.isNull(fingerprint)) {
+			fingerprint = new RegCenterFingerprintEntity();
+			fingerprint.setRegcntrId(regCenter.getId());
+			fingerprint.setCrBy(auditUsername);
+			fingerprint.setCrDate(DateUtils.parseDateToLocalDateTime(new Date()));
+		} else {
+			fingerprint.setUpBy(auditUsername);
+			fingerprint.setUpdDate(DateUtils.parseDateToLocalDateTime(new Date()));
+		}
+		fingerprint.setConfigHash(configHash(regCenter));
+		fingerprint.setNonWorkingDates(nonWorkingDates.between(slotGenStartDate, slotGenEndDate).stream()
+				.map(LocalDate::toString).collect(Collectors.joining(DATE_SEPARATOR)));
+		fingerprint.setGeneratedTillDate(slotGenEndDate);
+		batchServiceDAO.saveRegCenterFingerprint(fingerprint);
+	}
+
+	private String configHash(RegistrationCenterDto regCenter) {
+		String config = new StringBuilder().append(regCenter.getCenterStartTime()).append('|')
+				.append(regCenter.getCenterEndTime()).append('|').append(regCenter.getLunchStartTime()).append('|')
+				.append(regCenter.getLunchEndTime()).append('|').append(regCenter.getPerKioskProcessTime()).append('|')
+				.append(regCenter.getNumberOfKiosks()).toString();
+		return HashUtill.hashUtill(config.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Set<LocalDate> storedNonWorkingDates(Collection<String> dates, LocalDate fromDate, LocalDate toDate) {
+		Set<LocalDate> nonWorkingDates = new TreeSet<>();
+		for (String date : dates) {
+			try {
+				LocalDate nonWorkingDate = LocalDate.parse(date.trim());
+				if (!nonWorkingDate.isBefore(fromDate) && nonWorkingDate.isBefore(toDate)) {
+					nonWorkingDates.add(nonWorkingDate);
+				}
+			} catch (DateTimeParseException e) {
+				// empty list or a date not in ISO format, never a date of the range.
+			}
+		}
+		return nonWorkingDates;
+	}
+
+}
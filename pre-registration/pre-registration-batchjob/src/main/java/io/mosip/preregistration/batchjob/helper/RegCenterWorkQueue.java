@@ -0,0 +1,71 @@
+package io.mosip.preregistration.batchjob.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Queue of the registration centers of a slot generation run, in work queue
+ * partition mode. The partitioner loads all the centers and the slot
+ * generation workers claim small batches of centers from it until it is
+ * drained, so a worker given large centers does not hold up the others.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class RegCenterWorkQueue {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(RegCenterWorkQueue.class);
+
+	private final Queue<RegistrationCenterDto> regCenters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Replaces the centers left from an earlier run with the centers of this run.
+	 *
+	 * @param regCentersList the registration centers to generate slots for
+	 */
+	public void load(List<RegistrationCenterDto> regCentersList) {
+		if (!regCenters.isEmpty()) {
+			LOGGER.warn(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+					"Discarding " + regCenters.size() + " registration centers left from the previous run.");
+			regCenters.clear();
+		}
+		regCenters.addAll(regCentersList);
+	}
+
+	/**
+	 * @return the next registration center, null when the queue is drained
+	 */
+	public RegistrationCenterDto poll() {
+		return regCenters.poll();
+	}
+
+	/**
+	 * Claims up to the given number of registration centers. Each center is
+	 * claimed by one caller only.
+	 *
+	 * @param maxRegCenters the maximum number of centers to claim
+	 * @return the claimed centers, empty when the queue is drained
+	 */
+	public List<RegistrationCenterDto> poll(int maxRegCenters) {
+		List<RegistrationCenterDto> claimed = new ArrayList<>(maxRegCenters);
+		RegistrationCenterDto regCenter;
+		while (claimed.size() < maxRegCenters && (regCenter = regCenters.poll()) != null) {
+			claimed.add(regCenter);
+		}
+		return claimed;
+	}
+
+	public int size() {
+		return regCenters.size();
+	}
+
+}
@@ -2,6 +2,7 @@ package io.mosip.preregistration.batchjob.helper;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -10,10 +11,15 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 
@@ -29,7 +35,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -39,7 +44,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.ErrorCodes;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.exception.RestCallException;
 import io.mosip.preregistration.batchjob.model.ExceptionalHolidayResponseDto;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterHolidayDto;
@@ -53,6 +60,10 @@ import io.mosip.preregistration.core.common.dto.NotificationDTO;
 import io.mosip.preregistration.core.common.dto.NotificationResponseDTO;
 import io.mosip.preregistration.core.common.dto.RequestWrapper;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * @author Mahammed Taheer
@@ -64,6 +75,14 @@ public class RestHelper {
     
     private Logger LOGGER = LoggerConfiguration.logConfig(RestHelper.class);
 
+    private static final String REG_CENTER_ENDPOINT = "regcenter";
+
+    private static final String HOLIDAY_ENDPOINT = "holiday";
+
+    private static final String EXCEPTIONAL_HOLIDAY_ENDPOINT = "exceptionalholiday";
+
+    private static final String WORKING_DAY_ENDPOINT = "workingday";
+
     /**
 	 * Reference for ${regCenter.url} from property file
 	*/
@@ -100,9 +119,37 @@ public class RestHelper {
     @Value("#{${mosip.kernel.masterdata.day.codes.map}}")
 	private Map<String, String> dayCodesMap;
 
+    /**
+	 * Timeout of a master data request, per attempt, for the endpoints without
+	 * their own timeout in ${preregistration.batch.masterdata.endpoint-timeout-ms}
+	 */
+	@Value("${preregistration.batch.masterdata.timeout-ms:10000}")
+	private long masterDataTimeoutMs;
+
+    /**
+	 * Timeouts by endpoint: regcenter, holiday, exceptionalholiday and workingday
+	 */
+	@Value("#{${preregistration.batch.masterdata.endpoint-timeout-ms:{:}}}")
+	private Map<String, Long> endpointTimeoutsMs;
+
+    @Value("${preregistration.batch.masterdata.max-retries:2}")
+	private int masterDataMaxRetries;
+
+    @Value("${preregistration.batch.masterdata.retry-backoff-ms:500}")
+	private long masterDataRetryBackoffMs;
+
+    /**
+	 * Number of pages or registration centers fetched at a time
+	 */
+	@Value("${preregistration.batch.masterdata.concurrency:4}")
+	private int masterDataConcurrency;
+
     @Autowired
 	private ObjectMapper objectMapper;
     
+    @Autowired
+    private MasterDataCalendarCache calendarCache;
+
     @Qualifier("selfTokenWebClient")
     @Autowired
     private WebClient webClient; 
@@ -122,6 +169,9 @@ public class RestHelper {
         if(Objects.isNull(dayCodesMap)){
             dayCodesMap = new HashMap<>();
         }
+        if(Objects.isNull(endpointTimeoutsMs)){
+            endpointTimeoutsMs = new HashMap<>();
+        }
 	}
 
     public int getRegistrationCenterTotalPages() {
@@ -138,7 +188,7 @@ public class RestHelper {
                     "Fetching the Registration Center Details from Master Data Service. Configured URL: " + regCentersDetailsPageNo);
         try {
             
-            ObjectNode responseNode = sendWebClientRequest(regCentersDetailsPageNo);
+            ObjectNode responseNode = sendWebClientRequest(REG_CENTER_ENDPOINT, regCentersDetailsPageNo);
             if (Objects.isNull(responseNode)) {
                 LOGGER.error("Not Received the Registration Center details from Master Data Service.");
                 return 0;
@@ -159,29 +209,20 @@ public class RestHelper {
     public List<RegistrationCenterDto> getRegistrationCenterDetails(List<String> pageNos, RegCenterIdsHolder idsHolder) {
 
         try {
+            // pages are fetched concurrently, flatMapSequential keeps them in page order.
+            List<Optional<List<RegistrationCenterDto>>> regCenterPages = Flux.fromIterable(pageNos)
+                    .flatMapSequential(pageNo -> fetchRegistrationCenterPage(pageNo)
+                                                    .map(Optional::of)
+                                                    .defaultIfEmpty(Optional.empty()), masterDataConcurrency)
+                    .collectList().block();
+
             List<RegistrationCenterDto> filteredRegCentersList = new ArrayList<>();
-            for (String pageNo : pageNos) {
-                String regCentersDetailsPageNo = new StringBuilder(regCenterDetailsURL)
-                                                    .append("/")
-                                                    .append(PreRegBatchContants.ALL)
-                                                    .append(PreRegBatchContants.PAGE_NO + pageNo)
-                                                    .append(PreRegBatchContants.PAGE_SIZE)
-                                                    .append(PreRegBatchContants.SORT_BY)
-                                                    .append(PreRegBatchContants.ORDER_BY).toString();
-                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                        "Fetching the Registration Center Details from Master Data Service. Configured URL: " + regCentersDetailsPageNo);
-                ObjectNode responseNode = sendWebClientRequest(regCentersDetailsPageNo);
-                if (Objects.isNull(responseNode)) {
+            for (Optional<List<RegistrationCenterDto>> regCenterPage : regCenterPages) {
+                if (!regCenterPage.isPresent()) {
                     LOGGER.error("Not Received the Registration Center details from Master Data Service.");
                     return new ArrayList<RegistrationCenterDto>();
                 }
-                ObjectNode objectNode = objectMapper.convertValue(responseNode.get(PreRegBatchContants.RESPONSE), ObjectNode.class);
-                List<RegistrationCenterDto> regCenterDetails = objectMapper.readValue(objectNode.get(PreRegBatchContants.DATA).toString(), 
-                        new TypeReference<List<RegistrationCenterDto>>(){});
-                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                        "Received the Registration Center details from Master Data Service.");
-                
-                for (RegistrationCenterDto regCenterDetail : regCenterDetails) {
+                for (RegistrationCenterDto regCenterDetail : regCenterPage.get()) {
                     String regCenterId = regCenterDetail.getId();
                     if (Objects.nonNull(idsHolder) && !idsHolder.containsRegCenterId(regCenterId)){
                         idsHolder.addRegCenterId(regCenterId);
@@ -200,135 +241,165 @@ public class RestHelper {
         return new ArrayList<RegistrationCenterDto>();
     }
 
+    private Mono<List<RegistrationCenterDto>> fetchRegistrationCenterPage(String pageNo) {
+        String regCentersDetailsPageNo = new StringBuilder(regCenterDetailsURL)
+                                            .append("/")
+                                            .append(PreRegBatchContants.ALL)
+                                            .append(PreRegBatchContants.PAGE_NO + pageNo)
+                                            .append(PreRegBatchContants.PAGE_SIZE)
+                                            .append(PreRegBatchContants.SORT_BY)
+                                            .append(PreRegBatchContants.ORDER_BY).toString();
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                "Fetching the Registration Center Details from Master Data Service. Configured URL: " + regCentersDetailsPageNo);
+        return fetchMasterData(REG_CENTER_ENDPOINT, regCentersDetailsPageNo)
+                .map(responseNode -> {
+                    ObjectNode objectNode = objectMapper.convertValue(responseNode.get(PreRegBatchContants.RESPONSE), ObjectNode.class);
+                    List<RegistrationCenterDto> regCenterDetails = objectMapper.convertValue(objectNode.get(PreRegBatchContants.DATA), 
+                            new TypeReference<List<RegistrationCenterDto>>(){});
+                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+                            "Received the Registration Center details from Master Data Service.");
+                    return regCenterDetails;
+                });
+    }
+
     public List<String> getRegistrationHolidayList(String regCenterId, String regCenterLangCode, int noOfDaysToSync) {
 
+        return fetchRegistrationHolidayList(regCenterId, null, regCenterLangCode, noOfDaysToSync).block();
+    }
+
+    /**
+     * Fetches the holidays list of all the given registration centers, with up to
+     * the configured number of centers fetched at a time.
+     *
+     * @param regCenters the registration centers
+     * @param noOfDaysToSync number of days to add the week-off dates for
+     * @return the holidays list by registration center id
+     */
+    public Map<String, List<String>> getRegistrationHolidayLists(List<RegistrationCenterDto> regCenters, int noOfDaysToSync) {
+
+        Map<String, List<String>> holidaysLists = Flux.fromIterable(regCenters)
+                .flatMap(regCenter -> fetchRegistrationHolidayList(regCenter.getId(), regCenter.getHolidayLocationCode(), 
+                                            regCenter.getLangCode(), noOfDaysToSync)
+                                        .map(holidaysList -> Tuples.of(regCenter.getId(), holidaysList)), masterDataConcurrency)
+                .collectMap(Tuple2::getT1, Tuple2::getT2)
+                .block();
+        return Objects.isNull(holidaysLists) ? new HashMap<>() : holidaysLists;
+    }
+
+    private Mono<List<String>> fetchRegistrationHolidayList(String regCenterId, String holidayLocationCode, 
+                    String regCenterLangCode, int noOfDaysToSync) {
+
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
                     "Fetching the Registration Center Holidays list from Master Data Service.");
-        List<String> holidaysList = new ArrayList<>();
-        
-        addGeneralHolidaysList(regCenterId, holidaysList);
-        
-        addExceptionalHolidaysList(regCenterId, holidaysList);
-
-        addWeekOffHolidays(regCenterId, regCenterLangCode, noOfDaysToSync, holidaysList);
-        return holidaysList;
+        // the three lists are independent of each other, so they are fetched at the same time.
+        return Mono.zip(fetchGeneralHolidaysList(regCenterId, holidayLocationCode), 
+                        fetchExceptionalHolidaysList(regCenterId),
+                        fetchWeekOffHolidays(regCenterId, regCenterLangCode, noOfDaysToSync))
+                .map(holidays -> {
+                    List<String> holidaysList = new ArrayList<>();
+                    holidaysList.addAll(holidays.getT1());
+                    holidaysList.addAll(holidays.getT2());
+                    holidaysList.addAll(holidays.getT3());
+                    return holidaysList;
+                });
     }
 
-    private void addGeneralHolidaysList(String regCenterId, List<String> holidaysLst) {
+    private Mono<List<String>> fetchGeneralHolidaysList(String regCenterId, String holidayLocationCode) {
         
-        try {
-            String generalHolidayListUrl = new StringBuilder(holidayListUrl).append(PreRegBatchContants.ALL).append("/")
-                                                               .append(regCenterId).append("/")
-                                                               .append(LocalDate.now().getYear()).toString();
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                    "Registration Center General Holidays list for URL: " + generalHolidayListUrl);
-            ObjectNode responseNode = sendWebClientRequest(generalHolidayListUrl);
-            if (Objects.isNull(responseNode)) {
-                LOGGER.error("Not Received the General Holiday List from Master Data Service.");
-                return;
-            }
-            
-            RegistrationCenterHolidayDto generalHolidayObject = objectMapper.convertValue(
-                        responseNode.get(PreRegBatchContants.RESPONSE), RegistrationCenterHolidayDto.class);
-            generalHolidayObject.getHolidays().stream().forEach(holiday -> holidaysLst.add(holiday.getHolidayDate()));
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                    "Added Holiday List for URL: " + generalHolidayListUrl);
-        } catch (Exception exp) {
-            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, regCenterId, 
-                    "Unknown Error in fetching registration center holiday List." + exp.getMessage(), exp);
-        }
+        int year = LocalDate.now().getYear();
+        // general holidays are those of the center's holiday location, shared by all its centers.
+        String holidayCacheKey = Objects.isNull(holidayLocationCode) ? regCenterId : holidayLocationCode;
+        return calendarCache.getHolidays(holidayCacheKey, year, () -> {
+                    String generalHolidayListUrl = new StringBuilder(holidayListUrl).append(PreRegBatchContants.ALL).append("/")
+                                                                       .append(regCenterId).append("/")
+                                                                       .append(year).toString();
+                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                            "Registration Center General Holidays list for URL: " + generalHolidayListUrl);
+                    return fetchMasterData(HOLIDAY_ENDPOINT, generalHolidayListUrl)
+                            .map(responseNode -> {
+                                RegistrationCenterHolidayDto generalHolidayObject = objectMapper.convertValue(
+                                            responseNode.get(PreRegBatchContants.RESPONSE), RegistrationCenterHolidayDto.class);
+                                List<String> holidaysLst = new ArrayList<>();
+                                generalHolidayObject.getHolidays().stream().forEach(holiday -> holidaysLst.add(holiday.getHolidayDate()));
+                                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                                        "Added Holiday List for URL: " + generalHolidayListUrl);
+                                return holidaysLst;
+                            })
+                            .onErrorResume(exp -> holidaysListError(regCenterId, exp));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.error("Not Received the General Holiday List from Master Data Service.");
+                    return new ArrayList<>();
+                }));
     }
 
-    private void addExceptionalHolidaysList(String regCenterId, List<String> holidaysLst) {
+    private Mono<List<String>> fetchExceptionalHolidaysList(String regCenterId) {
         
-        try {
-            String exceptionalHolidayListEndpoint = new StringBuilder(exceptionalHolidayListUrl).append(regCenterId).toString();
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                                            "Registration Center Exceptional Holidays list for URL: " + exceptionalHolidayListEndpoint);
-            ObjectNode responseNode = sendWebClientRequest(exceptionalHolidayListEndpoint);
-            if (Objects.isNull(responseNode)) {
-                LOGGER.error("Not Received the Exceptional Holiday List from Master Data Service.");
-                return;
-            }
-            
-            ExceptionalHolidayResponseDto exceptionalHolidayObj = objectMapper.convertValue(
-                            responseNode.get(PreRegBatchContants.RESPONSE), ExceptionalHolidayResponseDto.class);
-            exceptionalHolidayObj.getExceptionalHolidayList().stream()
-                                 .forEach(holiday -> holidaysLst.add(holiday.getHolidayDate().toString()));
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                    "Added Holiday List for URL: " + exceptionalHolidayListEndpoint);
-        } catch (Exception exp) {
-            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, regCenterId, 
-                    "Unknown Error in fetching registration center holiday List." + exp.getMessage(), exp);
-        }
+        String exceptionalHolidayListEndpoint = new StringBuilder(exceptionalHolidayListUrl).append(regCenterId).toString();
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                                        "Registration Center Exceptional Holidays list for URL: " + exceptionalHolidayListEndpoint);
+        return fetchMasterData(EXCEPTIONAL_HOLIDAY_ENDPOINT, exceptionalHolidayListEndpoint)
+                .map(responseNode -> {
+                    ExceptionalHolidayResponseDto exceptionalHolidayObj = objectMapper.convertValue(
+                                    responseNode.get(PreRegBatchContants.RESPONSE), ExceptionalHolidayResponseDto.class);
+                    List<String> holidaysLst = new ArrayList<>();
+                    exceptionalHolidayObj.getExceptionalHolidayList().stream()
+                                         .forEach(holiday -> holidaysLst.add(holiday.getHolidayDate().toString()));
+                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                            "Added Holiday List for URL: " + exceptionalHolidayListEndpoint);
+                    return holidaysLst;
+                })
+                .onErrorResume(exp -> holidaysListError(regCenterId, exp))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.error("Not Received the Exceptional Holiday List from Master Data Service.");
+                    return new ArrayList<>();
+                }));
     }
 
-    private void addWeekOffHolidays(String regCenterId, String regCenterLangCode, int noOfDaysToSync, List<String> holidaysLst) {
-
-        try {
-            String workingDaysListEndpoint = new StringBuilder(workingDayListUrl).append(regCenterId).append("/")
-                                                               .append(regCenterLangCode).toString();
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                                            "Registration Center Working days list for URL: " + workingDaysListEndpoint);
-            ObjectNode responseNode = sendWebClientRequest(workingDaysListEndpoint);
-            if (Objects.isNull(responseNode)) {
-                LOGGER.error("Not Received the Working Day List from Master Data Service.");
-                return;
-            }
-            
-            WorkingDaysResponseDto workingDaysResponseDto = objectMapper.convertValue(
-                            responseNode.get(PreRegBatchContants.RESPONSE), WorkingDaysResponseDto.class);
-
-            List<String> workingDaysList = new ArrayList<>();
-            workingDaysResponseDto.getWorkingdays().stream().forEach(weekDay -> workingDaysList.add(weekDay.getCode()));
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                "Working Days: " + workingDaysList);
-
-            LocalDate.now().datesUntil(LocalDate.now().plusDays(noOfDaysToSync))
-                                                      .forEach(weekDay -> {
-                                                        if (!workingDaysList.contains(dayCodesMap.get(weekDay.getDayOfWeek().toString()))){
-                                                            holidaysLst.add(weekDay.toString());
-                                                        }});
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
-                "Added Holiday List for URL: " + workingDaysListEndpoint);
+    private Mono<List<String>> fetchWeekOffHolidays(String regCenterId, String regCenterLangCode, int noOfDaysToSync) {
+
+        return calendarCache.getWorkingDays(regCenterId, regCenterLangCode, () -> {
+                    String workingDaysListEndpoint = new StringBuilder(workingDayListUrl).append(regCenterId).append("/")
+                                                                       .append(regCenterLangCode).toString();
+                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                                                    "Registration Center Working days list for URL: " + workingDaysListEndpoint);
+                    return fetchMasterData(WORKING_DAY_ENDPOINT, workingDaysListEndpoint)
+                            .map(responseNode -> {
+                                WorkingDaysResponseDto workingDaysResponseDto = objectMapper.convertValue(
+                                                responseNode.get(PreRegBatchContants.RESPONSE), WorkingDaysResponseDto.class);
+                                List<String> workingDaysList = new ArrayList<>();
+                                workingDaysResponseDto.getWorkingdays().stream().forEach(weekDay -> workingDaysList.add(weekDay.getCode()));
+                                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                                    "Working Days: " + workingDaysList + ", for URL: " + workingDaysListEndpoint);
+                                return workingDaysList;
+                            })
+                            .onErrorResume(exp -> holidaysListError(regCenterId, exp));
+                })
+                .map(workingDaysList -> {
+                    Set<String> workingDays = new HashSet<>(workingDaysList);
+                    List<String> holidaysLst = new ArrayList<>();
+                    LocalDate.now().datesUntil(LocalDate.now().plusDays(noOfDaysToSync))
+                                                              .forEach(weekDay -> {
+                                                                if (!workingDays.contains(dayCodesMap.get(weekDay.getDayOfWeek().toString()))){
+                                                                    holidaysLst.add(weekDay.toString());
+                                                                }});
+                    return holidaysLst;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.error("Not Received the Working Day List from Master Data Service.");
+                    return new ArrayList<>();
+                }));
+    }
 
-        } catch (Exception exp) {
-            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, regCenterId, 
-                    "Unknown Error in fetching registration center holiday List." + exp.getMessage(), exp);
-        }
+    private Mono<List<String>> holidaysListError(String regCenterId, Throwable exp) {
+        LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, regCenterId, 
+                "Unknown Error in fetching registration center holiday List." + exp.getMessage(), exp);
+        return Mono.empty();
     }
 
-    private ObjectNode sendWebClientRequest(String anyEndPoint) {
+    private ObjectNode sendWebClientRequest(String endpointName, String anyEndPoint) {
         try {
-            ClientResponse response =  webClient.method(HttpMethod.GET)
-                                                .uri(UriComponentsBuilder.fromUriString(anyEndPoint).toUriString())
-                                                .contentType(MediaType.APPLICATION_JSON)
-                                                .exchange().block();
-            ObjectNode responseObjNode = null;
-            if (response != null) {
-            	responseObjNode = response.bodyToMono(ObjectNode.class).block();	
-            }
-            if (response != null && response.statusCode() == HttpStatus.OK) {
-                if (responseObjNode != null && responseObjNode.has(PreRegBatchContants.ERRORS) && !responseObjNode.get(PreRegBatchContants.ERRORS).isNull()) {
-                    LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                        "Error in response for URL: " + anyEndPoint + ", Errors:" 
-                            + responseObjNode.get(PreRegBatchContants.ERRORS).toString());
-                    return null;
-                }
-                return responseObjNode; 
-            } else {
-            	if (responseObjNode != null) {
-            		LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                            "Response Code: " + response.statusCode() +
-                            ", Error in response for URL: " + anyEndPoint + ", Errors:" 
-                                + responseObjNode.get(PreRegBatchContants.ERRORS).toString());	
-            	} else {
-            		LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
-                            "Error in response for URL: " + anyEndPoint + ", Errors:" 
-                                + response);
-            	}
-                
-            }
+            return fetchMasterData(endpointName, anyEndPoint).block();
         } catch (Throwable t) {
             LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
                     "Unknown Error in fetching data for endpoint: " + anyEndPoint + ", Error: "  + t.getMessage(), t);
@@ -336,6 +407,75 @@ public class RestHelper {
         return null;
     }
 
+    /**
+     * Sends a GET request to the master data endpoint without blocking. A server
+     * error, a timeout or a connection failure is retried with a jittered
+     * exponential backoff; the returned Mono is empty when the data could not be
+     * fetched.
+     */
+    private Mono<ObjectNode> fetchMasterData(String endpointName, String anyEndPoint) {
+        long timeoutMs = endpointTimeoutsMs.getOrDefault(endpointName, masterDataTimeoutMs).longValue();
+        return Mono.defer(() -> webClient.method(HttpMethod.GET)
+                                    .uri(UriComponentsBuilder.fromUriString(anyEndPoint).toUriString())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .exchange())
+                .flatMap(response -> response.bodyToMono(ObjectNode.class)
+                                        .map(Optional::of)
+                                        .defaultIfEmpty(Optional.empty())
+                                        .flatMap(responseObjNode -> readResponse(anyEndPoint, response.statusCode(), 
+                                                responseObjNode.orElse(null))))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .retryWhen(errors -> retryWithJitter(errors, anyEndPoint))
+                .onErrorResume(t -> {
+                    LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                            "Unknown Error in fetching data for endpoint: " + anyEndPoint + ", Error: "  + t.getMessage(), t);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<ObjectNode> readResponse(String anyEndPoint, HttpStatus statusCode, ObjectNode responseObjNode) {
+        if (statusCode.is5xxServerError()) {
+            return Mono.error(new RestCallException(ErrorCodes.PRG_PAM_BAT_011.getCode(), 
+                    "Response Code: " + statusCode + ", Error in response for URL: " + anyEndPoint));
+        }
+        if (statusCode == HttpStatus.OK) {
+            if (responseObjNode != null && responseObjNode.has(PreRegBatchContants.ERRORS) && !responseObjNode.get(PreRegBatchContants.ERRORS).isNull()) {
+                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+                    "Error in response for URL: " + anyEndPoint + ", Errors:" 
+                        + responseObjNode.get(PreRegBatchContants.ERRORS).toString());
+                return Mono.empty();
+            }
+            return Mono.justOrEmpty(responseObjNode);
+        }
+        if (responseObjNode != null) {
+            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+                    "Response Code: " + statusCode +
+                    ", Error in response for URL: " + anyEndPoint + ", Errors:" 
+                        + responseObjNode.get(PreRegBatchContants.ERRORS));
+        } else {
+            LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
+                    "Response Code: " + statusCode + ", Error in response for URL: " + anyEndPoint);
+        }
+        return Mono.empty();
+    }
+
+    private Flux<Long> retryWithJitter(Flux<Throwable> errors, String anyEndPoint) {
+        AtomicInteger attempts = new AtomicInteger();
+        return errors.concatMap(error -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt > masterDataMaxRetries) {
+                return Mono.error(error);
+            }
+            // exponential backoff, half of it randomized so that the partitions do not retry in step.
+            long backoffMs = masterDataRetryBackoffMs << Math.min(attempt - 1, 16);
+            long delayMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+            LOGGER.warn(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+                    "Retry " + attempt + " of " + masterDataMaxRetries + " in " + delayMs + "ms for endpoint: " + anyEndPoint 
+                        + ", Error: " + error.getMessage());
+            return Mono.delay(Duration.ofMillis(delayMs));
+        });
+    }
+
     public boolean cancelBookedApplication(String preRegId, String logIdentifier) {
 
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
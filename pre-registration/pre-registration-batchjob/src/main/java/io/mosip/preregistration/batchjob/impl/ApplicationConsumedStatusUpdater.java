@@ -1,45 +1,99 @@
 package io.mosip.preregistration.batchjob.impl;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
-import io.mosip.preregistration.batchjob.entity.DemographicEntityConsumed;
-import io.mosip.preregistration.batchjob.entity.DocumentEntityConsumed;
-import io.mosip.preregistration.batchjob.entity.ProcessedPreRegEntity;
-import io.mosip.preregistration.batchjob.entity.RegistrationBookingEntityConsumed;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
-import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.EventId;
 import io.mosip.preregistration.core.code.EventName;
 import io.mosip.preregistration.core.code.EventType;
 import io.mosip.preregistration.core.code.StatusCodes;
-import io.mosip.preregistration.core.common.entity.ApplicationEntity;
-import io.mosip.preregistration.core.common.entity.DemographicEntity;
-import io.mosip.preregistration.core.common.entity.DocumentEntity;
-import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
 /**
+ * Moves the applications processed by the registration processor to the
+ * consumed tables, a chunk of pre registration ids at a time.
+ * <p>
+ * Each step is one statement for the whole chunk: the demographic, document
+ * and appointment rows are copied with INSERT ... SELECT and then deleted with
+ * DELETE ... WHERE prereg_id IN, instead of loading and saving each entity.
+ * The processed list rows of a chunk are marked consumed in the same
+ * transaction, so they are not read again after a restart.
+ *
  * @author Mahammed Taheer
  * @since 1.2.0
  *
  */
 @Component
 public class ApplicationConsumedStatusUpdater {
-    
+
     private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationConsumedStatusUpdater.class);
 
+    private static final String FIND_DEMOGRAPHICS = "SELECT prereg_id FROM prereg.applicant_demographic WHERE prereg_id IN (:preRegIds)";
+
+    private static final String DELETE_INVALID_PROCESSED = "DELETE FROM prereg.processed_prereg_list WHERE prereg_id IN (:preRegIds)";
+
+    private static final String COPY_DEMOGRAPHICS = "INSERT INTO prereg.applicant_demographic_consumed (prereg_id, demog_detail, "
+            + "demog_detail_hash, encrypted_dtimes, status_code, lang_code, cr_appuser_id, cr_by, cr_dtimes, upd_by, upd_dtimes) "
+            + "SELECT prereg_id, demog_detail, demog_detail_hash, encrypted_dtimes, :statusCode, lang_code, cr_appuser_id, cr_by, "
+            + "cr_dtimes, :updBy, :updDtimes FROM prereg.applicant_demographic WHERE prereg_id IN (:preRegIds) "
+            + "ON CONFLICT (prereg_id) DO UPDATE SET demog_detail = EXCLUDED.demog_detail, "
+            + "demog_detail_hash = EXCLUDED.demog_detail_hash, encrypted_dtimes = EXCLUDED.encrypted_dtimes, "
+            + "status_code = EXCLUDED.status_code, lang_code = EXCLUDED.lang_code, cr_appuser_id = EXCLUDED.cr_appuser_id, "
+            + "upd_by = EXCLUDED.upd_by, upd_dtimes = EXCLUDED.upd_dtimes";
+
+    private static final String COPY_DOCUMENTS = "INSERT INTO prereg.applicant_document_consumed (id, prereg_id, doc_name, "
+            + "doc_cat_code, doc_typ_code, doc_file_format, doc_id, doc_hash, doc_ref_id, encrypted_dtimes, status_code, lang_code, "
+            + "cr_by, cr_dtimes, upd_by, upd_dtimes) "
+            + "SELECT id, prereg_id, doc_name, doc_cat_code, doc_typ_code, doc_file_format, doc_id, doc_hash, doc_ref_id, "
+            + "encrypted_dtimes, status_code, lang_code, cr_by, cr_dtimes, :updBy, :updDtimes FROM prereg.applicant_document "
+            + "WHERE prereg_id IN (:preRegIds) "
+            + "ON CONFLICT (id) DO UPDATE SET prereg_id = EXCLUDED.prereg_id, doc_name = EXCLUDED.doc_name, "
+            + "doc_cat_code = EXCLUDED.doc_cat_code, doc_typ_code = EXCLUDED.doc_typ_code, doc_file_format = EXCLUDED.doc_file_format, "
+            + "doc_id = EXCLUDED.doc_id, doc_hash = EXCLUDED.doc_hash, doc_ref_id = EXCLUDED.doc_ref_id, "
+            + "encrypted_dtimes = EXCLUDED.encrypted_dtimes, status_code = EXCLUDED.status_code, lang_code = EXCLUDED.lang_code, "
+            + "upd_by = EXCLUDED.upd_by, upd_dtimes = EXCLUDED.upd_dtimes";
+
+    private static final String BOOKED_DEMOGRAPHICS = "SELECT prereg_id FROM prereg.applicant_demographic "
+            + "WHERE prereg_id IN (:preRegIds) AND status_code = :bookedStatusCode";
+
+    private static final String COPY_APPOINTMENTS = "INSERT INTO prereg.reg_appointment_consumed (id, regcntr_id, prereg_id, "
+            + "booking_dtimes, appointment_date, slot_from_time, slot_to_time, lang_code, cr_by, cr_dtimes, upd_by, upd_dtimes) "
+            + "SELECT id, regcntr_id, prereg_id, booking_dtimes, appointment_date, slot_from_time, slot_to_time, lang_code, cr_by, "
+            + "cr_dtimes, :updBy, :updDtimes FROM prereg.reg_appointment WHERE prereg_id IN (" + BOOKED_DEMOGRAPHICS + ") "
+            + "ON CONFLICT (id) DO UPDATE SET regcntr_id = EXCLUDED.regcntr_id, booking_dtimes = EXCLUDED.booking_dtimes, "
+            + "appointment_date = EXCLUDED.appointment_date, slot_from_time = EXCLUDED.slot_from_time, "
+            + "slot_to_time = EXCLUDED.slot_to_time, lang_code = EXCLUDED.lang_code, upd_by = EXCLUDED.upd_by, "
+            + "upd_dtimes = EXCLUDED.upd_dtimes";
+
+    private static final String DELETE_APPOINTMENTS = "DELETE FROM prereg.reg_appointment WHERE prereg_id IN (" + BOOKED_DEMOGRAPHICS + ")";
+
+    private static final String DELETE_DOCUMENTS = "DELETE FROM prereg.applicant_document WHERE prereg_id IN (:preRegIds)";
+
+    private static final String DELETE_DEMOGRAPHICS = "DELETE FROM prereg.applicant_demographic WHERE prereg_id IN (:preRegIds)";
+
+    private static final String DELETE_APPLICATIONS = "DELETE FROM prereg.applications WHERE application_id IN (:preRegIds)";
+
+    private static final String UPDATE_PROCESSED = "UPDATE prereg.processed_prereg_list SET status_comments = :statusComments "
+            + "WHERE prereg_id IN (:preRegIds)";
+
     @Value("${mosip.batch.token.authmanager.userName}")
 	private String auditUsername;
 
@@ -47,174 +101,88 @@ public class ApplicationConsumedStatusUpdater {
 	private String auditUserId;
 
     @Autowired
-	private BatchJpaRepositoryImpl batchJpaRepositoryImpl;
+    private DataSource dataSource;
 
     @Autowired
 	private RestHelper restHelper;
-    
-    public void updateConsumedStatus() {
-
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-		 			"Starting Application Consumed Status Update Job.");
-
-		List<ProcessedPreRegEntity> processedPreRegList = batchJpaRepositoryImpl.getAllConsumedPreIds(
-                    PreRegBatchContants.PROCESSED_STATUS_COMMENTS);
-
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-		 			"Total Number of Processed Pre Registration applications: " + processedPreRegList.size());
-        
-        List<String> errorredPreRegIds = new ArrayList<>();
-        processedPreRegList.forEach(processedPreReg -> {
-            String processedPreRegId = processedPreReg.getPreRegistrationId();
-            try {
-                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "Updating status for pre reg id: " + processedPreRegId);
-                
-                DemographicEntity demoEntity = batchJpaRepositoryImpl.getApplicantDemographicObject(processedPreRegId);
-                if (Objects.isNull(demoEntity)) {
-                    int deleted = batchJpaRepositoryImpl.deleteInvalidProcessedPreReg(processedPreRegId);
-                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "Deleted invalid processed pre reg id: " + processedPreRegId + ", deleted count: " + deleted);
-                } else {
-                    //adding processed pre reg details in applicant demographic consumed. 
-                    addApplicantDemographicConsumed(demoEntity);
-
-                    //adding processed pre reg details in applicant document consumed and purging from applicant document.
-                    List<DocumentEntity> applicantDocumentList = demoEntity.getDocumentEntity();
-                    addApplicantDocumentConsumed(applicantDocumentList, processedPreRegId);
-                    // purging from applicant document
-                    purgeApplicantDocumentConsumed(applicantDocumentList, processedPreRegId);
-
-                    //adding processed pre reg details in registration appointment consumed and purging from registration appointment.
-                    if (demoEntity.getStatusCode().equals(StatusCodes.BOOKED.getCode())) {
-                        RegistrationBookingEntity regAppointmentObj = batchJpaRepositoryImpl.getRegistrationAppointmentDetails(
-                                                        demoEntity.getPreRegistrationId());
-                        addRegistrationAppointmentConsumed(regAppointmentObj, processedPreRegId);
-                        batchJpaRepositoryImpl.deleteBooking(regAppointmentObj);
-                    }
-
-                    // purging demographic details
-                    batchJpaRepositoryImpl.deleteDemographic(demoEntity);
-
-                    // Purging appointment details.
-                    ApplicationEntity applicationObj = batchJpaRepositoryImpl.getApplicantEntityDetails(processedPreRegId);
-					batchJpaRepositoryImpl.deleteApplications(applicationObj);
-					LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                                "Purge appointment details for pre reg id: ", processedPreRegId);
-                    
-                    // updating status in processed pre reg table 
-                    processedPreReg.setStatusComments(PreRegBatchContants.NEW_STATUS_COMMENTS);
-                    batchJpaRepositoryImpl.updateProcessedList(processedPreReg);
-                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                            "Updated comments successfully in Processed PreId List for Pre-RegistrationId: " + processedPreRegId);
-                }
-            } catch(Exception exp) {
-                errorredPreRegIds.add(processedPreRegId);
-                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "Errorred in updating status processed pre reg id: " + processedPreRegId, ExceptionUtils.getStackTrace(exp));
-            }
-        });  
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Moves the applications of the processed pre registration ids to the
+     * consumed tables and marks them consumed in the processed list. Ids without
+     * an applicant demographic are deleted from the processed list. Runs in the
+     * transaction of the caller, the chunk transaction of the consumed status
+     * step.
+     *
+     * @param processedPreRegIds the processed pre registration ids
+     * @return the number of applications moved to the consumed tables
+     */
+    public int updateConsumedStatus(List<String> processedPreRegIds) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource("preRegIds", processedPreRegIds);
+        Set<String> demographicPreRegIds = new HashSet<>(jdbcTemplate.queryForList(FIND_DEMOGRAPHICS, params, String.class));
+        List<String> invalidPreRegIds = new ArrayList<>();
+        processedPreRegIds.stream().filter(preRegId -> !demographicPreRegIds.contains(preRegId)).forEach(invalidPreRegIds::add);
+        if (!invalidPreRegIds.isEmpty()) {
+            int deleted = jdbcTemplate.update(DELETE_INVALID_PROCESSED, new MapSqlParameterSource("preRegIds", invalidPreRegIds));
+            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB,
+                    "Deleted invalid processed pre reg ids: " + invalidPreRegIds + ", deleted count: " + deleted);
+        }
+        if (demographicPreRegIds.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource consumedParams = new MapSqlParameterSource("preRegIds", demographicPreRegIds)
+                .addValue("statusCode", StatusCodes.CONSUMED.getCode())
+                .addValue("bookedStatusCode", StatusCodes.BOOKED.getCode())
+                .addValue("statusComments", PreRegBatchContants.NEW_STATUS_COMMENTS)
+                .addValue("updBy", auditUserId)
+                .addValue("updDtimes", Timestamp.valueOf(DateUtils.parseDateToLocalDateTime(new Date())));
+
+        // consumed tables first, the consumed documents and appointments refer to the consumed demographic.
+        int demographics = jdbcTemplate.update(COPY_DEMOGRAPHICS, consumedParams);
+        int documents = jdbcTemplate.update(COPY_DOCUMENTS, consumedParams);
+        int appointments = jdbcTemplate.update(COPY_APPOINTMENTS, consumedParams);
+
+        jdbcTemplate.update(DELETE_APPOINTMENTS, consumedParams);
+        jdbcTemplate.update(DELETE_DOCUMENTS, consumedParams);
+        jdbcTemplate.update(DELETE_DEMOGRAPHICS, consumedParams);
+        int applications = jdbcTemplate.update(DELETE_APPLICATIONS, consumedParams);
+        jdbcTemplate.update(UPDATE_PROCESSED, consumedParams);
+
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB,
+                "Moved to consumed, demographics: " + demographics + ", documents: " + documents + ", appointments: "
+                    + appointments + ", purged applications: " + applications);
+        return demographics;
+    }
+
+    /**
+     * Sends the audit of a consumed status run.
+     *
+     * @param errorredPreRegIds the pre registration ids that could not be updated
+     */
+    public void auditConsumedStatus(List<String> errorredPreRegIds) {
 
         if (errorredPreRegIds.size() > 0) {
 			String preRegIds = String.join(",", errorredPreRegIds);
 			restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
-						"Updating Consumed data Failed for Pre Reg id, List of Pre Reg Ids. ", AuditLogVariables.NO_ID.toString(), 
-						auditUserId, auditUsername, preRegIds, AuditLogVariables.BAT.toString(), 
+						"Updating Consumed data Failed for Pre Reg id, List of Pre Reg Ids. ", AuditLogVariables.NO_ID.toString(),
+						auditUserId, auditUsername, preRegIds, AuditLogVariables.BAT.toString(),
                         AuditLogVariables.CONSUMED_BATCH_SERVICE.toString());
 			return;
 		}
 
         // No Processed Pre Reg Ids has resulted in Error.
 		restHelper.sendAuditDetails(EventId.PRE_412.toString(), EventName.CONSUMEDSTATUS.toString(), EventType.BUSINESS.toString(),
-                    "Updated the consumed status for all processed pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
-                    auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BAT.toString(), 
+                    "Updated the consumed status for all processed pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(),
+                    auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BAT.toString(),
                     AuditLogVariables.BOOKING_SERVICE.toString());
     }
 
-    private void addApplicantDemographicConsumed(DemographicEntity demoEntity) {
-        DemographicEntityConsumed demographicEntityConsumed = new DemographicEntityConsumed();
-        demographicEntityConsumed.setApplicantDetailJson(demoEntity.getApplicantDetailJson());
-        demographicEntityConsumed.setCrAppuserId(demoEntity.getCrAppuserId());
-        demographicEntityConsumed.setCreateDateTime(demoEntity.getCreateDateTime());
-        demographicEntityConsumed.setCreatedBy(demoEntity.getCreatedBy());
-        demographicEntityConsumed.setDemogDetailHash(demoEntity.getDemogDetailHash());
-        demographicEntityConsumed.setEncryptedDateTime(demoEntity.getEncryptedDateTime());
-        demographicEntityConsumed.setLangCode(demoEntity.getLangCode());
-        demographicEntityConsumed.setPreRegistrationId(demoEntity.getPreRegistrationId());
-        demographicEntityConsumed.setUpdateDateTime(DateUtils.parseDateToLocalDateTime(new Date()));
-        demographicEntityConsumed.setUpdatedBy(auditUserId);
-        demographicEntityConsumed.setStatusCode(StatusCodes.CONSUMED.getCode());
-        boolean added = batchJpaRepositoryImpl.updateConsumedDemographic(demographicEntityConsumed);
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "Added demographic consumed in table pre reg id: " + demoEntity.getPreRegistrationId() + ", added status: " + added);
-    }
-
-    private void addApplicantDocumentConsumed(List<DocumentEntity> applicantDocumentList, String preRegId) {
-        if (Objects.isNull(applicantDocumentList)) {
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "No Documents found to add in consumed table for pre reg id: " + preRegId);
-            return;
-        }
-
-        applicantDocumentList.forEach(applicantDoc -> {
-            DocumentEntityConsumed documentEntityConsumed = new DocumentEntityConsumed();
-            documentEntityConsumed.setCrBy(applicantDoc.getCrBy());
-            documentEntityConsumed.setCrDtime(applicantDoc.getCrDtime());
-            documentEntityConsumed.setDocCatCode(applicantDoc.getDocCatCode());
-            documentEntityConsumed.setDocFileFormat(applicantDoc.getDocFileFormat());
-            documentEntityConsumed.setDocHash(applicantDoc.getDocHash());
-            documentEntityConsumed.setDocId(applicantDoc.getDocId());
-            documentEntityConsumed.setDocName(applicantDoc.getDocName());
-            documentEntityConsumed.setDocTypeCode(applicantDoc.getDocTypeCode());
-            documentEntityConsumed.setDocumentId(applicantDoc.getDocumentId());
-            documentEntityConsumed.setEncryptedDateTime(applicantDoc.getEncryptedDateTime());
-            documentEntityConsumed.setLangCode(applicantDoc.getLangCode());
-            documentEntityConsumed.setPreregId(applicantDoc.getDemographicEntity().getPreRegistrationId());
-            documentEntityConsumed.setStatusCode(applicantDoc.getStatusCode());
-            documentEntityConsumed.setUpdBy(auditUserId);
-            documentEntityConsumed.setUpdDtime(DateUtils.parseDateToLocalDateTime(new Date()));
-            documentEntityConsumed.setDocRefId(applicantDoc.getRefNumber());
-            batchJpaRepositoryImpl.updateConsumedDocument(documentEntityConsumed);
-        });
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                "Found Documents added in consumed table for pre reg id: " + preRegId + ", documents count: " + applicantDocumentList.size());
-        
-        
-    }
-
-    private void addRegistrationAppointmentConsumed(RegistrationBookingEntity regAppointmentObj, String preRegId) {
-        RegistrationBookingEntityConsumed regAppointmentConsumed = new RegistrationBookingEntityConsumed();
-        regAppointmentConsumed.setBookingDateTime(regAppointmentObj.getBookingDateTime());
-        regAppointmentConsumed.setPreregistrationId(regAppointmentObj.getPreregistrationId());
-        regAppointmentConsumed.setCrBy(regAppointmentObj.getCrBy());
-        regAppointmentConsumed.setCrDate(regAppointmentObj.getCrDate());
-        regAppointmentConsumed.setId(regAppointmentObj.getId());
-        regAppointmentConsumed.setLangCode(regAppointmentObj.getLangCode());
-        regAppointmentConsumed.setRegDate(regAppointmentObj.getRegDate());
-        regAppointmentConsumed.setRegistrationCenterId(regAppointmentObj.getRegistrationCenterId());
-        regAppointmentConsumed.setSlotFromTime(regAppointmentObj.getSlotFromTime());
-        regAppointmentConsumed.setSlotToTime(regAppointmentObj.getSlotToTime());
-        regAppointmentConsumed.setUpBy(auditUserId);
-        regAppointmentConsumed.setUpdDate(DateUtils.parseDateToLocalDateTime(new Date()));
-        boolean added = batchJpaRepositoryImpl.updateConsumedBooking(regAppointmentConsumed);
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                "Added Reg Appointment consumed in table for pre reg id: " + preRegId + ", added status: " + added);
-
-        
-    }
-
-    private void purgeApplicantDocumentConsumed(List<DocumentEntity> applicantDocumentList, String preRegId) {
-        if (Objects.isNull(applicantDocumentList)) {
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                        "No Documents found to delete from table for pre reg id: " + preRegId);
-            return;
-        }
-
-        applicantDocumentList.forEach(applicantDoc -> {
-            batchJpaRepositoryImpl.deleteApplicantDocument(applicantDoc);
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPLICATION_CONSUMED_JOB, 
-                "Deleted Applicant Document for pre reg id: " + preRegId + ", documents id: " + applicantDoc.getDocId());
-        });
-    }
-    
 }
@@ -0,0 +1,109 @@
+package io.mosip.preregistration.batchjob.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Writer of the consumed status step. Writes a chunk of processed pre
+ * registration ids with {@link ApplicationConsumedStatusUpdater}, keeps the ids
+ * skipped after a failed write in the execution context of the step and sends
+ * the audit of the run when the step ends. The writer itself keeps no state,
+ * so one instance serves every run.
+ * <p>
+ * The data access exceptions are not wrapped, the step retries the transient
+ * ones and skips the ids failing with the others.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class ApplicationConsumedStatusWriter
+		implements ItemWriter<String>, SkipListener<String, String>, StepExecutionListener {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationConsumedStatusWriter.class);
+
+	@Autowired
+	private ApplicationConsumedStatusUpdater statusUpdater;
+
+	/**
+	 * Key of the skipped pre registration ids in the step execution context
+	 */
+	private static final String ERRORRED_PRE_REG_IDS = "errorredPreRegIds";
+
+	@Override
+	public void beforeStep(StepExecution stepExecution) {
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+				PreRegBatchContants.APPLICATION_CONSUMED_JOB, "Starting Application Consumed Status Update Job.");
+	}
+
+	@Override
+	public void write(List<? extends String> processedPreRegIds) {
+		int consumed = statusUpdater.updateConsumedStatus(new ArrayList<>(processedPreRegIds));
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+				PreRegBatchContants.APPLICATION_CONSUMED_JOB, "Processed Pre Registration applications in chunk: "
+						+ processedPreRegIds.size() + ", consumed: " + consumed);
+	}
+
+	@Override
+	public void onSkipInWrite(String processedPreRegId, Throwable t) {
+		StepExecution stepExecution = StepSynchronizationManager.getContext().getStepExecution();
+		synchronized (stepExecution) {
+			List<String> errorredPreRegIds = new ArrayList<>(getErrorredPreRegIds(stepExecution));
+			errorredPreRegIds.add(processedPreRegId);
+			stepExecution.getExecutionContext().put(ERRORRED_PRE_REG_IDS, errorredPreRegIds);
+		}
+		LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+				PreRegBatchContants.APPLICATION_CONSUMED_JOB,
+				"Errorred in updating status processed pre reg id: " + processedPreRegId, ExceptionUtils.getStackTrace(t));
+	}
+
+	@Override
+	public void onSkipInRead(Throwable t) {
+		LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+				PreRegBatchContants.APPLICATION_CONSUMED_JOB, "Errorred in reading processed pre reg ids",
+				ExceptionUtils.getStackTrace(t));
+	}
+
+	@Override
+	public void onSkipInProcess(String processedPreRegId, Throwable t) {
+		onSkipInWrite(processedPreRegId, t);
+	}
+
+	@Override
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+				PreRegBatchContants.APPLICATION_CONSUMED_JOB,
+				"Total Number of Processed Pre Registration applications: " + stepExecution.getReadCount()
+						+ ", chunks committed: " + stepExecution.getCommitCount() + ", skipped: "
+						+ stepExecution.getSkipCount());
+		if (stepExecution.getReadCount() == 0) {
+			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH,
+					PreRegBatchContants.APPLICATION_CONSUMED_JOB,
+					"There are currently no Pre-Registration-Ids to update status to consumed");
+			return null;
+		}
+		statusUpdater.auditConsumedStatus(getErrorredPreRegIds(stepExecution));
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> getErrorredPreRegIds(StepExecution stepExecution) {
+		Object errorredPreRegIds = stepExecution.getExecutionContext().get(ERRORRED_PRE_REG_IDS);
+		return errorredPreRegIds == null ? Collections.emptyList() : (List<String>) errorredPreRegIds;
+	}
+
+}
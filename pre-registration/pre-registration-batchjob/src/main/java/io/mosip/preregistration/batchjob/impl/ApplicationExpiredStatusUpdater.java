@@ -1,13 +1,24 @@
 package io.mosip.preregistration.batchjob.impl;
 
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -35,6 +46,28 @@ public class ApplicationExpiredStatusUpdater {
     
     private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationExpiredStatusUpdater.class);
 
+    private static final String FIND_EXPIRED_DATES = "SELECT DISTINCT a.appointment_date FROM prereg.applications a "
+            + "JOIN prereg.reg_appointment r ON r.prereg_id = a.application_id "
+            + "WHERE a.booking_status_code = :bookedStatusCode AND a.appointment_date < :currentDate ORDER BY a.appointment_date";
+
+    /**
+     * The booked applications of the date range with an appointment, the ones
+     * the legacy update reads with getAllOldDateBooking.
+     */
+    private static final String BOOKED_IN_RANGE = "a.booking_status_code = :bookedStatusCode "
+            + "AND a.appointment_date BETWEEN :fromDate AND :toDate AND a.appointment_date < :currentDate "
+            + "AND EXISTS (SELECT 1 FROM prereg.reg_appointment r WHERE r.prereg_id = a.application_id)";
+
+    private static final String FIND_EXPIRED_APPLICATIONS = "SELECT a.application_id FROM prereg.applications a WHERE "
+            + BOOKED_IN_RANGE;
+
+    private static final String EXPIRE_DEMOGRAPHICS = "UPDATE prereg.applicant_demographic SET status_code = :expiredStatusCode, "
+            + "upd_by = :updBy, upd_dtimes = :updDtimes WHERE status_code = :bookedStatusCode AND prereg_id IN ("
+            + FIND_EXPIRED_APPLICATIONS + ")";
+
+    private static final String EXPIRE_APPLICATIONS = "UPDATE prereg.applications a SET booking_status_code = :expiredStatusCode, "
+            + "upd_by = :updBy, upd_dtimes = :updDtimes WHERE " + BOOKED_IN_RANGE;
+
     @Value("${mosip.batch.token.authmanager.userName}")
 	private String auditUsername;
 
@@ -47,10 +80,37 @@ public class ApplicationExpiredStatusUpdater {
     @Autowired
 	private RestHelper restHelper;
 
+    /**
+     * true to expire the applications with bulk updates, a chunk of appointment
+     * dates at a time, instead of loading and saving each application
+     */
+    @Value("${preregistration.batch.expired.bulk-update.enabled:true}")
+    private boolean bulkUpdateEnabled;
+
+    @Value("${preregistration.batch.expired.dates-per-chunk:7}")
+    private int datesPerChunk;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
     public void updateExpiredStatus(){
 
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
 		 			"Starting Application Expired Status updater Job.");
+        if (bulkUpdateEnabled) {
+            updateExpiredStatusInBulk();
+            return;
+        }
         
         List<RegistrationBookingEntity> bookedPreRegDetailsList = batchServiceDAO.getAllOldDateBooking();
 
@@ -100,6 +160,78 @@ public class ApplicationExpiredStatusUpdater {
     }
 
 
+    /**
+     * Marks the booked applications with a past appointment date, and their
+     * booked applicant demographics, as expired. Each chunk of appointment dates
+     * is updated with one statement per table, in its own transaction.
+     *
+     * @return the expired pre registration ids
+     */
+    public List<String> updateExpiredStatusInBulk() {
+
+        LocalDate today = LocalDate.now();
+        MapSqlParameterSource params = new MapSqlParameterSource("bookedStatusCode", StatusCodes.BOOKED.getCode())
+                .addValue("expiredStatusCode", StatusCodes.EXPIRED.getCode())
+                .addValue("currentDate", java.sql.Date.valueOf(today))
+                .addValue("updBy", auditUserId);
+        List<LocalDate> appointmentDates = jdbcTemplate.queryForList(FIND_EXPIRED_DATES, params, java.sql.Date.class)
+                .stream().map(java.sql.Date::toLocalDate).collect(Collectors.toList());
+
+        if (appointmentDates.isEmpty()) {
+            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+		 			"No Booked Applications found which are expired.");
+            restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
+                     "No Booked Application found to update status as Expired.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
+                     auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BOOK.toString(), 
+                     AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+            return new ArrayList<>();
+        }
+
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+		 			"Appointment dates with applications to update as Expired: " + appointmentDates.size());
+        List<String> expiredPreRegIds = new ArrayList<>();
+        List<LocalDate> errorredDates = new ArrayList<>();
+        int chunkSize = Math.max(datesPerChunk, 1);
+        for (int from = 0; from < appointmentDates.size(); from += chunkSize) {
+            List<LocalDate> chunkDates = appointmentDates.subList(from, Math.min(from + chunkSize, appointmentDates.size()));
+            MapSqlParameterSource chunkParams = new MapSqlParameterSource(params.getValues())
+                    .addValue("fromDate", java.sql.Date.valueOf(chunkDates.get(0)))
+                    .addValue("toDate", java.sql.Date.valueOf(chunkDates.get(chunkDates.size() - 1)))
+                    .addValue("updDtimes", Timestamp.valueOf(DateUtils.parseDateToLocalDateTime(new Date())));
+            try {
+                // the demographics first, the applications they are found by are no longer booked afterwards.
+                ExpiredChunk expired = transactionTemplate.execute(status -> new ExpiredChunk(
+                        jdbcTemplate.queryForList(FIND_EXPIRED_APPLICATIONS, chunkParams, String.class),
+                        jdbcTemplate.update(EXPIRE_DEMOGRAPHICS, chunkParams), jdbcTemplate.update(EXPIRE_APPLICATIONS, chunkParams)));
+                expiredPreRegIds.addAll(expired.getPreRegIds());
+                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+                        "Updated Expired status for appointment dates " + chunkDates.get(0) + " to " + chunkDates.get(chunkDates.size() - 1) 
+                            + ", applications: " + expired.getApplications() + ", applicant demographics: " + expired.getDemographics());
+                LOGGER.debug(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+                        "Expired pre reg ids: " + String.join(",", expired.getPreRegIds()));
+            } catch (DataAccessException exp) {
+                errorredDates.addAll(chunkDates);
+                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
+                        "Errorred in updating expired status for appointment dates: " + chunkDates, ExceptionUtils.getStackTrace(exp));
+            }
+        }
+
+        if (errorredDates.size() > 0) {
+			String dates = errorredDates.stream().map(LocalDate::toString).collect(Collectors.joining(","));
+			restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
+						"Updating Expired status Failed for appointment dates, List of dates. ", AuditLogVariables.NO_ID.toString(), 
+						auditUserId, auditUsername, dates, AuditLogVariables.BAT.toString(), 
+                        AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+			return expiredPreRegIds;
+		}
+
+		restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
+                    "Updated Expired status for all pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
+                    auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BAT.toString(), 
+                    AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
+        return expiredPreRegIds;
+    }
+
     private void updateApplicationStatus(String preRegId) {
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
 		 			"Updating Expired status in Application for Pre Reg Id: " + preRegId);
@@ -142,4 +274,31 @@ public class ApplicationExpiredStatusUpdater {
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EXPIRED_STATUS_JOB, 
             "Applicant demographic status is not Booked status for Pre Reg Id: " + preRegId);
     }
+
+    private static class ExpiredChunk {
+
+        private final List<String> preRegIds;
+
+        private final int demographics;
+
+        private final int applications;
+
+        ExpiredChunk(List<String> preRegIds, int demographics, int applications) {
+            this.preRegIds = preRegIds;
+            this.demographics = demographics;
+            this.applications = applications;
+        }
+
+        List<String> getPreRegIds() {
+            return preRegIds;
+        }
+
+        int getDemographics() {
+            return demographics;
+        }
+
+        int getApplications() {
+            return applications;
+        }
+    }
 }
@@ -1,38 +1,72 @@
 package io.mosip.preregistration.batchjob.impl;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
-import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
 import io.mosip.preregistration.core.code.AuditLogVariables;
 import io.mosip.preregistration.core.code.EventId;
 import io.mosip.preregistration.core.code.EventName;
 import io.mosip.preregistration.core.code.EventType;
 import io.mosip.preregistration.core.code.StatusCodes;
-import io.mosip.preregistration.core.common.entity.ApplicationEntity;
-import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
 /**
+ * Corrects the applications whose appointment details differ from the
+ * registration appointment booked on the day.
+ * <p>
+ * The mismatches are found with a single join of the appointments and the
+ * applications that returns only the differing rows, and the corrections are
+ * applied with batched updates, so the cost of the job follows the number of
+ * mismatches and not the number of bookings.
+ *
  * @author Mahammed Taheer
  * @since 1.2.0
  *
  */
 @Component
 public class ApplicationMismatchDataUpdater {
-    
-    private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationExpiredStatusUpdater.class);
+
+    private Logger LOGGER = LoggerConfiguration.logConfig(ApplicationMismatchDataUpdater.class);
+
+    private static final String UPDATED_BY = "PRERIGISTRATION_JOB";
+
+    /**
+     * The appointments booked on the day whose application is missing or has a
+     * different or no appointment date and slot times.
+     */
+    private static final String FIND_MISMATCHED_APPOINTMENTS = "SELECT r.prereg_id, r.regcntr_id, r.appointment_date, "
+            + "r.slot_from_time, r.slot_to_time, COALESCE(r.upd_dtimes, r.booking_dtimes) AS booked_dtimes, "
+            + "a.application_id FROM prereg.reg_appointment r "
+            + "LEFT JOIN prereg.applications a ON a.application_id = r.prereg_id "
+            + "WHERE CAST(r.booking_dtimes AS DATE) = :bookingDate AND (a.application_id IS NULL "
+            + "OR a.appointment_date IS NULL OR a.appointment_date <> r.appointment_date "
+            + "OR a.slot_from_time IS NULL OR a.slot_from_time <> r.slot_from_time "
+            + "OR a.slot_to_time IS NULL OR a.slot_to_time <> r.slot_to_time) ORDER BY r.prereg_id";
+
+    private static final String UPDATE_APPLICATION = "UPDATE prereg.applications SET booking_date = :bookingDate, "
+            + "regcntr_id = :regCenterId, slot_from_time = :slotFromTime, slot_to_time = :slotToTime, "
+            + "appointment_date = :appointmentDate, booking_status_code = :bookingStatusCode, upd_by = :updBy, "
+            + "upd_dtimes = :updDtimes WHERE application_id = :preRegId";
 
     @Value("${mosip.batch.token.authmanager.userName}")
 	private String auditUsername;
@@ -40,96 +74,165 @@ public class ApplicationMismatchDataUpdater {
 	@Value("${mosip.batch.token.authmanager.appId}")
 	private String auditUserId;
 
-    @Autowired
-	private BatchJpaRepositoryImpl batchServiceDAO;
+    /**
+     * number of application corrections sent to the database in one batch and
+     * committed in one transaction
+     */
+    @Value("${preregistration.batch.mismatch.batch-size:500}")
+    private int batchSize;
 
     @Autowired
 	private RestHelper restHelper;
 
+    @Autowired
+    private DataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
     public void updateMismatchData() {
 
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
 		 			"Starting Application Data Mismatch updater Job.");
-        
-        LocalDate now = LocalDate.now();
-        List<RegistrationBookingEntity> regAppointmentDetailsList = batchServiceDAO.getAllRegistrationAppointmentDetails(now);
 
-        if (Objects.isNull(regAppointmentDetailsList) || regAppointmentDetailsList.size() == 0) {
-            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "No Registration Appointments found to validate the mismatch for the day: " + now.toString());
+        LocalDate now = LocalDate.now();
+        List<MismatchedAppointment> mismatchedAppointments = jdbcTemplate.query(FIND_MISMATCHED_APPOINTMENTS,
+                new MapSqlParameterSource("bookingDate", java.sql.Date.valueOf(now)), (resultSet, rowNum) -> {
+                    Timestamp bookedDtimes = resultSet.getTimestamp("booked_dtimes");
+                    return new MismatchedAppointment(resultSet.getString("prereg_id"), resultSet.getString("regcntr_id"),
+                            resultSet.getDate("appointment_date"), resultSet.getTime("slot_from_time"),
+                            resultSet.getTime("slot_to_time"),
+                            bookedDtimes == null ? null : java.sql.Date.valueOf(bookedDtimes.toLocalDateTime().toLocalDate()),
+                            resultSet.getString("application_id") != null);
+                });
+
+        if (mismatchedAppointments.isEmpty()) {
+            LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
+                        "No mismatched Registration Appointments found for the day: " + now.toString());
             restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.EXPIREDSTATUS.toString(), EventType.BUSINESS.toString(),
-                        "No Registration Appointments found to validate the mismatch for the day.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
-                        auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BOOK.toString(), 
+                        "No mismatched Registration Appointments found for the day.", AuditLogVariables.PRE_REGISTRATION_ID.toString(),
+                        auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BOOK.toString(),
                         AuditLogVariables.EXPIRED_BATCH_SERVICE.toString());
             return;
         }
 
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                    "Total Number of application found to update as Expired: " + regAppointmentDetailsList.size());
         List<String> errorredPreRegIds = new ArrayList<>();
-        regAppointmentDetailsList.forEach(regAppointment -> {
-            String preRegId = regAppointment.getPreregistrationId();
-            try {
-                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Checking and Updating Mismatch data in Application for Pre Reg Id: " + preRegId);
-                ApplicationEntity applicationEntity = batchServiceDAO.getApplicantEntityDetails(preRegId);
-                boolean dataMismatch = isAppointmentDataMismatch(regAppointment, applicationEntity);
-                if(dataMismatch) {
-                    LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Mismatch data found for Pre Reg Id: " + preRegId);
-                    updateMismatchData(regAppointment, applicationEntity);
-                }
-            } catch(Exception exp) {
-                errorredPreRegIds.add(preRegId);
-                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Errorred in updating appointment mismatch data for pre reg id: " + preRegId, ExceptionUtils.getStackTrace(exp));
+        List<MismatchedAppointment> corrections = new ArrayList<>();
+        mismatchedAppointments.forEach(appointment -> {
+            if (!appointment.isApplicationFound()) {
+                errorredPreRegIds.add(appointment.getPreRegId());
+                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
+                        "No Application found to update appointment mismatch data for pre reg id: " + appointment.getPreRegId(),
+                        PreRegBatchContants.EMPTY);
+                return;
             }
+            corrections.add(appointment);
         });
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
+                    "Total Number of mismatched applications found: " + corrections.size() + ", without application: "
+                        + errorredPreRegIds.size());
+
+        int size = Math.max(batchSize, 1);
+        for (int from = 0; from < corrections.size(); from += size) {
+            List<MismatchedAppointment> batch = corrections.subList(from, Math.min(from + size, corrections.size()));
+            Timestamp updDtimes = Timestamp.valueOf(LocalDateTime.now());
+            MapSqlParameterSource[] batchParams = batch.stream().map(appointment -> new MapSqlParameterSource("preRegId", appointment.getPreRegId())
+                    .addValue("bookingDate", appointment.getBookingDate())
+                    .addValue("regCenterId", appointment.getRegCenterId())
+                    .addValue("slotFromTime", appointment.getSlotFromTime())
+                    .addValue("slotToTime", appointment.getSlotToTime())
+                    .addValue("appointmentDate", appointment.getAppointmentDate())
+                    .addValue("bookingStatusCode", StatusCodes.BOOKED.getCode())
+                    .addValue("updBy", UPDATED_BY)
+                    .addValue("updDtimes", updDtimes)).toArray(MapSqlParameterSource[]::new);
+            List<String> preRegIds = batch.stream().map(MismatchedAppointment::getPreRegId).collect(Collectors.toList());
+            try {
+                transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_APPLICATION, batchParams));
+                LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
+                        "Updated Mismatch data in Applications for Pre Reg Ids: " + preRegIds);
+            } catch (DataAccessException exp) {
+                errorredPreRegIds.addAll(preRegIds);
+                LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB,
+                        "Errorred in updating appointment mismatch data for pre reg ids: " + preRegIds, ExceptionUtils.getStackTrace(exp));
+            }
+        }
 
         if (errorredPreRegIds.size() > 0) {
 			String preRegIds = String.join(",", errorredPreRegIds);
 			restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
-						"Updating Mismatch data Failed for Pre Reg id, List of Pre Reg Ids. ", AuditLogVariables.NO_ID.toString(), 
-						auditUserId, auditUsername, preRegIds, AuditLogVariables.PREREGISTRATION.toString(), 
+						"Updating Mismatch data Failed for Pre Reg id, List of Pre Reg Ids. ", AuditLogVariables.NO_ID.toString(),
+						auditUserId, auditUsername, preRegIds, AuditLogVariables.PREREGISTRATION.toString(),
                         AuditLogVariables.PREREGISTRATION.toString());
 			return;
 		}
 
         // No Pre Reg Ids has resulted in Error.
 		restHelper.sendAuditDetails(EventId.PRE_413.toString(), EventName.UPDATE.toString(), EventType.BUSINESS.toString(),
-                    "Updated All Mismatched data for all pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(), 
-                    auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.PREREGISTRATION.toString(), 
+                    "Updated All Mismatched data for all pre reg ids.", AuditLogVariables.PRE_REGISTRATION_ID.toString(),
+                    auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.PREREGISTRATION.toString(),
                     AuditLogVariables.PREREGISTRATION.toString());
     }
 
-    private boolean isAppointmentDataMismatch(RegistrationBookingEntity regAppointment, ApplicationEntity application) {
-
-        if (Objects.isNull(application.getAppointmentDate()) || 
-                !(regAppointment.getRegDate().isEqual(application.getAppointmentDate())))
-            return true;
-        
-        if (Objects.isNull(application.getSlotFromTime()) || 
-                        !(regAppointment.getSlotFromTime().equals(application.getSlotFromTime())))
-            return true;
-        
-        if (Objects.isNull(application.getSlotToTime()) || 
-                !(regAppointment.getSlotToTime().equals(application.getSlotToTime())))
-            return true;
-        
-        return false;
-    }
+    private static class MismatchedAppointment {
+
+        private final String preRegId;
 
-    private void updateMismatchData(RegistrationBookingEntity regAppointment, ApplicationEntity application) {
-        application.setBookingDate(regAppointment.getUpdDate().toLocalDate());
-		application.setRegistrationCenterId(regAppointment.getRegistrationCenterId());
-		application.setSlotFromTime(regAppointment.getSlotFromTime());
-		application.setSlotToTime(regAppointment.getSlotToTime());
-		application.setAppointmentDate(regAppointment.getRegDate());
-		application.setBookingStatusCode(StatusCodes.BOOKED.getCode());
-		application.setUpdBy("PRERIGISTRATION_JOB");
-		application.setUpdDtime(LocalDateTime.now());
-        batchServiceDAO.updateApplicantEntity(application);
-        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.APPOINTMENT_MISMATCH_JOB, 
-                        "Updated Mismatch data in Application for Pre Reg Id: " + regAppointment.getPreregistrationId());
+        private final String regCenterId;
+
+        private final java.sql.Date appointmentDate;
+
+        private final java.sql.Time slotFromTime;
+
+        private final java.sql.Time slotToTime;
+
+        private final java.sql.Date bookingDate;
+
+        private final boolean applicationFound;
+
+        MismatchedAppointment(String preRegId, String regCenterId, java.sql.Date appointmentDate, java.sql.Time slotFromTime,
+                java.sql.Time slotToTime, java.sql.Date bookingDate, boolean applicationFound) {
+            this.preRegId = preRegId;
+            this.regCenterId = regCenterId;
+            this.appointmentDate = appointmentDate;
+            this.slotFromTime = slotFromTime;
+            this.slotToTime = slotToTime;
+            this.bookingDate = bookingDate;
+            this.applicationFound = applicationFound;
+        }
+
+        String getPreRegId() {
+            return preRegId;
+        }
+
+        String getRegCenterId() {
+            return regCenterId;
+        }
+
+        java.sql.Date getAppointmentDate() {
+            return appointmentDate;
+        }
+
+        java.sql.Time getSlotFromTime() {
+            return slotFromTime;
+        }
+
+        java.sql.Time getSlotToTime() {
+            return slotToTime;
+        }
+
+        java.sql.Date getBookingDate() {
+            return bookingDate;
+        }
+
+        boolean isApplicationFound() {
+            return applicationFound;
+        }
     }
 }
@@ -0,0 +1,89 @@
+package io.mosip.preregistration.batchjob.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Deletes the OTP transactions expired for longer than the retention, a
+ * bounded chunk of rows per call. Used OTPs are deleted with them without
+ * waiting for their expiry, as they cannot be validated again.
+ *
+ * @since 1.2.0
+ *
+ */
+@Component
+public class OtpTransactionPurger {
+
+	private Logger LOGGER = LoggerConfiguration.logConfig(OtpTransactionPurger.class);
+
+	/**
+	 * The expired and the used transactions are deleted with separate statements,
+	 * each served by its own index, idx_otpt_expiry and the partial idx_otpt_used.
+	 */
+	private static final String PURGE_EXPIRED_CHUNK = "DELETE FROM prereg.otp_transaction WHERE id IN ("
+			+ "SELECT id FROM prereg.otp_transaction WHERE expiry_dtimes < :cutoff LIMIT :chunkSize)";
+
+	private static final String PURGE_USED_CHUNK = "DELETE FROM prereg.otp_transaction WHERE id IN ("
+			+ "SELECT id FROM prereg.otp_transaction WHERE status_code = :usedStatus LIMIT :chunkSize)";
+
+	/**
+	 * Number of OTP transactions deleted at a time
+	 */
+	@Value("${preregistration.batch.otp-purge.chunk-size:5000}")
+	private int chunkSize;
+
+	/**
+	 * Hours an OTP transaction is kept after its expiry
+	 */
+	@Value("${preregistration.batch.otp-purge.retention-hours:24}")
+	private long retentionHours;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void init() {
+		jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Deletes a chunk of the OTP transactions expired before the retention, then
+	 * fills what is left of the chunk with the used ones.
+	 *
+	 * @return the number of OTP transactions deleted, less than the chunk size
+	 *         when none are left
+	 */
+	public int purgeChunk() {
+		LocalDateTime cutoff = DateUtils.getUTCCurrentDateTime().minusHours(retentionHours);
+		MapSqlParameterSource params = new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff))
+				.addValue("usedStatus", PreRegBatchContants.OTP_USED_STATUS).addValue("chunkSize", getChunkSize());
+		int purged = jdbcTemplate.update(PURGE_EXPIRED_CHUNK, params);
+		if (purged < getChunkSize()) {
+			params.addValue("chunkSize", getChunkSize() - purged);
+			purged += jdbcTemplate.update(PURGE_USED_CHUNK, params);
+		}
+		LOGGER.debug(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.OTP_PURGE_JOB,
+				"Deleted OTP transactions used or expired before " + cutoff + ": " + purged);
+		return purged;
+	}
+
+	public int getChunkSize() {
+		return Math.max(chunkSize, 1);
+	}
+}
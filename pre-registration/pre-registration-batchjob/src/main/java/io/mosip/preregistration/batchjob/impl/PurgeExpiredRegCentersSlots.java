@@ -2,9 +2,7 @@ package io.mosip.preregistration.batchjob.impl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +11,7 @@ import org.springframework.stereotype.Component;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.batchjob.helper.CancelAndNotifyHelper;
+import io.mosip.preregistration.batchjob.helper.CancelNotifyTracker;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
 import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
@@ -57,29 +56,26 @@ public class PurgeExpiredRegCentersSlots {
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 				"Total Number of registration Found available in Master Data: <" + regCentersList.size() + ">");
 
-        Map<String, Boolean> cancelledTracker = new HashMap<>();
-        Map<String, Boolean> notifierTracker = new HashMap<>();
+        CancelNotifyTracker tracker = new CancelNotifyTracker();
         List<String> processingRegCentersList = regCentersList.stream().map(RegistrationCenterDto::getId)
 															  .distinct()
 															  .collect(Collectors.toList());
 		List<String> slotsAddedRegCenters = batchServiceDAO.findRegCenter(LocalDate.now());
 		slotsAddedRegCenters.stream().filter(regCenterId ->  !processingRegCentersList.contains(regCenterId))
-									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId, cancelledTracker, notifierTracker));
+									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId, tracker));
+        cancelAndNotifyHelper.awaitNotifications(tracker, PreRegBatchContants.EMPTY);
                                      
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
                                      "Completed deleting Expired Registration Centers slots.");
     }
 
-    private void purgeExpiredRegCenterSlots(String regCenterId,  Map<String, Boolean> cancelledTracker,	
-					Map<String, Boolean> notifierTracker) {
+    private void purgeExpiredRegCenterSlots(String regCenterId, CancelNotifyTracker tracker) {
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Deleting Slots for expired reg Center: " + regCenterId);
 		List<RegistrationBookingEntity> regBookingEntityList = batchServiceDAO.findAllPreIdsByregID(regCenterId, LocalDate.now());
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Total Number of bookings available for the reg center: " + regBookingEntityList.size());
-		regBookingEntityList.stream().forEach(bookedSlot -> {
-			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, PreRegBatchContants.EMPTY, cancelledTracker, notifierTracker);
-		});
+		cancelAndNotifyHelper.cancelAndNotifyApplicants(regBookingEntityList, PreRegBatchContants.EMPTY, tracker);
 		int deletedSlots = batchServiceDAO.deleteAllSlotsByRegId(regCenterId, LocalDate.now());
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 												"Deleted All Slots for expired reg Center: " + regCenterId + 
@@ -7,13 +7,19 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,9 +28,14 @@ import org.springframework.stereotype.Component;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
 import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.batchjob.helper.AvailabilitySlotWriter;
 import io.mosip.preregistration.batchjob.helper.CancelAndNotifyHelper;
+import io.mosip.preregistration.batchjob.helper.CancelNotifyTracker;
 import io.mosip.preregistration.batchjob.helper.PreRegBatchDBHelper;
+import io.mosip.preregistration.batchjob.helper.RegCenterFingerprintHelper;
+import io.mosip.preregistration.batchjob.helper.NonWorkingDates;
 import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
+import io.mosip.preregistration.batchjob.helper.RegCenterWorkQueue;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
 import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
@@ -78,8 +89,28 @@ public class SlotAvailabilityGenerator {
 	@Autowired
 	private CancelAndNotifyHelper cancelAndNotifyHelper;
 
+	@Autowired
+	private AvailabilitySlotWriter slotWriter;
+
+	@Autowired
+	private RegCenterFingerprintHelper fingerprintHelper;
+
+	/**
+	 * number of registration centers a worker claims from the work queue at a time
+	 */
+	@Value("${preregistration.slots.generate.queue.claim-size:10}")
+	private int queueClaimSize;
+
 
-    public void generateRegistrationAvailabilitySlots(String partName, List<String> regCenterIdsPartList) {
+	/**
+	 * Generates the slots of the registration centers in the given master data
+	 * pages.
+	 *
+	 * @param partName             name of the partition
+	 * @param regCenterIdsPartList the master data page numbers of the partition
+	 * @return the number of registration centers processed
+	 */
+    public int generateRegistrationAvailabilitySlots(String partName, List<String> regCenterIdsPartList) {
 
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 			"No of days configured to generate slots availability: " + noOfDaysToSync);
@@ -90,95 +121,152 @@ public class SlotAvailabilityGenerator {
 		 				"Total Number of registration Found available in Master Data: <" + regCentersList.size() + 
 						 ">, on partition Name: " + partName + ", regCenterIdsPartList (Page Nos): " + regCenterIdsPartList);
 
+		// holidays of all the centers of the partition are fetched concurrently up front.
+		Map<String, List<String>> regCentersHolidaysLists = restHelper.getRegistrationHolidayLists(regCentersList, noOfDaysToSync);
+		Iterator<RegistrationCenterDto> regCenters = regCentersList.iterator();
+		return generateRegistrationAvailabilitySlots(partName, () -> regCenters.hasNext() ? regCenters.next() : null,
+					regCenter -> regCentersHolidaysLists.getOrDefault(regCenter.getId(), new ArrayList<>()));
+	}
+
+	/**
+	 * Generates the slots of the registration centers taken from the work queue,
+	 * until it is drained. The centers are claimed
+	 * ${preregistration.slots.generate.queue.claim-size} at a time, and the
+	 * holidays of the claimed centers fetched together.
+	 *
+	 * @param workerName name of the worker
+	 * @param workQueue  the registration centers of the run
+	 * @return the number of registration centers processed
+	 */
+	public int generateRegistrationAvailabilitySlots(String workerName, RegCenterWorkQueue workQueue) {
+
+		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+		 			"No of days configured to generate slots availability: " + noOfDaysToSync + 
+					", worker Name: " + workerName + ", registration centers in queue: " + workQueue.size());
+		ClaimedRegCenters claimedRegCenters = new ClaimedRegCenters(workQueue);
+		return generateRegistrationAvailabilitySlots(workerName, claimedRegCenters, claimedRegCenters::getHolidays);
+	}
+
+	private int generateRegistrationAvailabilitySlots(String partName, Supplier<RegistrationCenterDto> nextRegCenter,
+				Function<RegistrationCenterDto, List<String>> regCenterHolidays) {
+
 		long partStartTime = System.currentTimeMillis();
-		Map<String, Boolean> cancelledTracker = new HashMap<>();
-		Map<String, Boolean> notifierTracker = new HashMap<>();
+		CancelNotifyTracker tracker = new CancelNotifyTracker();
 		List<String> errorredRegCenters = new ArrayList<>();
 		final AtomicInteger procCounter = new AtomicInteger(1);
-		regCentersList.stream().forEach(regCenter -> {
-			long startTime = System.currentTimeMillis();
-			// identifier for debugging
-			String logIdentifier = partName + "_" + regCenter.getId() + "_" + System.currentTimeMillis();
-			try {
-				
-				List<String> regCenterholidaysList = restHelper.getRegistrationHolidayList(regCenter.getId(), regCenter.getLangCode(), 
-						noOfDaysToSync);
+		slotWriter.begin(partName);
+		try {
+			while (true) {
+				RegistrationCenterDto regCenter = nextRegCenter.get();
+				if (Objects.isNull(regCenter)) {
+					break;
+				}
+				long startTime = System.currentTimeMillis();
+				// identifier for debugging
+				String logIdentifier = partName + "_" + regCenter.getId() + "_" + System.currentTimeMillis();
+				// bookings in the removed slots, cancelled once the slot changes are saved.
+				List<RegistrationBookingEntity> bookingsToCancel = new ArrayList<>();
+				try {
 				
-				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-						"Processing Generation of Slots for Reg Center Id: " + regCenter.getId() + 
-						", Reg Center Holiday List: " + regCenterholidaysList);
+					LocalDate slotGenStartDate = LocalDate.now();
+					LocalDate slotGenEndDate = slotGenStartDate.plusDays(noOfDaysToSync);
+					NonWorkingDates regCenterholidaysList = new NonWorkingDates(slotGenStartDate, noOfDaysToSync, 
+							regCenterHolidays.apply(regCenter));
 				
-				LocalDate slotGenStartDate = LocalDate.now();
-				LocalDate slotGenEndDate = slotGenStartDate.plusDays(noOfDaysToSync);
-				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-							"Slot Generation/Updation Start Date: " + slotGenStartDate + " and End Date: " + slotGenEndDate);
+					LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
+							"Processing Generation of Slots for Reg Center Id: " + regCenter.getId() + 
+							", Reg Center Holiday List: " + regCenterholidaysList);
 				
-				slotGenStartDate.datesUntil(slotGenEndDate, Period.ofDays(1)).forEach(slotGenDate -> {
-
-					List<AvailibityEntity> slotsAvailableList = batchServiceDAO.findSlots(slotGenDate, regCenter.getId());
 					LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-							"For date: " + slotGenDate + ", Slots available: " + slotsAvailableList.size());
-
-					// First, check date is in holiday list.
-					if (regCenterholidaysList.contains(slotGenDate.toString())) {
-						checkAndSaveEmptySlot(regCenter, slotsAvailableList, slotGenDate, logIdentifier, cancelledTracker, notifierTracker);
-					} else {
-						// Second, calculate and save the availability slots.
-						// Scenario 1 - slots are not available for the day, means not calculated yet.
-						if (slotsAvailableList.size() == 0) {
-							calculateFullDaySlotsAndSave(regCenter, slotGenDate, logIdentifier);
-						} else if(slotsAvailableList.size() == 1) { 
-							// Scenario 2 - only one slot available, may be got added thought holiday now removed from holiday list.
-							purgeAndCalculateFullDaySlotsThenSave(regCenter, slotGenDate, logIdentifier, slotsAvailableList);
+								"Slot Generation/Updation Start Date: " + slotGenStartDate + " and End Date: " + slotGenEndDate);
+				
+					// unchanged centers only need the days not generated yet.
+					LocalDate slotGenFromDate = fingerprintHelper.getSlotGenerationStartDate(regCenter, regCenterholidaysList, 
+								slotGenStartDate, slotGenEndDate, logIdentifier);
+					Map<LocalDate, List<AvailibityEntity>> slotsByDate = batchServiceDAO.findSlotsByDate(regCenter.getId(), 
+								slotGenFromDate, slotGenEndDate);
+					slotGenFromDate.datesUntil(slotGenEndDate, Period.ofDays(1)).forEach(slotGenDate -> {
+
+						List<AvailibityEntity> slotsAvailableList = slotsByDate.getOrDefault(slotGenDate, Collections.emptyList());
+						LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
+								"For date: " + slotGenDate + ", Slots available: " + slotsAvailableList.size());
+
+						// First, check date is in holiday list.
+						if (regCenterholidaysList.contains(slotGenDate)) {
+							checkAndSaveEmptySlot(regCenter, slotsAvailableList, slotGenDate, logIdentifier, bookingsToCancel);
 						} else {
-							// Scenario 3 - many slots available, check for any change in start, lunch & end time and take action accordingly.
-							checkAndReCalculateFullDaySlotsThenSave(regCenter, slotGenDate, logIdentifier, slotsAvailableList, 
-										cancelledTracker, notifierTracker);
+							// Second, calculate and save the availability slots.
+							// Scenario 1 - slots are not available for the day, means not calculated yet.
+							if (slotsAvailableList.size() == 0) {
+								calculateFullDaySlotsAndSave(regCenter, slotGenDate, logIdentifier);
+							} else if(slotsAvailableList.size() == 1) { 
+								// Scenario 2 - only one slot available, may be got added thought holiday now removed from holiday list.
+								purgeAndCalculateFullDaySlotsThenSave(regCenter, slotGenDate, logIdentifier, slotsAvailableList);
+							} else {
+								// Scenario 3 - many slots available, check for any change in start, lunch & end time and take action accordingly.
+								checkAndReCalculateFullDaySlotsThenSave(regCenter, slotGenDate, logIdentifier, slotsAvailableList, 
+											bookingsToCancel);
+							}
 						}
-					}
 					
-				});
-			} catch(Throwable t) {
-				LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, "Unknown Error: " + t.getMessage(), t);
-				errorredRegCenters.add(regCenter.getId());
+					});
+					slotWriter.flush();
+					if (!bookingsToCancel.isEmpty()) {
+						int cancelled = cancelAndNotifyHelper.cancelAndNotifyApplicants(bookingsToCancel, logIdentifier, tracker);
+						LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
+								"Total Number of bookings cancel & notified: " + cancelled + " of " + bookingsToCancel.size());
+					}
+					fingerprintHelper.saveFingerprint(regCenter, regCenterholidaysList, slotGenStartDate, slotGenEndDate);
+				} catch(Throwable t) {
+					// the slot changes of the center are saved all together or not at all, so on error none of 
+					// them are kept and its bookings are not cancelled. The center is generated again in the next run.
+					slotWriter.discard();
+					LOGGER.error(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, "Unknown Error: " + t.getMessage(), t);
+					errorredRegCenters.add(regCenter.getId());
+				}
+				long endTime = System.currentTimeMillis();
+				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
+							"Time took to complete slot generation for registration center: " + (endTime - startTime) + " in ms," +
+							" procCounter: " + procCounter.getAndIncrement());
 			}
-			batchServiceDAO.flushAvailability();
-			long endTime = System.currentTimeMillis();
-			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-						"Time took to complete slot generation for registration center: " + (endTime - startTime) + " in ms," +
-						" procCounter: " + procCounter.getAndIncrement());
-		});
+		} finally {
+			slotWriter.finish();
+		}
 		long partEndTime = System.currentTimeMillis();
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Total Time Took to process partition: " + partName + ", Time(In millis): " + (partEndTime - partStartTime));
 		// Deleting all the added slots for the expired registration centers. 
 		/* List<String> slotsAddedRegCenters = batchServiceDAO.findRegCenter(LocalDate.now());
 		slotsAddedRegCenters.stream().filter(regCenterId ->  !processingRegCentersList.contains(regCenterId))
-									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId, cancelledTracker, notifierTracker)); */
+									 .forEach(regCenterId -> purgeExpiredRegCenterSlots(regCenterId, tracker)); */
 		
+		// notifications failed in earlier runs, then waiting for all the notifications of the partition.
+		cancelAndNotifyHelper.retryFailedNotifications(partName, tracker);
+		cancelAndNotifyHelper.awaitNotifications(tracker, partName);
 		// Printing the cancelled & notification status
-		printCancelNotifyStatus(cancelledTracker, "CANCEL-TRACKER");
-		printCancelNotifyStatus(notifierTracker, "NOTIFY-TRACKER");
+		printCancelNotifyStatus(tracker.getCancelledTracker(), "CANCEL-TRACKER");
+		printCancelNotifyStatus(tracker.getNotifierTracker(), "NOTIFY-TRACKER");
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 						"Total Unique Registration Centers Found...");
-		idsHolder.printAllRegCenterIds();
+		RegCenterIdsHolder.getInstance().printAllRegCenterIds();
+		int regCentersProcessed = procCounter.get() - 1;
 		if (errorredRegCenters.size() > 0) {
 			String regCenterIds = String.join(",", errorredRegCenters);
 			restHelper.sendAuditDetails(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
 						"Add Availability Slots Failed, List of Reg Centers.", AuditLogVariables.NO_ID.toString(), 
 						auditUserId, auditUsername, regCenterIds, AuditLogVariables.BOOK.toString(), AuditLogVariables.BOOKING_SERVICE.toString());
-			return;
+			return regCentersProcessed;
 		}
 		// No Reg Center has resulted in Error.
 		restHelper.sendAuditDetails(EventId.PRE_407.toString(), EventName.PERSIST.toString(), EventType.SYSTEM.toString(),
 						"Add Availability Slots Successfull.", AuditLogVariables.MULTIPLE_ID.toString(), 
 						auditUserId, auditUsername, PreRegBatchContants.EMPTY, AuditLogVariables.BOOK.toString(), 
 						AuditLogVariables.BOOKING_SERVICE.toString());
+		return regCentersProcessed;
     }
 
 	private void checkAndSaveEmptySlot(RegistrationCenterDto regCenterDetails, List<AvailibityEntity> slotsAvailableList, 
-				LocalDate slotGenCurrentDay, String logIdentifier, Map<String, Boolean> cancelledTracker,
-				Map<String, Boolean> notifierTracker) {
+				LocalDate slotGenCurrentDay, String logIdentifier, List<RegistrationBookingEntity> bookingsToCancel) {
 		
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 					"Processing For holiday date: " + slotGenCurrentDay);
@@ -205,7 +293,7 @@ public class SlotAvailabilityGenerator {
 			// TODO - Check with Team what needs to be done if case time did not match.
 			// Should we implement cancellation & notification logic here.
 			// For now just deleting the existing record and inserting empty slot.
-			batchServiceDAO.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
+			slotWriter.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
 			batchDBHelper.saveAvailability(regCenterDetails.getId(), regCenterDetails.getContactPerson(),
 					PreRegBatchContants.ZERO_KIOSK, slotGenCurrentDay, midnightTime, midnightTime);
 			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
@@ -219,10 +307,8 @@ public class SlotAvailabilityGenerator {
 																			slotGenCurrentDay);
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 						"Total Number of bookings available on the day: " + regBookingEntityList.size());
-		regBookingEntityList.stream().forEach(bookedSlot -> {
-			cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, logIdentifier, cancelledTracker, notifierTracker);
-		});
-		batchServiceDAO.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
+		bookingsToCancel.addAll(regBookingEntityList);
+		slotWriter.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
 		batchDBHelper.saveAvailability(regCenterDetails.getId(), regCenterDetails.getContactPerson(),
 				PreRegBatchContants.ZERO_KIOSK, slotGenCurrentDay, midnightTime, midnightTime);
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
@@ -309,7 +395,7 @@ public class SlotAvailabilityGenerator {
 		if (slotAvailibityEntity.getFromTime().equals(midnightTime) && 
 				slotAvailibityEntity.getToTime().equals(midnightTime)) {
 			
-			batchServiceDAO.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
+			slotWriter.deleteSlots(regCenterDetails.getId(), slotGenCurrentDay);
 			calculateFullDaySlotsAndSave(regCenterDetails, slotGenCurrentDay, logIdentifier);
 			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 					"Purged existing one holiday slot & Processed For Full Day Slots for date: " + slotGenCurrentDay);
@@ -324,8 +410,7 @@ public class SlotAvailabilityGenerator {
 	}
 
 	private void checkAndReCalculateFullDaySlotsThenSave(RegistrationCenterDto regCenterDetails, LocalDate slotGenCurrentDay, 
-					String logIdentifier, List<AvailibityEntity> slotsAvailableList, Map<String, Boolean> cancelledTracker,
-					Map<String, Boolean> notifierTracker) {
+					String logIdentifier, List<AvailibityEntity> slotsAvailableList, List<RegistrationBookingEntity> bookingsToCancel) {
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 				"Checking existing slots for change in start, lunch & end time for date: " + slotGenCurrentDay);
 		
@@ -390,7 +475,7 @@ public class SlotAvailabilityGenerator {
 			// slotCalculatedTime   = 09:30
 			// add new slots from 09:00 to 09:30 -> 30 mins
 			recalculateSlots(centerStartTime, firstSlotStartTime, regCenterDetails, slotGenCurrentDay, logIdentifier, 
-							cancelledTracker, notifierTracker);
+							bookingsToCancel);
 		}
 		// End Time.
 		if (!centerEndTime.equals(lastSlotEndTime)) {
@@ -403,7 +488,7 @@ public class SlotAvailabilityGenerator {
 			// cancel/notify the slots from 17:00 to 17:30 -> 30 mins.
 			// just goes reverse here.... but need to validate the scenario. 
 			recalculateSlots(lastSlotEndTime, centerEndTime, regCenterDetails, slotGenCurrentDay, logIdentifier, 
-							cancelledTracker, notifierTracker);
+							bookingsToCancel);
 		}
 
 		// Scenario - Previously no lunch hours configured, now configured lunch hours.
@@ -415,18 +500,14 @@ public class SlotAvailabilityGenerator {
 													slotGenCurrentDay, centerLunchStartTime, centerLunchEndTime);
 				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 									"Total Number of bookings available between hours(lunch hours): " + regBookingEntityList.size());
-				final AtomicInteger counter = new AtomicInteger();
-				regBookingEntityList.stream().forEach(bookedSlot -> {
-					LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-									"Cancelling Application for PreReg Id(lunch hours): " + bookedSlot.getPreregistrationId());
-					counter.incrementAndGet();
-					cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, logIdentifier, cancelledTracker, notifierTracker);
-				});
+				bookingsToCancel.addAll(regBookingEntityList);
 				LocalTime newCenterLunchEndTime = centerLunchEndTime.minusMinutes(1);
-				int deleted = batchServiceDAO.deleteSlotsBetweenHours(regCenterDetails.getId(), slotGenCurrentDay, 
+				long deleted = slotsAvailableList.stream().filter(slot -> !slot.getFromTime().isBefore(centerLunchStartTime)
+										&& !slot.getFromTime().isAfter(newCenterLunchEndTime)).count();
+				slotWriter.deleteSlotsBetweenHours(regCenterDetails.getId(), slotGenCurrentDay, 
 										centerLunchStartTime, newCenterLunchEndTime);
 				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-									"Total Number of bookings cancel & notified between hours(lunch hours): " + counter.get());
+									"Total Number of bookings to cancel & notify between hours(lunch hours): " + regBookingEntityList.size());
 				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 									"Total Number of slots deleted(lunch hours): " + deleted);
 				batchDBHelper.saveAvailability(regCenterDetails.getId(), regCenterDetails.getContactPerson(),
@@ -440,7 +521,7 @@ public class SlotAvailabilityGenerator {
 			// previously lunch hours configured, updated now as no lunch hours (removed lunch hours)
 			// add new slots for the lunch hour.
 			if (centerLunchStartTime.equals(midnightTime) && centerLunchStartTime.equals(centerLunchEndTime)) {
-				batchServiceDAO.deleteSlotForStartTimeEndTime(regCenterDetails.getId(), slotGenCurrentDay, lunchSlotStartTime, lunchSlotEndTime);
+				slotWriter.deleteSlotForStartTimeEndTime(regCenterDetails.getId(), slotGenCurrentDay, lunchSlotStartTime, lunchSlotEndTime);
 				int totalSlotAdded = calculateAndSaveSlot(lunchSlotStartTime, lunchSlotEndTime, regCenterDetails.getPerKioskProcessTime(), 
 											regCenterDetails, slotGenCurrentDay, logIdentifier);
 				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
@@ -454,7 +535,7 @@ public class SlotAvailabilityGenerator {
 				// slotCalculatedTime  = 13:30 (lunchSlotStartTime)
 				// cancel/notify the slots from 13:00 to 13:30 -> 30 mins.
 				recalculateSlots(lunchSlotStartTime, centerLunchStartTime, regCenterDetails, slotGenCurrentDay, logIdentifier, 
-								cancelledTracker, notifierTracker);
+								bookingsToCancel);
 			}
 		}
 
@@ -469,14 +550,13 @@ public class SlotAvailabilityGenerator {
 				// slotCalculatedTime  = 14:00 (lunchSlotStartTime)
 				// add new slots from 13:30 to 14:00 -> 30 mins.
 				recalculateSlots(centerLunchEndTime, lunchSlotEndTime, regCenterDetails, slotGenCurrentDay, logIdentifier, 
-								cancelledTracker, notifierTracker);
+								bookingsToCancel);
 			}
 		}
 	}
 
 	private void recalculateSlots(LocalTime centerConfiguredTime, LocalTime slotCalculatedTime, RegistrationCenterDto regCenterDetails, 
-					LocalDate slotGenCurrentDay, String logIdentifier, Map<String, Boolean> cancelledTracker,
-					Map<String, Boolean> notifierTracker) {
+					LocalDate slotGenCurrentDay, String logIdentifier, List<RegistrationBookingEntity> bookingsToCancel) {
 		
 		long diffMins = MINUTES.between(centerConfiguredTime, slotCalculatedTime);
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
@@ -487,16 +567,10 @@ public class SlotAvailabilityGenerator {
 												slotGenCurrentDay, slotCalculatedTime, centerConfiguredTime);
 			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
 								"Total Number of bookings available between hours: " + regBookingEntityList.size());
-			final AtomicInteger counter = new AtomicInteger();
-			regBookingEntityList.stream().forEach(bookedSlot -> {
-				LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-								"Cancelling Application for PreReg Id: " + bookedSlot.getPreregistrationId());
-				counter.incrementAndGet();
-				cancelAndNotifyHelper.cancelAndNotifyApplicant(bookedSlot, logIdentifier, cancelledTracker, notifierTracker);
-			});
-			batchServiceDAO.deleteSlotsBetweenHours(regCenterDetails.getId(), slotGenCurrentDay, slotCalculatedTime, centerConfiguredTime);
+			bookingsToCancel.addAll(regBookingEntityList);
+			slotWriter.deleteSlotsBetweenHours(regCenterDetails.getId(), slotGenCurrentDay, slotCalculatedTime, centerConfiguredTime);
 			LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, logIdentifier, 
-								"Total Number of bookings cancel & notified between hours: " + counter.get());
+								"Total Number of bookings to cancel & notify between hours: " + regBookingEntityList.size());
 			return;
 		} 
 		int totalSlotAdded = calculateAndSaveSlot(centerConfiguredTime, slotCalculatedTime, regCenterDetails.getPerKioskProcessTime(), 
@@ -532,4 +606,48 @@ public class SlotAvailabilityGenerator {
 		});
 	}
 
+	/**
+	 * The registration centers claimed from the work queue by a worker, a batch at
+	 * a time, with the holidays of the batch.
+	 */
+	private class ClaimedRegCenters implements Supplier<RegistrationCenterDto> {
+
+		private final RegCenterWorkQueue workQueue;
+
+		private final Queue<RegistrationCenterDto> claimed = new ArrayDeque<>();
+
+		private Map<String, List<String>> holidaysLists = new HashMap<>();
+
+		private RuntimeException holidaysError;
+
+		ClaimedRegCenters(RegCenterWorkQueue workQueue) {
+			this.workQueue = workQueue;
+		}
+
+		@Override
+		public RegistrationCenterDto get() {
+			if (claimed.isEmpty()) {
+				List<RegistrationCenterDto> regCenters = workQueue.poll(Math.max(queueClaimSize, 1));
+				claimed.addAll(regCenters);
+				holidaysLists = new HashMap<>();
+				holidaysError = null;
+				if (!regCenters.isEmpty()) {
+					try {
+						holidaysLists = restHelper.getRegistrationHolidayLists(regCenters, noOfDaysToSync);
+					} catch (RuntimeException exp) {
+						holidaysError = exp;
+					}
+				}
+			}
+			return claimed.poll();
+		}
+
+		List<String> getHolidays(RegistrationCenterDto regCenter) {
+			// the centers of a batch without holidays are errorred, and generated again in the next run.
+			if (Objects.nonNull(holidaysError)) {
+				throw holidaysError;
+			}
+			return holidaysLists.getOrDefault(regCenter.getId(), new ArrayList<>());
+		}
+	}
 }
@@ -8,11 +8,14 @@ import java.util.Map;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.MasterDataCalendarCache;
 import io.mosip.preregistration.batchjob.helper.RegCenterIdsHolder;
+import io.mosip.preregistration.batchjob.helper.RegCenterWorkQueue;
 import io.mosip.preregistration.batchjob.helper.RestHelper;
 import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
@@ -28,8 +31,24 @@ public class SlotAvailabilityPartitioner implements Partitioner {
     
     private Logger LOGGER = LoggerConfiguration.logConfig(SlotAvailabilityPartitioner.class);
 
+    private static final String QUEUE_MODE = "queue";
+
     @Autowired
 	private RestHelper restHelper;
+
+    @Autowired
+	private MasterDataCalendarCache calendarCache;
+
+    @Autowired
+	private RegCenterWorkQueue workQueue;
+
+    /**
+	 * pages: each partition gets a fixed range of master data pages; queue: the
+	 * registration centers are loaded into a work queue drained by all the
+	 * partitions
+	 */
+    @Value("${preregistration.slots.generate.partition.mode:queue}")
+	private String partitionMode;
     
     @Override
 	public Map<String, ExecutionContext> partition(int gridSize) {
@@ -44,11 +63,17 @@ public class SlotAvailabilityPartitioner implements Partitioner {
         LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY,
                         "Ids after deleting all elements");
         idsHolder.printAllRegCenterIds();
+        // calendars are cached for one run only.
+        calendarCache.clear();
 
         int totalNoOfPages = restHelper.getRegistrationCenterTotalPages();
 		LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
 		 				"Total Number of Pages Found in Master Data: <" + totalNoOfPages + ">");
 
+        if (QUEUE_MODE.equalsIgnoreCase(partitionMode)) {
+            return queuePartitions(totalNoOfPages, gridSize, idsHolder);
+        }
+
         //List<RegistrationCenterDto> regCentersList = restHelper.getRegistrationCenterDetails(null);
         //int regCentersCount = regCentersList.size();
         int partitionSize = getPartitionSize(totalNoOfPages, gridSize);
@@ -80,6 +105,29 @@ public class SlotAvailabilityPartitioner implements Partitioner {
         return regCentersMap;
     }
 
+    private Map<String, ExecutionContext> queuePartitions(int totalNoOfPages, int gridSize, RegCenterIdsHolder idsHolder) {
+        Map<String, ExecutionContext> workersMap = new HashMap<String, ExecutionContext>(gridSize);
+
+        List<String> pageNos = new ArrayList<>();
+        for (int i = 0; i < totalNoOfPages; i++) {
+            pageNos.add(Integer.toString(i));
+        }
+        List<RegistrationCenterDto> regCentersList = restHelper.getRegistrationCenterDetails(pageNos, idsHolder);
+        workQueue.load(regCentersList);
+        int noOfWorkers = Math.min(gridSize, regCentersList.size());
+        LOGGER.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.EMPTY, 
+		 				"Total Number of registration centers queued: <" + regCentersList.size() + 
+                         ">, GridSize Configured: <" + gridSize + ">, workers:: <" + noOfWorkers + ">");
+
+        for (int i = 0; i < noOfWorkers; i++) {
+            ExecutionContext execContext = new ExecutionContext();
+            execContext.putString("workQueue", Boolean.TRUE.toString());
+            execContext.putString("name", "regCenterWorker-" + i);
+            workersMap.put("regCenterPartition" + i, execContext);
+        }
+        return workersMap;
+    }
+
     private int getPartitionSize(int regCentersCount, int gridSize) {
 
         if (regCentersCount <= gridSize)
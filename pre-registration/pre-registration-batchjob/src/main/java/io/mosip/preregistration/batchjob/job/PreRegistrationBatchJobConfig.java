@@ -4,10 +4,15 @@
  */
 package io.mosip.preregistration.batchjob.job;
 
+import java.util.Collections;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
@@ -15,18 +20,25 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.impl.ApplicationConsumedStatusWriter;
 import io.mosip.preregistration.batchjob.impl.SlotAvailabilityPartitioner;
 import io.mosip.preregistration.batchjob.tasklets.ApplicationsBookingCheckTasklet;
 import io.mosip.preregistration.batchjob.tasklets.AvailabilitySyncTasklet;
-import io.mosip.preregistration.batchjob.tasklets.ConsumedStatusTasklet;
 import io.mosip.preregistration.batchjob.tasklets.ExpiredStatusTasklet;
+import io.mosip.preregistration.batchjob.tasklets.OtpPurgeTasklet;
 import io.mosip.preregistration.batchjob.tasklets.PurgeExpiredRegCentersSlotsTasklet;
 
 /**
@@ -47,21 +59,72 @@ public class PreRegistrationBatchJobConfig {
 	@Autowired
 	private StepBuilderFactory stepBuilderFactory;
 
+	/**
+	 * Number of processed pre registration ids read and committed at a time by
+	 * the consumed status step
+	 */
+	@Value("${preregistration.batch.consumed.chunk-size:100}")
+	private int consumedChunkSize;
+
+	@Value("${preregistration.batch.consumed.retry-limit:3}")
+	private int consumedRetryLimit;
+
+	@Value("${preregistration.batch.consumed.skip-limit:100}")
+	private int consumedSkipLimit;
+
+	@Autowired
+	private DataSource dataSource;
+
 	@Autowired
-	private ConsumedStatusTasklet consumedStatusTasklet;
+	private ApplicationConsumedStatusWriter consumedStatusWriter;
 
 	@Autowired
 	private PurgeExpiredRegCentersSlotsTasklet purgeRegCenterSlotsTasklet;
 
 	@Autowired
 	private ExpiredStatusTasklet expiredStatusTasklet;
+
+	@Autowired
+	private OtpPurgeTasklet otpPurgeTasklet;
 	
 	@Autowired
 	private ApplicationsBookingCheckTasklet applicationBookingCheckTasklet;
 
 	@Bean
 	public Step consumedStatusStep() {
-		return stepBuilderFactory.get("consumedStatusStep").tasklet(consumedStatusTasklet).build();
+		return stepBuilderFactory.get("consumedStatusStep").<String, String>chunk(consumedChunkSize)
+								 .reader(consumedPreRegIdsReader())
+								 .writer(consumedStatusWriter)
+								 .faultTolerant()
+								 .retry(TransientDataAccessException.class)
+								 .retryLimit(consumedRetryLimit)
+								 .skip(DataAccessException.class)
+								 .skipLimit(consumedSkipLimit)
+								 .listener((StepExecutionListener) consumedStatusWriter)
+								 .listener((SkipListener<String, String>) consumedStatusWriter)
+								 .build();
+	}
+
+	/**
+	 * Reads the processed pre registration ids not consumed yet, a page per
+	 * chunk. A committed chunk is marked consumed, so the reader does not keep
+	 * its position: a run after a failure starts from the ids left.
+	 */
+	@Bean
+	@StepScope
+	public JdbcPagingItemReader<String> consumedPreRegIdsReader() {
+		return new JdbcPagingItemReaderBuilder<String>().name("consumedPreRegIdsReader")
+								 .dataSource(dataSource)
+								 .selectClause("SELECT prereg_id")
+								 .fromClause("FROM prereg.processed_prereg_list")
+								 .whereClause("WHERE status_comments = :statusComments")
+								 .parameterValues(Collections.singletonMap("statusComments", 
+								 		PreRegBatchContants.PROCESSED_STATUS_COMMENTS))
+								 .sortKeys(Collections.singletonMap("prereg_id", Order.ASCENDING))
+								 .rowMapper((resultSet, rowNum) -> resultSet.getString("prereg_id"))
+								 .pageSize(consumedChunkSize)
+								 .saveState(false)
+								 .build();
 	}
 
 	@Bean
@@ -74,6 +137,13 @@ public class PreRegistrationBatchJobConfig {
 		return stepBuilderFactory.get("expiredStatusStep").tasklet(expiredStatusTasklet).build();
 	}
 
+	@Bean
+	public Step otpPurgeStep() {
+		return stepBuilderFactory.get("otpPurgeStep").tasklet(otpPurgeTasklet)
+								 .listener((StepExecutionListener) otpPurgeTasklet)
+								 .build();
+	}
+
 	@Bean
 	public Step updateBookingInApplicationsStep() {
 		return stepBuilderFactory.get("updateBookingInApplicationsStep").tasklet(applicationBookingCheckTasklet).build();
@@ -97,6 +167,12 @@ public class PreRegistrationBatchJobConfig {
 				.start(expiredStatusStep()).build();
 	}
 
+	@Bean
+	public Job otpPurgeJob() {
+		return this.jobBuilderFactory.get("otpPurgeJob").incrementer(new RunIdIncrementer())
+				.start(otpPurgeStep()).build();
+	}
+
 	@Bean
 	public Job updateApplicationForBookingCheckJob() {
 		return this.jobBuilderFactory.get("updateApplicationForBookingCheckJob").incrementer(new RunIdIncrementer())
@@ -130,7 +206,7 @@ public class PreRegistrationBatchJobConfig {
 	@Bean
 	public Step slaveSlotGenerationStep() {
 		return stepBuilderFactory.get("slaveSlotGenerationStep")
-								 .tasklet(slotGenerateTasklet(null, null))
+								 .tasklet(slotGenerateTasklet(null, null, null))
 								 .build();
 	}
 
@@ -138,16 +214,21 @@ public class PreRegistrationBatchJobConfig {
 	@Bean
 	@StepScope
 	public Tasklet slotGenerateTasklet(@Value("#{stepExecutionContext['name']}") String name, 
-									   @Value("#{stepExecutionContext['regCenterIdsPartList']}") Object regCenterIdsPartListObj) {
+									   @Value("#{stepExecutionContext['regCenterIdsPartList']}") Object regCenterIdsPartListObj,
+									   @Value("#{stepExecutionContext['workQueue']}") String workQueue) {
 		List<String> regCenterPartList = (List<String>) regCenterIdsPartListObj;
-		AvailabilitySyncTasklet slotGeneratorTasklet = new AvailabilitySyncTasklet(name, regCenterPartList);
+		AvailabilitySyncTasklet slotGeneratorTasklet = new AvailabilitySyncTasklet(name, regCenterPartList, 
+									   Boolean.parseBoolean(workQueue));
 		return slotGeneratorTasklet;
 	}
 
 	@Bean 
 	public TaskExecutor taskExecutor(){
-		SimpleAsyncTaskExecutor asyncTaskExecutor = new SimpleAsyncTaskExecutor("SlotGenerator");
-		asyncTaskExecutor.setConcurrencyLimit(concurrencyLimit);
-		return asyncTaskExecutor;
+		// pooled, so that the slot generation threads are reused from run to run.
+		ThreadPoolTaskExecutor poolTaskExecutor = new ThreadPoolTaskExecutor();
+		poolTaskExecutor.setThreadNamePrefix("SlotGenerator");
+		poolTaskExecutor.setCorePoolSize(concurrencyLimit);
+		poolTaskExecutor.setMaxPoolSize(concurrencyLimit);
+		return poolTaskExecutor;
 	}
 }
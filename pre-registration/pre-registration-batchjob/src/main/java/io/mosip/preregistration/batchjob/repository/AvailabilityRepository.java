@@ -96,6 +96,16 @@ public interface AvailabilityRepository extends BaseRepository<AvailibityEntity,
 	public List<AvailibityEntity> findAvaialableSlots(LocalDate regDate, String regcntrId);
 	
 	
+	/**
+	 * 
+	 * @param regcntrId
+	 * @param fromDate
+	 * @param toDate
+	 * @return list of AvailibityEntity from fromDate (inclusive) to toDate (exclusive)
+	 */
+	@Query("SELECT e FROM AvailibityEntity e  WHERE e.regcntrId= ?1 and e.regDate>= ?2 and e.regDate< ?3 order by e.regDate, e.fromTime ")
+	public List<AvailibityEntity> findAvaialableSlots(String regcntrId, LocalDate fromDate, LocalDate toDate);
+	
 	/**
 	 * 
 	 * @param regDate
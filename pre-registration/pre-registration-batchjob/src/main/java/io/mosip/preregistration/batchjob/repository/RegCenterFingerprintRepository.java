@@ -0,0 +1,24 @@
+/*
+ * Copyright
+ *
+ */
+package io.mosip.preregistration.batchjob.repository;
+
+import org.springframework.stereotype.Repository;
+
+import io.mosip.kernel.core.dataaccess.spi.repository.BaseRepository;
+import io.mosip.preregistration.batchjob.entity.RegCenterFingerprintEntity;
+
+/**
+ * This repository interface is used to define the JPA methods for the
+ * registration center fingerprints.
+ *
+ * @since 1.2.0
+ *
+ */
+@Repository("regCenterFingerprintRepository")
+public interface RegCenterFingerprintRepository extends BaseRepository<RegCenterFingerprintEntity, String> {
+
+	RegCenterFingerprintEntity findByRegcntrId(String regcntrId);
+
+}
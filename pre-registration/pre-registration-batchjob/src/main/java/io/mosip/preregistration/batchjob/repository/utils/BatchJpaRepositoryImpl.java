@@ -2,7 +2,10 @@ package io.mosip.preregistration.batchjob.repository.utils;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,6 +19,7 @@ import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
 import io.mosip.preregistration.batchjob.entity.DemographicEntityConsumed;
 import io.mosip.preregistration.batchjob.entity.DocumentEntityConsumed;
 import io.mosip.preregistration.batchjob.entity.ProcessedPreRegEntity;
+import io.mosip.preregistration.batchjob.entity.RegCenterFingerprintEntity;
 import io.mosip.preregistration.batchjob.entity.RegistrationBookingEntityConsumed;
 import io.mosip.preregistration.batchjob.exception.NoPreIdAvailableException;
 import io.mosip.preregistration.batchjob.repository.ApplicationRepository;
@@ -27,6 +31,7 @@ import io.mosip.preregistration.batchjob.repository.DocumentRespository;
 import io.mosip.preregistration.batchjob.repository.ProcessedPreIdRepository;
 import io.mosip.preregistration.batchjob.repository.RegAppointmentConsumedRepository;
 import io.mosip.preregistration.batchjob.repository.RegAppointmentRepository;
+import io.mosip.preregistration.batchjob.repository.RegCenterFingerprintRepository;
 import io.mosip.preregistration.core.code.StatusCodes;
 import io.mosip.preregistration.core.common.entity.ApplicationEntity;
 import io.mosip.preregistration.core.common.entity.DemographicEntity;
@@ -85,6 +90,10 @@ public class BatchJpaRepositoryImpl {
 	@Qualifier("regAppointmentConsumedRepository")
 	private RegAppointmentConsumedRepository appointmentConsumedRepository;
 
+	@Autowired
+	@Qualifier("regCenterFingerprintRepository")
+	private RegCenterFingerprintRepository regCenterFingerprintRepository;
+
 	/**
 	 * Autowired reference for {@link #documentRespository}
 	 */
@@ -463,6 +472,23 @@ public class BatchJpaRepositoryImpl {
 		return localDatList;
 	}
 
+	/**
+	 * 
+	 * @param regID
+	 * @param fromDate
+	 * @param toDate
+	 * @return AvailibityEntity list by date, from fromDate (inclusive) to toDate (exclusive)
+	 */
+	public Map<LocalDate, List<AvailibityEntity>> findSlotsByDate(String regID, LocalDate fromDate, LocalDate toDate) {
+		try {
+			return availabilityRepository.findAvaialableSlots(regID, fromDate, toDate).stream()
+					.collect(Collectors.groupingBy(AvailibityEntity::getRegDate, HashMap::new, Collectors.toList()));
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_013.getCode(),
+					ErrorMessages.AVAILABILITY_TABLE_NOT_ACCESSABLE.getMessage());
+		}
+	}
+
 	/**
 	 * 
 	 * @param regId
@@ -537,6 +563,32 @@ public class BatchJpaRepositoryImpl {
 		return availabilityRepository.save(entity);
 	}
 
+	/**
+	 * @param regId
+	 * @return the fingerprint of the registration center, null if not found
+	 */
+	public RegCenterFingerprintEntity findRegCenterFingerprint(String regId) {
+		try {
+			return regCenterFingerprintRepository.findByRegcntrId(regId);
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_020.getCode(),
+					ErrorMessages.REG_CENTER_FINGERPRINT_TABLE_NOT_ACCESSIBLE.getMessage());
+		}
+	}
+
+	/**
+	 * @param entity
+	 * @return saved RegCenterFingerprintEntity
+	 */
+	public RegCenterFingerprintEntity saveRegCenterFingerprint(RegCenterFingerprintEntity entity) {
+		try {
+			return regCenterFingerprintRepository.save(entity);
+		} catch (DataAccessLayerException e) {
+			throw new TableNotAccessibleException(ErrorCodes.PRG_PAM_BAT_020.getCode(),
+					ErrorMessages.REG_CENTER_FINGERPRINT_TABLE_NOT_ACCESSIBLE.getMessage());
+		}
+	}
+
 	public void flushAvailability() {
 		log.info("Flushing Availability...");
 		availabilityRepository.flush();
@@ -59,6 +59,9 @@ public class PreregistrationBatchJobScheduler {
 	@Autowired
 	private Job purgeExpiredSlotsJob;
 
+	@Autowired
+	private Job otpPurgeJob;
+
 	@Scheduled(cron = "${preregistration.job.schedule.cron.consumedStatusJob}")
 	public void consumedStatusScheduler() {
 
@@ -146,4 +149,18 @@ public class PreregistrationBatchJobScheduler {
 			LOGGER.error(LOGDISPLAY, "Applications Booking  Status Job failed to read data from service", e.getMessage(),null);
 		}
 	}
+
+	@Scheduled(cron = "${preregistration.job.schedule.cron.otpPurgeJob:0 30 0 * * ?}")
+	public void otpPurgeScheduler() {
+
+		JobParameters jobParam = new JobParametersBuilder().addLong("otpPurgeJobTime", System.currentTimeMillis())
+				.toJobParameters();
+		try {
+			JobExecution jobExecution = jobLauncher.run(otpPurgeJob, jobParam);
+			LOGGER.info(LOGDISPLAY, JOB_STATUS, jobExecution.getId().toString(), jobExecution.getStatus().toString());
+		} catch (JobExecutionAlreadyRunningException | JobRestartException | JobInstanceAlreadyCompleteException
+				| JobParametersInvalidException e) {
+			LOGGER.error(LOGDISPLAY, "OTP purge Job failed to delete the expired OTP transactions", e.getMessage(),null);
+		}
+	}
 }
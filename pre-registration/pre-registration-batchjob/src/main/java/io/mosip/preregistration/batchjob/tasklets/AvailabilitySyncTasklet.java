@@ -11,10 +11,13 @@ import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RegCenterWorkQueue;
 import io.mosip.preregistration.batchjob.impl.SlotAvailabilityGenerator;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
 
@@ -29,16 +32,34 @@ public class AvailabilitySyncTasklet implements Tasklet {
 
 	@Autowired
 	private SlotAvailabilityGenerator availabilityGenerator;
+
+	@Autowired
+	private RegCenterWorkQueue regCenterWorkQueue;
 	
 	private Logger log = LoggerConfiguration.logConfig(AvailabilitySyncTasklet.class);
 
+	private static final String THROUGHPUT_KEY = "slotGeneration.";
+
 	private List<String> partRegCentersList;
 
 	private String name;
 
+	private boolean workQueue;
+
 	public AvailabilitySyncTasklet(String name, List<String> partRegCentersList) {
+		this(name, partRegCentersList, false);
+	}
+
+	/**
+	 * @param name               name of the partition
+	 * @param partRegCentersList master data page numbers of the partition
+	 * @param workQueue          true to take the registration centers from the
+	 *                           work queue instead of the pages
+	 */
+	public AvailabilitySyncTasklet(String name, List<String> partRegCentersList, boolean workQueue) {
 		this.name = name;
 		this.partRegCentersList = partRegCentersList;
+		this.workQueue = workQueue;
 	}
 
 	/* (non-Javadoc)
@@ -47,8 +68,12 @@ public class AvailabilitySyncTasklet implements Tasklet {
 	@Override
 	public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
 		
+		long startTime = System.currentTimeMillis();
 		try {
-			availabilityGenerator.generateRegistrationAvailabilitySlots(name, partRegCentersList);
+			int regCentersProcessed = workQueue
+					? availabilityGenerator.generateRegistrationAvailabilitySlots(name, regCenterWorkQueue)
+					: availabilityGenerator.generateRegistrationAvailabilitySlots(name, partRegCentersList);
+			recordThroughput(chunkContext, regCentersProcessed, System.currentTimeMillis() - startTime);
 		} catch (Exception e) {
 			log.error("Sync master ", " Tasklet ", " encountered exception ", e.getMessage());
 			contribution.setExitStatus(new ExitStatus(e.getMessage()));
@@ -57,4 +82,19 @@ public class AvailabilitySyncTasklet implements Tasklet {
 		return RepeatStatus.FINISHED;
 	}
 
+	/**
+	 * Adds the number of registration centers processed by the partition and the
+	 * time it took to the job execution context, to compare the partitions.
+	 */
+	private void recordThroughput(ChunkContext chunkContext, int regCentersProcessed, long timeMillis) {
+		ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+				.getExecutionContext();
+		double regCentersPerMinute = timeMillis == 0 ? 0 : regCentersProcessed * 60000d / timeMillis;
+		jobContext.putInt(THROUGHPUT_KEY + name + ".regCenters", regCentersProcessed);
+		jobContext.putLong(THROUGHPUT_KEY + name + ".timeMillis", timeMillis);
+		jobContext.putDouble(THROUGHPUT_KEY + name + ".regCentersPerMinute", regCentersPerMinute);
+		log.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, name, "Registration centers processed: "
+				+ regCentersProcessed + ", Time(In millis): " + timeMillis + ", per minute: " + regCentersPerMinute);
+	}
+
 }
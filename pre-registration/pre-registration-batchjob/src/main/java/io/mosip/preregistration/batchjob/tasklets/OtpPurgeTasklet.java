@@ -0,0 +1,76 @@
+package io.mosip.preregistration.batchjob.tasklets;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.impl.OtpTransactionPurger;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * This class is a tasklet of batch job to delete the expired OTP transactions.
+ * Each execution deletes a chunk of rows and is committed on its own; the step
+ * repeats it until a chunk is not full. The rows deleted and the step duration
+ * are recorded as metrics.
+ *
+ * @since 1.2.0
+ *
+ */
+@Component
+public class OtpPurgeTasklet implements Tasklet, StepExecutionListener {
+
+	private static final String METRIC_PREFIX = "preregistration.batch.otp-purge";
+
+	@Autowired
+	private OtpTransactionPurger otpTransactionPurger;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Logger log = LoggerConfiguration.logConfig(OtpPurgeTasklet.class);
+
+	@Override
+	public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+
+		try {
+			int purged = otpTransactionPurger.purgeChunk();
+			contribution.incrementWriteCount(purged);
+			meterRegistry.counter(METRIC_PREFIX + ".rows").increment(purged);
+			return purged >= otpTransactionPurger.getChunkSize() ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED;
+		} catch (Exception e) {
+			log.error("OTP Purge ", " Tasklet ", " encountered exception ", e.getMessage());
+			contribution.setExitStatus(new ExitStatus(e.getMessage()));
+		}
+		return RepeatStatus.FINISHED;
+	}
+
+	@Override
+	public void beforeStep(StepExecution stepExecution) {
+		log.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.OTP_PURGE_JOB,
+				"Starting OTP transaction purge Job.");
+	}
+
+	@Override
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		long elapsed = Objects.nonNull(stepExecution.getStartTime())
+				? System.currentTimeMillis() - stepExecution.getStartTime().getTime()
+				: 0;
+		meterRegistry.timer(METRIC_PREFIX + ".duration").record(elapsed, TimeUnit.MILLISECONDS);
+		log.info(PreRegBatchContants.SESSIONID, PreRegBatchContants.PRE_REG_BATCH, PreRegBatchContants.OTP_PURGE_JOB,
+				"OTP transactions deleted: " + stepExecution.getWriteCount() + " in " + elapsed + " ms");
+		return null;
+	}
+
+}
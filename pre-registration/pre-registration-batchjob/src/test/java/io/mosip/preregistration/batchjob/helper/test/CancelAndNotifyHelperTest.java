@@ -0,0 +1,165 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.helper.CancelAndNotifyHelper;
+import io.mosip.preregistration.batchjob.helper.CancelNotifyTracker;
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue;
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue.PendingNotification;
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.core.common.entity.ApplicationEntity;
+import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+
+/**
+ * Test class to test the cancellations, the notifications queued for a retry
+ * and the retries of the cancel and notify helper
+ *
+ * @since 1.2.0
+ */
+public class CancelAndNotifyHelperTest {
+
+	private static final LocalDate APPOINTMENT_DATE = LocalDate.now().plusDays(2);
+
+	private static final LocalTime SLOT_FROM_TIME = LocalTime.of(9, 15);
+
+	private CancelAndNotifyHelper cancelAndNotifyHelper;
+
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	private RestHelper restHelper;
+
+	private NotificationRetryQueue retryQueue;
+
+	private CancelNotifyTracker tracker;
+
+	@Before
+	public void setup() {
+		batchServiceDAO = Mockito.mock(BatchJpaRepositoryImpl.class);
+		restHelper = Mockito.mock(RestHelper.class);
+		retryQueue = Mockito.mock(NotificationRetryQueue.class);
+		Mockito.when(batchServiceDAO.getBookedApplicantEntityDetails(Mockito.anyString())).thenReturn(new ApplicationEntity());
+		Mockito.when(restHelper.cancelBookedApplication(Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+		cancelAndNotifyHelper = new CancelAndNotifyHelper();
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "batchServiceDAO", batchServiceDAO);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "restHelper", restHelper);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "retryQueue", retryQueue);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "concurrency", 2);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "queueCapacity", 10);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "ratePerSecond", 0);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "awaitTimeoutSeconds", 5L);
+		cancelAndNotifyHelper.init();
+		tracker = new CancelNotifyTracker();
+	}
+
+	@After
+	public void tearDown() {
+		cancelAndNotifyHelper.destroy();
+	}
+
+	@Test
+	public void failedNotificationQueuedForRetryTest() {
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.eq("1"), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.eq("2"), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenReturn(false);
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.eq("3"), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenThrow(new IllegalStateException("notifier down"));
+
+		assertEquals(3, cancelAndNotifyHelper.cancelAndNotifyApplicants(Arrays.asList(booking("1"), booking("2"),
+				booking("3")), "test", tracker));
+		assertTrue(cancelAndNotifyHelper.awaitNotifications(tracker, "test"));
+
+		assertEquals(Boolean.TRUE, tracker.getNotifierTracker().get("1"));
+		assertEquals(Boolean.FALSE, tracker.getNotifierTracker().get("2"));
+		assertEquals(Boolean.FALSE, tracker.getNotifierTracker().get("3"));
+		Mockito.verify(retryQueue).enqueue("2", APPOINTMENT_DATE, SLOT_FROM_TIME, "eng");
+		Mockito.verify(retryQueue).enqueue("3", APPOINTMENT_DATE, SLOT_FROM_TIME, "eng");
+		Mockito.verifyNoMoreInteractions(retryQueue);
+	}
+
+	@Test
+	public void failedCancellationNotNotifiedTest() {
+		Mockito.when(restHelper.cancelBookedApplication(Mockito.eq("1"), Mockito.anyString())).thenReturn(false);
+
+		assertEquals(0, cancelAndNotifyHelper.cancelAndNotifyApplicants(Collections.singletonList(booking("1")), "test",
+				tracker));
+		assertTrue(cancelAndNotifyHelper.awaitNotifications(tracker, "test"));
+
+		assertEquals(Boolean.FALSE, tracker.getCancelledTracker().get("1"));
+		assertTrue(tracker.getNotifierTracker().isEmpty());
+		Mockito.verify(restHelper, Mockito.never()).sendCancelledNotification(Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+
+	@Test
+	public void retryFailedNotificationsTest() {
+		PendingNotification sent = pending("1");
+		PendingNotification failed = pending("2");
+		Mockito.when(retryQueue.claimDue()).thenReturn(Arrays.asList(sent, failed));
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.eq("1"), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.eq("2"), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenReturn(false);
+
+		cancelAndNotifyHelper.retryFailedNotifications("test", tracker);
+		assertTrue(cancelAndNotifyHelper.awaitNotifications(tracker, "test"));
+
+		Mockito.verify(restHelper).sendCancelledNotification("1", APPOINTMENT_DATE.toString(), SLOT_FROM_TIME.toString(),
+				"eng", "test");
+		Mockito.verify(retryQueue).sent("1");
+		Mockito.verify(retryQueue).attemptFailed(failed);
+		Mockito.verify(retryQueue, Mockito.never()).sent("2");
+		assertEquals(Boolean.FALSE, tracker.getNotifierTracker().get("2"));
+	}
+
+	@Test
+	public void awaitTimeoutTest() throws InterruptedException {
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "awaitTimeoutSeconds", 0L);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+
+		cancelAndNotifyHelper.cancelAndNotifyApplicants(Collections.singletonList(booking("1")), "test", tracker);
+
+		assertFalse(cancelAndNotifyHelper.awaitNotifications(tracker, "test"));
+		assertEquals(1, tracker.getPendingNotificationCount());
+		release.countDown();
+		assertTrue(tracker.awaitNotifications(TimeUnit.SECONDS.toMillis(5)));
+		assertEquals(Boolean.TRUE, tracker.getNotifierTracker().get("1"));
+	}
+
+	private RegistrationBookingEntity booking(String preRegId) {
+		RegistrationBookingEntity booking = new RegistrationBookingEntity();
+		booking.setPreregistrationId(preRegId);
+		booking.setRegDate(APPOINTMENT_DATE);
+		booking.setSlotFromTime(SLOT_FROM_TIME);
+		booking.setLangCode("eng");
+		return booking;
+	}
+
+	private PendingNotification pending(String preRegId) {
+		PendingNotification pending = Mockito.mock(PendingNotification.class);
+		Mockito.when(pending.getPreRegId()).thenReturn(preRegId);
+		Mockito.when(pending.getAppointmentDate()).thenReturn(APPOINTMENT_DATE);
+		Mockito.when(pending.getSlotFromTime()).thenReturn(SLOT_FROM_TIME);
+		Mockito.when(pending.getLangCode()).thenReturn("eng");
+		return pending;
+	}
+
+}
@@ -0,0 +1,97 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.helper.CancelAndNotifyHelper;
+import io.mosip.preregistration.batchjob.helper.CancelNotifyTracker;
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue;
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.core.common.entity.ApplicationEntity;
+import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+
+/**
+ * Test class to test the wait of a run for its pending notifications
+ *
+ * @since 1.2.0
+ */
+public class CancelNotifyTrackerTest {
+
+	private CancelAndNotifyHelper cancelAndNotifyHelper;
+
+	private RestHelper restHelper;
+
+	private CancelNotifyTracker tracker;
+
+	@Before
+	public void setup() {
+		BatchJpaRepositoryImpl batchServiceDAO = Mockito.mock(BatchJpaRepositoryImpl.class);
+		restHelper = Mockito.mock(RestHelper.class);
+		Mockito.when(batchServiceDAO.getBookedApplicantEntityDetails(Mockito.anyString())).thenReturn(new ApplicationEntity());
+		Mockito.when(restHelper.cancelBookedApplication(Mockito.anyString(), Mockito.anyString())).thenReturn(true);
+		cancelAndNotifyHelper = new CancelAndNotifyHelper();
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "batchServiceDAO", batchServiceDAO);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "restHelper", restHelper);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "retryQueue", Mockito.mock(NotificationRetryQueue.class));
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "concurrency", 1);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "queueCapacity", 10);
+		ReflectionTestUtils.setField(cancelAndNotifyHelper, "ratePerSecond", 0);
+		cancelAndNotifyHelper.init();
+		tracker = new CancelNotifyTracker();
+	}
+
+	@After
+	public void tearDown() {
+		cancelAndNotifyHelper.destroy();
+	}
+
+	@Test
+	public void noPendingNotificationTest() {
+		assertTrue(tracker.awaitNotifications(0));
+		assertEquals(0, tracker.getPendingNotificationCount());
+	}
+
+	@Test
+	public void awaitTimeoutKeepsPendingTest() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(restHelper.sendCancelledNotification(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+		cancelAndNotifyHelper.cancelAndNotifyApplicants(Collections.singletonList(booking("1")), "test", tracker);
+
+		long start = System.nanoTime();
+		assertFalse(tracker.awaitNotifications(200));
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(waitedMillis >= 200 && waitedMillis < 2000);
+		assertEquals(1, tracker.getPendingNotificationCount());
+		assertFalse(tracker.getNotifierTracker().containsKey("1"));
+
+		release.countDown();
+		assertTrue(tracker.awaitNotifications(TimeUnit.SECONDS.toMillis(5)));
+		assertEquals(0, tracker.getPendingNotificationCount());
+		assertEquals(Boolean.TRUE, tracker.getNotifierTracker().get("1"));
+	}
+
+	private RegistrationBookingEntity booking(String preRegId) {
+		RegistrationBookingEntity booking = new RegistrationBookingEntity();
+		booking.setPreregistrationId(preRegId);
+		booking.setRegDate(LocalDate.now().plusDays(2));
+		booking.setSlotFromTime(LocalTime.of(9, 15));
+		booking.setLangCode("eng");
+		return booking;
+	}
+
+}
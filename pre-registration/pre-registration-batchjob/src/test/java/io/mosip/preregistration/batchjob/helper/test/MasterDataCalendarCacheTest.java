@@ -0,0 +1,105 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.helper.MasterDataCalendarCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class to test the calendars kept, fetched again and dropped by the
+ * master data calendar cache
+ *
+ * @since 1.2.0
+ */
+public class MasterDataCalendarCacheTest {
+
+	private static final List<String> HOLIDAYS = Arrays.asList("2026-12-25", "2026-12-31");
+
+	private MasterDataCalendarCache calendarCache;
+
+	private AtomicInteger fetches;
+
+	@Before
+	public void setup() {
+		calendarCache = new MasterDataCalendarCache();
+		ReflectionTestUtils.setField(calendarCache, "ttlMinutes", 60L);
+		fetches = new AtomicInteger();
+	}
+
+	@Test
+	public void cachedWithinTtlTest() {
+		assertEquals(HOLIDAYS, calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block());
+		assertEquals(HOLIDAYS, calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block());
+		assertEquals(1, fetches.get());
+
+		// other holiday locations and years are kept apart
+		calendarCache.getHolidays("RBT", 2026, fetch(HOLIDAYS)).block();
+		calendarCache.getHolidays("KTA", 2027, fetch(HOLIDAYS)).block();
+		assertEquals(3, fetches.get());
+	}
+
+	@Test
+	public void fetchedAgainAfterTtlTest() {
+		ReflectionTestUtils.setField(calendarCache, "ttlMinutes", 0L);
+
+		calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block();
+		calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block();
+		calendarCache.getWorkingDays("10001", "eng", fetch(Arrays.asList("MON"))).block();
+		calendarCache.getWorkingDays("10001", "eng", fetch(Arrays.asList("MON"))).block();
+
+		assertEquals(4, fetches.get());
+	}
+
+	@Test
+	public void clearInvalidatesTest() {
+		calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block();
+		calendarCache.getWorkingDays("10001", "eng", fetch(Arrays.asList("MON", "TUE"))).block();
+
+		calendarCache.clear();
+
+		List<String> changedHolidays = Arrays.asList("2026-12-25");
+		assertEquals(changedHolidays, calendarCache.getHolidays("KTA", 2026, fetch(changedHolidays)).block());
+		assertEquals(Arrays.asList("MON"), calendarCache.getWorkingDays("10001", "eng", fetch(Arrays.asList("MON")))
+				.block());
+		assertEquals(4, fetches.get());
+	}
+
+	@Test
+	public void failedFetchNotCachedTest() {
+		assertNull(calendarCache.getHolidays("KTA", 2026, () -> {
+			fetches.incrementAndGet();
+			return Mono.empty();
+		}).block());
+
+		assertEquals(HOLIDAYS, calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block());
+		assertEquals(HOLIDAYS, calendarCache.getHolidays("KTA", 2026, fetch(HOLIDAYS)).block());
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void workingDaysKeptByLanguageTest() {
+		calendarCache.getWorkingDays("10001", "eng", fetch(Arrays.asList("MON"))).block();
+		calendarCache.getWorkingDays("10001", "ara", fetch(Arrays.asList("SUN"))).block();
+
+		assertEquals(Arrays.asList("SUN"), calendarCache.getWorkingDays("10001", "ara", fetch(HOLIDAYS)).block());
+		assertEquals(2, fetches.get());
+	}
+
+	private Supplier<Mono<List<String>>> fetch(List<String> calendar) {
+		return () -> {
+			fetches.incrementAndGet();
+			return Mono.just(calendar);
+		};
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.mosip.preregistration.batchjob.helper.NonWorkingDates;
+
+/**
+ * Test class to test the holidays and week-off dates kept in the slot
+ * generation range
+ *
+ * @since 1.2.0
+ */
+public class NonWorkingDatesTest {
+
+	private static final LocalDate FROM_DATE = LocalDate.of(2026, 12, 20);
+
+	@Test
+	public void datesInRangeTest() {
+		NonWorkingDates nonWorkingDates = new NonWorkingDates(FROM_DATE, 10,
+				Arrays.asList("2026-12-25", " 2026-12-20 ", "2026-12-29"));
+
+		assertTrue(nonWorkingDates.contains(LocalDate.of(2026, 12, 20)));
+		assertTrue(nonWorkingDates.contains(LocalDate.of(2026, 12, 25)));
+		assertTrue(nonWorkingDates.contains(LocalDate.of(2026, 12, 29)));
+		assertFalse(nonWorkingDates.contains(LocalDate.of(2026, 12, 21)));
+	}
+
+	@Test
+	public void datesOutsideRangeLeftOutTest() {
+		NonWorkingDates nonWorkingDates = new NonWorkingDates(FROM_DATE, 10,
+				Arrays.asList("2026-12-19", "2026-12-30", "2027-12-25", "Christmas", ""));
+
+		assertFalse(nonWorkingDates.contains(LocalDate.of(2026, 12, 19)));
+		assertFalse(nonWorkingDates.contains(LocalDate.of(2026, 12, 30)));
+		assertFalse(nonWorkingDates.contains(LocalDate.of(2027, 12, 25)));
+		assertTrue(nonWorkingDates.between(FROM_DATE, FROM_DATE.plusDays(10)).isEmpty());
+	}
+
+	@Test
+	public void betweenTest() {
+		NonWorkingDates nonWorkingDates = new NonWorkingDates(FROM_DATE, 10,
+				Arrays.asList("2026-12-29", "2026-12-22", "2026-12-25", "2026-12-22"));
+
+		assertEquals(Arrays.asList(LocalDate.of(2026, 12, 22), LocalDate.of(2026, 12, 25)),
+				Arrays.asList(nonWorkingDates.between(FROM_DATE, LocalDate.of(2026, 12, 29)).toArray()));
+		assertEquals(Collections.singleton(LocalDate.of(2026, 12, 29)),
+				nonWorkingDates.between(LocalDate.of(2026, 12, 26), LocalDate.of(2027, 1, 10)));
+		assertEquals("[2026-12-22, 2026-12-25, 2026-12-29]", nonWorkingDates.toString());
+	}
+
+}
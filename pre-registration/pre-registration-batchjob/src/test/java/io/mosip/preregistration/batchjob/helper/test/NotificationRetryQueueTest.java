@@ -0,0 +1,94 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue;
+import io.mosip.preregistration.batchjob.helper.NotificationRetryQueue.PendingNotification;
+
+/**
+ * Test class to test the backoff of the cancellation notifications queued for a
+ * retry
+ *
+ * @since 1.2.0
+ */
+public class NotificationRetryQueueTest {
+
+	private NotificationRetryQueue retryQueue;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Before
+	public void setup() {
+		jdbcTemplate = Mockito.mock(NamedParameterJdbcTemplate.class);
+		retryQueue = new NotificationRetryQueue();
+		ReflectionTestUtils.setField(retryQueue, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(retryQueue, "auditUserId", "pre-registration-batch");
+		ReflectionTestUtils.setField(retryQueue, "backoffMinutes", 15L);
+		ReflectionTestUtils.setField(retryQueue, "maxAttempts", 5);
+		ReflectionTestUtils.setField(retryQueue, "batchSize", 100);
+	}
+
+	@Test
+	public void enqueueAfterBackoffTest() {
+		retryQueue.enqueue("1", LocalDate.of(2026, 11, 2), LocalTime.of(9, 15), "eng");
+
+		MapSqlParameterSource params = captureUpdate("INSERT INTO prereg.cancel_notification_retry");
+		assertEquals("1", params.getValue("preRegId"));
+		assertEquals(java.sql.Date.valueOf(LocalDate.of(2026, 11, 2)), params.getValue("appointmentDate"));
+		assertEquals(java.sql.Time.valueOf(LocalTime.of(9, 15)), params.getValue("slotFromTime"));
+		assertEquals(Duration.ofMinutes(15), backoff(params));
+	}
+
+	@Test
+	public void failedAttemptBackoffDoubledTest() {
+		retryQueue.attemptFailed(pending(1));
+		assertEquals(Duration.ofMinutes(30), backoff(captureUpdate("UPDATE prereg.cancel_notification_retry")));
+
+		Mockito.reset(jdbcTemplate);
+		retryQueue.attemptFailed(pending(3));
+		assertEquals(Duration.ofMinutes(120), backoff(captureUpdate("UPDATE prereg.cancel_notification_retry")));
+	}
+
+	@Test
+	public void sentDeletedTest() {
+		retryQueue.sent("1");
+
+		MapSqlParameterSource params = captureUpdate("DELETE FROM prereg.cancel_notification_retry");
+		assertEquals("1", params.getValue("preRegId"));
+	}
+
+	private MapSqlParameterSource captureUpdate(String statement) {
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+		Mockito.verify(jdbcTemplate).update(sql.capture(), params.capture());
+		assertTrue(sql.getValue().startsWith(statement));
+		return params.getValue();
+	}
+
+	private Duration backoff(MapSqlParameterSource params) {
+		return Duration.between(((Timestamp) params.getValue("updDtimes")).toLocalDateTime(),
+				((Timestamp) params.getValue("nextAttemptDtimes")).toLocalDateTime());
+	}
+
+	private PendingNotification pending(int attemptCount) {
+		PendingNotification pending = Mockito.mock(PendingNotification.class);
+		Mockito.when(pending.getPreRegId()).thenReturn("1");
+		Mockito.when(pending.getAttemptCount()).thenReturn(attemptCount);
+		return pending;
+	}
+
+}
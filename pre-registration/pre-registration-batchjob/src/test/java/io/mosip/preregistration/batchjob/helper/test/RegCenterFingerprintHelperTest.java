@@ -0,0 +1,149 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.entity.RegCenterFingerprintEntity;
+import io.mosip.preregistration.batchjob.helper.NonWorkingDates;
+import io.mosip.preregistration.batchjob.helper.RegCenterFingerprintHelper;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+
+/**
+ * Test class to test the detection of the registration centers changed since
+ * their slots were generated
+ *
+ * @since 1.2.0
+ */
+public class RegCenterFingerprintHelperTest {
+
+	private static final String REG_CENTER_ID = "10001";
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 12, 1);
+
+	private static final int NO_OF_DAYS = 10;
+
+	private RegCenterFingerprintHelper fingerprintHelper;
+
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	@Before
+	public void setup() {
+		batchServiceDAO = Mockito.mock(BatchJpaRepositoryImpl.class);
+		fingerprintHelper = new RegCenterFingerprintHelper();
+		ReflectionTestUtils.setField(fingerprintHelper, "batchServiceDAO", batchServiceDAO);
+		ReflectionTestUtils.setField(fingerprintHelper, "auditUsername", "batch");
+		ReflectionTestUtils.setField(fingerprintHelper, "incrementalEnabled", true);
+	}
+
+	@Test
+	public void noFingerprintTest() {
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(regCenter(), Collections.emptyList()));
+	}
+
+	@Test
+	public void unchangedCenterTest() {
+		saveFingerprint(regCenter(), Arrays.asList("2026-12-05", "2026-12-12"));
+
+		// the next day only the day newly entering the range is generated
+		assertEquals(TODAY.plusDays(NO_OF_DAYS), nextDayStartDate(regCenter(), Arrays.asList("2026-12-05", "2026-12-12")));
+	}
+
+	@Test
+	public void configChangedTest() {
+		saveFingerprint(regCenter(), Collections.emptyList());
+
+		RegistrationCenterDto moreKiosks = regCenter();
+		moreKiosks.setNumberOfKiosks((short) 3);
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(moreKiosks, Collections.emptyList()));
+		RegistrationCenterDto lunchMoved = regCenter();
+		lunchMoved.setLunchStartTime(LocalTime.of(12, 30));
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(lunchMoved, Collections.emptyList()));
+		RegistrationCenterDto longerProcess = regCenter();
+		longerProcess.setPerKioskProcessTime(LocalTime.of(0, 45));
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(longerProcess, Collections.emptyList()));
+	}
+
+	@Test
+	public void holidayChangedInGeneratedRangeTest() {
+		saveFingerprint(regCenter(), Arrays.asList("2026-12-05"));
+
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(regCenter(), Arrays.asList("2026-12-05", "2026-12-06")));
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(regCenter(), Collections.emptyList()));
+	}
+
+	@Test
+	public void holidayOutsideGeneratedRangeTest() {
+		saveFingerprint(regCenter(), Arrays.asList("2026-12-01", "2026-12-05"));
+
+		// the past holiday is out of the range and the new one is on the day not generated yet
+		assertEquals(TODAY.plusDays(NO_OF_DAYS), nextDayStartDate(regCenter(), Arrays.asList("2026-12-05", "2026-12-11")));
+	}
+
+	@Test
+	public void generatedTillOutsideRangeTest() {
+		saveFingerprint(regCenter(), Collections.emptyList());
+
+		// the generated range has passed, or the configured range was shortened
+		LocalDate laterStartDate = TODAY.plusDays(NO_OF_DAYS);
+		assertEquals(laterStartDate, fingerprintHelper.getSlotGenerationStartDate(regCenter(),
+				new NonWorkingDates(laterStartDate, NO_OF_DAYS, Collections.emptyList()), laterStartDate,
+				laterStartDate.plusDays(NO_OF_DAYS), "test"));
+		assertEquals(TODAY, fingerprintHelper.getSlotGenerationStartDate(regCenter(),
+				new NonWorkingDates(TODAY, 5, Collections.emptyList()), TODAY, TODAY.plusDays(5), "test"));
+	}
+
+	@Test
+	public void incrementalDisabledTest() {
+		ReflectionTestUtils.setField(fingerprintHelper, "incrementalEnabled", false);
+
+		fingerprintHelper.saveFingerprint(regCenter(), new NonWorkingDates(TODAY, NO_OF_DAYS, Collections.emptyList()),
+				TODAY, TODAY.plusDays(NO_OF_DAYS));
+
+		assertEquals(TODAY.plusDays(1), nextDayStartDate(regCenter(), Collections.emptyList()));
+		Mockito.verifyZeroInteractions(batchServiceDAO);
+	}
+
+	/**
+	 * Saves the fingerprint of a full generation today and keeps it for the next
+	 * lookups.
+	 */
+	private void saveFingerprint(RegistrationCenterDto regCenter, List<String> holidays) {
+		fingerprintHelper.saveFingerprint(regCenter, new NonWorkingDates(TODAY, NO_OF_DAYS, holidays), TODAY,
+				TODAY.plusDays(NO_OF_DAYS));
+		ArgumentCaptor<RegCenterFingerprintEntity> fingerprint = ArgumentCaptor.forClass(RegCenterFingerprintEntity.class);
+		Mockito.verify(batchServiceDAO).saveRegCenterFingerprint(fingerprint.capture());
+		assertEquals(TODAY.plusDays(NO_OF_DAYS), fingerprint.getValue().getGeneratedTillDate());
+		Mockito.when(batchServiceDAO.findRegCenterFingerprint(REG_CENTER_ID)).thenReturn(fingerprint.getValue());
+	}
+
+	private LocalDate nextDayStartDate(RegistrationCenterDto regCenter, List<String> holidays) {
+		LocalDate startDate = TODAY.plusDays(1);
+		return fingerprintHelper.getSlotGenerationStartDate(regCenter, new NonWorkingDates(startDate, NO_OF_DAYS, holidays),
+				startDate, startDate.plusDays(NO_OF_DAYS), "test");
+	}
+
+	private RegistrationCenterDto regCenter() {
+		RegistrationCenterDto regCenter = new RegistrationCenterDto();
+		regCenter.setId(REG_CENTER_ID);
+		regCenter.setNumberOfKiosks((short) 2);
+		regCenter.setPerKioskProcessTime(LocalTime.of(0, 30));
+		regCenter.setCenterStartTime(LocalTime.of(9, 0));
+		regCenter.setCenterEndTime(LocalTime.of(17, 0));
+		regCenter.setLunchStartTime(LocalTime.of(13, 0));
+		regCenter.setLunchEndTime(LocalTime.of(14, 0));
+		return regCenter;
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.mosip.preregistration.batchjob.helper.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.mosip.preregistration.batchjob.helper.RegCenterWorkQueue;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+
+/**
+ * Test class to test the registration centers claimed from the work queue by
+ * the slot generation workers
+ *
+ * @since 1.2.0
+ */
+public class RegCenterWorkQueueTest {
+
+	@Test
+	public void eachRegCenterClaimedOnceTest() throws Exception {
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(regCenters(1000));
+		Map<String, AtomicInteger> claims = new ConcurrentHashMap<>();
+		int workers = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			List<Future<Integer>> processed = new ArrayList<>();
+			for (int worker = 0; worker < workers; worker++) {
+				int claimSize = worker % 2 == 0 ? 1 : 7;
+				processed.add(executor.submit(() -> {
+					start.await();
+					int regCenters = 0;
+					List<RegistrationCenterDto> claimed;
+					while (!(claimed = workQueue.poll(claimSize)).isEmpty()) {
+						assertTrue(claimed.size() <= claimSize);
+						for (RegistrationCenterDto regCenter : claimed) {
+							claims.computeIfAbsent(regCenter.getId(), id -> new AtomicInteger()).incrementAndGet();
+							regCenters++;
+						}
+					}
+					return regCenters;
+				}));
+			}
+			start.countDown();
+			int total = 0;
+			for (Future<Integer> worker : processed) {
+				total += worker.get(10, TimeUnit.SECONDS);
+			}
+
+			assertEquals(1000, total);
+			assertEquals(1000, claims.size());
+			assertTrue(claims.values().stream().allMatch(count -> count.get() == 1));
+			assertEquals(0, workQueue.size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void claimUpToSizeTest() {
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(regCenters(5));
+
+		assertEquals(3, workQueue.poll(3).size());
+		assertEquals(2, workQueue.poll(3).size());
+		assertTrue(workQueue.poll(3).isEmpty());
+		assertNull(workQueue.poll());
+	}
+
+	@Test
+	public void loadDiscardsPreviousRunTest() {
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(regCenters(5));
+		workQueue.poll(2);
+
+		List<RegistrationCenterDto> regCenters = regCenters(2);
+		workQueue.load(regCenters);
+
+		assertEquals(regCenters, workQueue.poll(5));
+	}
+
+	private List<RegistrationCenterDto> regCenters(int count) {
+		List<RegistrationCenterDto> regCenters = new ArrayList<>();
+		for (int index = 0; index < count; index++) {
+			RegistrationCenterDto regCenter = new RegistrationCenterDto();
+			regCenter.setId(String.valueOf(10000 + index));
+			regCenters.add(regCenter);
+		}
+		return regCenters;
+	}
+
+}
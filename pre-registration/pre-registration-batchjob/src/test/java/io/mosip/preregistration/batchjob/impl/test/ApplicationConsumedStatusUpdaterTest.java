@@ -0,0 +1,122 @@
+package io.mosip.preregistration.batchjob.impl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.impl.ApplicationConsumedStatusUpdater;
+import io.mosip.preregistration.core.code.EventId;
+import io.mosip.preregistration.core.code.StatusCodes;
+
+/**
+ * Test class to test the statements moving the processed applications to the
+ * consumed tables
+ *
+ * @since 1.2.0
+ */
+public class ApplicationConsumedStatusUpdaterTest {
+
+	private ApplicationConsumedStatusUpdater statusUpdater;
+
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	private RestHelper restHelper;
+
+	@Before
+	public void setup() {
+		jdbcTemplate = Mockito.mock(NamedParameterJdbcTemplate.class);
+		restHelper = Mockito.mock(RestHelper.class);
+		statusUpdater = new ApplicationConsumedStatusUpdater();
+		ReflectionTestUtils.setField(statusUpdater, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(statusUpdater, "restHelper", restHelper);
+		ReflectionTestUtils.setField(statusUpdater, "auditUserId", "pre-registration-batch");
+		ReflectionTestUtils.setField(statusUpdater, "auditUsername", "batch");
+	}
+
+	@Test
+	public void moveToConsumedTest() {
+		Mockito.when(jdbcTemplate.queryForList(Mockito.startsWith("SELECT prereg_id FROM prereg.applicant_demographic"),
+				Mockito.any(SqlParameterSource.class), Mockito.eq(String.class))).thenReturn(Arrays.asList("1", "2"));
+		Mockito.when(jdbcTemplate.update(Mockito.startsWith("INSERT INTO prereg.applicant_demographic_consumed"),
+				Mockito.any(SqlParameterSource.class))).thenReturn(2);
+
+		assertEquals(2, statusUpdater.updateConsumedStatus(Arrays.asList("1", "2", "3")));
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+		Mockito.verify(jdbcTemplate, Mockito.times(9)).update(sql.capture(), params.capture());
+		List<String> statements = sql.getAllValues();
+		// the id without a demographic is only dropped from the processed list
+		assertTrue(statements.get(0).startsWith("DELETE FROM prereg.processed_prereg_list"));
+		assertEquals(Collections.singletonList("3"), params.getAllValues().get(0).getValue("preRegIds"));
+		// the consumed copies come first, the consumed documents and appointments refer to the consumed demographic
+		assertTrue(statements.get(1).startsWith("INSERT INTO prereg.applicant_demographic_consumed"));
+		assertTrue(statements.get(2).startsWith("INSERT INTO prereg.applicant_document_consumed"));
+		assertTrue(statements.get(3).startsWith("INSERT INTO prereg.reg_appointment_consumed"));
+		// then the rows are deleted, children first
+		assertTrue(statements.get(4).startsWith("DELETE FROM prereg.reg_appointment "));
+		assertTrue(statements.get(5).startsWith("DELETE FROM prereg.applicant_document "));
+		assertTrue(statements.get(6).startsWith("DELETE FROM prereg.applicant_demographic "));
+		assertTrue(statements.get(7).startsWith("DELETE FROM prereg.applications "));
+		assertTrue(statements.get(8).startsWith("UPDATE prereg.processed_prereg_list SET status_comments"));
+		// only the booked applications have an appointment to move
+		assertTrue(statements.get(3).contains("status_code = :bookedStatusCode"));
+		assertTrue(statements.get(4).contains("status_code = :bookedStatusCode"));
+
+		MapSqlParameterSource consumedParams = params.getAllValues().get(1);
+		assertEquals(new HashSet<>(Arrays.asList("1", "2")),
+				new HashSet<>((Collection<?>) consumedParams.getValue("preRegIds")));
+		assertEquals(StatusCodes.CONSUMED.getCode(), consumedParams.getValue("statusCode"));
+		assertEquals(StatusCodes.BOOKED.getCode(), consumedParams.getValue("bookedStatusCode"));
+		assertEquals(PreRegBatchContants.NEW_STATUS_COMMENTS, consumedParams.getValue("statusComments"));
+		assertEquals("pre-registration-batch", consumedParams.getValue("updBy"));
+		for (int index = 1; index < 9; index++) {
+			assertTrue(params.getAllValues().get(index) == consumedParams);
+		}
+	}
+
+	@Test
+	public void noDemographicTest() {
+		Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.any(SqlParameterSource.class),
+				Mockito.eq(String.class))).thenReturn(Collections.emptyList());
+
+		assertEquals(0, statusUpdater.updateConsumedStatus(Arrays.asList("1", "2")));
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		Mockito.verify(jdbcTemplate).update(sql.capture(), Mockito.any(SqlParameterSource.class));
+		assertTrue(sql.getValue().startsWith("DELETE FROM prereg.processed_prereg_list"));
+	}
+
+	@Test
+	public void auditErrorredTest() {
+		statusUpdater.auditConsumedStatus(Arrays.asList("1", "2"));
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_405.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq("1,2"), Mockito.anyString(), Mockito.anyString());
+	}
+
+	@Test
+	public void auditSuccessTest() {
+		statusUpdater.auditConsumedStatus(Collections.emptyList());
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_412.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq(PreRegBatchContants.EMPTY), Mockito.anyString(), Mockito.anyString());
+	}
+
+}
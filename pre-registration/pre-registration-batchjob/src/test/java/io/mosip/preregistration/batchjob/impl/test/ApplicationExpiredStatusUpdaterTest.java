@@ -0,0 +1,181 @@
+package io.mosip.preregistration.batchjob.impl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.impl.ApplicationExpiredStatusUpdater;
+import io.mosip.preregistration.batchjob.repository.RegAppointmentRepository;
+import io.mosip.preregistration.core.code.EventId;
+import io.mosip.preregistration.core.code.StatusCodes;
+
+/**
+ * Test class to test that the bulk expired status update expires the same
+ * applications as the legacy update
+ *
+ * @since 1.2.0
+ */
+public class ApplicationExpiredStatusUpdaterTest {
+
+	private static final String BOOKED = StatusCodes.BOOKED.getCode();
+
+	private static final String EXPIRED = StatusCodes.EXPIRED.getCode();
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private RestHelper restHelper;
+
+	private ApplicationExpiredStatusUpdater statusUpdater;
+
+	@Before
+	public void setup() {
+		dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE SCHEMA prereg");
+		jdbcTemplate.execute("CREATE TABLE prereg.applications (application_id VARCHAR(36) PRIMARY KEY, "
+				+ "booking_status_code VARCHAR(36), appointment_date DATE, upd_by VARCHAR(256), upd_dtimes TIMESTAMP)");
+		jdbcTemplate.execute("CREATE TABLE prereg.reg_appointment (id VARCHAR(36) PRIMARY KEY, prereg_id VARCHAR(36), "
+				+ "appointment_date DATE)");
+		jdbcTemplate.execute("CREATE TABLE prereg.applicant_demographic (prereg_id VARCHAR(36) PRIMARY KEY, "
+				+ "status_code VARCHAR(36), upd_by VARCHAR(256), upd_dtimes TIMESTAMP)");
+
+		restHelper = Mockito.mock(RestHelper.class);
+		statusUpdater = new ApplicationExpiredStatusUpdater();
+		ReflectionTestUtils.setField(statusUpdater, "dataSource", dataSource);
+		ReflectionTestUtils.setField(statusUpdater, "restHelper", restHelper);
+		ReflectionTestUtils.setField(statusUpdater, "auditUserId", "pre-registration-batch");
+		ReflectionTestUtils.setField(statusUpdater, "auditUsername", "batch");
+		ReflectionTestUtils.setField(statusUpdater, "datesPerChunk", 2);
+		statusUpdater.init();
+	}
+
+	@After
+	public void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void bulkExpiresLegacySetTest() throws Exception {
+		LocalDate today = LocalDate.now();
+		insert("1", BOOKED, today.minusDays(30), true, BOOKED);
+		insert("2", BOOKED, today.minusDays(29), true, BOOKED);
+		// booked application whose demographic has moved on
+		insert("3", BOOKED, today.minusDays(10), true, StatusCodes.PENDING_APPOINTMENT.getCode());
+		insert("4", BOOKED, today.minusDays(1), true, BOOKED);
+		insert("5", BOOKED, today.minusDays(1), true, BOOKED);
+		// past dates with no booking to expire, inside the chunk ranges
+		insert("6", BOOKED, today.minusDays(5), false, BOOKED);
+		insert("7", StatusCodes.CANCELLED.getCode(), today.minusDays(20), true, StatusCodes.CANCELLED.getCode());
+		// not past yet
+		insert("8", BOOKED, today, true, BOOKED);
+		insert("9", BOOKED, today.plusDays(3), true, BOOKED);
+
+		Set<String> legacyPreRegIds = findLegacyOldDateBookings();
+		assertEquals(new HashSet<>(Arrays.asList("1", "2", "3", "4", "5")), legacyPreRegIds);
+
+		List<String> expiredPreRegIds = statusUpdater.updateExpiredStatusInBulk();
+
+		assertEquals(legacyPreRegIds.size(), expiredPreRegIds.size());
+		assertEquals(legacyPreRegIds, new HashSet<>(expiredPreRegIds));
+		Map<String, String> bookingStatus = statusById("SELECT application_id, booking_status_code FROM prereg.applications");
+		Map<String, String> demographicStatus = statusById("SELECT prereg_id, status_code FROM prereg.applicant_demographic");
+		for (String preRegId : Arrays.asList("1", "2", "3", "4", "5")) {
+			assertEquals(EXPIRED, bookingStatus.get(preRegId));
+		}
+		for (String preRegId : Arrays.asList("1", "2", "4", "5")) {
+			assertEquals(EXPIRED, demographicStatus.get(preRegId));
+		}
+		assertEquals(StatusCodes.PENDING_APPOINTMENT.getCode(), demographicStatus.get("3"));
+		for (String preRegId : Arrays.asList("6", "8", "9")) {
+			assertEquals(BOOKED, bookingStatus.get(preRegId));
+			assertEquals(BOOKED, demographicStatus.get(preRegId));
+		}
+		assertEquals(StatusCodes.CANCELLED.getCode(), bookingStatus.get("7"));
+		assertEquals(StatusCodes.CANCELLED.getCode(), demographicStatus.get("7"));
+		assertEquals(Integer.valueOf(4), jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM prereg.applicant_demographic WHERE upd_by = 'pre-registration-batch'", Integer.class));
+		assertTrue(findLegacyOldDateBookings().isEmpty());
+
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_413.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq(PreRegBatchContants.EMPTY), Mockito.anyString(), Mockito.anyString());
+		Mockito.verifyNoMoreInteractions(restHelper);
+	}
+
+	@Test
+	public void nothingToExpireTest() {
+		LocalDate today = LocalDate.now();
+		insert("1", BOOKED, today.minusDays(5), false, BOOKED);
+		insert("2", BOOKED, today, true, BOOKED);
+
+		assertTrue(statusUpdater.updateExpiredStatusInBulk().isEmpty());
+
+		assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM prereg.applications WHERE booking_status_code = '" + EXPIRED + "'", Integer.class));
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_413.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq(PreRegBatchContants.EMPTY), Mockito.anyString(), Mockito.anyString());
+	}
+
+	private void insert(String preRegId, String bookingStatusCode, LocalDate appointmentDate, boolean withAppointment,
+			String demographicStatusCode) {
+		jdbcTemplate.update("INSERT INTO prereg.applications (application_id, booking_status_code, appointment_date) "
+				+ "VALUES (?, ?, ?)", preRegId, bookingStatusCode, java.sql.Date.valueOf(appointmentDate));
+		if (withAppointment) {
+			jdbcTemplate.update("INSERT INTO prereg.reg_appointment (id, prereg_id, appointment_date) VALUES (?, ?, ?)",
+					"appointment-" + preRegId, preRegId, java.sql.Date.valueOf(appointmentDate));
+		}
+		jdbcTemplate.update("INSERT INTO prereg.applicant_demographic (prereg_id, status_code) VALUES (?, ?)", preRegId,
+				demographicStatusCode);
+	}
+
+	/**
+	 * Runs the native query behind getAllOldDateBooking, on the prereg schema the
+	 * service connects to.
+	 */
+	private Set<String> findLegacyOldDateBookings() throws Exception {
+		String query = RegAppointmentRepository.class.getMethod("findByRegDateBetween", String.class, LocalDate.class)
+				.getAnnotation(Query.class).value().replace(":statusCode", "?").replace(":currentDate", "?");
+		SingleConnectionDataSource connection = new SingleConnectionDataSource(dataSource.getConnection(), true);
+		try {
+			JdbcTemplate legacyTemplate = new JdbcTemplate(connection);
+			legacyTemplate.execute("SET SCHEMA prereg");
+			return new HashSet<>(legacyTemplate.query(query, (resultSet, rowNum) -> resultSet.getString("prereg_id"),
+					BOOKED, java.sql.Date.valueOf(LocalDate.now())));
+		} finally {
+			connection.destroy();
+		}
+	}
+
+	private Map<String, String> statusById(String query) {
+		Map<String, String> statusById = new HashMap<>();
+		jdbcTemplate.query(query, resultSet -> {
+			statusById.put(resultSet.getString(1), resultSet.getString(2));
+		});
+		return statusById;
+	}
+
+}
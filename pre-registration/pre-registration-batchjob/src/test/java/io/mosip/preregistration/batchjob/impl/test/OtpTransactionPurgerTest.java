@@ -0,0 +1,96 @@
+package io.mosip.preregistration.batchjob.impl.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.impl.OtpTransactionPurger;
+
+/**
+ * Test class to test the chunks of OTP transactions deleted by the purge
+ *
+ * @since 1.2.0
+ */
+public class OtpTransactionPurgerTest {
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private OtpTransactionPurger otpTransactionPurger;
+
+	@Before
+	public void setup() {
+		dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE SCHEMA prereg");
+		jdbcTemplate.execute("CREATE TABLE prereg.otp_transaction (id VARCHAR(36) PRIMARY KEY, "
+				+ "expiry_dtimes TIMESTAMP, status_code VARCHAR(36))");
+
+		otpTransactionPurger = new OtpTransactionPurger();
+		ReflectionTestUtils.setField(otpTransactionPurger, "dataSource", dataSource);
+		ReflectionTestUtils.setField(otpTransactionPurger, "chunkSize", 3);
+		ReflectionTestUtils.setField(otpTransactionPurger, "retentionHours", 24L);
+		otpTransactionPurger.init();
+	}
+
+	@After
+	public void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void purgeExpiredAndUsedTest() {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		insert("expired", now.minusHours(25), "active");
+		insert("usedExpired", now.minusHours(48), PreRegBatchContants.OTP_USED_STATUS);
+		insert("used", now.plusMinutes(3), PreRegBatchContants.OTP_USED_STATUS);
+		// expired within the retention
+		insert("recent", now.minusHours(23), "active");
+		insert("active", now.plusMinutes(3), "active");
+
+		assertEquals(3, otpTransactionPurger.purgeChunk());
+
+		assertEquals(new HashSet<>(Arrays.asList("recent", "active")), remaining());
+		assertEquals(0, otpTransactionPurger.purgeChunk());
+	}
+
+	@Test
+	public void purgeBoundedByChunkTest() {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		for (int index = 0; index < 4; index++) {
+			insert("expired" + index, now.minusHours(25), "active");
+		}
+		insert("used", now.plusMinutes(3), PreRegBatchContants.OTP_USED_STATUS);
+
+		// a full chunk of expired transactions leaves the used ones to the next chunk
+		assertEquals(3, otpTransactionPurger.purgeChunk());
+		assertEquals(2, remaining().size());
+		assertEquals(2, otpTransactionPurger.purgeChunk());
+		assertEquals(0, remaining().size());
+	}
+
+	private void insert(String id, LocalDateTime expiry, String statusCode) {
+		jdbcTemplate.update("INSERT INTO prereg.otp_transaction VALUES (?, ?, ?)", id, Timestamp.valueOf(expiry),
+				statusCode);
+	}
+
+	private HashSet<String> remaining() {
+		return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM prereg.otp_transaction", String.class));
+	}
+
+}
@@ -0,0 +1,299 @@
+package io.mosip.preregistration.batchjob.impl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.batchjob.entity.AvailibityEntity;
+import io.mosip.preregistration.batchjob.helper.AvailabilitySlotWriter;
+import io.mosip.preregistration.batchjob.helper.CancelAndNotifyHelper;
+import io.mosip.preregistration.batchjob.helper.PreRegBatchDBHelper;
+import io.mosip.preregistration.batchjob.helper.RegCenterFingerprintHelper;
+import io.mosip.preregistration.batchjob.helper.RegCenterWorkQueue;
+import io.mosip.preregistration.batchjob.helper.RestHelper;
+import io.mosip.preregistration.batchjob.impl.SlotAvailabilityGenerator;
+import io.mosip.preregistration.batchjob.model.RegistrationCenterDto;
+import io.mosip.preregistration.batchjob.repository.utils.BatchJpaRepositoryImpl;
+import io.mosip.preregistration.core.code.EventId;
+import io.mosip.preregistration.core.common.entity.RegistrationBookingEntity;
+
+/**
+ * Test class to test the slot generation of the registration centers
+ *
+ * @since 1.2.0
+ */
+public class SlotAvailabilityGeneratorTest {
+
+	private static final String REG_CENTER_ID = "10001";
+
+	private SlotAvailabilityGenerator slotAvailabilityGenerator;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private BatchJpaRepositoryImpl batchServiceDAO;
+
+	private CancelAndNotifyHelper cancelAndNotifyHelper;
+
+	private RegCenterFingerprintHelper fingerprintHelper;
+
+	private RestHelper restHelper;
+
+	private RegistrationCenterDto regCenter;
+
+	@Before
+	public void setup() {
+		jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		AvailabilitySlotWriter slotWriter = new AvailabilitySlotWriter();
+		ReflectionTestUtils.setField(slotWriter, "batchSize", 500);
+		ReflectionTestUtils.setField(slotWriter, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(slotWriter, "transactionTemplate",
+				new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(slotWriter, "meterRegistry", new SimpleMeterRegistry());
+
+		PreRegBatchDBHelper batchDBHelper = new PreRegBatchDBHelper();
+		ReflectionTestUtils.setField(batchDBHelper, "slotWriter", slotWriter);
+		ReflectionTestUtils.setField(batchDBHelper, "auditUsername", "batch");
+
+		batchServiceDAO = Mockito.mock(BatchJpaRepositoryImpl.class);
+		cancelAndNotifyHelper = Mockito.mock(CancelAndNotifyHelper.class);
+		fingerprintHelper = Mockito.mock(RegCenterFingerprintHelper.class);
+		restHelper = Mockito.mock(RestHelper.class);
+		slotAvailabilityGenerator = new SlotAvailabilityGenerator();
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "noOfDaysToSync", 1);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "restHelper", restHelper);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "batchServiceDAO", batchServiceDAO);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "batchDBHelper", batchDBHelper);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "cancelAndNotifyHelper", cancelAndNotifyHelper);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "slotWriter", slotWriter);
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "fingerprintHelper", fingerprintHelper);
+	}
+
+	@Test
+	public void lunchStartMovedLaterTest() throws SQLException {
+		LocalDate today = LocalDate.now();
+		regCenter = regCenter(LocalTime.of(13, 30), LocalTime.of(14, 0));
+		Mockito.when(fingerprintHelper.getSlotGenerationStartDate(Mockito.eq(regCenter), Mockito.any(),
+				Mockito.eq(today), Mockito.eq(today.plusDays(1)), Mockito.anyString())).thenReturn(today);
+		Map<LocalDate, List<AvailibityEntity>> slotsByDate = new HashMap<>();
+		slotsByDate.put(today, daySlots(today, LocalTime.of(13, 0), LocalTime.of(14, 0)));
+		Mockito.when(batchServiceDAO.findSlotsByDate(REG_CENTER_ID, today, today.plusDays(1))).thenReturn(slotsByDate);
+
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(Collections.singletonList(regCenter));
+		assertEquals(1, slotAvailabilityGenerator.generateRegistrationAvailabilitySlots("worker1", workQueue));
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+		Mockito.verify(jdbcTemplate).batchUpdate(sql.capture(), setter.capture());
+		// the slot now taking the start of the old lunch slot replaces it.
+		assertTrue(sql.getValue().contains("ON CONFLICT (regcntr_id, availability_date, slot_from_time) DO UPDATE"));
+		assertEquals(1, setter.getValue().getBatchSize());
+		Map<Object, Object> values = new HashMap<>();
+		setter.getValue().setValues(preparedStatement(values), 0);
+		assertEquals(Time.valueOf(LocalTime.of(13, 0)), values.get(3));
+		assertEquals(Time.valueOf(LocalTime.of(13, 30)), values.get(4));
+		assertEquals(2, values.get(5));
+		Mockito.verify(cancelAndNotifyHelper, Mockito.never()).cancelAndNotifyApplicants(Mockito.anyList(),
+				Mockito.anyString(), Mockito.any());
+		Mockito.verify(fingerprintHelper).saveFingerprint(Mockito.eq(regCenter), Mockito.any(), Mockito.eq(today),
+				Mockito.eq(today.plusDays(1)));
+	}
+
+	@Test
+	public void bookingsCancelledAfterSlotsSavedTest() {
+		List<RegistrationBookingEntity> bookings = startTimeMovedLater();
+		Mockito.when(cancelAndNotifyHelper.cancelAndNotifyApplicants(Mockito.eq(bookings), Mockito.anyString(),
+				Mockito.any())).thenReturn(1);
+
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(Collections.singletonList(regCenter));
+		assertEquals(1, slotAvailabilityGenerator.generateRegistrationAvailabilitySlots("worker1", workQueue));
+
+		InOrder inOrder = Mockito.inOrder(jdbcTemplate, cancelAndNotifyHelper);
+		inOrder.verify(jdbcTemplate).update(Mockito.anyString(), Mockito.any(PreparedStatementSetter.class));
+		inOrder.verify(cancelAndNotifyHelper).cancelAndNotifyApplicants(Mockito.eq(bookings), Mockito.anyString(),
+				Mockito.any());
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_407.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+
+	@Test
+	public void bookingsNotCancelledWhenSlotsNotSavedTest() {
+		startTimeMovedLater();
+		Mockito.when(jdbcTemplate.update(Mockito.anyString(), Mockito.any(PreparedStatementSetter.class)))
+				.thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(Collections.singletonList(regCenter));
+		assertEquals(1, slotAvailabilityGenerator.generateRegistrationAvailabilitySlots("worker1", workQueue));
+
+		Mockito.verify(cancelAndNotifyHelper, Mockito.never()).cancelAndNotifyApplicants(Mockito.anyList(),
+				Mockito.anyString(), Mockito.any());
+		Mockito.verify(fingerprintHelper, Mockito.never()).saveFingerprint(Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_405.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq(REG_CENTER_ID), Mockito.anyString(), Mockito.anyString());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void holidaysFetchedPerClaimedBatchTest() {
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "queueClaimSize", 2);
+		LocalDate today = LocalDate.now();
+		// unchanged centers, nothing left to generate
+		Mockito.when(fingerprintHelper.getSlotGenerationStartDate(Mockito.any(), Mockito.any(), Mockito.eq(today),
+				Mockito.eq(today.plusDays(1)), Mockito.anyString())).thenReturn(today.plusDays(1));
+		List<RegistrationCenterDto> regCenters = regCenters("1", "2", "3");
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(regCenters);
+
+		assertEquals(3, slotAvailabilityGenerator.generateRegistrationAvailabilitySlots("worker1", workQueue));
+
+		ArgumentCaptor<List<RegistrationCenterDto>> batches = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(restHelper, Mockito.times(2)).getRegistrationHolidayLists(batches.capture(), Mockito.eq(1));
+		assertEquals(regCenters.subList(0, 2), batches.getAllValues().get(0));
+		assertEquals(regCenters.subList(2, 3), batches.getAllValues().get(1));
+		Mockito.verify(fingerprintHelper, Mockito.times(3)).saveFingerprint(Mockito.any(), Mockito.any(),
+				Mockito.eq(today), Mockito.eq(today.plusDays(1)));
+	}
+
+	@Test
+	public void holidaysNotFetchedErrorsClaimedBatchTest() {
+		ReflectionTestUtils.setField(slotAvailabilityGenerator, "queueClaimSize", 2);
+		LocalDate today = LocalDate.now();
+		Mockito.when(fingerprintHelper.getSlotGenerationStartDate(Mockito.any(), Mockito.any(), Mockito.eq(today),
+				Mockito.eq(today.plusDays(1)), Mockito.anyString())).thenReturn(today.plusDays(1));
+		List<RegistrationCenterDto> regCenters = regCenters("1", "2", "3");
+		Mockito.when(restHelper.getRegistrationHolidayLists(regCenters.subList(0, 2), 1))
+				.thenThrow(new IllegalStateException("master data down"));
+		RegCenterWorkQueue workQueue = new RegCenterWorkQueue();
+		workQueue.load(regCenters);
+
+		assertEquals(3, slotAvailabilityGenerator.generateRegistrationAvailabilitySlots("worker1", workQueue));
+
+		// the centers of the failed batch are generated again in the next run, without holidays they are not generated now.
+		Mockito.verify(fingerprintHelper).saveFingerprint(Mockito.eq(regCenters.get(2)), Mockito.any(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(fingerprintHelper, Mockito.times(1)).saveFingerprint(Mockito.any(), Mockito.any(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(restHelper).sendAuditDetails(Mockito.eq(EventId.PRE_405.toString()), Mockito.anyString(),
+				Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+				Mockito.eq("1,2"), Mockito.anyString(), Mockito.anyString());
+	}
+
+	/**
+	 * Sets up the center start time moved from 09:00 to 09:30 with a booking in
+	 * the removed slot and returns the bookings found.
+	 */
+	private List<RegistrationBookingEntity> startTimeMovedLater() {
+		LocalDate today = LocalDate.now();
+		regCenter = regCenter(LocalTime.of(13, 0), LocalTime.of(14, 0));
+		regCenter.setCenterStartTime(LocalTime.of(9, 30));
+		Mockito.when(fingerprintHelper.getSlotGenerationStartDate(Mockito.eq(regCenter), Mockito.any(),
+				Mockito.eq(today), Mockito.eq(today.plusDays(1)), Mockito.anyString())).thenReturn(today);
+		Map<LocalDate, List<AvailibityEntity>> slotsByDate = new HashMap<>();
+		slotsByDate.put(today, daySlots(today, LocalTime.of(13, 0), LocalTime.of(14, 0)));
+		Mockito.when(batchServiceDAO.findSlotsByDate(REG_CENTER_ID, today, today.plusDays(1))).thenReturn(slotsByDate);
+		RegistrationBookingEntity booking = new RegistrationBookingEntity();
+		booking.setPreregistrationId("98746563542672");
+		booking.setRegistrationCenterId(REG_CENTER_ID);
+		booking.setRegDate(today);
+		booking.setSlotFromTime(LocalTime.of(9, 0));
+		booking.setSlotToTime(LocalTime.of(9, 30));
+		List<RegistrationBookingEntity> bookings = Collections.singletonList(booking);
+		Mockito.when(batchServiceDAO.findAllPreIdsBydateAndBetweenHours(REG_CENTER_ID, today, LocalTime.of(9, 0),
+				LocalTime.of(9, 30))).thenReturn(bookings);
+		return bookings;
+	}
+
+	/**
+	 * A prepared statement keeping the parameters set on it by index.
+	 */
+	private PreparedStatement preparedStatement(Map<Object, Object> values) {
+		return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+					if (method.getName().startsWith("set") && args.length == 2) {
+						values.put(args[0], args[1]);
+					}
+					return null;
+				});
+	}
+
+	private List<RegistrationCenterDto> regCenters(String... regCenterIds) {
+		List<RegistrationCenterDto> regCenters = new ArrayList<>();
+		for (String regCenterId : regCenterIds) {
+			RegistrationCenterDto regCenter = regCenter(LocalTime.of(13, 0), LocalTime.of(14, 0));
+			regCenter.setId(regCenterId);
+			regCenters.add(regCenter);
+		}
+		return regCenters;
+	}
+
+	private RegistrationCenterDto regCenter(LocalTime lunchStartTime, LocalTime lunchEndTime) {
+		RegistrationCenterDto regCenter = new RegistrationCenterDto();
+		regCenter.setId(REG_CENTER_ID);
+		regCenter.setContactPerson("John");
+		regCenter.setNumberOfKiosks((short) 2);
+		regCenter.setPerKioskProcessTime(LocalTime.of(0, 30));
+		regCenter.setCenterStartTime(LocalTime.of(9, 0));
+		regCenter.setCenterEndTime(LocalTime.of(17, 0));
+		regCenter.setLunchStartTime(lunchStartTime);
+		regCenter.setLunchEndTime(lunchEndTime);
+		return regCenter;
+	}
+
+	private List<AvailibityEntity> daySlots(LocalDate date, LocalTime lunchStartTime, LocalTime lunchEndTime) {
+		List<AvailibityEntity> slots = new ArrayList<>();
+		for (LocalTime fromTime = LocalTime.of(9, 0); fromTime.isBefore(LocalTime.of(17, 0));) {
+			if (fromTime.equals(lunchStartTime)) {
+				slots.add(slot(date, lunchStartTime, lunchEndTime, 0));
+				fromTime = lunchEndTime;
+				continue;
+			}
+			slots.add(slot(date, fromTime, fromTime.plusMinutes(30), 2));
+			fromTime = fromTime.plusMinutes(30);
+		}
+		return slots;
+	}
+
+	private AvailibityEntity slot(LocalDate date, LocalTime fromTime, LocalTime toTime, int availableKiosks) {
+		AvailibityEntity slot = new AvailibityEntity();
+		slot.setRegcntrId(REG_CENTER_ID);
+		slot.setRegDate(date);
+		slot.setFromTime(fromTime);
+		slot.setToTime(toTime);
+		slot.setAvailableKiosks(availableKiosks);
+		slot.setCrBy("John");
+		slot.setCrDate(LocalDateTime.now());
+		return slot;
+	}
+
+}
@@ -0,0 +1,188 @@
+package io.mosip.preregistration.batchjob.job.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.MapJobRepositoryFactoryBean;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.preregistration.batchjob.code.PreRegBatchContants;
+import io.mosip.preregistration.batchjob.impl.ApplicationConsumedStatusUpdater;
+import io.mosip.preregistration.batchjob.impl.ApplicationConsumedStatusWriter;
+import io.mosip.preregistration.batchjob.job.PreRegistrationBatchJobConfig;
+
+/**
+ * Test class to test the retries and skips of the consumed status step
+ *
+ * @since 1.2.0
+ */
+public class ConsumedStatusStepTest {
+
+	private EmbeddedDatabase dataSource;
+
+	private JobRepository jobRepository;
+
+	private ApplicationConsumedStatusUpdater statusUpdater;
+
+	private Step consumedStatusStep;
+
+	@Before
+	public void setup() throws Exception {
+		dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE SCHEMA prereg");
+			statement.execute("CREATE TABLE prereg.processed_prereg_list (prereg_id VARCHAR(36) PRIMARY KEY, "
+					+ "status_comments VARCHAR(1024))");
+			for (String preRegId : Arrays.asList("1", "2", "3", "4")) {
+				statement.execute("INSERT INTO prereg.processed_prereg_list VALUES ('" + preRegId + "', '"
+						+ PreRegBatchContants.PROCESSED_STATUS_COMMENTS + "')");
+			}
+		}
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		MapJobRepositoryFactoryBean jobRepositoryFactory = new MapJobRepositoryFactoryBean(transactionManager);
+		jobRepositoryFactory.afterPropertiesSet();
+		jobRepository = jobRepositoryFactory.getObject();
+
+		statusUpdater = Mockito.mock(ApplicationConsumedStatusUpdater.class);
+		ApplicationConsumedStatusWriter statusWriter = new ApplicationConsumedStatusWriter();
+		ReflectionTestUtils.setField(statusWriter, "statusUpdater", statusUpdater);
+
+		PreRegistrationBatchJobConfig jobConfig = new PreRegistrationBatchJobConfig();
+		ReflectionTestUtils.setField(jobConfig, "stepBuilderFactory",
+				new StepBuilderFactory(jobRepository, transactionManager));
+		ReflectionTestUtils.setField(jobConfig, "dataSource", dataSource);
+		ReflectionTestUtils.setField(jobConfig, "consumedStatusWriter", statusWriter);
+		ReflectionTestUtils.setField(jobConfig, "consumedChunkSize", 2);
+		ReflectionTestUtils.setField(jobConfig, "consumedRetryLimit", 3);
+		ReflectionTestUtils.setField(jobConfig, "consumedSkipLimit", 10);
+		// the container initializes the step scoped reader bean, the builder does not
+		JdbcPagingItemReader<String> reader = jobConfig.consumedPreRegIdsReader();
+		reader.afterPropertiesSet();
+		PreRegistrationBatchJobConfig jobConfigSpy = Mockito.spy(jobConfig);
+		Mockito.doReturn(reader).when(jobConfigSpy).consumedPreRegIdsReader();
+		consumedStatusStep = jobConfigSpy.consumedStatusStep();
+	}
+
+	@After
+	public void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	public void failedIdSkippedTest() throws Exception {
+		Mockito.when(statusUpdater.updateConsumedStatus(Mockito.anyList())).thenAnswer(invocation -> {
+			List<String> preRegIds = invocation.getArgument(0);
+			if (preRegIds.contains("2")) {
+				throw new DataIntegrityViolationException("duplicate key");
+			}
+			return preRegIds.size();
+		});
+
+		StepExecution stepExecution = execute();
+
+		assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus());
+		assertEquals(4, stepExecution.getReadCount());
+		assertEquals(3, stepExecution.getWriteCount());
+		assertEquals(1, stepExecution.getWriteSkipCount());
+		Mockito.verify(statusUpdater).auditConsumedStatus(Collections.singletonList("2"));
+	}
+
+	@Test
+	public void transientFailureRetriedTest() throws Exception {
+		List<List<String>> writes = new ArrayList<>();
+		Mockito.when(statusUpdater.updateConsumedStatus(Mockito.anyList())).thenAnswer(invocation -> {
+			List<String> preRegIds = new ArrayList<>(invocation.getArgument(0));
+			writes.add(preRegIds);
+			if (writes.size() == 1) {
+				throw new TransientDataAccessResourceException("connection reset");
+			}
+			return preRegIds.size();
+		});
+
+		StepExecution stepExecution = execute();
+
+		assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus());
+		assertEquals(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("1", "2"), Arrays.asList("3", "4")), writes);
+		assertEquals(4, stepExecution.getWriteCount());
+		assertEquals(0, stepExecution.getSkipCount());
+		Mockito.verify(statusUpdater).auditConsumedStatus(Collections.emptyList());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void transientFailureSkippedAfterRetriesTest() throws Exception {
+		Mockito.when(statusUpdater.updateConsumedStatus(Mockito.anyList())).thenAnswer(invocation -> {
+			List<String> preRegIds = invocation.getArgument(0);
+			if (preRegIds.contains("4")) {
+				throw new TransientDataAccessResourceException("connection reset");
+			}
+			return preRegIds.size();
+		});
+
+		StepExecution stepExecution = execute();
+
+		assertEquals(BatchStatus.COMPLETED, stepExecution.getStatus());
+		assertEquals(1, stepExecution.getWriteSkipCount());
+		ArgumentCaptor<List<String>> errorredPreRegIds = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(statusUpdater).auditConsumedStatus(errorredPreRegIds.capture());
+		assertEquals(Collections.singletonList("4"), errorredPreRegIds.getValue());
+	}
+
+	@Test
+	public void skippedIdsNotKeptAcrossRunsTest() throws Exception {
+		Mockito.when(statusUpdater.updateConsumedStatus(Mockito.anyList())).thenAnswer(invocation -> {
+			List<String> preRegIds = invocation.getArgument(0);
+			if (preRegIds.contains("2")) {
+				throw new DataIntegrityViolationException("duplicate key");
+			}
+			return preRegIds.size();
+		});
+		execute();
+		Mockito.reset(statusUpdater);
+		Mockito.when(statusUpdater.updateConsumedStatus(Mockito.anyList()))
+				.thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+		StepExecution stepExecution = execute();
+
+		assertEquals(0, stepExecution.getSkipCount());
+		Mockito.verify(statusUpdater).auditConsumedStatus(Collections.emptyList());
+	}
+
+	private StepExecution execute() throws Exception {
+		JobExecution jobExecution = jobRepository.createJobExecution("consumedStatusJob",
+				new JobParameters(Collections.singletonMap("run.id",
+						new JobParameter(System.nanoTime()))));
+		StepExecution stepExecution = jobExecution.createStepExecution("consumedStatusStep");
+		jobRepository.add(stepExecution);
+		consumedStatusStep.execute(stepExecution);
+		return stepExecution;
+	}
+
+}
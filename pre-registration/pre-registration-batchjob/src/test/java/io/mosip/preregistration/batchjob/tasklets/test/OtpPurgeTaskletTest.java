@@ -0,0 +1,80 @@
+package io.mosip.preregistration.batchjob.tasklets.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.batchjob.impl.OtpTransactionPurger;
+import io.mosip.preregistration.batchjob.tasklets.OtpPurgeTasklet;
+
+/**
+ * Test class to test the repeat and the metrics of the OTP purge tasklet
+ *
+ * @since 1.2.0
+ */
+public class OtpPurgeTaskletTest {
+
+	private OtpTransactionPurger otpTransactionPurger;
+
+	private MeterRegistry meterRegistry;
+
+	private OtpPurgeTasklet otpPurgeTasklet;
+
+	private StepExecution stepExecution;
+
+	@Before
+	public void setup() {
+		otpTransactionPurger = Mockito.mock(OtpTransactionPurger.class);
+		Mockito.when(otpTransactionPurger.getChunkSize()).thenReturn(10);
+		meterRegistry = new SimpleMeterRegistry();
+		otpPurgeTasklet = new OtpPurgeTasklet();
+		ReflectionTestUtils.setField(otpPurgeTasklet, "otpTransactionPurger", otpTransactionPurger);
+		ReflectionTestUtils.setField(otpPurgeTasklet, "meterRegistry", meterRegistry);
+		stepExecution = new StepExecution("otpPurgeStep", new JobExecution(1L));
+	}
+
+	@Test
+	public void repeatUntilChunkNotFullTest() throws Exception {
+		Mockito.when(otpTransactionPurger.purgeChunk()).thenReturn(10, 10, 4);
+		StepContribution contribution = stepExecution.createStepContribution();
+
+		assertEquals(RepeatStatus.CONTINUABLE, otpPurgeTasklet.execute(contribution, null));
+		assertEquals(RepeatStatus.CONTINUABLE, otpPurgeTasklet.execute(contribution, null));
+		assertEquals(RepeatStatus.FINISHED, otpPurgeTasklet.execute(contribution, null));
+
+		assertEquals(24, contribution.getWriteCount());
+		assertEquals(24.0, meterRegistry.counter("preregistration.batch.otp-purge.rows").count(), 0);
+	}
+
+	@Test
+	public void purgeFailureFinishesTest() throws Exception {
+		Mockito.when(otpTransactionPurger.purgeChunk()).thenThrow(new IllegalStateException("connection reset"));
+		StepContribution contribution = stepExecution.createStepContribution();
+
+		assertEquals(RepeatStatus.FINISHED, otpPurgeTasklet.execute(contribution, null));
+
+		assertEquals("connection reset", contribution.getExitStatus().getExitCode());
+		assertEquals(0, contribution.getWriteCount());
+	}
+
+	@Test
+	public void durationRecordedTest() {
+		otpPurgeTasklet.beforeStep(stepExecution);
+
+		assertEquals(null, otpPurgeTasklet.afterStep(stepExecution));
+
+		assertEquals(1, meterRegistry.timer("preregistration.batch.otp-purge.duration").count());
+		assertEquals(ExitStatus.EXECUTING, stepExecution.getExitStatus());
+	}
+
+}
@@ -21,6 +21,7 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -35,6 +36,18 @@ public class SwaggerConfig {
     @Value("${preregistration.captchaservice.httpclient.connections.max:100}")
     private int totalMaxConnection;
 
+    @Value("${preregistration.captchaservice.httpclient.connect-timeout-ms:2000}")
+    private int connectTimeout;
+
+    @Value("${preregistration.captchaservice.httpclient.read-timeout-ms:3000}")
+    private int readTimeout;
+
+    @Value("${preregistration.captchaservice.httpclient.connection-request-timeout-ms:1000}")
+    private int connectionRequestTimeout;
+
+    @Value("${preregistration.captchaservice.httpclient.idle-timeout-seconds:30}")
+    private long idleTimeout;
+
 	/** The id. */
 	private Map<String, String> id;
 
@@ -70,9 +83,13 @@ public class SwaggerConfig {
     public RestTemplate restTemplateBean() throws KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
         HttpClientBuilder httpClientBuilder = HttpClients.custom()
                 .setMaxConnPerRoute(maxConnectionPerRoute)
-                .setMaxConnTotal(totalMaxConnection).disableCookieManagement();
+                .setMaxConnTotal(totalMaxConnection).disableCookieManagement()
+                .evictExpiredConnections().evictIdleConnections(idleTimeout, TimeUnit.SECONDS);
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
         requestFactory.setHttpClient(httpClientBuilder.build());
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        requestFactory.setConnectionRequestTimeout(connectionRequestTimeout);
         return new RestTemplate(requestFactory);
     }
 
@@ -3,7 +3,8 @@ package io.mosip.preregistration.captcha.constants;
 public enum CaptchaErrorCode {
 
 	INVALID_CAPTCHA_CODE("PRG-PAM-005", "Invalid Captcha entered"),
-	INVALID_CAPTCHA_REQUEST("PRG-PAM-006", "Invalid request , Request can't be null or empty");
+	INVALID_CAPTCHA_REQUEST("PRG-PAM-006", "Invalid request , Request can't be null or empty"),
+	CAPTCHA_VERIFICATION_UNAVAILABLE("PRG-PAM-007", "Captcha could not be verified, please try again later");
 
 	private final String errorCode;
 	private final String errorMessage;
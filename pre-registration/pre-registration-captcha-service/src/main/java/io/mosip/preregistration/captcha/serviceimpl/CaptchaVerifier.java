@@ -0,0 +1,230 @@
+package io.mosip.preregistration.captcha.serviceimpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.preregistration.captcha.constants.CaptchaErrorCode;
+import io.mosip.preregistration.captcha.dto.GoogleCaptchaDTO;
+import io.mosip.preregistration.captcha.exception.CaptchaException;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.HashUtill;
+
+/**
+ * This class verifies the captcha tokens with the recaptcha verify site.
+ * <p>
+ * A rejected token is kept for
+ * ${mosip.preregistration.captcha.verifier.cache.ttl-seconds}, keyed by the
+ * hash of the token, so it is rejected again without calling the verify site.
+ * Verified tokens are never kept: a token is single use, and every further use
+ * of it is sent to the verify site, which rejects it as a duplicate. At most
+ * ${mosip.preregistration.captcha.verifier.cache.max-entries} rejected tokens
+ * are kept, further ones are not kept until the expired ones are removed.
+ * <p>
+ * After ${mosip.preregistration.captcha.verifier.circuit.failure-threshold}
+ * consecutive failed calls to the verify site, the tokens are rejected without
+ * calling it for ${mosip.preregistration.captcha.verifier.circuit.open-seconds},
+ * after which a single call is let through to find out whether it is back.
+ * <p>
+ * With ${mosip.preregistration.captcha.verifier.stub} every token is verified
+ * locally, after ${mosip.preregistration.captcha.verifier.stub.latency-ms}, so
+ * the service can be load tested without the verify site. It must not be
+ * enabled in production.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class CaptchaVerifier {
+
+	private Logger log = LoggerConfiguration.logConfig(CaptchaVerifier.class);
+
+	private static final String METRIC_PREFIX = "preregistration.captcha.verify";
+
+	@Value("${mosip.preregistration.captcha.secretkey}")
+	private String recaptchaSecret;
+
+	@Value("${mosip.preregistration.captcha.recaptcha.verify.url}")
+	private String recaptchaVerifyUrl;
+
+	@Value("${mosip.preregistration.captcha.verifier.cache.ttl-seconds:120}")
+	private long cacheTtlSeconds;
+
+	@Value("${mosip.preregistration.captcha.verifier.cache.max-entries:100000}")
+	private int cacheMaxEntries;
+
+	@Value("${mosip.preregistration.captcha.verifier.circuit.failure-threshold:5}")
+	private int failureThreshold;
+
+	@Value("${mosip.preregistration.captcha.verifier.circuit.open-seconds:30}")
+	private long openSeconds;
+
+	@Value("${mosip.preregistration.captcha.verifier.stub:false}")
+	private boolean stub;
+
+	@Value("${mosip.preregistration.captcha.verifier.stub.latency-ms:0}")
+	private long stubLatencyMs;
+
+	@Autowired
+	@Qualifier(value = "restTemplateBean")
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	private final AtomicLong openUntil = new AtomicLong();
+
+	/**
+	 * Verifies the captcha token.
+	 *
+	 * @param captchaToken the captcha token
+	 * @return the answer of the verify site
+	 * @throws CaptchaException when the verify site could not be called or the
+	 *                          calls to it are suspended
+	 */
+	public GoogleCaptchaDTO verify(String captchaToken) {
+		String tokenHash = HashUtill.hashUtill(captchaToken.getBytes(StandardCharsets.UTF_8));
+		long now = System.currentTimeMillis();
+		VerifiedToken verifiedToken = verifiedTokens.get(tokenHash);
+		if (Objects.nonNull(verifiedToken)) {
+			if (verifiedToken.expiresAt > now) {
+				count("cached");
+				return verifiedToken.captchaResponse;
+			}
+			verifiedTokens.remove(tokenHash, verifiedToken);
+		}
+
+		GoogleCaptchaDTO captchaResponse = stub ? verifyLocally() : callVerifySite(captchaToken, now);
+		put(tokenHash, captchaResponse, now);
+		return captchaResponse;
+	}
+
+	/**
+	 * @return the number of rejected tokens kept
+	 */
+	public int size() {
+		return verifiedTokens.size();
+	}
+
+	private GoogleCaptchaDTO callVerifySite(String captchaToken, long now) {
+		if (!allowRequest(now)) {
+			count("rejected");
+			throw new CaptchaException(CaptchaErrorCode.CAPTCHA_VERIFICATION_UNAVAILABLE.getErrorCode(),
+					CaptchaErrorCode.CAPTCHA_VERIFICATION_UNAVAILABLE.getErrorMessage());
+		}
+
+		MultiValueMap<String, String> param = new LinkedMultiValueMap<>();
+		param.add("secret", recaptchaSecret);
+		param.add("response", captchaToken);
+
+		GoogleCaptchaDTO captchaResponse = null;
+		try {
+			captchaResponse = restTemplate.postForObject(recaptchaVerifyUrl, param, GoogleCaptchaDTO.class);
+		} catch (RestClientException ex) {
+			log.error("sessionId", "idType", "id",
+					"In pre-registration captcha service the google verify site rest call has failed --->"
+							+ recaptchaVerifyUrl + "  " + ex);
+		}
+		if (Objects.isNull(captchaResponse)) {
+			onFailure();
+			count("failed");
+			throw new CaptchaException(CaptchaErrorCode.CAPTCHA_VERIFICATION_UNAVAILABLE.getErrorCode(),
+					CaptchaErrorCode.CAPTCHA_VERIFICATION_UNAVAILABLE.getErrorMessage());
+		}
+		onSuccess();
+		count("verified");
+		return captchaResponse;
+	}
+
+	private GoogleCaptchaDTO verifyLocally() {
+		if (stubLatencyMs > 0) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(stubLatencyMs);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		GoogleCaptchaDTO captchaResponse = new GoogleCaptchaDTO();
+		captchaResponse.setSuccess(true);
+		captchaResponse.setChallengeTs(DateUtils.getUTCCurrentDateTimeString());
+		captchaResponse.setHostname("localhost");
+		count("stub");
+		return captchaResponse;
+	}
+
+	private void put(String tokenHash, GoogleCaptchaDTO captchaResponse, long now) {
+		if (cacheTtlSeconds <= 0 || captchaResponse.isSuccess()) {
+			return;
+		}
+		if (!verifiedTokens.containsKey(tokenHash) && verifiedTokens.size() >= cacheMaxEntries) {
+			verifiedTokens.values().removeIf(verifiedToken -> verifiedToken.expiresAt <= now);
+			if (verifiedTokens.size() >= cacheMaxEntries) {
+				return;
+			}
+		}
+		verifiedTokens.put(tokenHash,
+				new VerifiedToken(captchaResponse, now + TimeUnit.SECONDS.toMillis(cacheTtlSeconds)));
+	}
+
+	/**
+	 * Lets the calls through while the circuit is closed. Once it has been open
+	 * for the configured time, the first caller moves the end of the open period
+	 * forward and is let through on its own.
+	 */
+	private boolean allowRequest(long now) {
+		long until = openUntil.get();
+		if (until == 0) {
+			return true;
+		}
+		return now >= until && openUntil.compareAndSet(until, now + TimeUnit.SECONDS.toMillis(openSeconds));
+	}
+
+	private void onSuccess() {
+		consecutiveFailures.set(0);
+		openUntil.set(0);
+	}
+
+	private void onFailure() {
+		if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			openUntil.set(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(openSeconds));
+			log.warn("sessionId", "idType", "id", "Calls to the google verify site are suspended for " + openSeconds
+					+ " seconds after " + consecutiveFailures.get() + " consecutive failures");
+		}
+	}
+
+	private void count(String result) {
+		meterRegistry.counter(METRIC_PREFIX, "result", result).increment();
+	}
+
+	private static class VerifiedToken {
+
+		private final GoogleCaptchaDTO captchaResponse;
+
+		private final long expiresAt;
+
+		VerifiedToken(GoogleCaptchaDTO captchaResponse, long expiresAt) {
+			this.captchaResponse = captchaResponse;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
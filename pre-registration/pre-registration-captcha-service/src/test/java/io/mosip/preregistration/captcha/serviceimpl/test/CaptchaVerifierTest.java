@@ -0,0 +1,143 @@
+package io.mosip.preregistration.captcha.serviceimpl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.captcha.dto.GoogleCaptchaDTO;
+import io.mosip.preregistration.captcha.exception.CaptchaException;
+import io.mosip.preregistration.captcha.serviceimpl.CaptchaVerifier;
+
+/**
+ * Test class to test the captcha verifier
+ *
+ * @since 1.2.0
+ */
+public class CaptchaVerifierTest {
+
+	private static final String VERIFY_URL = "https://www.google.com/recaptcha/api/siteverify";
+
+	private CaptchaVerifier captchaVerifier;
+
+	private RestTemplate restTemplate;
+
+	private MeterRegistry meterRegistry;
+
+	@Before
+	public void setup() {
+		restTemplate = Mockito.mock(RestTemplate.class);
+		meterRegistry = new SimpleMeterRegistry();
+		captchaVerifier = new CaptchaVerifier();
+		ReflectionTestUtils.setField(captchaVerifier, "restTemplate", restTemplate);
+		ReflectionTestUtils.setField(captchaVerifier, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(captchaVerifier, "recaptchaSecret", "demo");
+		ReflectionTestUtils.setField(captchaVerifier, "recaptchaVerifyUrl", VERIFY_URL);
+		ReflectionTestUtils.setField(captchaVerifier, "cacheTtlSeconds", 120L);
+		ReflectionTestUtils.setField(captchaVerifier, "cacheMaxEntries", 2);
+		ReflectionTestUtils.setField(captchaVerifier, "failureThreshold", 2);
+		ReflectionTestUtils.setField(captchaVerifier, "openSeconds", 1L);
+	}
+
+	@Test
+	public void rejectedTokenCachedTest() {
+		GoogleCaptchaDTO captchaResponse = captchaResponse(false);
+		Mockito.when(restTemplate.postForObject(Mockito.eq(VERIFY_URL), Mockito.any(MultiValueMap.class),
+				Mockito.eq(GoogleCaptchaDTO.class))).thenReturn(captchaResponse);
+		assertSame(captchaResponse, captchaVerifier.verify("token1"));
+		assertSame(captchaResponse, captchaVerifier.verify("token1"));
+		Mockito.verify(restTemplate, Mockito.times(1)).postForObject(Mockito.eq(VERIFY_URL),
+				Mockito.any(MultiValueMap.class), Mockito.eq(GoogleCaptchaDTO.class));
+		assertEquals(1.0, meterRegistry.counter("preregistration.captcha.verify", "result", "cached").count(), 0);
+	}
+
+	@Test
+	public void verifiedTokenNotReusedTest() {
+		Mockito.when(restTemplate.postForObject(Mockito.eq(VERIFY_URL), Mockito.any(MultiValueMap.class),
+				Mockito.eq(GoogleCaptchaDTO.class))).thenReturn(captchaResponse(true))
+				.thenReturn(captchaResponse(false));
+		assertTrue(captchaVerifier.verify("token1").isSuccess());
+		assertFalse(captchaVerifier.verify("token1").isSuccess());
+		assertFalse(captchaVerifier.verify("token1").isSuccess());
+		Mockito.verify(restTemplate, Mockito.times(2)).postForObject(Mockito.eq(VERIFY_URL),
+				Mockito.any(MultiValueMap.class), Mockito.eq(GoogleCaptchaDTO.class));
+		assertEquals(1.0, meterRegistry.counter("preregistration.captcha.verify", "result", "cached").count(), 0);
+	}
+
+	@Test
+	public void maxEntriesTest() {
+		Mockito.when(restTemplate.postForObject(Mockito.eq(VERIFY_URL), Mockito.any(MultiValueMap.class),
+				Mockito.eq(GoogleCaptchaDTO.class))).thenReturn(captchaResponse(false));
+		captchaVerifier.verify("token1");
+		captchaVerifier.verify("token2");
+		captchaVerifier.verify("token3");
+		assertEquals(2, captchaVerifier.size());
+		captchaVerifier.verify("token3");
+		Mockito.verify(restTemplate, Mockito.times(4)).postForObject(Mockito.eq(VERIFY_URL),
+				Mockito.any(MultiValueMap.class), Mockito.eq(GoogleCaptchaDTO.class));
+	}
+
+	@Test
+	public void circuitOpensAfterFailuresTest() throws InterruptedException {
+		Mockito.when(restTemplate.postForObject(Mockito.eq(VERIFY_URL), Mockito.any(MultiValueMap.class),
+				Mockito.eq(GoogleCaptchaDTO.class))).thenThrow(new ResourceAccessException("read timed out"))
+				.thenReturn(null).thenReturn(captchaResponse(true));
+		assertUnavailable("token1");
+		assertUnavailable("token2");
+		assertUnavailable("token3");
+		Mockito.verify(restTemplate, Mockito.times(2)).postForObject(Mockito.eq(VERIFY_URL),
+				Mockito.any(MultiValueMap.class), Mockito.eq(GoogleCaptchaDTO.class));
+		assertEquals(1.0, meterRegistry.counter("preregistration.captcha.verify", "result", "rejected").count(), 0);
+
+		TimeUnit.MILLISECONDS.sleep(1100);
+		assertTrue(captchaVerifier.verify("token3").isSuccess());
+		assertTrue(captchaVerifier.verify("token4").isSuccess());
+		assertEquals(0, ((Number) ReflectionTestUtils.getField(captchaVerifier, "consecutiveFailures")).intValue());
+	}
+
+	@Test
+	public void stubTest() {
+		ReflectionTestUtils.setField(captchaVerifier, "stub", true);
+		assertTrue(captchaVerifier.verify("token1").isSuccess());
+		Mockito.verifyZeroInteractions(restTemplate);
+	}
+
+	@Test
+	public void cacheDisabledTest() {
+		ReflectionTestUtils.setField(captchaVerifier, "cacheTtlSeconds", 0L);
+		Mockito.when(restTemplate.postForObject(Mockito.eq(VERIFY_URL), Mockito.any(MultiValueMap.class),
+				Mockito.eq(GoogleCaptchaDTO.class))).thenReturn(captchaResponse(false));
+		captchaVerifier.verify("token1");
+		assertFalse(captchaVerifier.size() > 0);
+	}
+
+	private void assertUnavailable(String captchaToken) {
+		try {
+			captchaVerifier.verify(captchaToken);
+			fail();
+		} catch (CaptchaException ex) {
+			assertEquals("PRG-PAM-007", ex.getErrorCode());
+		}
+	}
+
+	private GoogleCaptchaDTO captchaResponse(boolean success) {
+		GoogleCaptchaDTO captchaResponse = new GoogleCaptchaDTO();
+		captchaResponse.setSuccess(success);
+		captchaResponse.setChallengeTs("Success");
+		return captchaResponse;
+	}
+
+}
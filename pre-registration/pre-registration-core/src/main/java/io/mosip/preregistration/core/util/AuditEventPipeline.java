@@ -0,0 +1,395 @@
+package io.mosip.preregistration.core.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.preregistration.core.common.dto.AuditRequestDto;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * This class delivers audit events to the kernel's audit manager off the
+ * request thread.
+ * <p>
+ * Events are put on a bounded queue and a single flusher thread takes them in
+ * groups of up to ${mosip.preregistration.audit.async.batch-size} events, or
+ * whatever has arrived within ${mosip.preregistration.audit.async.flush-interval-ms}.
+ * The audit manager takes one event per request, so the events of a group are
+ * still sent one request each, in order; the grouping only bounds how long the
+ * flusher waits before sending. When the queue stays full for
+ * ${mosip.preregistration.audit.async.offer-timeout-ms} the event is put on an
+ * overflow queue of the same capacity, which the flusher writes to the journal;
+ * only when that is full too does the caller write its event to the journal
+ * itself, counted as rejected. When the audit manager can not be reached or does
+ * not accept an event, the failed group and every later one go to the journal
+ * under ${mosip.preregistration.audit.async.journal-dir}, which is replayed every
+ * ${mosip.preregistration.audit.async.retry-interval-ms} until it is empty.
+ * Events still queued on shutdown are written to the journal and sent after the
+ * next start, so delivery is at least once.
+ * <p>
+ * The journal holds the audit events as plain JSON and has to outlive the
+ * process, so its directory must be set explicitly to a persistent, access
+ * restricted volume. The pipeline does not start without it, and the audit
+ * events are then sent on the request thread.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class AuditEventPipeline {
+
+	private Logger log = LoggerConfiguration.logConfig(AuditEventPipeline.class);
+
+	private static final String METRIC_PREFIX = "preregistration.audit.pipeline";
+
+	private static final String JOURNAL_FILE = "audit-journal.log";
+
+	private static final String REPLAY_SUFFIX = ".replay";
+
+	@Value("${mosip.preregistration.audit.async.queue-capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${mosip.preregistration.audit.async.batch-size:100}")
+	private int batchSize;
+
+	@Value("${mosip.preregistration.audit.async.flush-interval-ms:1000}")
+	private long flushIntervalMs;
+
+	@Value("${mosip.preregistration.audit.async.offer-timeout-ms:50}")
+	private long offerTimeoutMs;
+
+	@Value("${mosip.preregistration.audit.async.retry-interval-ms:30000}")
+	private long retryIntervalMs;
+
+	/**
+	 * directory on a persistent volume the audit events are journaled to
+	 */
+	@Value("${mosip.preregistration.audit.async.journal-dir:}")
+	private String journalDir;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private final Object journalLock = new Object();
+
+	private BlockingQueue<AuditRequestDto> queue;
+
+	private BlockingQueue<AuditRequestDto> overflow;
+
+	private Predicate<AuditRequestDto> sender;
+
+	private Path journal;
+
+	private Thread flusher;
+
+	private volatile boolean running;
+
+	private volatile boolean auditManagerDown;
+
+	private long lastReplayAt;
+
+	private Counter sentCounter;
+
+	private Counter spilledCounter;
+
+	private Counter replayedCounter;
+
+	private Counter droppedCounter;
+
+	private Counter rejectedCounter;
+
+	@PostConstruct
+	public void init() {
+		queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+		overflow = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+		journal = journalDir.trim().isEmpty() ? null : Paths.get(journalDir.trim(), JOURNAL_FILE);
+		sentCounter = meterRegistry.counter(METRIC_PREFIX + ".events", "result", "sent");
+		spilledCounter = meterRegistry.counter(METRIC_PREFIX + ".events", "result", "spilled");
+		replayedCounter = meterRegistry.counter(METRIC_PREFIX + ".events", "result", "replayed");
+		droppedCounter = meterRegistry.counter(METRIC_PREFIX + ".events", "result", "dropped");
+		rejectedCounter = meterRegistry.counter(METRIC_PREFIX + ".events", "result", "rejected");
+		meterRegistry.gauge(METRIC_PREFIX + ".depth", queue, BlockingQueue::size);
+	}
+
+	/**
+	 * Starts the flusher thread, when the journal directory is set and can be
+	 * created.
+	 *
+	 * @param sender sends one event to the audit manager
+	 * @return true when the pipeline is running, false when the events have to be
+	 *         sent by the caller
+	 */
+	public synchronized boolean start(Predicate<AuditRequestDto> sender) {
+		if (running) {
+			return true;
+		}
+		if (journal == null) {
+			log.warn("sessionId", "idType", "id", "In start method of AuditEventPipeline, "
+					+ "mosip.preregistration.audit.async.journal-dir is not set, audit events are sent on the request thread");
+			return false;
+		}
+		try {
+			Files.createDirectories(journal.getParent());
+		} catch (IOException ex) {
+			log.warn("sessionId", "idType", "id", "In start method of AuditEventPipeline, journal directory "
+					+ journal.getParent() + " can not be created, audit events are sent on the request thread - "
+					+ ex.getMessage());
+			return false;
+		}
+		this.sender = sender;
+		running = true;
+		flusher = new DaemonThreadFactory("audit-event-flusher").newThread(this::flushLoop);
+		flusher.start();
+		return true;
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		flusher.interrupt();
+		try {
+			flusher.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		List<AuditRequestDto> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		overflow.drainTo(remaining);
+		spill(remaining);
+	}
+
+	/**
+	 * Queues the audit event, waiting at most
+	 * ${mosip.preregistration.audit.async.offer-timeout-ms} for space before it is
+	 * put on the overflow queue for the flusher to write to the journal.
+	 *
+	 * @param auditRequestDto the audit event
+	 */
+	public void submit(AuditRequestDto auditRequestDto) {
+		if (running) {
+			try {
+				if (queue.offer(auditRequestDto, offerTimeoutMs, TimeUnit.MILLISECONDS)
+						|| overflow.offer(auditRequestDto)) {
+					return;
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				if (overflow.offer(auditRequestDto)) {
+					return;
+				}
+			}
+			rejectedCounter.increment();
+		}
+		List<AuditRequestDto> events = new ArrayList<>(1);
+		events.add(auditRequestDto);
+		spill(events);
+	}
+
+	private void flushLoop() {
+		List<AuditRequestDto> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				spillOverflow();
+				AuditRequestDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first != null) {
+					batch.add(first);
+					long deadline = System.currentTimeMillis() + flushIntervalMs;
+					while (batch.size() < batchSize && System.currentTimeMillis() < deadline) {
+						queue.drainTo(batch, batchSize - batch.size());
+						if (batch.size() < batchSize) {
+							AuditRequestDto next = queue.poll(deadline - System.currentTimeMillis(),
+									TimeUnit.MILLISECONDS);
+							if (next != null) {
+								batch.add(next);
+							}
+						}
+					}
+					flush(batch);
+					batch.clear();
+				}
+				replayIfDue();
+			} catch (InterruptedException ex) {
+				spill(batch);
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException ex) {
+				log.error("sessionId", "idType", "id", "In flushLoop method of AuditEventPipeline - " + ex.getMessage());
+				batch.clear();
+			}
+		}
+	}
+
+	private void flush(List<AuditRequestDto> batch) {
+		if (auditManagerDown) {
+			spill(batch);
+			return;
+		}
+		int index = send(batch);
+		if (index < batch.size()) {
+			spill(batch.subList(index, batch.size()));
+		}
+	}
+
+	private void spillOverflow() {
+		if (overflow.isEmpty()) {
+			return;
+		}
+		List<AuditRequestDto> events = new ArrayList<>(overflow.size());
+		overflow.drainTo(events);
+		spill(events);
+	}
+
+	/**
+	 * Sends the events in order and returns the index of the first event that
+	 * could not be delivered, or the size of the list when all were sent. An
+	 * event is delivered only when the audit manager answers that it was saved;
+	 * an error, a rejection or a response that can not be read leaves it for
+	 * the journal.
+	 */
+	private int send(List<AuditRequestDto> events) {
+		for (int index = 0; index < events.size(); index++) {
+			String failure;
+			try {
+				if (sender.test(events.get(index))) {
+					sentCounter.increment();
+					continue;
+				}
+				failure = "event " + events.get(index).getEventId() + " not accepted";
+			} catch (RestClientException ex) {
+				failure = "audit manager unavailable - " + ex.getMessage();
+			} catch (RuntimeException ex) {
+				failure = "event " + events.get(index).getEventId() + " failed - " + ex.getMessage();
+			}
+			if (!auditManagerDown) {
+				log.error("sessionId", "idType", "id", "In send method of AuditEventPipeline " + failure);
+			}
+			auditManagerDown = true;
+			lastReplayAt = System.currentTimeMillis();
+			return index;
+		}
+		return events.size();
+	}
+
+	private void spill(List<AuditRequestDto> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		synchronized (journalLock) {
+			try {
+				Files.createDirectories(journal.getParent());
+				try (BufferedWriter writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+					for (AuditRequestDto event : events) {
+						writer.write(mapper.writeValueAsString(event));
+						writer.newLine();
+					}
+				}
+				spilledCounter.increment(events.size());
+			} catch (IOException ex) {
+				droppedCounter.increment(events.size());
+				log.error("sessionId", "idType", "id",
+						"In spill method of AuditEventPipeline lost " + events.size() + " events - " + ex.getMessage());
+			}
+		}
+	}
+
+	private void replayIfDue() {
+		long now = System.currentTimeMillis();
+		if (now - lastReplayAt < retryIntervalMs) {
+			return;
+		}
+		lastReplayAt = now;
+		auditManagerDown = false;
+		try {
+			for (Path replayFile : replayFiles()) {
+				if (!replay(replayFile)) {
+					return;
+				}
+			}
+		} catch (IOException ex) {
+			log.error("sessionId", "idType", "id", "In replayIfDue method of AuditEventPipeline - " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Moves the journal aside and returns it together with replay files left by
+	 * an earlier run.
+	 */
+	private List<Path> replayFiles() throws IOException {
+		List<Path> replayFiles = new ArrayList<>();
+		if (!Files.isDirectory(journal.getParent())) {
+			return replayFiles;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(journal.getParent(), "*" + REPLAY_SUFFIX)) {
+			stream.forEach(replayFiles::add);
+		}
+		synchronized (journalLock) {
+			if (Files.exists(journal)) {
+				Path replayFile = journal.resolveSibling(JOURNAL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX);
+				Files.move(journal, replayFile, StandardCopyOption.ATOMIC_MOVE);
+				replayFiles.add(replayFile);
+			}
+		}
+		replayFiles.sort(null);
+		return replayFiles;
+	}
+
+	private boolean replay(Path replayFile) throws IOException {
+		List<String> lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+		List<AuditRequestDto> events = new ArrayList<>(lines.size());
+		for (String line : lines) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			try {
+				events.add(mapper.readValue(line, AuditRequestDto.class));
+			} catch (IOException ex) {
+				droppedCounter.increment();
+				log.error("sessionId", "idType", "id",
+						"In replay method of AuditEventPipeline skipping unreadable event - " + ex.getMessage());
+			}
+		}
+		int index = send(events);
+		replayedCounter.increment(index);
+		if (index < events.size()) {
+			spill(events.subList(index, events.size()));
+		}
+		Files.delete(replayFile);
+		log.info("sessionId", "idType", "id",
+				"In replay method of AuditEventPipeline replayed " + index + " of " + events.size() + " events");
+		return index == events.size();
+	}
+
+}
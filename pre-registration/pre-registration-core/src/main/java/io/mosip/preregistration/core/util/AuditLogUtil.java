@@ -73,6 +73,12 @@ public class AuditLogUtil {
 	@Value("${audit.url}")
 	private String auditUrl;
 
+	@Value("${mosip.preregistration.audit.async.enabled:true}")
+	private boolean asyncAuditEnabled;
+
+	@Autowired
+	private AuditEventPipeline auditEventPipeline;
+
 	/**
 	 * To Set the Host Ip & Host Name
 	 */
@@ -80,6 +86,10 @@ public class AuditLogUtil {
 	public void getHostDetails() {
 		hostIP = getServerIp();
 		hostName = getServerName();
+		// without a journal directory the events are sent on the request thread.
+		if (asyncAuditEnabled && !auditEventPipeline.start(this::callAuditManager)) {
+			asyncAuditEnabled = false;
+		}
 	}
 
 	/**
@@ -130,7 +140,11 @@ public class AuditLogUtil {
 			auditRequestDto.setSessionUserName(AuditLogVariables.SYSTEM.toString());
 		}
 		auditRequestDto.setIdType(AuditLogVariables.PRE_REGISTRATION_ID.toString());
-		callAuditManager(auditRequestDto);
+		if (asyncAuditEnabled) {
+			auditEventPipeline.submit(auditRequestDto);
+		} else {
+			callAuditManager(auditRequestDto);
+		}
 	}
 
 	public boolean callAuditManager(AuditRequestDto auditRequestDto) {
@@ -1,9 +1,30 @@
 package io.mosip.preregistration.core.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -14,9 +35,18 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.core.common.dto.CryptoManagerRequestDTO;
 import io.mosip.preregistration.core.common.dto.CryptoManagerResponseDTO;
@@ -54,6 +84,39 @@ public class CryptoUtil {
 	@Value("${preregistration.crypto.PrependThumbprint}")
 	public boolean cryptoPrependThumbprint;
 
+	/**
+	 * Maximum number of decrypt calls issued concurrently by one call of
+	 * {@link #decryptAll(List, LocalDateTime)}, the calling thread included
+	 */
+	@Value("${preregistration.crypto.decrypt.parallelism:5}")
+	private int decryptParallelism;
+
+	/**
+	 * Maximum number of threads shared by all the calls of
+	 * {@link #decryptAll(List, LocalDateTime)}
+	 */
+	@Value("${preregistration.crypto.decrypt.pool-size:64}")
+	private int decryptPoolSize;
+
+	private ExecutorService decryptExecutor;
+
+	/**
+	 * Stands in for the Base64 data while the encrypt request is serialized
+	 */
+	private static final String DATA_PLACEHOLDER = "preregistration-crypto-stream-data";
+
+	@PostConstruct
+	public void init() {
+		decryptExecutor = new ThreadPoolExecutor(0, Math.max(1, decryptPoolSize), 60, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), new DaemonThreadFactory("crypto-decrypt"));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (decryptExecutor != null) {
+			decryptExecutor.shutdownNow();
+		}
+	}
 
 	public byte[] encrypt(byte[] originalInput, LocalDateTime localDateTime) {
 		log.info("sessionId", "idType", "id", "In encrypt method of CryptoUtil service ");
@@ -95,6 +158,116 @@ public class CryptoUtil {
 
 	}
 
+	/**
+	 * Encrypts the input without first reading it into a byte array. The plain
+	 * bytes are Base64 encoded into the request body as they are read and the
+	 * encrypted data of the response is copied to the output as it is parsed.
+	 * The output receives the same bytes {@link #encrypt(byte[], LocalDateTime)}
+	 * returns.
+	 * <p>
+	 * The request factory of the rest template still buffers the encoded request
+	 * body before it is sent, so the heap used is about that of the Base64 text
+	 * of the input, not of the input and its copies.
+	 * 
+	 * @param originalInput the plain bytes, not closed by this method
+	 * @param localDateTime the time stamp sent with the encrypt request
+	 * @param encryptedOutput receives the encrypted data, not closed by this
+	 *                        method
+	 */
+	public void encrypt(InputStream originalInput, LocalDateTime localDateTime, OutputStream encryptedOutput) {
+		log.info("sessionId", "idType", "id", "In encrypt stream method of CryptoUtil service ");
+		try {
+			ObjectMapper mapper = converterMapper();
+			CryptoManagerRequestDTO dto = new CryptoManagerRequestDTO();
+			dto.setApplicationId(cryptoApplcationId);
+			dto.setData(DATA_PLACEHOLDER);
+			dto.setReferenceId(cryptoReferenceId);
+			dto.setTimeStamp(localDateTime);
+			dto.setPrependThumbprint(cryptoPrependThumbprint);
+			RequestWrapper<CryptoManagerRequestDTO> requestKernel = new RequestWrapper<>();
+			requestKernel.setRequest(dto);
+			String requestJson = mapper.writeValueAsString(requestKernel);
+			int dataIndex = requestJson.indexOf(DATA_PLACEHOLDER);
+			byte[] prefix = requestJson.substring(0, dataIndex).getBytes(StandardCharsets.UTF_8);
+			byte[] suffix = requestJson.substring(dataIndex + DATA_PLACEHOLDER.length())
+					.getBytes(StandardCharsets.UTF_8);
+			log.info("sessionId", "idType", "id",
+					"In encrypt stream method of CryptoUtil service cryptoResourceUrl: " + cryptoResourceUrl
+							+ "/encrypt");
+			restTemplate.execute(cryptoResourceUrl + "/encrypt", HttpMethod.POST, request -> {
+				request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+				OutputStream body = request.getBody();
+				body.write(prefix);
+				try (OutputStream encoder = java.util.Base64.getUrlEncoder().withoutPadding()
+						.wrap(new CloseShieldOutputStream(body))) {
+					IOUtils.copy(originalInput, encoder);
+				}
+				body.write(suffix);
+			}, response -> {
+				readEncryptResponse(mapper, response.getBody(), encryptedOutput);
+				return null;
+			});
+		} catch (IOException ex) {
+			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In encrypt stream method of CryptoUtil Util for Exception- " + ex.getMessage());
+			throw new EncryptionFailedException(ex.getMessage(), ex);
+		} catch (Exception ex) {
+			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In encrypt stream method of CryptoUtil Util for Exception- " + ex.getMessage());
+			throw ex;
+		}
+	}
+
+	/**
+	 * Copies response.data to the output as it was sent, and fails on a non empty
+	 * errors list.
+	 */
+	private void readEncryptResponse(ObjectMapper mapper, InputStream responseBody, OutputStream encryptedOutput)
+			throws IOException {
+		List<ServiceError> errors = null;
+		try (JsonParser parser = mapper.getFactory().createParser(responseBody)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new EncryptionFailedException("In encrypt stream method of CryptoUtil invalid response");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("response".equals(field) && value == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String responseField = parser.getCurrentName();
+						if (parser.nextToken() == JsonToken.VALUE_STRING && "data".equals(responseField)) {
+							Writer writer = new OutputStreamWriter(new CloseShieldOutputStream(encryptedOutput),
+									StandardCharsets.UTF_8);
+							parser.getText(writer);
+							writer.flush();
+						} else {
+							parser.skipChildren();
+						}
+					}
+				} else if ("errors".equals(field) && value == JsonToken.START_ARRAY) {
+					errors = mapper.readValue(parser, new TypeReference<List<ServiceError>>() {
+					});
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		if (!(errors == null || errors.isEmpty())) {
+			throw new EncryptionFailedException(errors, null);
+		}
+	}
+
+	private ObjectMapper converterMapper() {
+		for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+			if (converter instanceof MappingJackson2HttpMessageConverter) {
+				return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+			}
+		}
+		return Jackson2ObjectMapperBuilder.json().build();
+	}
+
 	public byte[] decrypt(byte[] originalInput, LocalDateTime localDateTime) {
 		log.info("sessionId", "idType", "id", "In decrypt method of CryptoUtil service ");
 		ResponseEntity<ResponseWrapper<CryptoManagerResponseDTO>> response = null;
@@ -134,4 +307,58 @@ public class CryptoUtil {
 
 	}
 
+	/**
+	 * Decrypts a list of cipher texts by issuing the decrypt calls concurrently,
+	 * at most ${preregistration.crypto.decrypt.parallelism} at a time for this
+	 * call. The calling thread decrypts along with the helpers it takes from the
+	 * shared pool. When the pool has no thread left, the calling thread decrypts
+	 * the records with fewer helpers, or alone, so a busy node is never slower
+	 * than decrypting the records one by one.
+	 * 
+	 * @param originalInputs the cipher texts
+	 * @param localDateTime  the time stamp sent with each decrypt request
+	 * @return the decrypted bytes, in the same order as the input
+	 */
+	public List<byte[]> decryptAll(List<byte[]> originalInputs, LocalDateTime localDateTime) {
+		log.info("sessionId", "idType", "id", "In decryptAll method of CryptoUtil service for "
+				+ originalInputs.size() + " records");
+		int size = originalInputs.size();
+		byte[][] decrypted = new byte[size][];
+		AtomicInteger nextIndex = new AtomicInteger();
+		Runnable worker = () -> {
+			int index;
+			while ((index = nextIndex.getAndIncrement()) < size) {
+				decrypted[index] = decrypt(originalInputs.get(index), localDateTime);
+			}
+		};
+		int helpers = Math.min(decryptParallelism, size) - 1;
+		List<Future<?>> futures = new ArrayList<>(Math.max(helpers, 0));
+		try {
+			for (int i = 0; i < helpers && decryptExecutor != null; i++) {
+				futures.add(decryptExecutor.submit(worker));
+			}
+		} catch (RejectedExecutionException ex) {
+			log.debug("sessionId", "idType", "id",
+					"In decryptAll method of CryptoUtil no decrypt thread left, continuing with " + futures.size());
+		}
+		try {
+			worker.run();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new EncryptionFailedException("In decryptAll method of CryptoUtil interrupted", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new EncryptionFailedException(ex.getCause().getMessage(), ex.getCause());
+		} finally {
+			nextIndex.set(size);
+			futures.forEach(future -> future.cancel(true));
+		}
+		return Arrays.asList(decrypted);
+	}
+
 }
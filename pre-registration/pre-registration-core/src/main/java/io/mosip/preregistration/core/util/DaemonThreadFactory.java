@@ -0,0 +1,34 @@
+package io.mosip.preregistration.core.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named after the pool they belong to, numbered from 1,
+ * so a pool never keeps the JVM from exiting and its threads can be told apart
+ * in a thread dump.
+ *
+ * @since 1.2.0
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+	private final String namePrefix;
+
+	private final AtomicInteger threadCount = new AtomicInteger();
+
+	/**
+	 * @param poolName the name of the pool, followed by the thread number in the
+	 *                 name of each thread
+	 */
+	public DaemonThreadFactory(String poolName) {
+		this.namePrefix = poolName + "-";
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
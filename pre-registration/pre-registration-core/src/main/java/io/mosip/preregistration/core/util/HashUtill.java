@@ -1,7 +1,11 @@
 package io.mosip.preregistration.core.util;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import io.mosip.kernel.core.util.HMACUtils;
 import io.mosip.kernel.core.util.HashUtils;
+import io.mosip.preregistration.core.exception.HashingException;
 
 
 /**
@@ -17,6 +21,22 @@ public class HashUtill {
 		return HMACUtils.digestAsPlainText(HMACUtils.generateHash(bytes));
 	}
 	
+	/**
+	 * @return a digest that gives the same hash as {@link #hashUtill(byte[])} for
+	 *         the bytes it is fed
+	 */
+	public static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new HashingException("", ex.getMessage(), ex);
+		}
+	}
+
+	public static String hashUtill(MessageDigest digest) {
+		return HMACUtils.digestAsPlainText(digest.digest());
+	}
+
 	public static boolean isHashEqual(byte[] source, byte[] target) {
 		return new HashUtils().isDigestEqual(source, target);
 	}
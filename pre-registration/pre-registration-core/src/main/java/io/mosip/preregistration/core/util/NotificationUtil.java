@@ -105,7 +105,6 @@ public class NotificationUtil {
 			MultipartFile file) throws IOException {
 		log.info("sessionId", "idType", "id", "In emailNotification method of NotificationUtil service");
 		HttpEntity<byte[]> doc = null;
-		String fileText = null;
 		if (file != null) {
 			LinkedMultiValueMap<String, String> pdfHeaderMap = new LinkedMultiValueMap<>();
 			pdfHeaderMap.add("Content-disposition",
@@ -118,16 +117,9 @@ public class NotificationUtil {
 		MainResponseDTO<NotificationResponseDTO> response = new MainResponseDTO<>();
 		String mergeTemplate = null;
 		for (KeyValuePairDto keyValuePair : acknowledgementDTO.getFullName()) {
-			if (acknowledgementDTO.getIsBatch()) {
-				fileText = templateUtil.getTemplate(keyValuePair.getKey(), cancelAppoinment);
-//				fileText.concat(System.lineSeparator() + System.lineSeparator());
-			} else {
-				fileText = templateUtil.getTemplate(keyValuePair.getKey(), emailAcknowledgement);
-//				fileText.concat(System.lineSeparator() + System.lineSeparator());
-			}
-
-			String languageWiseTemplate = templateUtil.templateMerge(fileText, acknowledgementDTO,
-					(String) keyValuePair.getKey());
+			String templateTypeCode = acknowledgementDTO.getIsBatch() ? cancelAppoinment : emailAcknowledgement;
+			String languageWiseTemplate = templateUtil.templateMerge((String) keyValuePair.getKey(), templateTypeCode,
+					acknowledgementDTO);
 			if (mergeTemplate == null) {
 				mergeTemplate = languageWiseTemplate + System.lineSeparator();
 			} else {
@@ -178,9 +170,8 @@ public class NotificationUtil {
 		String emailSubject = "";
 		int noOfLang = acknowledgementDTO.getFullName().size();
 		for (KeyValuePairDto keyValuePair : acknowledgementDTO.getFullName()) {
-			emailSubject = emailSubject + templateUtil.templateMerge(
-					templateUtil.getTemplate(keyValuePair.getKey(), emailAcknowledgementSubject), acknowledgementDTO,
-					(String) keyValuePair.getKey());
+			emailSubject = emailSubject + templateUtil.templateMerge((String) keyValuePair.getKey(),
+					emailAcknowledgementSubject, acknowledgementDTO);
 			if (noOfLang > 1) {
 				noOfLang--;
 				emailSubject = emailSubject + " / ";
@@ -202,8 +193,7 @@ public class NotificationUtil {
 		int noOfLang = acknowledgementDTO.getFullName().size();
 		for (KeyValuePairDto keyValuePair : acknowledgementDTO.getFullName()) {
 			emailSubjectCancelAppointment = emailSubjectCancelAppointment + templateUtil.templateMerge(
-					templateUtil.getTemplate(keyValuePair.getKey(), cancelAppointmentEmailSubject), acknowledgementDTO,
-					(String) keyValuePair.getKey());
+					(String) keyValuePair.getKey(), cancelAppointmentEmailSubject, acknowledgementDTO);
 			if (noOfLang > 1) {
 				noOfLang--;
 				emailSubjectCancelAppointment = emailSubjectCancelAppointment + " / ";
@@ -228,13 +218,11 @@ public class NotificationUtil {
 		for (KeyValuePairDto keyValuePair : acknowledgementDTO.getFullName()) {
 			String languageWiseTemplate = null;
 			if (acknowledgementDTO.getIsBatch()) {
-				languageWiseTemplate = templateUtil.templateMerge(
-						templateUtil.getTemplate(keyValuePair.getKey(), cancelAppoinment), acknowledgementDTO,
-						(String) keyValuePair.getKey());
+				languageWiseTemplate = templateUtil.templateMerge((String) keyValuePair.getKey(), cancelAppoinment,
+						acknowledgementDTO);
 			} else {
-				languageWiseTemplate = templateUtil.templateMerge(
-						templateUtil.getTemplate(keyValuePair.getKey(), smsAcknowledgement), acknowledgementDTO,
-						(String) keyValuePair.getKey());
+				languageWiseTemplate = templateUtil.templateMerge((String) keyValuePair.getKey(), smsAcknowledgement,
+						acknowledgementDTO);
 			}
 			if (mergeTemplate == null) {
 				mergeTemplate = languageWiseTemplate;
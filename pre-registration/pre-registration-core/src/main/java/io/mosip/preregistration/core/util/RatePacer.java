@@ -0,0 +1,45 @@
+package io.mosip.preregistration.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces calls to a maximum number per second. Each caller reserves the next
+ * free call time and sleeps outside of the lock, so the callers waiting for
+ * their turn do not hold up each other.
+ *
+ * @since 1.2.0
+ */
+public class RatePacer {
+
+	private final long intervalNanos;
+
+	private long nextNanos = System.nanoTime();
+
+	/**
+	 * @param ratePerSecond maximum number of calls per second, 0 or less for no
+	 *                      limit
+	 */
+	public RatePacer(int ratePerSecond) {
+		this.intervalNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0;
+	}
+
+	/**
+	 * Waits until the next call is allowed by the rate.
+	 */
+	public void acquire() {
+		if (intervalNanos == 0) {
+			return;
+		}
+		long slotNanos;
+		synchronized (this) {
+			slotNanos = Math.max(System.nanoTime(), nextNanos);
+			nextNanos = slotNanos + intervalNanos;
+		}
+		long waitNanos;
+		while ((waitNanos = slotNanos - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(waitNanos);
+		}
+	}
+
+}
@@ -0,0 +1,213 @@
+package io.mosip.preregistration.core.util;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.templatemanager.exception.TemplateParsingException;
+import io.mosip.kernel.templatemanager.velocity.builder.TemplateManagerBuilderImpl;
+import io.mosip.kernel.templatemanager.velocity.constant.TemplateManagerExceptionCodeConstant;
+import io.mosip.preregistration.core.config.LoggerConfiguration;
+
+/**
+ * Cache of the master data templates, keyed by template type code and language
+ * code, holding each template already parsed so merging it does not call the
+ * master data service or parse the template text again.
+ * <p>
+ * An entry older than the configured time to live is still used while it is
+ * reloaded in the background, and kept when the reload fails, so the callers
+ * do not wait for the master data service once a template is loaded. Blank
+ * templates are not cached. The templates are parsed with the encoding the
+ * kernel template manager is built with, so a template merges the same way as
+ * through {@link io.mosip.kernel.core.templatemanager.spi.TemplateManager}.
+ *
+ * @since 1.2.0
+ */
+@Component
+public class TemplateCache {
+
+	private Logger log = LoggerConfiguration.logConfig(TemplateCache.class);
+
+	private static final String KEY_SEPARATOR = "|";
+
+	@Value("${preregistration.template.cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${preregistration.template.cache.ttl-seconds:3600}")
+	private long ttlSeconds;
+
+	@Autowired
+	private TemplateManagerBuilderImpl templateManagerBuilder;
+
+	private final Map<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	private RuntimeInstance velocity;
+
+	private ExecutorService refresher;
+
+	@PostConstruct
+	public void init() {
+		Properties properties = new Properties();
+		properties.put(RuntimeConstants.INPUT_ENCODING, templateManagerBuilder.getDefaultEncoding());
+		properties.put(RuntimeConstants.OUTPUT_ENCODING, templateManagerBuilder.getDefaultEncoding());
+		properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+		velocity = new RuntimeInstance();
+		velocity.init(properties);
+		refresher = Executors.newSingleThreadExecutor(new DaemonThreadFactory("template-cache-refresher"));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		refresher.shutdownNow();
+	}
+
+	/**
+	 * Returns the template of the type and language, loading it with the loader
+	 * when it is not cached yet.
+	 *
+	 * @param templateTypeCode the template type code
+	 * @param langCode         the language code
+	 * @param loader           fetches the template text from the master data
+	 *                         service
+	 * @return the template
+	 */
+	public CachedTemplate get(String templateTypeCode, String langCode, Supplier<String> loader) {
+		String key = templateTypeCode + KEY_SEPARATOR + langCode;
+		CachedTemplate template = enabled ? templates.get(key) : null;
+		if (Objects.isNull(template)) {
+			template = load(key, loader);
+		} else if (template.isExpired(ttlSeconds)) {
+			refreshInBackground(key, loader);
+		}
+		return template;
+	}
+
+	/**
+	 * Merges the values into the template of the type and language.
+	 *
+	 * @see #get(String, String, Supplier)
+	 */
+	public String merge(String templateTypeCode, String langCode, Map<String, Object> values, Supplier<String> loader) {
+		return get(templateTypeCode, langCode, loader).merge(values);
+	}
+
+	/**
+	 * Removes all the templates, they are loaded again on their next use.
+	 */
+	public void invalidateAll() {
+		templates.clear();
+	}
+
+	private CachedTemplate load(String key, Supplier<String> loader) {
+		String text = loader.get();
+		CachedTemplate template = new CachedTemplate(key, text, compile(key, text));
+		if (enabled && !text.trim().isEmpty()) {
+			templates.put(key, template);
+		}
+		return template;
+	}
+
+	private void refreshInBackground(String key, Supplier<String> loader) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+		try {
+			refresher.execute(() -> {
+				try {
+					load(key, loader);
+				} catch (RuntimeException e) {
+					log.warn("sessionId", "idType", "id", "Refresh of template " + key
+							+ " failed, keeping the cached template: " + ExceptionUtils.getStackTrace(e));
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (RuntimeException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private Template compile(String key, String text) {
+		try {
+			Template template = new Template();
+			template.setName(key);
+			template.setRuntimeServices(velocity);
+			template.setData(velocity.parse(new StringReader(text), key));
+			template.initDocument();
+			return template;
+		} catch (ParseException e) {
+			throw new TemplateParsingException(TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorCode(),
+					TemplateManagerExceptionCodeConstant.TEMPLATE_PARSING.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * A parsed template and the text it was parsed from.
+	 */
+	public static class CachedTemplate {
+
+		private final String key;
+
+		private final String text;
+
+		private final Template template;
+
+		private final long loadedAtNanos = System.nanoTime();
+
+		CachedTemplate(String key, String text, Template template) {
+			this.key = key;
+			this.text = text;
+			this.template = template;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @param values the values of the template variables, not modified
+		 * @return the merged template
+		 */
+		public String merge(Map<String, Object> values) {
+			StringWriter writer = new StringWriter();
+			template.merge(new VelocityContext(new HashMap<>(values)), writer);
+			return writer.toString();
+		}
+
+		boolean isExpired(long ttlSeconds) {
+			return System.nanoTime() - loadedAtNanos > TimeUnit.SECONDS.toNanos(ttlSeconds);
+		}
+
+		@Override
+		public String toString() {
+			return key;
+		}
+	}
+
+}
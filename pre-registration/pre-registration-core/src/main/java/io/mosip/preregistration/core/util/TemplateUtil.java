@@ -64,6 +64,9 @@ public class TemplateUtil {
 	@Autowired
 	private TemplateManager templateManager;
 
+	@Autowired
+	private TemplateCache templateCache;
+
 	/**
 	 * This method is used for getting template
 	 * 
@@ -73,6 +76,26 @@ public class TemplateUtil {
 	 */
 
 	public String getTemplate(Object langCode, String templatetypecode) {
+		return templateCache.get(templatetypecode, (String) langCode, () -> fetchTemplate(langCode, templatetypecode))
+				.getText();
+	}
+
+	/**
+	 * This method merges the template of the type and language, parsed once and
+	 * kept in the {@link TemplateCache}
+	 * 
+	 * @param langCode
+	 * @param templatetypecode
+	 * @param acknowledgementDTO
+	 * @return
+	 */
+	public String templateMerge(String langCode, String templatetypecode, NotificationDTO acknowledgementDTO) {
+		log.info("sessionId", "idType", "id", "In templateMerge method of TemplateUtil service for " + templatetypecode);
+		return templateCache.merge(templatetypecode, langCode, mapSetting(langCode, acknowledgementDTO),
+				() -> fetchTemplate(langCode, templatetypecode));
+	}
+
+	private String fetchTemplate(Object langCode, String templatetypecode) {
 		String url = resourceUrl + "/" + (String) langCode + "/" + templatetypecode;
 		HttpHeaders headers = new HttpHeaders();
 		HttpEntity<RequestWrapper<TemplateResponseListDTO>> httpEntity = new HttpEntity<>(headers);
@@ -0,0 +1,209 @@
+package io.mosip.preregistration.core.util.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.preregistration.core.common.dto.AuditRequestDto;
+import io.mosip.preregistration.core.util.AuditEventPipeline;
+
+/**
+ * Test class to test the asynchronous audit pipeline
+ *
+ * @since 1.2.0
+ */
+public class AuditEventPipelineTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private AuditEventPipeline pipeline;
+
+	private MeterRegistry meterRegistry;
+
+	private List<String> delivered;
+
+	private AtomicBoolean auditManagerDown;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		delivered = new CopyOnWriteArrayList<>();
+		auditManagerDown = new AtomicBoolean();
+		pipeline = newPipeline(200L);
+	}
+
+	@After
+	public void tearDown() {
+		pipeline.stop();
+	}
+
+	@Test
+	public void submitDeliversInBatchesTest() throws Exception {
+		startPipeline();
+		for (int i = 0; i < 25; i++) {
+			pipeline.submit(event(String.valueOf(i)));
+		}
+		await(() -> delivered.size() == 25);
+		assertEquals(25.0, meterRegistry.counter("preregistration.audit.pipeline.events", "result", "sent").count(), 0);
+		assertEquals("0", delivered.get(0));
+		assertEquals("24", delivered.get(24));
+	}
+
+	@Test
+	public void spillAndReplayTest() throws Exception {
+		auditManagerDown.set(true);
+		startPipeline();
+		pipeline.submit(event("1"));
+		pipeline.submit(event("2"));
+		await(() -> meterRegistry.counter("preregistration.audit.pipeline.events", "result", "spilled").count() == 2);
+		assertTrue(delivered.isEmpty());
+
+		auditManagerDown.set(false);
+		await(() -> delivered.size() == 2);
+		assertEquals("1", delivered.get(0));
+		assertEquals("2", delivered.get(1));
+		await(() -> folder.getRoot().list().length == 0);
+	}
+
+	@Test
+	public void notAcceptedEventSpilledTest() throws Exception {
+		AtomicBoolean accepted = new AtomicBoolean();
+		pipeline.start(auditRequestDto -> {
+			if (accepted.get()) {
+				delivered.add(auditRequestDto.getEventId());
+			}
+			return accepted.get();
+		});
+		pipeline.submit(event("1"));
+		await(() -> meterRegistry.counter("preregistration.audit.pipeline.events", "result", "spilled").count() == 1);
+		assertEquals(0.0, meterRegistry.counter("preregistration.audit.pipeline.events", "result", "sent").count(), 0);
+
+		accepted.set(true);
+		await(() -> delivered.size() == 1);
+		assertEquals("1", delivered.get(0));
+	}
+
+	@Test
+	public void queueFullOverflowsToFlusherTest() throws Exception {
+		pipeline = newPipeline(200L, 1, 1);
+
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		pipeline.start(auditRequestDto -> {
+			sending.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			delivered.add(auditRequestDto.getEventId());
+			return true;
+		});
+		pipeline.submit(event("1"));
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		pipeline.submit(event("2"));
+		pipeline.submit(event("3"));
+		assertEquals(0.0, meterRegistry.counter("preregistration.audit.pipeline.events", "result", "spilled").count(), 0);
+		pipeline.submit(event("4"));
+		assertEquals(1.0, meterRegistry.counter("preregistration.audit.pipeline.events", "result", "rejected").count(), 0);
+		assertEquals(1.0, meterRegistry.counter("preregistration.audit.pipeline.events", "result", "spilled").count(), 0);
+
+		release.countDown();
+		await(() -> delivered.size() == 4);
+		assertTrue(delivered.containsAll(Arrays.asList("1", "2", "3", "4")));
+	}
+
+	@Test
+	public void submitWhenStoppedSpillsTest() throws Exception {
+		pipeline.submit(event("1"));
+		List<Path> files = journalFiles();
+		assertEquals(1, files.size());
+		assertFalse(Files.readAllLines(files.get(0)).isEmpty());
+
+		pipeline = newPipeline(0L);
+		startPipeline();
+		await(() -> delivered.size() == 1);
+		assertEquals("1", delivered.get(0));
+	}
+
+	@Test
+	public void journalDirNotSetTest() {
+		AuditEventPipeline withoutJournal = newPipeline(200L);
+		ReflectionTestUtils.setField(withoutJournal, "journalDir", " ");
+		withoutJournal.init();
+
+		assertFalse(withoutJournal.start(auditRequestDto -> delivered.add(auditRequestDto.getEventId())));
+		withoutJournal.stop();
+	}
+
+	private AuditEventPipeline newPipeline(long retryIntervalMs) {
+		return newPipeline(retryIntervalMs, 100, 10);
+	}
+
+	private AuditEventPipeline newPipeline(long retryIntervalMs, int queueCapacity, int batchSize) {
+		AuditEventPipeline auditEventPipeline = new AuditEventPipeline();
+		ReflectionTestUtils.setField(auditEventPipeline, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(auditEventPipeline, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(auditEventPipeline, "batchSize", batchSize);
+		ReflectionTestUtils.setField(auditEventPipeline, "flushIntervalMs", 50L);
+		ReflectionTestUtils.setField(auditEventPipeline, "offerTimeoutMs", 10L);
+		ReflectionTestUtils.setField(auditEventPipeline, "retryIntervalMs", retryIntervalMs);
+		ReflectionTestUtils.setField(auditEventPipeline, "journalDir", folder.getRoot().getAbsolutePath());
+		auditEventPipeline.init();
+		return auditEventPipeline;
+	}
+
+	private void startPipeline() {
+		pipeline.start(auditRequestDto -> {
+			if (auditManagerDown.get()) {
+				throw new ResourceAccessException("audit manager down");
+			}
+			delivered.add(auditRequestDto.getEventId());
+			return true;
+		});
+	}
+
+	private List<Path> journalFiles() throws Exception {
+		return Files.list(folder.getRoot().toPath()).collect(Collectors.toList());
+	}
+
+	private AuditRequestDto event(String eventId) {
+		AuditRequestDto auditRequestDto = new AuditRequestDto();
+		auditRequestDto.setEventId(eventId);
+		auditRequestDto.setEventName("eventName");
+		auditRequestDto.setActionTimeStamp(LocalDateTime.now());
+		return auditRequestDto;
+	}
+
+	private void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(condition.getAsBoolean());
+	}
+
+}
@@ -0,0 +1,91 @@
+package io.mosip.preregistration.core.util.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import io.mosip.preregistration.core.exception.EncryptionFailedException;
+import io.mosip.preregistration.core.util.CryptoUtil;
+
+/**
+ * Test class to test the streaming encrypt of CryptoUtil
+ *
+ * @since 1.2.0
+ */
+public class CryptoUtilStreamTest {
+
+	private static final String CRYPTO_URL = "http://localhost/cryptomanager";
+
+	private CryptoUtil cryptoUtil;
+
+	private MockRestServiceServer server;
+
+	@Before
+	public void setUp() {
+		RestTemplate restTemplate = new RestTemplate();
+		server = MockRestServiceServer.bindTo(restTemplate).build();
+		cryptoUtil = new CryptoUtil();
+		ReflectionTestUtils.setField(cryptoUtil, "restTemplate", restTemplate);
+		cryptoUtil.cryptoResourceUrl = CRYPTO_URL;
+		cryptoUtil.cryptoApplcationId = "PRE_REGISTRATION";
+		cryptoUtil.cryptoReferenceId = "INDIVIDUAL";
+	}
+
+	@Test
+	public void encryptStreamTest() {
+		byte[] document = new byte[10000];
+		new Random(7).nextBytes(document);
+		byte[] cipher = new byte[10257];
+		new Random(11).nextBytes(cipher);
+		String encodedCipher = io.mosip.kernel.core.util.CryptoUtil.encodeToURLSafeBase64(cipher);
+		server.expect(requestTo(CRYPTO_URL + "/encrypt")).andExpect(method(HttpMethod.POST))
+				.andExpect(jsonPath("$.request.data")
+						.value(io.mosip.kernel.core.util.CryptoUtil.encodeToURLSafeBase64(document)))
+				.andExpect(jsonPath("$.request.applicationId").value("PRE_REGISTRATION"))
+				.andRespond(withSuccess("{\"id\":null,\"metadata\":{\"a\":[1,2]},\"response\":{\"data\":\""
+						+ encodedCipher + "\"},\"errors\":[]}", MediaType.APPLICATION_JSON));
+
+		ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+		cryptoUtil.encrypt(new ByteArrayInputStream(document), LocalDateTime.now(), encrypted);
+		assertArrayEquals(encodedCipher.getBytes(StandardCharsets.UTF_8), encrypted.toByteArray());
+		server.verify();
+	}
+
+	@Test
+	public void encryptStreamDataVerbatimTest() {
+		String encodedCipher = "c2VjcmV0IGRhdGE=";
+		server.expect(requestTo(CRYPTO_URL + "/encrypt")).andRespond(withSuccess(
+				"{\"response\":{\"data\":\"" + encodedCipher + "\",\"timestamp\":null},\"errors\":null}",
+				MediaType.APPLICATION_JSON));
+
+		ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+		cryptoUtil.encrypt(new ByteArrayInputStream("hello".getBytes()), LocalDateTime.now(), encrypted);
+		assertArrayEquals(encodedCipher.getBytes(StandardCharsets.UTF_8), encrypted.toByteArray());
+	}
+
+	@Test(expected = EncryptionFailedException.class)
+	public void encryptStreamErrorsTest() {
+		server.expect(requestTo(CRYPTO_URL + "/encrypt")).andRespond(withSuccess(
+				"{\"response\":null,\"errors\":[{\"errorCode\":\"KER-CRY-001\",\"message\":\"failed\"}]}",
+				MediaType.APPLICATION_JSON));
+		cryptoUtil.encrypt(new ByteArrayInputStream("hello".getBytes()), LocalDateTime.now(),
+				new ByteArrayOutputStream());
+	}
+
+}
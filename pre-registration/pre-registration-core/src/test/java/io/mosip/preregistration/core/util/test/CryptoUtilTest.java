@@ -1,8 +1,20 @@
 package io.mosip.preregistration.core.util.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.binary.Base64;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,14 +24,18 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import io.mosip.preregistration.core.common.dto.CryptoManagerRequestDTO;
 import io.mosip.preregistration.core.common.dto.CryptoManagerResponseDTO;
+import io.mosip.preregistration.core.common.dto.RequestWrapper;
 import io.mosip.preregistration.core.common.dto.ResponseWrapper;
 import io.mosip.preregistration.core.util.CryptoUtil;
 import io.mosip.preregistration.core.util.RequestValidator;
@@ -47,6 +63,8 @@ public class CryptoUtilTest {
 	@Value("${cryptoResource.url}")
 	public String cryptoResourceUrl;
 
+	private volatile Thread mainThread;
+
 	@Test
 	public void encryptSuccessTest() {
 		CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
@@ -71,6 +89,110 @@ public class CryptoUtilTest {
 		crypto.encrypt("hello".getBytes(), LocalDateTime.now());
 
 	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void decryptAllSuccessTest() {
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenAnswer(invocation -> {
+					HttpEntity<RequestWrapper<CryptoManagerRequestDTO>> request = invocation.getArgument(2);
+					CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
+					cryptoRes.setData(Base64.encodeBase64String(
+							request.getBody().getRequest().getData().getBytes(StandardCharsets.UTF_8)));
+					ResponseWrapper<CryptoManagerResponseDTO> resEntity = new ResponseWrapper<>();
+					resEntity.setResponse(cryptoRes);
+					return new ResponseEntity<>(resEntity, HttpStatus.OK);
+				});
+		List<byte[]> inputs = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			inputs.add(("record" + i).getBytes(StandardCharsets.UTF_8));
+		}
+		List<byte[]> decrypted = crypto.decryptAll(inputs, LocalDateTime.now());
+		assertEquals(inputs.size(), decrypted.size());
+		for (int i = 0; i < inputs.size(); i++) {
+			assertEquals("record" + i, new String(decrypted.get(i), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void decryptAllParallelismPerCallTest() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenAnswer(invocation -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					threadNames.add(Thread.currentThread().getName());
+					assertTrue(Thread.currentThread() == mainThread || Thread.currentThread().isDaemon());
+					Thread.sleep(20);
+					running.decrementAndGet();
+					HttpEntity<RequestWrapper<CryptoManagerRequestDTO>> request = invocation.getArgument(2);
+					CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
+					cryptoRes.setData(Base64.encodeBase64String(
+							request.getBody().getRequest().getData().getBytes(StandardCharsets.UTF_8)));
+					ResponseWrapper<CryptoManagerResponseDTO> resEntity = new ResponseWrapper<>();
+					resEntity.setResponse(cryptoRes);
+					return new ResponseEntity<>(resEntity, HttpStatus.OK);
+				});
+		mainThread = Thread.currentThread();
+		List<byte[]> inputs = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			inputs.add(("record" + i).getBytes(StandardCharsets.UTF_8));
+		}
+		List<byte[]> decrypted = crypto.decryptAll(inputs, LocalDateTime.now());
+		for (int i = 0; i < inputs.size(); i++) {
+			assertEquals("record" + i, new String(decrypted.get(i), StandardCharsets.UTF_8));
+		}
+		assertTrue(maxRunning.get() <= 5);
+		assertTrue(threadNames.contains(mainThread.getName()));
+		threadNames.remove(mainThread.getName());
+		assertTrue(threadNames.stream().allMatch(name -> name.startsWith("crypto-decrypt-")));
+	}
+
+	@Test
+	public void decryptAllNoThreadLeftTest() {
+		Object decryptExecutor = ReflectionTestUtils.getField(crypto, "decryptExecutor");
+		ExecutorService exhausted = Executors.newSingleThreadExecutor();
+		exhausted.shutdown();
+		ReflectionTestUtils.setField(crypto, "decryptExecutor", exhausted);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenAnswer(invocation -> {
+					HttpEntity<RequestWrapper<CryptoManagerRequestDTO>> request = invocation.getArgument(2);
+					CryptoManagerResponseDTO cryptoRes = new CryptoManagerResponseDTO();
+					cryptoRes.setData(Base64.encodeBase64String(
+							request.getBody().getRequest().getData().getBytes(StandardCharsets.UTF_8)));
+					ResponseWrapper<CryptoManagerResponseDTO> resEntity = new ResponseWrapper<>();
+					resEntity.setResponse(cryptoRes);
+					return new ResponseEntity<>(resEntity, HttpStatus.OK);
+				});
+		try {
+			List<byte[]> inputs = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				inputs.add(("record" + i).getBytes(StandardCharsets.UTF_8));
+			}
+			List<byte[]> decrypted = crypto.decryptAll(inputs, LocalDateTime.now());
+			for (int i = 0; i < inputs.size(); i++) {
+				assertEquals("record" + i, new String(decrypted.get(i), StandardCharsets.UTF_8));
+			}
+		} finally {
+			ReflectionTestUtils.setField(crypto, "decryptExecutor", decryptExecutor);
+		}
+	}
+
+	@Test(expected = HttpClientErrorException.class)
+	public void decryptAllFailedExceptionTest() {
+		HttpClientErrorException ex = new HttpClientErrorException(HttpStatus.OK);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<ResponseWrapper<CryptoManagerResponseDTO>>() {
+				}))).thenThrow(ex);
+		List<byte[]> inputs = new ArrayList<>();
+		inputs.add("hello".getBytes());
+		inputs.add("world".getBytes());
+		crypto.decryptAll(inputs, LocalDateTime.now());
+	}
 	
 	/*
 	 * @Test public void decryptSuccessTest() { CryptoManagerResponseDTO cryptoRes1
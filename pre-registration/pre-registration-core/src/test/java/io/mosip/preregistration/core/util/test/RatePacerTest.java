@@ -0,0 +1,57 @@
+package io.mosip.preregistration.core.util.test;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.mosip.preregistration.core.util.RatePacer;
+
+/**
+ * Test class to test the spacing of the calls by the rate pacer
+ *
+ * @since 1.2.0
+ */
+public class RatePacerTest {
+
+	@Test
+	public void callsSpacedToRateTest() {
+		RatePacer pacer = new RatePacer(50);
+		long start = System.nanoTime();
+		for (int call = 0; call < 11; call++) {
+			pacer.acquire();
+		}
+		// the first call goes at once, the next ten 20 ms apart
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 195);
+	}
+
+	@Test
+	public void callsSpacedAcrossThreadsTest() throws InterruptedException {
+		RatePacer pacer = new RatePacer(50);
+		CountDownLatch done = new CountDownLatch(10);
+		long start = System.nanoTime();
+		for (int thread = 0; thread < 5; thread++) {
+			new Thread(() -> {
+				pacer.acquire();
+				pacer.acquire();
+				done.countDown();
+				done.countDown();
+			}).start();
+		}
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 175);
+	}
+
+	@Test
+	public void noLimitTest() {
+		RatePacer pacer = new RatePacer(0);
+		long start = System.nanoTime();
+		for (int call = 0; call < 1000; call++) {
+			pacer.acquire();
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+	}
+
+}
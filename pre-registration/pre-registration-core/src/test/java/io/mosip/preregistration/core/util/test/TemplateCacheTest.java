@@ -0,0 +1,141 @@
+package io.mosip.preregistration.core.util.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.templatemanager.exception.TemplateParsingException;
+import io.mosip.kernel.templatemanager.velocity.builder.TemplateManagerBuilderImpl;
+import io.mosip.preregistration.core.util.TemplateCache;
+import io.mosip.preregistration.core.util.TemplateCache.CachedTemplate;
+
+/**
+ * Test class to test the template cache
+ *
+ * @since 1.2.0
+ */
+public class TemplateCacheTest {
+
+	private TemplateCache templateCache;
+
+	private AtomicInteger fetches;
+
+	private AtomicReference<String> masterDataTemplate;
+
+	private Map<String, Object> values;
+
+	@Before
+	public void setUp() {
+		templateCache = newTemplateCache(3600L);
+		fetches = new AtomicInteger();
+		masterDataTemplate = new AtomicReference<>("Your OTP is $otp");
+		values = new HashMap<>();
+		values.put("otp", "111111");
+	}
+
+	@After
+	public void tearDown() {
+		templateCache.destroy();
+	}
+
+	@Test
+	public void mergeLoadsTemplateOnceTest() {
+		assertEquals("Your OTP is 111111", templateCache.merge("otp-sms-template", "eng", values, this::fetch));
+		values.put("otp", "222222");
+		assertEquals("Your OTP is 222222", templateCache.merge("otp-sms-template", "eng", values, this::fetch));
+		assertEquals(1, fetches.get());
+	}
+
+	@Test
+	public void templatesKeyedByLanguageTest() {
+		templateCache.merge("otp-sms-template", "eng", values, this::fetch);
+		masterDataTemplate.set("OTP: $otp");
+		assertEquals("OTP: 111111", templateCache.merge("otp-sms-template", "fra", values, this::fetch));
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void invalidateAllReloadsTemplatesTest() {
+		templateCache.merge("otp-sms-template", "eng", values, this::fetch);
+		masterDataTemplate.set("OTP: $otp");
+		templateCache.merge("otp-sms-template", "fra", values, this::fetch);
+		templateCache.invalidateAll();
+		assertEquals("OTP: 111111", templateCache.merge("otp-sms-template", "eng", values, this::fetch));
+		templateCache.merge("otp-sms-template", "fra", values, this::fetch);
+		assertEquals(4, fetches.get());
+	}
+
+	@Test
+	public void blankTemplateNotCachedTest() {
+		masterDataTemplate.set("");
+		assertEquals("", templateCache.merge("otp-sms-template", "eng", values, this::fetch));
+		templateCache.merge("otp-sms-template", "eng", values, this::fetch);
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void expiredTemplateServedWhileRefreshedTest() throws InterruptedException {
+		templateCache.destroy();
+		templateCache = newTemplateCache(0L);
+		CachedTemplate cached = templateCache.get("otp-sms-template", "eng", this::fetch);
+		masterDataTemplate.set("OTP: $otp");
+		TimeUnit.MILLISECONDS.sleep(5);
+		assertSame(cached, templateCache.get("otp-sms-template", "eng", this::fetch));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (templateCache.get("otp-sms-template", "eng", this::fetch) == cached
+				&& System.currentTimeMillis() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+		assertEquals("OTP: 111111", templateCache.get("otp-sms-template", "eng", this::fetch).merge(values));
+	}
+
+	@Test
+	public void failedRefreshKeepsTemplateTest() throws InterruptedException {
+		templateCache.destroy();
+		templateCache = newTemplateCache(0L);
+		templateCache.get("otp-sms-template", "eng", this::fetch);
+		TimeUnit.MILLISECONDS.sleep(5);
+		CachedTemplate cached = templateCache.get("otp-sms-template", "eng", () -> {
+			throw new IllegalStateException("master data down");
+		});
+		assertEquals("Your OTP is 111111", cached.merge(values));
+	}
+
+	@Test
+	public void invalidTemplateTest() {
+		masterDataTemplate.set("#if($otp");
+		try {
+			templateCache.merge("otp-sms-template", "eng", values, this::fetch);
+			fail();
+		} catch (TemplateParsingException e) {
+			masterDataTemplate.set("Your OTP is $otp");
+			assertEquals("Your OTP is 111111", templateCache.merge("otp-sms-template", "eng", values, this::fetch));
+		}
+	}
+
+	private String fetch() {
+		fetches.incrementAndGet();
+		return masterDataTemplate.get();
+	}
+
+	private TemplateCache newTemplateCache(long ttlSeconds) {
+		TemplateCache cache = new TemplateCache();
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+		ReflectionTestUtils.setField(cache, "templateManagerBuilder", new TemplateManagerBuilderImpl());
+		cache.init();
+		return cache;
+	}
+
+}
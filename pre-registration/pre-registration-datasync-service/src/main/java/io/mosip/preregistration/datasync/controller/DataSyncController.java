@@ -1,8 +1,17 @@
 package io.mosip.preregistration.datasync.controller;
 
+import java.io.IOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +27,7 @@ import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import io.mosip.preregistration.core.common.dto.MainResponseDTO;
 import io.mosip.preregistration.core.config.LoggerConfiguration;
+import io.mosip.preregistration.core.util.HashUtill;
 import io.mosip.preregistration.core.util.ResponseFilter;
 import io.mosip.preregistration.datasync.dto.DataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.PreRegArchiveDTO;
@@ -26,6 +36,7 @@ import io.mosip.preregistration.datasync.dto.ReverseDataSyncRequestDTO;
 import io.mosip.preregistration.datasync.dto.ReverseDatasyncReponseDTO;
 import io.mosip.preregistration.datasync.service.DataSyncService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -47,6 +58,13 @@ public class DataSyncController {
 	@Autowired
 	private DataSyncService dataSyncService;
 
+	/**
+	 * Size up to which an archive is held in memory before it is spilled to a
+	 * temporary file on its way to the client
+	 */
+	@Value("${mosip.preregistration.sync.archive.memory-threshold-bytes:1048576}")
+	private int archiveMemoryThreshold;
+
 	private Logger log = LoggerConfiguration.logConfig(DataSyncController.class);
 
 	/**
@@ -117,6 +135,66 @@ public class DataSyncController {
 				.body(dataSyncService.fetchPreRegistrationData(preRegistrationId, machineId));
 	}
 
+	/**
+	 * This GET api returns the archive of a pre-registration, encrypted for the
+	 * machine, as binary instead of Base64 inside JSON. The other fields of
+	 * {@link PreRegArchiveDTO} are sent as response headers named after their
+	 * JSON properties. The Response-Signature header carries the signature of the
+	 * SHA-256 hex digest of the archive bytes, as the signature of a JSON response
+	 * is of its body.
+	 *
+	 * @param preRegistrationId
+	 * @param machineId
+	 * @param response
+	 */
+	@PreAuthorize("hasAnyRole(@authorizedRoles.getGetsyncpreregistrationidmachineid())")
+	@GetMapping(path = "/sync/{preRegistrationId}/{machineId}/archive")
+	@Operation(summary = "Retrieve Pre-Registration archive", description = "Retrieve Pre-Registration archive as binary", tags = "Data-Sync")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Data Sync archive fetched", headers = {
+			@Header(name = "Response-Signature", description = "JWT signature of the SHA-256 hex digest of the archive bytes") }),
+			@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
+	public void retrievePreRegistrationArchive(
+			@PathVariable(required = true, value = "preRegistrationId") String preRegistrationId,
+			@PathVariable(required = true, value = "machineId") String machineId, HttpServletResponse response)
+			throws IOException {
+		log.info("sessionId", "idType", "id",
+				"In Datasync controller for retreiving pre-registration archive with preRegId and machineId "
+						+ preRegistrationId + " " + machineId);
+		DeferredFileOutputStream archive = new DeferredFileOutputStream(archiveMemoryThreshold, "prereg-archive-",
+				".zip", null);
+		try {
+			PreRegArchiveDTO preRegArchiveDTO;
+			MessageDigest digest = HashUtill.newDigest();
+			try (DigestOutputStream archiveOutput = new DigestOutputStream(archive, digest)) {
+				preRegArchiveDTO = dataSyncService.fetchPreRegistrationArchive(preRegistrationId, machineId,
+						archiveOutput);
+			}
+			String signature = dataSyncService.signArchiveDigest(HashUtill.hashUtill(digest));
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+					"attachment; filename=\"" + preRegArchiveDTO.getFileName() + ".zip\"");
+			setHeader(response, "pre-registration-id", preRegArchiveDTO.getPreRegistrationId());
+			setHeader(response, "registration-client-id", preRegArchiveDTO.getRegistrationCenterId());
+			setHeader(response, "appointment-date", preRegArchiveDTO.getAppointmentDate());
+			setHeader(response, "from-time-slot", preRegArchiveDTO.getTimeSlotFrom());
+			setHeader(response, "to-time-slot", preRegArchiveDTO.getTimeSlotTo());
+			setHeader(response, "Response-Signature", signature);
+			response.setContentLengthLong(archive.getByteCount());
+			archive.writeTo(response.getOutputStream());
+		} finally {
+			FileUtils.deleteQuietly(archive.getFile());
+		}
+	}
+
+	private static void setHeader(HttpServletResponse response, String name, String value) {
+		if (value != null) {
+			response.setHeader(name, value);
+		}
+	}
+
 	/**
 	 * This POST api is used to retrieve all processed pre-registration ids and
 	 * store in pre-registration database
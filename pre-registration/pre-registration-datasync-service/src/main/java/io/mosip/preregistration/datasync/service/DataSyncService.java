@@ -1,5 +1,6 @@
 package io.mosip.preregistration.datasync.service;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -240,15 +241,7 @@ public class DataSyncService {
 					"In getPreRegistrationData method of datasync service - " + ex.getMessage());
 			new DataSyncExceptionCatcher().handle(ex, responseDto);
 		} finally {
-			if (isRetrieveSuccess) {
-				setAuditValues(EventId.PRE_406.toString(), EventName.SYNC.toString(), EventType.BUSINESS.toString(),
-						"Retrieval of the Preregistration data is successful", AuditLogVariables.MULTIPLE_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			} else {
-				setAuditValues(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
-						"Retrieval of the Preregistration data is unsuccessful", AuditLogVariables.NO_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			}
+			auditPreRegistrationDataRetrieval(isRetrieveSuccess);
 		}
 		return responseDto;
 	}
@@ -281,7 +274,84 @@ public class DataSyncService {
 			responseDto.setResponsetime(serviceUtil.getCurrentResponseTime());
 			responseDto.setResponse(preRegArchiveDTO);
 			isRetrieveSuccess = true;
-			// insert the anonymous profile only if the appointment is being prefetched for the first time
+			markPrefetched(preId, preRegistrationDTO, documentsMetaData, bookingRegistrationDTO);
+		} catch (Exception ex) {
+			log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(ex));
+			log.error("In getPreRegistrationData method of datasync service -" + ex.getMessage());
+			new DataSyncExceptionCatcher().handle(ex, responseDto);
+		} finally {
+			auditPreRegistrationDataRetrieval(isRetrieveSuccess);
+		}
+		return responseDto;
+	}
+
+	/**
+	 * This method does what {@link #fetchPreRegistrationData(String, String)}
+	 * does, but writes the archive to archiveOutput instead of the zip bytes of
+	 * the response and lets failures propagate.
+	 * 
+	 * @param preId
+	 * @param machineId
+	 * @param archiveOutput receives the archive, encrypted for the machine
+	 * @return PreRegArchiveDTO without zip bytes
+	 */
+	public PreRegArchiveDTO fetchPreRegistrationArchive(String preId, String machineId, OutputStream archiveOutput) {
+		log.info("sessionId", "idType", "id", "In fetchPreRegistrationArchive method of datasync service ");
+		boolean isRetrieveSuccess = false;
+		try {
+			ApplicationInfoMetadataDTO preRegInfo = serviceUtil.getPreRegistrationInfo(preId.trim());
+			DemographicResponseDTO preRegistrationDTO = preRegInfo.getDemographicResponse();
+			DocumentsMetaData documentsMetaData = preRegInfo.getDocumentsMetaData();
+			BookingRegistrationDTO bookingRegistrationDTO = null;
+			if (preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
+					|| preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())) {
+				bookingRegistrationDTO = serviceUtil.getAppointmentDetails(preId.trim());
+			}
+			PreRegArchiveDTO preRegArchiveDTO = serviceUtil.archivingFiles(preRegistrationDTO, bookingRegistrationDTO,
+					documentsMetaData, machineId, archiveOutput);
+			isRetrieveSuccess = true;
+			markPrefetched(preId, preRegistrationDTO, documentsMetaData, bookingRegistrationDTO);
+			return preRegArchiveDTO;
+		} finally {
+			auditPreRegistrationDataRetrieval(isRetrieveSuccess);
+		}
+	}
+
+	/**
+	 * This method signs the digest of an archive sent as binary, the way the JSON
+	 * responses are signed.
+	 * 
+	 * @param archiveDigest the SHA-256 hex digest of the archive bytes
+	 * @return the JWT signature of the digest
+	 */
+	public String signArchiveDigest(String archiveDigest) {
+		return serviceUtil.signData(archiveDigest);
+	}
+
+	/**
+	 * Audits the retrieval of the data of a pre-registration
+	 * 
+	 * @param isRetrieveSuccess
+	 */
+	private void auditPreRegistrationDataRetrieval(boolean isRetrieveSuccess) {
+		if (isRetrieveSuccess) {
+			setAuditValues(EventId.PRE_406.toString(), EventName.SYNC.toString(), EventType.BUSINESS.toString(),
+					"Retrieval of the Preregistration data is successful", AuditLogVariables.MULTIPLE_ID.toString(),
+					authUserDetails().getUserId(), authUserDetails().getUsername(), null);
+		} else {
+			setAuditValues(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
+					"Retrieval of the Preregistration data is unsuccessful", AuditLogVariables.NO_ID.toString(),
+					authUserDetails().getUserId(), authUserDetails().getUsername(), null);
+		}
+	}
+
+	/**
+	 * Inserts the anonymous profile and updates the status to prefetched, only if
+	 * the appointment is being prefetched for the first time
+	 */
+	private void markPrefetched(String preId, DemographicResponseDTO preRegistrationDTO,
+			DocumentsMetaData documentsMetaData, BookingRegistrationDTO bookingRegistrationDTO) {
+		try {
 			if (!preRegistrationDTO.getStatusCode().equals(StatusCodes.BOOKED.getCode())
 					&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.PREFETCHED.getCode())
 					&& !preRegistrationDTO.getStatusCode().equals(StatusCodes.EXPIRED.getCode())
@@ -295,22 +365,7 @@ public class DataSyncService {
 		} catch (AnonymousProfileException apex) {
 			log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(apex));
 			log.error("Unable to save AnonymousProfile in getPreRegistrationData method of datasync service -" + apex.getMessage());
-		} catch (Exception ex) {
-			log.debug("sessionId", "idType", "id" + ExceptionUtils.getStackTrace(ex));
-			log.error("In getPreRegistrationData method of datasync service -" + ex.getMessage());
-			new DataSyncExceptionCatcher().handle(ex, responseDto);
-		} finally {
-			if (isRetrieveSuccess) {
-				setAuditValues(EventId.PRE_406.toString(), EventName.SYNC.toString(), EventType.BUSINESS.toString(),
-						"Retrieval of the Preregistration data is successful", AuditLogVariables.MULTIPLE_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			} else {
-				setAuditValues(EventId.PRE_405.toString(), EventName.EXCEPTION.toString(), EventType.SYSTEM.toString(),
-						"Retrieval of the Preregistration data is unsuccessful", AuditLogVariables.NO_ID.toString(),
-						authUserDetails().getUserId(), authUserDetails().getUsername(), null);
-			}
 		}
-		return responseDto;
 	}
 
 	/**
@@ -3,6 +3,7 @@ package io.mosip.preregistration.datasync.service.util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -11,13 +12,27 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.JSONObject;
@@ -72,6 +87,7 @@ import io.mosip.preregistration.core.config.LoggerConfiguration;
 import io.mosip.preregistration.core.exception.InvalidRequestParameterException;
 import io.mosip.preregistration.core.exception.PreRegistrationException;
 import io.mosip.preregistration.core.exception.TableNotAccessibleException;
+import io.mosip.preregistration.core.util.DaemonThreadFactory;
 import io.mosip.preregistration.core.util.UUIDGeneratorUtil;
 import io.mosip.preregistration.core.util.ValidationUtil;
 import io.mosip.preregistration.datasync.code.RequestCodes;
@@ -206,6 +222,26 @@ public class DataSyncServiceUtil {
 	@Autowired
 	ValidationUtil validationUtil;
 
+	/**
+	 * Maximum number of documents of an application fetched concurrently
+	 */
+	@Value("${mosip.preregistration.sync.document.fetch.parallelism:8}")
+	private int documentFetchParallelism;
+
+	/**
+	 * Maximum number of threads fetching documents for all the applications
+	 */
+	@Value("${mosip.preregistration.sync.document.fetch.pool-size:64}")
+	private int documentFetchPoolSize;
+
+	/**
+	 * Time within which a document has to be fetched once its fetch has started
+	 */
+	@Value("${mosip.preregistration.sync.document.fetch.timeout-ms:30000}")
+	private long documentFetchTimeoutMs;
+
+	private ExecutorService documentFetchExecutor;
+
 	/**
 	 * ObjectMapper global object creation
 	 */
@@ -215,6 +251,15 @@ public class DataSyncServiceUtil {
     public void init() {
 		mapper = JsonMapper.builder().addModule(new AfterburnerModule()).build();
 		mapper.registerModule(new JavaTimeModule());
+		documentFetchExecutor = new ThreadPoolExecutor(0, Math.max(1, documentFetchPoolSize), 60, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), new DaemonThreadFactory("datasync-document-fetch"));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (documentFetchExecutor != null) {
+			documentFetchExecutor.shutdownNow();
+		}
 	}
 
 	/**
@@ -571,19 +616,10 @@ public class DataSyncServiceUtil {
 		PreRegArchiveDTO preRegArchiveDTO = null;
 		try {
 			preRegArchiveDTO = preparePreRegArchiveDTO(preRegistrationDTO, bookingRegistrationDTO);
-			Map<String, byte[]> inputFile = new HashMap<>();
-			JSONObject identityJson = getIdJSONValue(
-					JsonUtils.javaObjectToJsonString(preRegistrationDTO.getDemographicDetails()));
-			Map<String, Object> identityMap = JsonUtils
-					.jsonStringToJavaMap(JsonUtils.javaObjectToJsonString(identityJson));
-			Map<String, Object> finalMap = prepareIdentityMap(documentEntityList, inputFile, identityMap,
-					preRegistrationDTO.getPreRegistrationId());
-			log.info("sessionId", "idType", "id",
-					"In archivingFiles method of datasync service util, Json file content - "
-							+ new JSONObject(finalMap).toJSONString());
+			ByteArrayOutputStream zipOutput = new ByteArrayOutputStream();
+			writeArchive(preRegistrationDTO, documentEntityList, zipOutput);
 			String encryptionPublickey = getEncryptionKey(machineId);
-			inputFile.put("ID.json", mapper.writeValueAsBytes(finalMap));
-			preRegArchiveDTO.setZipBytes(encryptFile(getCompressed(inputFile), encryptionPublickey));
+			preRegArchiveDTO.setZipBytes(encryptFile(zipOutput.toByteArray(), encryptionPublickey));
 			preRegArchiveDTO.setFileName(preRegistrationDTO.getPreRegistrationId());
 
 		} catch (Exception ex) {
@@ -597,19 +633,127 @@ public class DataSyncServiceUtil {
 	}
 
 	/**
-	 * This method is used to prepare the final Identity Map
+	 * This method is used to form the final PreRegArchiveDTO and write the archive
+	 * to archiveOutput instead of the zip bytes of the DTO. When the machine has
+	 * no encryption key the zip entries are written to archiveOutput as the
+	 * documents arrive, otherwise the encrypted archive is written once it is
+	 * complete.
+	 *
+	 * @param preRegistrationDTO
+	 * @param bookingRegistrationDTO
+	 * @param documentEntityList
+	 * @param machineId
+	 * @param archiveOutput
+	 * @return preRegArchiveDTO without zip bytes
+	 */
+	public PreRegArchiveDTO archivingFiles(DemographicResponseDTO preRegistrationDTO,
+			BookingRegistrationDTO bookingRegistrationDTO, DocumentsMetaData documentEntityList, String machineId,
+			OutputStream archiveOutput) {
+		log.info("sessionId", "idType", "id", "In archivingFiles stream method of datasync service util");
+		PreRegArchiveDTO preRegArchiveDTO = null;
+		try {
+			preRegArchiveDTO = preparePreRegArchiveDTO(preRegistrationDTO, bookingRegistrationDTO);
+			String encryptionPublickey = getEncryptionKey(machineId);
+			if (encryptionPublickey == null) {
+				writeArchive(preRegistrationDTO, documentEntityList, archiveOutput);
+			} else {
+				ByteArrayOutputStream zipOutput = new ByteArrayOutputStream();
+				writeArchive(preRegistrationDTO, documentEntityList, zipOutput);
+				archiveOutput.write(encryptFile(zipOutput.toByteArray(), encryptionPublickey));
+			}
+			preRegArchiveDTO.setFileName(preRegistrationDTO.getPreRegistrationId());
+
+		} catch (Exception ex) {
+			log.error("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
+			log.error("sessionId", "idType", "id",
+					"In archivingFiles stream method of datasync service util - " + ex.getMessage());
+			throw new ZipFileCreationException(ErrorCodes.PRG_DATA_SYNC_005.getCode(),
+					ErrorMessages.FAILED_TO_CREATE_A_ZIP_FILE.getMessage(), null);
+		}
+		return preRegArchiveDTO;
+	}
+
+	/**
+	 * This method writes the zip of an application: the documents in the order of
+	 * the documents meta data, each one as soon as it has been fetched, followed
+	 * by ID.json. The output is not closed.
+	 * 
+	 * @param preRegistrationDTO
+	 * @param documentsMetaData
+	 * @param output
+	 */
+	private void writeArchive(DemographicResponseDTO preRegistrationDTO, DocumentsMetaData documentsMetaData,
+			OutputStream output) throws ParseException, JsonProcessingException, JsonParseException,
+			JsonMappingException, io.mosip.kernel.core.exception.IOException, IOException {
+		JSONObject identityJson = getIdJSONValue(
+				JsonUtils.javaObjectToJsonString(preRegistrationDTO.getDemographicDetails()));
+		Map<String, Object> identityMap = JsonUtils.jsonStringToJavaMap(JsonUtils.javaObjectToJsonString(identityJson));
+		ZipOutputStream zipOutputStream = new ZipOutputStream(output);
+		Set<String> duplicateEntryNames = getDuplicateEntryNames(documentsMetaData);
+		Map<String, byte[]> duplicateEntries = new LinkedHashMap<>();
+		Map<String, Object> finalMap = prepareIdentityMap(documentsMetaData, identityMap,
+				preRegistrationDTO.getPreRegistrationId(), (documentMultipartResponseDTO, documentDTO) -> {
+					if (documentDTO == null || documentDTO.getDocument() == null) {
+						return;
+					}
+					String entryName = getEntryName(documentMultipartResponseDTO);
+					// of the documents zipped under the same name the last one is kept
+					if (duplicateEntryNames.contains(entryName)) {
+						duplicateEntries.put(entryName, documentDTO.getDocument());
+					} else {
+						zipping(entryName, documentDTO.getDocument(), zipOutputStream);
+					}
+				});
+		for (Map.Entry<String, byte[]> entry : duplicateEntries.entrySet()) {
+			zipping(entry.getKey(), entry.getValue(), zipOutputStream);
+		}
+		log.info("sessionId", "idType", "id",
+				"In writeArchive method of datasync service util, Json file content - "
+						+ new JSONObject(finalMap).toJSONString());
+		zipping("ID.json", mapper.writeValueAsBytes(finalMap), zipOutputStream);
+		zipOutputStream.finish();
+	}
+
+	private static String getEntryName(DocumentMultipartResponseDTO documentMultipartResponseDTO) {
+		return documentMultipartResponseDTO.getDocCatCode().concat("_")
+				.concat(documentMultipartResponseDTO.getDocName());
+	}
+
+	/**
+	 * @param documentsMetaData
+	 * @return the zip entry names shared by more than one document
+	 */
+	private Set<String> getDuplicateEntryNames(DocumentsMetaData documentsMetaData) {
+		Set<String> entryNames = new HashSet<>();
+		Set<String> duplicateEntryNames = new HashSet<>();
+		if (!isNull(documentsMetaData) && !isNull(documentsMetaData.getDocumentsMetaData())) {
+			for (DocumentMultipartResponseDTO documentMultipartResponseDTO : documentsMetaData.getDocumentsMetaData()) {
+				String entryName = getEntryName(documentMultipartResponseDTO);
+				if (!entryNames.add(entryName)) {
+					duplicateEntryNames.add(entryName);
+				}
+			}
+		}
+		return duplicateEntryNames;
+	}
+
+	/**
+	 * This method is used to prepare the final Identity Map. The documents are
+	 * fetched concurrently and handed to documentConsumer in the order of the
+	 * documents meta data.
 	 * 
 	 * @param documentsMetaData
-	 * @param inputFile
 	 * @param jsonObject
 	 * @param preId
+	 * @param documentConsumer
 	 * @return identiyMap
 	 */
-	private Map<String, Object> prepareIdentityMap(DocumentsMetaData documentsMetaData, Map<String, byte[]> inputFile,
-			Map<String, Object> jsonObject, String preId) {
+	private Map<String, Object> prepareIdentityMap(DocumentsMetaData documentsMetaData, Map<String, Object> jsonObject,
+			String preId, BiConsumer<DocumentMultipartResponseDTO, DocumentDTO> documentConsumer) {
 		Map<String, Object> identiyMap = new HashMap<>();
 		if (!isNull(documentsMetaData) && !isNull(documentsMetaData.getDocumentsMetaData())) {
-			for (DocumentMultipartResponseDTO documentMultipartResponseDTO : documentsMetaData.getDocumentsMetaData()) {
+			List<DocumentMultipartResponseDTO> documents = documentsMetaData.getDocumentsMetaData();
+			for (DocumentMultipartResponseDTO documentMultipartResponseDTO : documents) {
 				if (documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POA.getCode())) {
 					jsonObject.put(poaUrl, prepareDocumentMetaData(documentMultipartResponseDTO));
 				} else if (documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POI.getCode())) {
@@ -620,17 +764,79 @@ public class DataSyncServiceUtil {
 						|| documentMultipartResponseDTO.getDocCatCode().equals(RequestCodes.POB.getCode())) {
 					jsonObject.put(podUrl, prepareDocumentMetaData(documentMultipartResponseDTO));
 				}
-				DocumentDTO documentDTO = getDocBytesDetails(documentMultipartResponseDTO.getDocumentId(), preId);
-				if (documentDTO != null && documentDTO.getDocument() != null) {
-					inputFile.put(documentMultipartResponseDTO.getDocCatCode().concat("_")
-							.concat(documentMultipartResponseDTO.getDocName()), documentDTO.getDocument());
-				}
 			}
+			getDocBytesDetails(documents, preId, documentConsumer);
 		}
 		identiyMap.put(RequestCodes.IDENTITY.getCode(), jsonObject);
 		return identiyMap;
 	}
 
+	/**
+	 * This method fetches the document bytes of the documents concurrently, at
+	 * most ${mosip.preregistration.sync.document.fetch.parallelism} at a time for
+	 * this application, and hands each one to documentConsumer in the order of
+	 * the input as soon as it and the ones before it have arrived. The fetches
+	 * run on a pool shared by all the applications, which starts them right away
+	 * or not at all: when it has no thread left, the document is fetched on the
+	 * calling thread. Each document has to arrive within
+	 * ${mosip.preregistration.sync.document.fetch.timeout-ms} of the start of
+	 * its fetch.
+	 * 
+	 * @param documents
+	 * @param preId
+	 * @param documentConsumer
+	 */
+	private void getDocBytesDetails(List<DocumentMultipartResponseDTO> documents, String preId,
+			BiConsumer<DocumentMultipartResponseDTO, DocumentDTO> documentConsumer) {
+		if (documents.size() <= 1 || documentFetchExecutor == null) {
+			for (DocumentMultipartResponseDTO document : documents) {
+				documentConsumer.accept(document, getDocBytesDetails(document.getDocumentId(), preId));
+			}
+			return;
+		}
+		int parallelism = Math.max(1, documentFetchParallelism);
+		List<Future<DocumentDTO>> futures = new ArrayList<>(documents.size());
+		long[] deadlines = new long[documents.size()];
+		try {
+			for (int index = 0; index < documents.size(); index++) {
+				while (futures.size() < documents.size() && futures.size() < index + parallelism) {
+					deadlines[futures.size()] = System.currentTimeMillis() + documentFetchTimeoutMs;
+					futures.add(fetchDocument(documents.get(futures.size()), preId));
+				}
+				DocumentDTO documentDTO = futures.get(index)
+						.get(Math.max(0, deadlines[index] - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+				// drop the reference so that a zipped document can be collected
+				futures.set(index, null);
+				documentConsumer.accept(documents.get(index), documentDTO);
+			}
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new DocumentGetDetailsException(ErrorCodes.PRG_DATA_SYNC_006.getCode(),
+					ErrorMessages.FAILED_TO_FETCH_DOCUMENT.getMessage(), null);
+		} catch (InterruptedException | TimeoutException ex) {
+			if (ex instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			log.error("sessionId", "idType", "id",
+					"In getDocBytesDetails method of datasync service util, documents of " + preId
+							+ " not fetched within " + documentFetchTimeoutMs + " ms");
+			throw new DocumentGetDetailsException(ErrorCodes.PRG_DATA_SYNC_006.getCode(),
+					ErrorMessages.FAILED_TO_FETCH_DOCUMENT.getMessage(), null);
+		} finally {
+			futures.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+		}
+	}
+
+	private Future<DocumentDTO> fetchDocument(DocumentMultipartResponseDTO document, String preId) {
+		try {
+			return documentFetchExecutor.submit(() -> getDocBytesDetails(document.getDocumentId(), preId));
+		} catch (RejectedExecutionException ex) {
+			return CompletableFuture.completedFuture(getDocBytesDetails(document.getDocumentId(), preId));
+		}
+	}
+
 	/**
 	 * This method is used to prepare the documentMetaDataDTO from
 	 * DocumentMetaDataDTO
@@ -682,34 +888,6 @@ public class DataSyncServiceUtil {
 		return fileNameWithoutFormat;
 	}
 
-	/**
-	 * This method is used to zip the input files and convert into byteArray
-	 * 
-	 * @param inputFIle
-	 * @return byteArray
-	 */
-	private static byte[] getCompressed(Map<String, byte[]> inputFIle) {
-		log.info("sessionId", "idType", "id", "In getCompressed method of datasync service util");
-		byte[] byteArray = null;
-		try {
-			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream);
-
-			for (Map.Entry<String, byte[]> entry : inputFIle.entrySet()) {
-				zipping(entry.getKey(), entry.getValue(), zipOutputStream);
-			}
-			zipOutputStream.close();
-			byteArray = byteArrayOutputStream.toByteArray();
-		} catch (IOException ex) {
-			log.debug("sessionId", "idType", "id", ExceptionUtils.getStackTrace(ex));
-			log.error("sessionId", "idType", "id",
-					"In getCompressed method of datasync service util for FileNotFoundException - " + ex.getMessage());
-			throw new SystemFileIOException(ErrorCodes.PRG_DATA_SYNC_014.getCode(),
-					ErrorMessages.FILE_IO_EXCEPTION.getMessage(), null);
-		}
-		return byteArray;
-	}
-
 	/**
 	 * This method is used to form the zip output stream by adding the files into it
 	 * 
@@ -1,11 +1,14 @@
 package io.mosip.preregistration.datasync.test.controller;
 
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
@@ -31,6 +34,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -42,6 +46,7 @@ import io.mosip.kernel.clientcrypto.service.spi.ClientCryptoManagerService;
 import io.mosip.kernel.core.signatureutil.model.SignatureResponse;
 import io.mosip.preregistration.core.common.dto.MainRequestDTO;
 import io.mosip.preregistration.core.common.dto.MainResponseDTO;
+import io.mosip.preregistration.core.util.HashUtill;
 import io.mosip.preregistration.core.util.RequestValidator;
 import io.mosip.preregistration.datasync.DataSyncApplicationTest;
 import io.mosip.preregistration.datasync.dto.DataSyncRequestDTO;
@@ -196,4 +201,26 @@ public class DataSyncControllerTest {
 
 		mockMvc.perform(requestBuilder).andExpect(status().isOk());
 	}
+
+	@WithUserDetails("reg-officer")
+	@Test
+	public void retrievePreRegistrationArchiveSuccessTest() throws Exception {
+		preRegArchiveDTO.setPreRegistrationId("97285429827016");
+		preRegArchiveDTO.setRegistrationCenterId("12");
+		preRegArchiveDTO.setFileName("97285429827016");
+		Mockito.when(dataSyncService.fetchPreRegistrationArchive(Mockito.eq("97285429827016"), Mockito.eq("10001"),
+				Mockito.any())).thenAnswer(invocation -> {
+					((OutputStream) invocation.getArgument(2)).write(bytes);
+					return preRegArchiveDTO;
+				});
+		Mockito.when(dataSyncService.signArchiveDigest(HashUtill.hashUtill(bytes))).thenReturn("signature");
+		RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/sync/{preRegistrationId}/{machineId}/archive",
+				"97285429827016", "10001");
+		mockMvc.perform(requestBuilder).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM)).andExpect(content().bytes(bytes))
+				.andExpect(header().string("registration-client-id", "12"))
+				.andExpect(header().string("Response-Signature", "signature"))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"97285429827016.zip\""));
+	}
 }
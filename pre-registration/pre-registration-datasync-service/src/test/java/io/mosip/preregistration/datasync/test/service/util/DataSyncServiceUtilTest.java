@@ -1,7 +1,11 @@
 package io.mosip.preregistration.datasync.test.service.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
@@ -13,12 +17,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
@@ -36,6 +44,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import io.mosip.analytics.event.anonymous.util.AnonymousProfileUtil;
@@ -66,6 +75,7 @@ import io.mosip.preregistration.datasync.errorcodes.ErrorCodes;
 import io.mosip.preregistration.datasync.errorcodes.ErrorMessages;
 import io.mosip.preregistration.datasync.exception.DemographicGetDetailsException;
 import io.mosip.preregistration.datasync.exception.RecordNotFoundForDateRange;
+import io.mosip.preregistration.datasync.exception.ZipFileCreationException;
 import io.mosip.preregistration.datasync.repository.InterfaceDataSyncRepo;
 import io.mosip.preregistration.datasync.repository.ProcessedDataSyncRepo;
 import io.mosip.preregistration.datasync.service.util.DataSyncServiceUtil;
@@ -620,6 +630,125 @@ public class DataSyncServiceUtilTest {
 		serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData,null);
 	}
 
+	@Test
+	public void archivingFilesConcurrentDocumentFetchTest() throws Exception {
+		mockDocumentFetch(300L);
+		ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 1000L);
+		try {
+			assertNotNull(serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData,
+					null));
+		} finally {
+			ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 30000L);
+		}
+	}
+
+	@Test
+	public void archivingFilesDocumentFetchDeadlineFromStartTest() throws Exception {
+		mockDocumentFetch(300L);
+		ReflectionTestUtils.setField(serviceUtil, "documentFetchParallelism", 1);
+		ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 500L);
+		try {
+			assertNotNull(serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData,
+					null));
+		} finally {
+			ReflectionTestUtils.setField(serviceUtil, "documentFetchParallelism", 8);
+			ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 30000L);
+		}
+	}
+
+	@Test(expected = ZipFileCreationException.class)
+	public void archivingFilesDocumentFetchTimeoutTest() throws Exception {
+		mockDocumentFetch(2000L);
+		ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 100L);
+		try {
+			serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData, null);
+		} finally {
+			ReflectionTestUtils.setField(serviceUtil, "documentFetchTimeoutMs", 30000L);
+		}
+	}
+
+	@Test
+	public void archivingFilesStreamTest() throws Exception {
+		mockDocumentFetch(0L);
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		PreRegArchiveDTO archiveDTO = serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO,
+				documentsMetaData, null, archive);
+		assertNull(archiveDTO.getZipBytes());
+		assertEquals(preId, archiveDTO.getFileName());
+		List<String> entryNames = new ArrayList<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+			for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+				entryNames.add(entry.getName());
+			}
+		}
+		assertEquals(Arrays.asList("POA_POA.pdf", "POI_POI.pdf", "POB_POB.pdf", "POR_POR.pdf", "ID.json"), entryNames);
+	}
+
+	@Test
+	public void archivingFilesDuplicateEntryTest() throws Exception {
+		mockDocumentFetch(0L);
+		DocumentMultipartResponseDTO document = new DocumentMultipartResponseDTO();
+		document.setDocName("POA.pdf");
+		document.setDocumentId("POA2");
+		document.setDocCatCode("POA");
+		document.setLangCode("ENG");
+		document.setDocTypCode("RNC");
+		responsestatusDto.add(document);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<MainResponseDTO<DocumentDTO>>() {
+				}), Mockito.anyMap())).thenAnswer(invocation -> {
+					DocumentDTO fetched = new DocumentDTO();
+					fetched.setDocument(((Map<?, ?>) invocation.getArgument(4)).get("documentId").toString().getBytes());
+					MainResponseDTO<DocumentDTO> mainResponseDTO = new MainResponseDTO<>();
+					mainResponseDTO.setResponse(fetched);
+					return new ResponseEntity<>(mainResponseDTO, HttpStatus.OK);
+				});
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		serviceUtil.archivingFiles(demographicResponseDTO, bookingRegistrationDTO, documentsMetaData, null, archive);
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+			for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+				entries.put(entry.getName(), new String(IOUtils.toByteArray(zipInputStream)));
+			}
+		}
+		assertEquals(5, entries.size());
+		assertEquals("POA2", entries.get("POA_POA.pdf"));
+		assertEquals("POI", entries.get("POI_POI.pdf"));
+	}
+
+	private void mockDocumentFetch(long delayMs) throws Exception {
+		parser = new JSONParser();
+		ClassLoader classLoader = getClass().getClassLoader();
+		File file = new File(classLoader.getResource("pre-registration-test.json").getFile());
+		jsonObject = (JSONObject) parser.parse(new FileReader(file));
+		demographicResponseDTO.setPreRegistrationId(preId);
+		demographicResponseDTO.setDemographicDetails(jsonObject);
+		bookingRegistrationDTO.setRegistrationCenterId("1005");
+		bookingRegistrationDTO.setRegDate(resTime);
+		for (String docCatCode : new String[] { "POA", "POI", "POB", "POR" }) {
+			DocumentMultipartResponseDTO document = new DocumentMultipartResponseDTO();
+			document.setDocName(docCatCode + ".pdf");
+			document.setDocumentId(docCatCode);
+			document.setDocCatCode(docCatCode);
+			document.setLangCode("ENG");
+			document.setDocTypCode("RNC");
+			responsestatusDto.add(document);
+		}
+		documentsMetaData.setDocumentsMetaData(responsestatusDto);
+		documentDTO.setDocument("document".getBytes());
+		MainResponseDTO<DocumentDTO> mainResponseDTO = new MainResponseDTO<>();
+		mainResponseDTO.setResponse(documentDTO);
+		mainResponseDTO.setErrors(null);
+		Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET), Mockito.any(),
+				Mockito.eq(new ParameterizedTypeReference<MainResponseDTO<DocumentDTO>>() {
+				}), Mockito.anyMap())).thenAnswer(invocation -> {
+					Thread.sleep(delayMs);
+					return new ResponseEntity<>(mainResponseDTO, HttpStatus.OK);
+				});
+		Mockito.when(validationUtil.getDocumentTypeNameByTypeCode(Mockito.anyString(), Mockito.anyString()))
+				.thenReturn(new HashMap<>());
+	}
+
 	@Test
 	public void reverseDateSyncSaveTest() {
 		List<String> preIdList = new ArrayList<>();